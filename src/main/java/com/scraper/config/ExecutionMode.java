@@ -0,0 +1,44 @@
+package com.scraper.config;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * How scrape tasks are run. {@link #PLATFORM} keeps the classic fixed-size thread pools;
+ * {@link #VIRTUAL} starts a virtual thread per task and bounds concurrency with a semaphore,
+ * so blocking Jsoup or Selenium calls scale with I/O wait instead of pool size.
+ */
+public enum ExecutionMode {
+
+    PLATFORM {
+        @Override
+        public ExecutorService newExecutor(String namePrefix, int maxConcurrency) {
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newFixedThreadPool(maxConcurrency, r -> {
+                Thread thread = new Thread(r, namePrefix + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    },
+
+    VIRTUAL {
+        @Override
+        public ExecutorService newExecutor(String namePrefix, int maxConcurrency) {
+            return new SemaphoreBoundedExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 1).factory()),
+                maxConcurrency);
+        }
+    };
+
+    /**
+     * Creates an executor running at most {@code maxConcurrency} tasks at a time.
+     */
+    public abstract ExecutorService newExecutor(String namePrefix, int maxConcurrency);
+
+    public static ExecutionMode of(String mode) {
+        return valueOf(mode.trim().toUpperCase(Locale.ROOT));
+    }
+}
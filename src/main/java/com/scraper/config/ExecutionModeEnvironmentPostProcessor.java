@@ -0,0 +1,30 @@
+package com.scraper.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * Makes {@code scraper.execution.mode} the one switch for virtual threads: unless
+ * {@code spring.threads.virtual.enabled} is set explicitly, it follows the mode, so Tomcat's
+ * request threads and Spring's task executor (which runs streamed responses) match the scrape
+ * executors.
+ */
+public class ExecutionModeEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String VIRTUAL_THREADS = "spring.threads.virtual.enabled";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (environment.containsProperty(VIRTUAL_THREADS)) {
+            return;
+        }
+        ExecutionMode mode = ExecutionMode.of(environment.getProperty("scraper.execution.mode", "virtual"));
+        // Added last, so it only fills the gap and never overrides a configured value
+        environment.getPropertySources().addLast(new MapPropertySource("scraperExecutionMode",
+            Map.of(VIRTUAL_THREADS, mode == ExecutionMode.VIRTUAL)));
+    }
+}
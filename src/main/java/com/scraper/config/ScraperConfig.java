@@ -1,24 +1,56 @@
 package com.scraper.config;
 
+import com.scraper.service.fetch.AsyncSemaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 @Configuration
 @EnableAsync
 public class ScraperConfig {
 
-    @Bean(name = "scraperTaskExecutor")
-    public Executor scraperTaskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(20);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("scraper-");
-        executor.initialize();
-        return executor;
+    private static final Logger log = LoggerFactory.getLogger(ScraperConfig.class);
+
+    @Bean
+    public ExecutionMode executionMode(@Value("${scraper.execution.mode:virtual}") String mode) {
+        ExecutionMode executionMode = ExecutionMode.of(mode);
+        log.info("Scrape tasks run on {} threads", executionMode.name().toLowerCase());
+        return executionMode;
+    }
+
+    /**
+     * General-purpose executor for blocking scrape tasks.
+     */
+    @Bean(name = "scraperTaskExecutor", destroyMethod = "shutdown")
+    public ExecutorService scraperTaskExecutor(
+            ExecutionMode executionMode,
+            @Value("${scraper.execution.max-concurrent-tasks:20}") int maxConcurrentTasks) {
+        return executionMode.newExecutor("scraper-", maxConcurrentTasks);
+    }
+
+    /**
+     * CPU-bound stage of the web pipeline: Jsoup parsing and extraction. Network waits
+     * never happen on these threads, so they are sized to the cores rather than to I/O.
+     */
+    @Bean(name = "parseExecutor", destroyMethod = "shutdown")
+    public ExecutorService parseExecutor(
+            ExecutionMode executionMode,
+            @Value("${scraper.pipeline.parse-threads:0}") int parseThreads) {
+        int threads = parseThreads > 0 ? parseThreads : Runtime.getRuntime().availableProcessors();
+        return executionMode.newExecutor("parse-", threads);
+    }
+
+    /**
+     * Caps the number of fetches in flight across all requests. Fetches beyond the cap wait
+     * as queued futures, which is the pipeline's backpressure.
+     */
+    @Bean
+    public AsyncSemaphore fetchInFlightLimit(@Value("${scraper.pipeline.max-in-flight:256}") int maxInFlight) {
+        return new AsyncSemaphore(maxInFlight);
     }
 }
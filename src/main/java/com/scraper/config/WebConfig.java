@@ -0,0 +1,52 @@
+package com.scraper.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.AsyncHandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBodyReturnValueHandler;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addReturnValueHandlers(List<HandlerMethodReturnValueHandler> handlers) {
+        handlers.add(new StreamingResponseEntityHandler());
+    }
+
+    /**
+     * Streams a {@link StreamingResponseBody} returned from a handler declared as
+     * {@code ResponseEntity<?>}, such as {@code /web}, which answers JSON or a CSV stream. Spring
+     * MVC picks its streaming handler from the declared type, so on its own it would look for a
+     * converter instead. As an async handler this one is only consulted for such a body; it hands
+     * the body to Spring's usual async streaming, which writes it on the MVC task executor rather
+     * than the servlet request thread.
+     */
+    static final class StreamingResponseEntityHandler implements AsyncHandlerMethodReturnValueHandler {
+
+        private final StreamingResponseBodyReturnValueHandler delegate = new StreamingResponseBodyReturnValueHandler();
+
+        @Override
+        public boolean isAsyncReturnValue(Object returnValue, MethodParameter returnType) {
+            return returnValue instanceof ResponseEntity<?> entity && entity.getBody() instanceof StreamingResponseBody;
+        }
+
+        @Override
+        public boolean supportsReturnType(MethodParameter returnType) {
+            return ResponseEntity.class.isAssignableFrom(returnType.getParameterType());
+        }
+
+        @Override
+        public void handleReturnValue(Object returnValue, MethodParameter returnType,
+                                      ModelAndViewContainer mavContainer, NativeWebRequest webRequest) throws Exception {
+            delegate.handleReturnValue(returnValue, returnType, mavContainer, webRequest);
+        }
+    }
+}
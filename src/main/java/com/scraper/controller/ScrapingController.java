@@ -1,11 +1,23 @@
 package com.scraper.controller;
 
+import com.scraper.model.BatchScrapeRequest;
+import com.scraper.model.BatchScrapeResponse;
 import com.scraper.model.ScrapeRequest;
 import com.scraper.model.ScrapeResponse;
 import com.scraper.model.InstagramScrapeRequest;
 import com.scraper.model.InstagramScrapeResponse;
+import com.scraper.model.ScrapeJobStatus;
 import com.scraper.service.WebScrapingService;
 import com.scraper.service.InstagramScrapingService;
+import com.scraper.service.extract.SocialHostRegistry;
+import com.scraper.service.fetch.CircuitBreakerRegistry;
+import com.scraper.service.fetch.AdaptiveHostLimits;
+import com.scraper.service.fetch.BodyLimits;
+import com.scraper.service.fetch.HttpResponseCache;
+import com.scraper.service.fetch.RobotsTxtCache;
+import com.scraper.service.job.ScrapeJob;
+import com.scraper.service.job.ScrapeJobService;
+import com.scraper.service.stream.ScrapeStreamer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,17 +29,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.io.StringWriter;
-import java.util.List;
-import java.util.Set;
-import java.util.ArrayList;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @RestController
@@ -37,6 +48,8 @@ import java.util.Map;
 public class ScrapingController {
 
     private static final Logger log = LoggerFactory.getLogger(ScrapingController.class);
+
+    private static final int MAX_RESULTS_PAGE = 500;
     
     @Autowired
     private WebScrapingService webScrapingService;
@@ -44,6 +57,30 @@ public class ScrapingController {
     @Autowired
     private InstagramScrapingService instagramScrapingService;
 
+    @Autowired
+    private ScrapeJobService scrapeJobService;
+
+    @Autowired
+    private ScrapeStreamer scrapeStreamer;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private HttpResponseCache httpResponseCache;
+
+    @Autowired
+    private BodyLimits bodyLimits;
+
+    @Autowired
+    private RobotsTxtCache robotsTxtCache;
+
+    @Autowired
+    private AdaptiveHostLimits adaptiveHostLimits;
+
+    @Autowired
+    private SocialHostRegistry socialHostRegistry;
+
     @Operation(
         summary = "Scrape web data",
         description = "Scrapes web data from multiple URLs based on a search topic. Returns extracted information including emails, phone numbers, social links, and content."
@@ -100,26 +137,21 @@ public class ScrapingController {
             required = true,
             schema = @Schema(implementation = ScrapeRequest.class)
         )
-        @Valid @RequestBody ScrapeRequest request) {
+        @Valid @RequestBody ScrapeRequest request,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.info("Received scraping request for topic: {}", request.getSearchTopic());
         
         try {
-            ScrapeResponse response = webScrapingService.scrapeWebData(request);
-            
-            // If CSV export is requested, return CSV file
+            // If CSV export is requested, write rows to the response as results finish
             if (request.getExportAsCsv() != null && request.getExportAsCsv()) {
-                String csvContent = webScrapingService.convertToCsv(response.getResults(), request.getFieldsToExtract());
-                
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-                headers.setContentDispositionFormData("attachment", 
-                    "scraped_data_" + System.currentTimeMillis() + ".csv");
-                
+                boolean gzip = acceptsGzip(acceptEncoding);
                 return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(csvContent);
+                    .headers(csvHeaders("scraped_data_" + System.currentTimeMillis() + ".csv", gzip))
+                    .body((StreamingResponseBody) out -> scrapeStreamer.exportWebCsv(request, gzip, out));
             }
             
+            ScrapeResponse response = webScrapingService.scrapeWebData(request);
+            
             // Return JSON response
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
@@ -137,6 +169,277 @@ public class ScrapingController {
         }
     }
 
+    @Operation(
+        summary = "Scrape many topics in one pass",
+        description = "Scrapes every topic with the same options. All topics' URLs are planned first, URLs shared between topics are fetched once, and every distinct URL goes through the pipeline together. Results are grouped by topic; a shared URL's result appears under each topic that planned it."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Batch completed",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = BatchScrapeResponse.class),
+                examples = @ExampleObject(
+                    name = "Batch",
+                    value = """
+                    {
+                        "totalTopics": 2,
+                        "plannedUrls": 10,
+                        "uniqueUrls": 8,
+                        "successfulScrapes": 7,
+                        "failedScrapes": 1,
+                        "topics": [
+                            {
+                                "searchTopic": "dental clinics",
+                                "totalResults": 5,
+                                "successfulScrapes": 4,
+                                "failedScrapes": 1,
+                                "results": [
+                                    {
+                                        "url": "https://example.com",
+                                        "status": "success",
+                                        "emails": ["contact@example.com"]
+                                    }
+                                ]
+                            }
+                        ],
+                        "processingTime": 12000,
+                        "status": "completed",
+                        "message": "Batch scraping completed successfully"
+                    }
+                    """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Bad request - no topics, or more than 1000")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BatchScrapeResponse> scrapeBatch(
+        @Parameter(
+            description = "Search topics and the options they share",
+            required = true,
+            schema = @Schema(implementation = BatchScrapeRequest.class)
+        )
+        @Valid @RequestBody BatchScrapeRequest request) {
+        log.info("Received batch scraping request for {} topics", request.getSearchTopics().size());
+        BatchScrapeResponse response = webScrapingService.scrapeBatch(request);
+        if ("error".equals(response.getStatus())) {
+            return ResponseEntity.internalServerError().body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Stream web scraping results",
+        description = "Runs the same scrape as POST /scrape/web and writes each result as soon as its URL finishes, ending with a summary record that carries the counts of the JSON response. Sends Server-Sent Events when the Accept header asks for text/event-stream, NDJSON otherwise. exportAsCsv is ignored."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Results as they finish, then the summary",
+            content = {
+                @Content(
+                    mediaType = "application/x-ndjson",
+                    examples = @ExampleObject(
+                        name = "NDJSON",
+                        value = """
+                        {"type":"result","data":{"url":"https://example.com","status":"success","emails":["contact@example.com"]}}
+                        {"type":"summary","data":{"searchTopic":"software development companies","totalResults":20,"successfulScrapes":18,"failedScrapes":2,"processingTime":15000,"status":"completed","message":"Scraping completed successfully"}}
+                        """
+                    )
+                ),
+                @Content(
+                    mediaType = "text/event-stream",
+                    examples = @ExampleObject(
+                        name = "Server-Sent Events",
+                        value = """
+                        event: result
+                        data: {"url":"https://example.com","status":"success","emails":["contact@example.com"]}
+
+                        event: summary
+                        data: {"searchTopic":"software development companies","totalResults":20,"successfulScrapes":18,"failedScrapes":2,"processingTime":15000,"status":"completed","message":"Scraping completed successfully"}
+                        """
+                    )
+                )
+            }
+        ),
+        @ApiResponse(responseCode = "400", description = "Bad request - Invalid input parameters")
+    })
+    @PostMapping(value = "/web/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamWebData(
+        @Parameter(
+            description = "Scraping request containing search topic and parameters",
+            required = true,
+            schema = @Schema(implementation = ScrapeRequest.class)
+        )
+        @Valid @RequestBody ScrapeRequest request,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.info("Received streaming scrape request for topic: {}", request.getSearchTopic());
+        ScrapeStreamer.Format format = ScrapeStreamer.Format.fromAccept(accept);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.contentType()))
+            .body(out -> scrapeStreamer.streamWeb(request, format, out));
+    }
+
+    @Operation(
+        summary = "Submit a scraping job",
+        description = "Starts the same scrape as POST /scrape/web in the background and returns its job ID at once. Poll GET /scrape/jobs/{jobId} for progress and page through GET /scrape/jobs/{jobId}/results as results arrive. exportAsCsv is ignored."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "Job accepted",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ScrapeJobStatus.class),
+                examples = @ExampleObject(
+                    name = "Job Accepted",
+                    value = """
+                    {
+                        "jobId": "3f6c1e9a-8d2b-4f57-9a41-0c2d7e5b8f13",
+                        "status": "queued",
+                        "searchTopic": "software development companies",
+                        "totalUrls": 0,
+                        "completedUrls": 0,
+                        "successfulScrapes": 0,
+                        "failedScrapes": 0,
+                        "submittedAt": 1694678400000
+                    }
+                    """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Bad request - Invalid input parameters"),
+        @ApiResponse(responseCode = "429", description = "Too many unfinished jobs are held; retry later")
+    })
+    @PostMapping("/jobs")
+    public ResponseEntity<?> submitScrapeJob(
+        @Parameter(
+            description = "Scraping request containing search topic and parameters",
+            required = true,
+            schema = @Schema(implementation = ScrapeRequest.class)
+        )
+        @Valid @RequestBody ScrapeRequest request) {
+        ScrapeJob job = scrapeJobService.submit(request);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(Map.of("error", "Too many unfinished scrape jobs, retry later"));
+        }
+        return ResponseEntity.accepted().body(job.toStatus());
+    }
+
+    @Operation(
+        summary = "Scraping job status",
+        description = "Returns the state of a job and its progress: URLs finished out of the total, successes and failures"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Job found",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ScrapeJobStatus.class),
+                examples = @ExampleObject(
+                    name = "Running Job",
+                    value = """
+                    {
+                        "jobId": "3f6c1e9a-8d2b-4f57-9a41-0c2d7e5b8f13",
+                        "status": "running",
+                        "searchTopic": "software development companies",
+                        "totalUrls": 20,
+                        "completedUrls": 12,
+                        "successfulScrapes": 10,
+                        "failedScrapes": 1,
+                        "submittedAt": 1694678400000,
+                        "startedAt": 1694678400012
+                    }
+                    """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "404", description = "Unknown job, or finished longer ago than the retention period")
+    })
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ScrapeJobStatus> getScrapeJob(@PathVariable String jobId) {
+        ScrapeJob job = scrapeJobService.get(jobId);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(job.toStatus());
+    }
+
+    @Operation(
+        summary = "Scraping job results",
+        description = "Returns a page of a job's results in the order their URLs finished. Results can be read while the job runs; a page, once full, never changes."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Results page",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    name = "Results Page",
+                    value = """
+                    {
+                        "jobId": "3f6c1e9a-8d2b-4f57-9a41-0c2d7e5b8f13",
+                        "status": "running",
+                        "offset": 0,
+                        "limit": 50,
+                        "available": 12,
+                        "results": [
+                            {
+                                "url": "https://example.com",
+                                "status": "success",
+                                "emails": ["contact@example.com"]
+                            }
+                        ]
+                    }
+                    """
+                )
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Negative offset or a limit below 1"),
+        @ApiResponse(responseCode = "404", description = "Unknown job, or finished longer ago than the retention period")
+    })
+    @GetMapping("/jobs/{jobId}/results")
+    public ResponseEntity<Map<String, Object>> getScrapeJobResults(
+        @PathVariable String jobId,
+        @Parameter(description = "Index of the first result") @RequestParam(defaultValue = "0") int offset,
+        @Parameter(description = "Results per page, at most 500") @RequestParam(defaultValue = "50") int limit) {
+        if (offset < 0 || limit < 1) {
+            return ResponseEntity.badRequest().body(Map.of("error", "offset must be 0 or more and limit 1 or more"));
+        }
+        ScrapeJob job = scrapeJobService.get(jobId);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        int pageSize = Math.min(limit, MAX_RESULTS_PAGE);
+        // State first: a job read as finished already has all its results
+        String status = job.getState().value();
+        return ResponseEntity.ok(Map.of(
+            "jobId", jobId,
+            "status", status,
+            "offset", offset,
+            "limit", pageSize,
+            "available", job.getResultCount(),
+            "results", job.getResults(offset, pageSize)
+        ));
+    }
+
+    @Operation(
+        summary = "Scraping job counts",
+        description = "Returns how many retained jobs are queued, running, completed or failed, and the retention settings"
+    )
+    @GetMapping("/jobs")
+    public ResponseEntity<Map<String, Object>> getScrapeJobStats() {
+        return ResponseEntity.ok(Map.of(
+            "jobs", scrapeJobService.stats(),
+            "timestamp", System.currentTimeMillis()
+        ));
+    }
+
     @Operation(
         summary = "Health check",
         description = "Returns the health status of the web scraper service"
@@ -169,6 +472,274 @@ public class ScrapingController {
         ));
     }
 
+    @Operation(
+        summary = "Circuit breaker states",
+        description = "Returns the per-domain circuit breaker state used to fail fast on sites that are blocking or failing requests"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Circuit breaker states retrieved successfully",
+        content = @Content(
+            mediaType = "application/json",
+            examples = @ExampleObject(
+                name = "Circuit Breakers Response",
+                value = """
+                {
+                    "breakers": [
+                        {
+                            "domain": "crunchbase.com",
+                            "state": "OPEN",
+                            "requestsInWindow": 8,
+                            "failureRate": 87.5,
+                            "retryAfterMs": 21000
+                        }
+                    ],
+                    "timestamp": 1694678400000
+                }
+                """
+            )
+        )
+    )
+    @GetMapping("/circuit-breakers")
+    public ResponseEntity<Map<String, Object>> getCircuitBreakers() {
+        return ResponseEntity.ok(Map.of(
+            "breakers", circuitBreakerRegistry.snapshot(),
+            "timestamp", System.currentTimeMillis()
+        ));
+    }
+
+    @Operation(
+        summary = "HTTP cache statistics",
+        description = "Returns hit and miss counts of the local HTTP response cache used by the fetch layer"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Cache statistics retrieved successfully",
+        content = @Content(
+            mediaType = "application/json",
+            examples = @ExampleObject(
+                name = "Cache Stats Response",
+                value = """
+                {
+                    "cache": {
+                        "enabled": true,
+                        "requests": 120,
+                        "hits": 84,
+                        "revalidated": 12,
+                        "misses": 24,
+                        "hitRatio": 0.8,
+                        "missRatio": 0.2,
+                        "sizeBytes": 18874368,
+                        "maxSizeBytes": 268435456
+                    },
+                    "timestamp": 1694678400000
+                }
+                """
+            )
+        )
+    )
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(Map.of(
+            "cache", httpResponseCache.stats(),
+            "timestamp", System.currentTimeMillis()
+        ));
+    }
+
+    @Operation(
+        summary = "Response body statistics",
+        description = "Returns how many responses were skipped from their Content-Type or Content-Length headers, "
+            + "cut off at their size limit or extracted as a stream, with the limits in force"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Body statistics retrieved successfully",
+        content = @Content(
+            mediaType = "application/json",
+            examples = @ExampleObject(
+                name = "Body Stats Response",
+                value = """
+                {
+                    "bodies": {
+                        "skippedByContentType": 14,
+                        "skippedByContentLength": 2,
+                        "skippedBytes": 48234496,
+                        "truncated": 1,
+                        "streamed": 3,
+                        "limits": {
+                            "text/html": 20971520,
+                            "application/xhtml+xml": 20971520,
+                            "text/plain": 1048576,
+                            "*": 0
+                        },
+                        "maxBytes": 20971520,
+                        "streamThresholdBytes": 2097152
+                    },
+                    "timestamp": 1694678400000
+                }
+                """
+            )
+        )
+    )
+    @GetMapping("/bodies")
+    public ResponseEntity<Map<String, Object>> getBodyStats() {
+        return ResponseEntity.ok(Map.of(
+            "bodies", bodyLimits.stats(),
+            "timestamp", System.currentTimeMillis()
+        ));
+    }
+
+    @Operation(
+        summary = "robots.txt statistics",
+        description = "Returns how many origins have cached robots.txt rules, how many fetches that took, "
+            + "how many robots.txt files were unreachable and how many URLs were turned away"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "robots.txt statistics retrieved successfully",
+        content = @Content(
+            mediaType = "application/json",
+            examples = @ExampleObject(
+                name = "Robots Stats Response",
+                value = """
+                {
+                    "robots": {
+                        "enabled": true,
+                        "productToken": "web-scraper",
+                        "origins": 42,
+                        "fetches": 45,
+                        "unavailable": 2,
+                        "disallowedUrls": 17
+                    },
+                    "timestamp": 1694678400000
+                }
+                """
+            )
+        )
+    )
+    @GetMapping("/robots")
+    public ResponseEntity<Map<String, Object>> getRobotsStats() {
+        return ResponseEntity.ok(Map.of(
+            "robots", robotsTxtCache.stats(),
+            "timestamp", System.currentTimeMillis()
+        ));
+    }
+
+    @Operation(
+        summary = "Per-host limits",
+        description = "Returns the timeout and concurrency limit each host currently gets, with the latencies and failures they were derived from"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Host limits retrieved successfully",
+        content = @Content(
+            mediaType = "application/json",
+            examples = @ExampleObject(
+                name = "Host Limits Response",
+                value = """
+                {
+                    "hosts": [
+                        {
+                            "host": "www.example.com",
+                            "concurrencyLimit": 3.42,
+                            "inFlight": 2,
+                            "queued": 0,
+                            "timeoutMs": 2000,
+                            "decreases": 1,
+                            "samples": 312,
+                            "failureRate": 0.6,
+                            "p50Ms": 191,
+                            "p95Ms": 479,
+                            "p99Ms": 703
+                        }
+                    ],
+                    "settings": {
+                        "enabled": true,
+                        "timeoutPercentile": 99.0,
+                        "timeoutFactor": 2.0,
+                        "minTimeoutMs": 2000,
+                        "maxTimeoutMs": 10000,
+                        "initialConcurrency": 2,
+                        "maxConcurrency": 5,
+                        "backoffRatio": 0.5
+                    },
+                    "timestamp": 1694678400000
+                }
+                """
+            )
+        )
+    )
+    @GetMapping("/hosts")
+    public ResponseEntity<Map<String, Object>> getHostLimits() {
+        return ResponseEntity.ok(Map.of(
+            "hosts", adaptiveHostLimits.snapshot(),
+            "settings", adaptiveHostLimits.settings(),
+            "timestamp", System.currentTimeMillis()
+        ));
+    }
+
+    @Operation(
+        summary = "Social hosts",
+        description = "Returns the host names recognized as social media profiles and the platform each one maps to"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Social hosts retrieved successfully",
+        content = @Content(
+            mediaType = "application/json",
+            examples = @ExampleObject(
+                name = "Social Hosts Response",
+                value = """
+                {
+                    "hosts": {
+                        "instagram.com": "instagram",
+                        "linkedin.com": "linkedin",
+                        "x.com": "twitter"
+                    }
+                }
+                """
+            )
+        )
+    )
+    @GetMapping("/social-hosts")
+    public ResponseEntity<Map<String, Object>> getSocialHosts() {
+        return ResponseEntity.ok(Map.of("hosts", socialHostRegistry.getHosts()));
+    }
+
+    @Operation(
+        summary = "Add a social host",
+        description = "Maps a host name to a platform; pages scraped afterwards recognize links to it as social profiles"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Host added"),
+        @ApiResponse(responseCode = "400", description = "Missing or invalid host or platform")
+    })
+    @PostMapping("/social-hosts")
+    public ResponseEntity<Map<String, Object>> addSocialHost(
+        @Parameter(description = "Host and platform, e.g. {\"host\": \"threads.net\", \"platform\": \"threads\"}", required = true)
+        @RequestBody Map<String, String> body) {
+        if (!socialHostRegistry.addHost(body.get("host"), body.get("platform"))) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Both a valid host and a platform are required"));
+        }
+        return ResponseEntity.ok(Map.of("hosts", socialHostRegistry.getHosts()));
+    }
+
+    @Operation(
+        summary = "Remove a social host",
+        description = "Stops recognizing links to the host as social profiles"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Host removed"),
+        @ApiResponse(responseCode = "404", description = "Host was not registered")
+    })
+    @DeleteMapping("/social-hosts/{host}")
+    public ResponseEntity<Map<String, Object>> removeSocialHost(@PathVariable String host) {
+        if (!socialHostRegistry.removeHost(host)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(Map.of("hosts", socialHostRegistry.getHosts()));
+    }
+
     @Operation(
         summary = "Service information",
         description = "Returns detailed information about the web scraper service including available endpoints and supported data types"
@@ -202,11 +773,24 @@ public class ScrapingController {
             "name", "Web Scraper Service",
             "description", "A Spring Boot service for scraping web data including emails, phone numbers, and descriptions",
             "version", "1.0.0",
-            "endpoints", Map.of(
-                "POST /api/scrape/web", "Scrape web data based on search topic",
-                "POST /api/scrape/instagram", "Scrape Instagram followers/following with login credentials",
-                "GET /api/scrape/health", "Health check endpoint",
-                "GET /api/scrape/info", "Service information"
+            "endpoints", Map.ofEntries(
+                Map.entry("POST /api/scrape/web", "Scrape web data based on search topic"),
+                Map.entry("POST /api/scrape/web/stream", "Scrape web data, streaming each result as NDJSON or SSE"),
+                Map.entry("POST /api/scrape/batch", "Scrape many topics in one pass, fetching shared URLs once"),
+                Map.entry("POST /api/scrape/jobs", "Submit a background scrape; returns a job ID"),
+                Map.entry("GET /api/scrape/jobs/{jobId}", "Job status and progress"),
+                Map.entry("GET /api/scrape/jobs/{jobId}/results", "Page through a job's results (offset, limit)"),
+                Map.entry("GET /api/scrape/jobs", "Counts of retained jobs by state"),
+                Map.entry("POST /api/scrape/instagram", "Scrape Instagram followers/following with login credentials"),
+                Map.entry("POST /api/scrape/instagram/stream", "Scrape Instagram profiles, streaming each as NDJSON or SSE"),
+                Map.entry("GET /api/scrape/health", "Health check endpoint"),
+                Map.entry("GET /api/scrape/info", "Service information"),
+                Map.entry("GET /api/scrape/circuit-breakers", "Per-domain circuit breaker states"),
+                Map.entry("GET /api/scrape/cache", "HTTP response cache statistics"),
+                Map.entry("GET /api/scrape/bodies", "Skipped, truncated and streamed response bodies"),
+                Map.entry("GET /api/scrape/robots", "robots.txt cache and disallowed URL counts"),
+                Map.entry("GET /api/scrape/hosts", "Per-host timeouts, concurrency limits and latencies"),
+                Map.entry("GET /api/scrape/social-hosts", "Hosts recognized as social profiles (POST to add, DELETE /{host} to remove)")
             ),
             "supportedDataTypes", new String[]{"emails", "phoneNumbers", "socialLinks", "descriptions", "content"}
         ));
@@ -270,27 +854,22 @@ public class ScrapingController {
             required = true,
             schema = @Schema(implementation = InstagramScrapeRequest.class)
         )
-        @RequestBody InstagramScrapeRequest request
+        @RequestBody InstagramScrapeRequest request,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
     ) {
         log.info("Received Instagram scraping request for target: {}", request.getTargetHandle());
         
         try {
-            InstagramScrapeResponse response = instagramScrapingService.scrapeInstagramProfiles(request);
-            
-            // If CSV export is requested, return CSV file
+            // If CSV export is requested, write rows to the response as profiles are collected
             if (request.getExportAsCsv() != null && request.getExportAsCsv()) {
-                String csvContent = convertInstagramToCsv(response.getProfiles(), request.getFieldsToExtract());
-                
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-                headers.setContentDispositionFormData("attachment", 
-                    "instagram_data_" + request.getTargetHandle() + "_" + System.currentTimeMillis() + ".csv");
-                
+                boolean gzip = acceptsGzip(acceptEncoding);
                 return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(csvContent);
+                    .headers(csvHeaders("instagram_data_" + request.getTargetHandle() + "_" + System.currentTimeMillis() + ".csv", gzip))
+                    .body((StreamingResponseBody) out -> scrapeStreamer.exportInstagramCsv(request, gzip, out));
             }
             
+            InstagramScrapeResponse response = instagramScrapingService.scrapeInstagramProfiles(request);
+            
             // Return JSON response
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
@@ -309,66 +888,80 @@ public class ScrapingController {
         }
     }
     
-    private String convertInstagramToCsv(List<com.scraper.model.InstagramProfile> profiles, Set<String> fieldsToExtract) {
-        try (StringWriter writer = new StringWriter();
-             com.opencsv.CSVWriter csvWriter = new com.opencsv.CSVWriter(writer)) {
-            
-            List<String> headers = new ArrayList<>();
-            headers.add("Username");
-            headers.add("Full Name");
-            headers.add("Profile URL");
-            headers.add("Status");
-            
-            if (fieldsToExtract == null || fieldsToExtract.isEmpty()) {
-                fieldsToExtract = Set.of("bio", "contact", "email", "phone", "website", "location");
+    @Operation(
+        summary = "Stream Instagram profiles",
+        description = "Runs the same scrape as POST /scrape/instagram and writes each profile as soon as it is collected, ending with a summary record that carries the counts and statistics. Sends Server-Sent Events when the Accept header asks for text/event-stream, NDJSON otherwise. exportAsCsv is ignored."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Profiles as they are collected, then the summary",
+            content = {
+                @Content(mediaType = "application/x-ndjson"),
+                @Content(mediaType = "text/event-stream")
             }
-            
-            if (fieldsToExtract.contains("bio")) headers.add("Bio");
-            if (fieldsToExtract.contains("contact")) headers.add("Contact");
-            if (fieldsToExtract.contains("email")) headers.add("Emails");
-            if (fieldsToExtract.contains("phone")) headers.add("Phone Numbers");
-            if (fieldsToExtract.contains("website")) headers.add("Website");
-            if (fieldsToExtract.contains("location")) headers.add("Location");
-            if (fieldsToExtract.contains("errorMessage")) headers.add("Error Message");
-            
-            csvWriter.writeNext(headers.toArray(new String[0]));
-            
-            for (com.scraper.model.InstagramProfile profile : profiles) {
-                List<String> row = new ArrayList<>();
-                row.add(profile.getUsername() != null ? profile.getUsername() : "");
-                row.add(profile.getFullName() != null ? profile.getFullName() : "");
-                row.add(profile.getProfileUrl() != null ? profile.getProfileUrl() : "");
-                row.add(profile.getStatus() != null ? profile.getStatus() : "");
-                
-                if (fieldsToExtract.contains("bio")) {
-                    row.add(profile.getBio() != null ? profile.getBio().replaceAll("\\s+", " ").trim() : "");
-                }
-                if (fieldsToExtract.contains("contact")) {
-                    row.add(profile.getContact() != null ? profile.getContact() : "");
-                }
-                if (fieldsToExtract.contains("email")) {
-                    row.add(profile.getEmails() != null ? String.join("; ", profile.getEmails()) : "");
-                }
-                if (fieldsToExtract.contains("phone")) {
-                    row.add(profile.getPhoneNumbers() != null ? String.join("; ", profile.getPhoneNumbers()) : "");
-                }
-                if (fieldsToExtract.contains("website")) {
-                    row.add(profile.getWebsite() != null ? profile.getWebsite() : "");
-                }
-                if (fieldsToExtract.contains("location")) {
-                    row.add(profile.getLocation() != null ? profile.getLocation() : "");
-                }
-                if (fieldsToExtract.contains("errorMessage")) {
-                    row.add(profile.getErrorMessage() != null ? profile.getErrorMessage() : "");
+        ),
+        @ApiResponse(responseCode = "400", description = "Bad request - invalid parameters")
+    })
+    @PostMapping(value = "/instagram/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamInstagramProfiles(
+        @Parameter(
+            description = "Instagram scraping request containing login credentials and target profile",
+            required = true,
+            schema = @Schema(implementation = InstagramScrapeRequest.class)
+        )
+        @RequestBody InstagramScrapeRequest request,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.info("Received streaming Instagram scraping request for target: {}", request.getTargetHandle());
+        ScrapeStreamer.Format format = ScrapeStreamer.Format.fromAccept(accept);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(format.contentType()))
+            .body(out -> scrapeStreamer.streamInstagram(request, format, out));
+    }
+    
+    /**
+     * Whether Accept-Encoding allows gzip: named with a q-value above 0, or, when it is not
+     * named, covered by {@code *} with one. {@code gzip;q=0} refuses it.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] params = coding.split(";");
+            String name = params[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim().toLowerCase(Locale.ROOT);
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
                 }
-                
-                csvWriter.writeNext(row.toArray(new String[0]));
             }
-            
-            return writer.toString();
-        } catch (Exception e) {
-            log.error("Error converting Instagram data to CSV: ", e);
-            throw new RuntimeException("Failed to convert Instagram data to CSV", e);
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzip = q;
+            } else if (name.equals("*")) {
+                any = q;
+            }
+        }
+        Double q = gzip != null ? gzip : any;
+        return q != null && q > 0;
+    }
+    
+    private static HttpHeaders csvHeaders(String filename, boolean gzip) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDispositionFormData("attachment", filename);
+        // The body depends on Accept-Encoding, so shared caches must not serve one for the other
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
         }
+        return headers;
     }
 }
@@ -0,0 +1,69 @@
+package com.scraper.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.Set;
+
+@Schema(description = "Request object for scraping many search topics with the same options in one pass")
+public class BatchScrapeRequest {
+
+    @Schema(description = "The search topics to scrape; repeated topics are scraped once", example = "[\"dental clinics\", \"orthodontists\"]", required = true)
+    @NotEmpty(message = "At least one search topic is required")
+    @Size(max = 1000, message = "A batch cannot hold more than 1000 topics")
+    private List<String> searchTopics;
+
+    @Schema(description = "Maximum number of URLs to scrape per topic", example = "5", minimum = "1", maximum = "50", required = true)
+    @NotNull(message = "Max results is required")
+    private Integer maxResults = 10;
+
+    @Schema(description = "Search engine to use for finding URLs", example = "google", allowableValues = {"google", "bing", "duckduckgo"})
+    private String searchEngine = "google";
+
+    @Schema(description = "Language for search results", example = "en", allowableValues = {"en", "es", "fr", "de", "it"})
+    private String language = "en";
+
+    @Schema(description = "Country code for localized search results", example = "us", allowableValues = {"us", "uk", "ca", "au", "de"})
+    private String country = "us";
+
+    @Schema(description = "Fields to extract from scraped data", example = "[\"emails\", \"phoneNumbers\", \"socialLinks\"]", allowableValues = {"emails", "phoneNumbers", "socialLinks", "title", "description", "content", "domain"})
+    private Set<String> fieldsToExtract = Set.of("emails", "phoneNumbers", "socialLinks", "title", "description", "content", "domain");
+
+    @Schema(description = "Time budget for the whole batch in milliseconds; when it runs out, the results so far come back and topics with URLs that did not finish are marked partial", example = "20000", minimum = "1")
+    @Min(value = 1, message = "Deadline must be at least 1 ms")
+    private Long deadlineMs;
+
+    // Constructors
+    public BatchScrapeRequest() {}
+
+    public BatchScrapeRequest(List<String> searchTopics, Integer maxResults, Set<String> fieldsToExtract) {
+        this.searchTopics = searchTopics;
+        this.maxResults = maxResults;
+        this.fieldsToExtract = fieldsToExtract;
+    }
+
+    // Getters and Setters
+    public List<String> getSearchTopics() { return searchTopics; }
+    public void setSearchTopics(List<String> searchTopics) { this.searchTopics = searchTopics; }
+
+    public Integer getMaxResults() { return maxResults; }
+    public void setMaxResults(Integer maxResults) { this.maxResults = maxResults; }
+
+    public String getSearchEngine() { return searchEngine; }
+    public void setSearchEngine(String searchEngine) { this.searchEngine = searchEngine; }
+
+    public String getLanguage() { return language; }
+    public void setLanguage(String language) { this.language = language; }
+
+    public String getCountry() { return country; }
+    public void setCountry(String country) { this.country = country; }
+
+    public Set<String> getFieldsToExtract() { return fieldsToExtract; }
+    public void setFieldsToExtract(Set<String> fieldsToExtract) { this.fieldsToExtract = fieldsToExtract; }
+
+    public Long getDeadlineMs() { return deadlineMs; }
+    public void setDeadlineMs(Long deadlineMs) { this.deadlineMs = deadlineMs; }
+}
@@ -0,0 +1,112 @@
+package com.scraper.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Response object for a batch scrape: the results of every topic, fetched in one pass")
+public class BatchScrapeResponse {
+
+    @Schema(description = "Number of distinct topics scraped", example = "2")
+    private int totalTopics;
+
+    @Schema(description = "URLs planned across all topics, duplicates included", example = "10")
+    private int plannedUrls;
+
+    @Schema(description = "Distinct URLs actually fetched; a URL planned by several topics is fetched once", example = "8")
+    private int uniqueUrls;
+
+    @Schema(description = "Distinct URLs that were scraped successfully", example = "7")
+    private int successfulScrapes;
+
+    @Schema(description = "Distinct URLs that failed to be scraped", example = "1")
+    private int failedScrapes;
+
+    @Schema(description = "Results grouped by topic, in the order the topics were given")
+    private List<ScrapeResponse> topics;
+
+    @Schema(description = "Total time taken for the whole batch in milliseconds", example = "12000")
+    private long processingTime;
+
+    @Schema(description = "Overall status of the batch", example = "completed", allowableValues = {"completed", "partial", "error"})
+    private String status;
+
+    @Schema(description = "Status message describing the result", example = "Batch scraping completed successfully")
+    private String message;
+
+    // Constructors
+    public BatchScrapeResponse() {}
+
+    public BatchScrapeResponse(int totalTopics, int plannedUrls, int uniqueUrls, int successfulScrapes,
+                               int failedScrapes, List<ScrapeResponse> topics, long processingTime,
+                               String status, String message) {
+        this.totalTopics = totalTopics;
+        this.plannedUrls = plannedUrls;
+        this.uniqueUrls = uniqueUrls;
+        this.successfulScrapes = successfulScrapes;
+        this.failedScrapes = failedScrapes;
+        this.topics = topics;
+        this.processingTime = processingTime;
+        this.status = status;
+        this.message = message;
+    }
+
+    // Builder pattern
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private int totalTopics;
+        private int plannedUrls;
+        private int uniqueUrls;
+        private int successfulScrapes;
+        private int failedScrapes;
+        private List<ScrapeResponse> topics;
+        private long processingTime;
+        private String status;
+        private String message;
+
+        public Builder totalTopics(int totalTopics) { this.totalTopics = totalTopics; return this; }
+        public Builder plannedUrls(int plannedUrls) { this.plannedUrls = plannedUrls; return this; }
+        public Builder uniqueUrls(int uniqueUrls) { this.uniqueUrls = uniqueUrls; return this; }
+        public Builder successfulScrapes(int successfulScrapes) { this.successfulScrapes = successfulScrapes; return this; }
+        public Builder failedScrapes(int failedScrapes) { this.failedScrapes = failedScrapes; return this; }
+        public Builder topics(List<ScrapeResponse> topics) { this.topics = topics; return this; }
+        public Builder processingTime(long processingTime) { this.processingTime = processingTime; return this; }
+        public Builder status(String status) { this.status = status; return this; }
+        public Builder message(String message) { this.message = message; return this; }
+
+        public BatchScrapeResponse build() {
+            return new BatchScrapeResponse(totalTopics, plannedUrls, uniqueUrls, successfulScrapes,
+                                           failedScrapes, topics, processingTime, status, message);
+        }
+    }
+
+    // Getters and Setters
+    public int getTotalTopics() { return totalTopics; }
+    public void setTotalTopics(int totalTopics) { this.totalTopics = totalTopics; }
+
+    public int getPlannedUrls() { return plannedUrls; }
+    public void setPlannedUrls(int plannedUrls) { this.plannedUrls = plannedUrls; }
+
+    public int getUniqueUrls() { return uniqueUrls; }
+    public void setUniqueUrls(int uniqueUrls) { this.uniqueUrls = uniqueUrls; }
+
+    public int getSuccessfulScrapes() { return successfulScrapes; }
+    public void setSuccessfulScrapes(int successfulScrapes) { this.successfulScrapes = successfulScrapes; }
+
+    public int getFailedScrapes() { return failedScrapes; }
+    public void setFailedScrapes(int failedScrapes) { this.failedScrapes = failedScrapes; }
+
+    public List<ScrapeResponse> getTopics() { return topics; }
+    public void setTopics(List<ScrapeResponse> topics) { this.topics = topics; }
+
+    public long getProcessingTime() { return processingTime; }
+    public void setProcessingTime(long processingTime) { this.processingTime = processingTime; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -52,6 +52,10 @@ public class InstagramScrapeRequest {
     @Schema(description = "Whether to run browser in headless mode for better performance", example = "false")
     private Boolean headlessMode = false;
 
+    @Schema(description = "Time budget for the whole request in milliseconds; when it runs out, scrolling stops and the profiles collected so far come back with status partial", example = "60000", minimum = "1")
+    @Min(value = 1, message = "Deadline must be at least 1 ms")
+    private Long deadlineMs;
+
     // Constructors
     public InstagramScrapeRequest() {}
 
@@ -109,6 +113,9 @@ public class InstagramScrapeRequest {
     public Boolean getHeadlessMode() { return headlessMode; }
     public void setHeadlessMode(Boolean headlessMode) { this.headlessMode = headlessMode; }
 
+    public Long getDeadlineMs() { return deadlineMs; }
+    public void setDeadlineMs(Long deadlineMs) { this.deadlineMs = deadlineMs; }
+
     // Builder pattern
     public static Builder builder() {
         return new Builder();
@@ -127,6 +134,7 @@ public class InstagramScrapeRequest {
         private Long delayMs = 2000L;
         private Boolean saveSession = true;
         private Boolean headlessMode = false;
+        private Long deadlineMs;
 
         public Builder username(String username) { this.username = username; return this; }
         public Builder password(String password) { this.password = password; return this; }
@@ -140,10 +148,13 @@ public class InstagramScrapeRequest {
         public Builder delayMs(Long delayMs) { this.delayMs = delayMs; return this; }
         public Builder saveSession(Boolean saveSession) { this.saveSession = saveSession; return this; }
         public Builder headlessMode(Boolean headlessMode) { this.headlessMode = headlessMode; return this; }
+        public Builder deadlineMs(Long deadlineMs) { this.deadlineMs = deadlineMs; return this; }
 
         public InstagramScrapeRequest build() {
-            return new InstagramScrapeRequest(username, password, targetHandle, maxFollowers, maxFollowing, 
+            InstagramScrapeRequest request = new InstagramScrapeRequest(username, password, targetHandle, maxFollowers, maxFollowing,
                                             scrapeFollowers, scrapeFollowing, fieldsToExtract, exportAsCsv, delayMs, saveSession, headlessMode);
+            request.setDeadlineMs(deadlineMs);
+            return request;
         }
     }
 }
\ No newline at end of file
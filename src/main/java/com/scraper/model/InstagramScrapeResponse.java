@@ -28,10 +28,13 @@ public class InstagramScrapeResponse {
     @Schema(description = "List of scraped Instagram profiles")
     private List<InstagramProfile> profiles;
     
+    @Schema(description = "Follower or following lists that had not been scrolled to the end when the request's deadline passed; empty unless the status is partial", example = "[\"https://www.instagram.com/fashion_influencer/following/\"]")
+    private List<String> unfinishedUrls;
+    
     @Schema(description = "Processing time in milliseconds", example = "45000")
     private Long processingTime;
     
-    @Schema(description = "Overall status", example = "completed")
+    @Schema(description = "Overall status", example = "completed", allowableValues = {"completed", "partial", "error"})
     private String status;
     
     @Schema(description = "Status message", example = "Instagram scraping completed successfully")
@@ -48,7 +51,7 @@ public class InstagramScrapeResponse {
 
     public InstagramScrapeResponse(String targetHandle, Integer totalProfiles, Integer followersScraped, 
                                   Integer followingScraped, Integer successfulScrapes, Integer failedScrapes, 
-                                  List<InstagramProfile> profiles, Long processingTime, String status, 
+                                  List<InstagramProfile> profiles, List<String> unfinishedUrls, Long processingTime, String status, 
                                   String message, Map<String, Object> sessionInfo, Map<String, Object> statistics) {
         this.targetHandle = targetHandle;
         this.totalProfiles = totalProfiles;
@@ -57,6 +60,7 @@ public class InstagramScrapeResponse {
         this.successfulScrapes = successfulScrapes;
         this.failedScrapes = failedScrapes;
         this.profiles = profiles;
+        this.unfinishedUrls = unfinishedUrls;
         this.processingTime = processingTime;
         this.status = status;
         this.message = message;
@@ -86,6 +90,9 @@ public class InstagramScrapeResponse {
     public List<InstagramProfile> getProfiles() { return profiles; }
     public void setProfiles(List<InstagramProfile> profiles) { this.profiles = profiles; }
     
+    public List<String> getUnfinishedUrls() { return unfinishedUrls; }
+    public void setUnfinishedUrls(List<String> unfinishedUrls) { this.unfinishedUrls = unfinishedUrls; }
+    
     public Long getProcessingTime() { return processingTime; }
     public void setProcessingTime(Long processingTime) { this.processingTime = processingTime; }
     
@@ -114,6 +121,7 @@ public class InstagramScrapeResponse {
         private Integer successfulScrapes;
         private Integer failedScrapes;
         private List<InstagramProfile> profiles;
+        private List<String> unfinishedUrls = List.of();
         private Long processingTime;
         private String status;
         private String message;
@@ -127,6 +135,7 @@ public class InstagramScrapeResponse {
         public Builder successfulScrapes(Integer successfulScrapes) { this.successfulScrapes = successfulScrapes; return this; }
         public Builder failedScrapes(Integer failedScrapes) { this.failedScrapes = failedScrapes; return this; }
         public Builder profiles(List<InstagramProfile> profiles) { this.profiles = profiles; return this; }
+        public Builder unfinishedUrls(List<String> unfinishedUrls) { this.unfinishedUrls = unfinishedUrls; return this; }
         public Builder processingTime(Long processingTime) { this.processingTime = processingTime; return this; }
         public Builder status(String status) { this.status = status; return this; }
         public Builder message(String message) { this.message = message; return this; }
@@ -135,7 +144,7 @@ public class InstagramScrapeResponse {
 
         public InstagramScrapeResponse build() {
             return new InstagramScrapeResponse(targetHandle, totalProfiles, followersScraped, followingScraped, 
-                                             successfulScrapes, failedScrapes, profiles, processingTime, 
+                                             successfulScrapes, failedScrapes, profiles, unfinishedUrls, processingTime, 
                                              status, message, sessionInfo, statistics);
         }
     }
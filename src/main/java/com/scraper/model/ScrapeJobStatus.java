@@ -0,0 +1,139 @@
+package com.scraper.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Map;
+
+@Schema(description = "State and progress of an asynchronous scraping job")
+public class ScrapeJobStatus {
+
+    @Schema(description = "Identifier to poll the job and fetch its results with", example = "3f6c1e9a-8d2b-4f57-9a41-0c2d7e5b8f13")
+    private String jobId;
+
+    @Schema(description = "Job state", example = "running", allowableValues = {"queued", "running", "completed", "error"})
+    private String status;
+
+    @Schema(description = "The search topic being scraped", example = "software development companies")
+    private String searchTopic;
+
+    @Schema(description = "URLs the job expects to visit; grows in crawl mode as pages are discovered", example = "20")
+    private int totalUrls;
+
+    @Schema(description = "URLs finished so far, whatever their outcome", example = "12")
+    private int completedUrls;
+
+    @Schema(description = "Finished URLs that were scraped successfully", example = "10")
+    private int successfulScrapes;
+
+    @Schema(description = "Finished URLs that failed", example = "1")
+    private int failedScrapes;
+
+    @Schema(description = "When the job was submitted (epoch milliseconds)", example = "1694678400000")
+    private long submittedAt;
+
+    @Schema(description = "When the job started running, or null while it is queued", example = "1694678400012")
+    private Long startedAt;
+
+    @Schema(description = "When the job finished, or null while it runs", example = "1694678431544")
+    private Long finishedAt;
+
+    @Schema(description = "Metadata about the scraping operation, once the job has finished")
+    private Map<String, Object> metadata;
+
+    @Schema(description = "Status message; the error for failed jobs", example = "Scraping completed successfully")
+    private String message;
+
+    // Constructors
+    public ScrapeJobStatus() {}
+
+    public ScrapeJobStatus(String jobId, String status, String searchTopic, int totalUrls, int completedUrls,
+                           int successfulScrapes, int failedScrapes, long submittedAt, Long startedAt,
+                           Long finishedAt, Map<String, Object> metadata, String message) {
+        this.jobId = jobId;
+        this.status = status;
+        this.searchTopic = searchTopic;
+        this.totalUrls = totalUrls;
+        this.completedUrls = completedUrls;
+        this.successfulScrapes = successfulScrapes;
+        this.failedScrapes = failedScrapes;
+        this.submittedAt = submittedAt;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.metadata = metadata;
+        this.message = message;
+    }
+
+    // Builder pattern
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private String jobId;
+        private String status;
+        private String searchTopic;
+        private int totalUrls;
+        private int completedUrls;
+        private int successfulScrapes;
+        private int failedScrapes;
+        private long submittedAt;
+        private Long startedAt;
+        private Long finishedAt;
+        private Map<String, Object> metadata;
+        private String message;
+
+        public Builder jobId(String jobId) { this.jobId = jobId; return this; }
+        public Builder status(String status) { this.status = status; return this; }
+        public Builder searchTopic(String searchTopic) { this.searchTopic = searchTopic; return this; }
+        public Builder totalUrls(int totalUrls) { this.totalUrls = totalUrls; return this; }
+        public Builder completedUrls(int completedUrls) { this.completedUrls = completedUrls; return this; }
+        public Builder successfulScrapes(int successfulScrapes) { this.successfulScrapes = successfulScrapes; return this; }
+        public Builder failedScrapes(int failedScrapes) { this.failedScrapes = failedScrapes; return this; }
+        public Builder submittedAt(long submittedAt) { this.submittedAt = submittedAt; return this; }
+        public Builder startedAt(Long startedAt) { this.startedAt = startedAt; return this; }
+        public Builder finishedAt(Long finishedAt) { this.finishedAt = finishedAt; return this; }
+        public Builder metadata(Map<String, Object> metadata) { this.metadata = metadata; return this; }
+        public Builder message(String message) { this.message = message; return this; }
+
+        public ScrapeJobStatus build() {
+            return new ScrapeJobStatus(jobId, status, searchTopic, totalUrls, completedUrls, successfulScrapes,
+                                       failedScrapes, submittedAt, startedAt, finishedAt, metadata, message);
+        }
+    }
+
+    // Getters and Setters
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getSearchTopic() { return searchTopic; }
+    public void setSearchTopic(String searchTopic) { this.searchTopic = searchTopic; }
+
+    public int getTotalUrls() { return totalUrls; }
+    public void setTotalUrls(int totalUrls) { this.totalUrls = totalUrls; }
+
+    public int getCompletedUrls() { return completedUrls; }
+    public void setCompletedUrls(int completedUrls) { this.completedUrls = completedUrls; }
+
+    public int getSuccessfulScrapes() { return successfulScrapes; }
+    public void setSuccessfulScrapes(int successfulScrapes) { this.successfulScrapes = successfulScrapes; }
+
+    public int getFailedScrapes() { return failedScrapes; }
+    public void setFailedScrapes(int failedScrapes) { this.failedScrapes = failedScrapes; }
+
+    public long getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(long submittedAt) { this.submittedAt = submittedAt; }
+
+    public Long getStartedAt() { return startedAt; }
+    public void setStartedAt(Long startedAt) { this.startedAt = startedAt; }
+
+    public Long getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(Long finishedAt) { this.finishedAt = finishedAt; }
+
+    public Map<String, Object> getMetadata() { return metadata; }
+    public void setMetadata(Map<String, Object> metadata) { this.metadata = metadata; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -1,6 +1,8 @@
 package com.scraper.model;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -29,6 +31,31 @@ public class ScrapeRequest {
     
     @Schema(description = "Whether to export results as CSV file", example = "false")
     private Boolean exportAsCsv = false;
+
+    @Schema(description = "Crawl from the search results: visit the result pages and follow their contact, about and team links", example = "false")
+    private Boolean crawl = false;
+
+    @Schema(description = "In crawl mode, how many same-site links may be followed from a result page; defaults to scraper.crawl.max-depth", example = "1", minimum = "0", maximum = "3")
+    @Min(value = 0, message = "Crawl depth cannot be negative")
+    @Max(value = 3, message = "Crawl depth cannot exceed 3")
+    private Integer crawlDepth;
+
+    @Schema(description = "In crawl mode, the most pages fetched from one site; defaults to scraper.crawl.max-pages-per-domain", example = "5", minimum = "1", maximum = "50")
+    @Min(value = 1, message = "Max pages per domain must be at least 1")
+    @Max(value = 50, message = "Max pages per domain cannot exceed 50")
+    private Integer maxPagesPerDomain;
+
+    @Schema(description = "In crawl mode, the most pages fetched for the whole request, search pages included; defaults to scraper.crawl.max-pages", example = "100", minimum = "1", maximum = "500")
+    @Min(value = 1, message = "Max pages must be at least 1")
+    @Max(value = 500, message = "Max pages cannot exceed 500")
+    private Integer maxPages;
+
+    @Schema(description = "In crawl mode, leave out discovered pages that any crawl visited within scraper.crawl.seen.window-minutes", example = "false")
+    private Boolean skipRecentlySeen = false;
+
+    @Schema(description = "Time budget for the whole request in milliseconds; when it runs out, outstanding fetches are abandoned and the results so far come back with status partial", example = "5000", minimum = "1")
+    @Min(value = 1, message = "Deadline must be at least 1 ms")
+    private Long deadlineMs;
     
     // Constructors
     public ScrapeRequest() {}
@@ -72,4 +99,22 @@ public class ScrapeRequest {
     
     public Boolean getExportAsCsv() { return exportAsCsv; }
     public void setExportAsCsv(Boolean exportAsCsv) { this.exportAsCsv = exportAsCsv; }
+
+    public Boolean getCrawl() { return crawl; }
+    public void setCrawl(Boolean crawl) { this.crawl = crawl; }
+
+    public Integer getCrawlDepth() { return crawlDepth; }
+    public void setCrawlDepth(Integer crawlDepth) { this.crawlDepth = crawlDepth; }
+
+    public Integer getMaxPagesPerDomain() { return maxPagesPerDomain; }
+    public void setMaxPagesPerDomain(Integer maxPagesPerDomain) { this.maxPagesPerDomain = maxPagesPerDomain; }
+
+    public Integer getMaxPages() { return maxPages; }
+    public void setMaxPages(Integer maxPages) { this.maxPages = maxPages; }
+
+    public Boolean getSkipRecentlySeen() { return skipRecentlySeen; }
+    public void setSkipRecentlySeen(Boolean skipRecentlySeen) { this.skipRecentlySeen = skipRecentlySeen; }
+
+    public Long getDeadlineMs() { return deadlineMs; }
+    public void setDeadlineMs(Long deadlineMs) { this.deadlineMs = deadlineMs; }
 }
@@ -21,6 +21,9 @@ public class ScrapeResponse {
     
     @Schema(description = "List of scraped data from each URL")
     private List<ScrapedData> results;
+
+    @Schema(description = "URLs that had not finished when the request's deadline passed; empty unless the status is partial", example = "[\"https://example.org/contact\"]")
+    private List<String> unfinishedUrls;
     
     @Schema(description = "Metadata about the scraping operation", example = "{\"searchEngine\": \"google\", \"language\": \"en\", \"country\": \"us\"}")
     private Map<String, Object> metadata;
@@ -28,7 +31,7 @@ public class ScrapeResponse {
     @Schema(description = "Total time taken for the entire scraping operation in milliseconds", example = "5000")
     private long processingTime;
     
-    @Schema(description = "Overall status of the scraping operation", example = "completed", allowableValues = {"completed", "error"})
+    @Schema(description = "Overall status of the scraping operation", example = "completed", allowableValues = {"completed", "partial", "error"})
     private String status;
     
     @Schema(description = "Status message describing the result", example = "Scraping completed successfully")
@@ -38,13 +41,14 @@ public class ScrapeResponse {
     public ScrapeResponse() {}
     
     public ScrapeResponse(String searchTopic, int totalResults, int successfulScrapes, 
-                         int failedScrapes, List<ScrapedData> results, Map<String, Object> metadata, 
-                         long processingTime, String status, String message) {
+                         int failedScrapes, List<ScrapedData> results, List<String> unfinishedUrls,
+                         Map<String, Object> metadata, long processingTime, String status, String message) {
         this.searchTopic = searchTopic;
         this.totalResults = totalResults;
         this.successfulScrapes = successfulScrapes;
         this.failedScrapes = failedScrapes;
         this.results = results;
+        this.unfinishedUrls = unfinishedUrls;
         this.metadata = metadata;
         this.processingTime = processingTime;
         this.status = status;
@@ -62,6 +66,7 @@ public class ScrapeResponse {
         private int successfulScrapes;
         private int failedScrapes;
         private List<ScrapedData> results;
+        private List<String> unfinishedUrls = List.of();
         private Map<String, Object> metadata;
         private long processingTime;
         private String status;
@@ -72,6 +77,7 @@ public class ScrapeResponse {
         public Builder successfulScrapes(int successfulScrapes) { this.successfulScrapes = successfulScrapes; return this; }
         public Builder failedScrapes(int failedScrapes) { this.failedScrapes = failedScrapes; return this; }
         public Builder results(List<ScrapedData> results) { this.results = results; return this; }
+        public Builder unfinishedUrls(List<String> unfinishedUrls) { this.unfinishedUrls = unfinishedUrls; return this; }
         public Builder metadata(Map<String, Object> metadata) { this.metadata = metadata; return this; }
         public Builder processingTime(long processingTime) { this.processingTime = processingTime; return this; }
         public Builder status(String status) { this.status = status; return this; }
@@ -79,7 +85,7 @@ public class ScrapeResponse {
         
         public ScrapeResponse build() {
             return new ScrapeResponse(searchTopic, totalResults, successfulScrapes, failedScrapes, 
-                                    results, metadata, processingTime, status, message);
+                                    results, unfinishedUrls, metadata, processingTime, status, message);
         }
     }
     
@@ -99,6 +105,9 @@ public class ScrapeResponse {
     public List<ScrapedData> getResults() { return results; }
     public void setResults(List<ScrapedData> results) { this.results = results; }
     
+    public List<String> getUnfinishedUrls() { return unfinishedUrls; }
+    public void setUnfinishedUrls(List<String> unfinishedUrls) { this.unfinishedUrls = unfinishedUrls; }
+    
     public Map<String, Object> getMetadata() { return metadata; }
     public void setMetadata(Map<String, Object> metadata) { this.metadata = metadata; }
     
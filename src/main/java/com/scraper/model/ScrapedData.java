@@ -1,6 +1,8 @@
 package com.scraper.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
 import java.util.Set;
 
 @Schema(description = "Data extracted from a single URL during scraping")
@@ -24,21 +26,42 @@ public class ScrapedData {
     @Schema(description = "Set of social media links found on the page", example = "[\"https://linkedin.com/company/example\", \"https://twitter.com/example\"]")
     private Set<String> socialLinks;
     
+    @Schema(description = "Social media profile links found on the page, each with its platform")
+    private List<SocialLink> socialProfiles;
+    
     @Schema(description = "Main content text extracted from the page", example = "We are a leading software development company...")
     private String content;
     
     @Schema(description = "Domain name of the scraped URL", example = "example.com")
     private String domain;
     
-    @Schema(description = "Status of the scraping operation", example = "success", allowableValues = {"success", "error"})
+    @Schema(description = "Status of the scraping operation", example = "success", allowableValues = {"success", "error", "circuit_open", "skipped", "disallowed", "robots_unavailable", "unfinished"})
     private String status;
     
     @Schema(description = "Time taken to scrape the URL in milliseconds", example = "1500")
     private long responseTime;
     
-    @Schema(description = "Error message if scraping failed", example = "Connection timeout")
+    @Schema(description = "Error message if scraping failed, or why the URL was skipped or disallowed", example = "Connection timeout")
     private String errorMessage;
     
+    @Schema(description = "Number of times the fetch was retried after a retryable failure", example = "1")
+    private int retries;
+    
+    @Schema(description = "Number of hedged duplicate requests sent because the host was slower than usual", example = "0")
+    private int hedgedRequests;
+    
+    @Schema(description = "How the page was served by the local HTTP cache", example = "hit",
+            allowableValues = {"hit", "revalidated", "miss", "disabled"})
+    private String cacheStatus;
+
+    // Absolute links found on the page when a crawl asked for them; search result pages list
+    // their organic results instead. Internal to the crawl, never serialized
+    @JsonIgnore
+    private List<String> links;
+
+    @JsonIgnore
+    private boolean searchResultsPage;
+    
     // Constructors
     public ScrapedData() {}
     
@@ -75,6 +98,12 @@ public class ScrapedData {
         private String status;
         private long responseTime;
         private String errorMessage;
+        private int retries;
+        private int hedgedRequests;
+        private String cacheStatus;
+        private List<SocialLink> socialProfiles;
+        private List<String> links;
+        private boolean searchResultsPage;
         
         public Builder url(String url) { this.url = url; return this; }
         public Builder title(String title) { this.title = title; return this; }
@@ -87,10 +116,23 @@ public class ScrapedData {
         public Builder status(String status) { this.status = status; return this; }
         public Builder responseTime(long responseTime) { this.responseTime = responseTime; return this; }
         public Builder errorMessage(String errorMessage) { this.errorMessage = errorMessage; return this; }
+        public Builder retries(int retries) { this.retries = retries; return this; }
+        public Builder hedgedRequests(int hedgedRequests) { this.hedgedRequests = hedgedRequests; return this; }
+        public Builder cacheStatus(String cacheStatus) { this.cacheStatus = cacheStatus; return this; }
+        public Builder socialProfiles(List<SocialLink> socialProfiles) { this.socialProfiles = socialProfiles; return this; }
+        public Builder links(List<String> links) { this.links = links; return this; }
+        public Builder searchResultsPage(boolean searchResultsPage) { this.searchResultsPage = searchResultsPage; return this; }
         
         public ScrapedData build() {
-            return new ScrapedData(url, title, description, emails, phoneNumbers, socialLinks, 
+            ScrapedData data = new ScrapedData(url, title, description, emails, phoneNumbers, socialLinks, 
                                  content, domain, status, responseTime, errorMessage);
+            data.setRetries(retries);
+            data.setHedgedRequests(hedgedRequests);
+            data.setCacheStatus(cacheStatus);
+            data.setSocialProfiles(socialProfiles);
+            data.setLinks(links);
+            data.setSearchResultsPage(searchResultsPage);
+            return data;
         }
     }
     
@@ -127,4 +169,24 @@ public class ScrapedData {
     
     public String getErrorMessage() { return errorMessage; }
     public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
-}
+    
+    public int getRetries() { return retries; }
+    public void setRetries(int retries) { this.retries = retries; }
+    
+    public int getHedgedRequests() { return hedgedRequests; }
+    public void setHedgedRequests(int hedgedRequests) { this.hedgedRequests = hedgedRequests; }
+    
+    public String getCacheStatus() { return cacheStatus; }
+    public void setCacheStatus(String cacheStatus) { this.cacheStatus = cacheStatus; }
+    
+    public List<SocialLink> getSocialProfiles() { return socialProfiles; }
+    public void setSocialProfiles(List<SocialLink> socialProfiles) { this.socialProfiles = socialProfiles; }
+
+    @JsonIgnore
+    public List<String> getLinks() { return links; }
+    public void setLinks(List<String> links) { this.links = links; }
+
+    @JsonIgnore
+    public boolean isSearchResultsPage() { return searchResultsPage; }
+    public void setSearchResultsPage(boolean searchResultsPage) { this.searchResultsPage = searchResultsPage; }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.scraper.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Objects;
+
+@Schema(description = "A social media profile link together with the platform it belongs to")
+public class SocialLink {
+    
+    @Schema(description = "Platform the link belongs to", example = "linkedin")
+    private String platform;
+    
+    @Schema(description = "The link as found on the page", example = "https://linkedin.com/company/example")
+    private String url;
+    
+    // Constructors
+    public SocialLink() {}
+    
+    public SocialLink(String platform, String url) {
+        this.platform = platform;
+        this.url = url;
+    }
+    
+    // Getters and Setters
+    public String getPlatform() { return platform; }
+    public void setPlatform(String platform) { this.platform = platform; }
+    
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SocialLink)) return false;
+        SocialLink that = (SocialLink) o;
+        return Objects.equals(platform, that.platform) && Objects.equals(url, that.url);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(platform, url);
+    }
+    
+    @Override
+    public String toString() {
+        return platform + ":" + url;
+    }
+}
@@ -0,0 +1,61 @@
+package com.scraper.service;
+
+import com.scraper.service.fetch.UrlCanonicalizer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The URLs of a multi-topic batch, planned before anything is fetched. URLs that several topics
+ * share (by canonical form) are fetched once. The fetch order takes each topic's first URL,
+ * then each topic's second, and so on, so no topic waits behind the whole list of another.
+ */
+final class BatchPlan {
+
+    // Canonical key -> URL as first planned, in fetch order
+    private final Map<String, String> unique = new LinkedHashMap<>();
+    private final Map<String, List<String>> keysByTopic = new LinkedHashMap<>();
+    private int planned;
+
+    BatchPlan(Map<String, List<String>> urlsByTopic) {
+        urlsByTopic.keySet().forEach(topic -> keysByTopic.put(topic, new ArrayList<>()));
+        for (int round = 0; ; round++) {
+            boolean any = false;
+            for (Map.Entry<String, List<String>> topic : urlsByTopic.entrySet()) {
+                if (round >= topic.getValue().size()) {
+                    continue;
+                }
+                any = true;
+                String url = topic.getValue().get(round);
+                String key = UrlCanonicalizer.canonicalize(url);
+                List<String> keys = keysByTopic.get(topic.getKey());
+                if (!keys.contains(key)) {
+                    unique.putIfAbsent(key, url);
+                    keys.add(key);
+                    planned++;
+                }
+            }
+            if (!any) {
+                break;
+            }
+        }
+    }
+
+    /** Canonical key to URL, one entry per distinct URL, in fetch order. */
+    Map<String, String> uniqueUrls() {
+        return Collections.unmodifiableMap(unique);
+    }
+
+    /** The canonical keys of a topic's URLs, in the topic's own order. */
+    List<String> keysFor(String topic) {
+        return keysByTopic.getOrDefault(topic, List.of());
+    }
+
+    /** URLs planned across all topics, counting one shared by several topics each time. */
+    int plannedUrls() {
+        return planned;
+    }
+}
@@ -3,6 +3,9 @@ package com.scraper.service;
 import com.scraper.model.InstagramScrapeRequest;
 import com.scraper.model.InstagramScrapeResponse;
 import com.scraper.model.InstagramProfile;
+import com.scraper.service.extract.ContactExtractor;
+import com.scraper.service.extract.ContactInfo;
+import com.scraper.service.fetch.Deadline;
 import org.openqa.selenium.*;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -12,72 +15,118 @@ import org.openqa.selenium.interactions.Actions;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class InstagramScrapingService {
     
     private static final Logger log = LoggerFactory.getLogger(InstagramScrapingService.class);
-    private final ExecutorService executorService = Executors.newFixedThreadPool(5);
     
-    // Email regex pattern
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(
-        "\\b[A-Za-z0-9]([A-Za-z0-9._%-]*[A-Za-z0-9])?@[A-Za-z0-9]([A-Za-z0-9.-]*[A-Za-z0-9])?\\.[A-Za-z]{2,}\\b"
-    );
+    // Each scrape drives its own browser; bound the sessions rather than the calling threads
+    private final Semaphore browserSessions;
     
-    // Phone number regex patterns
-    private static final Pattern PHONE_PATTERN = Pattern.compile(
-        "\\b(?:\\(?\\+?1[-.\\)\\s]?)?\\(?([0-9]{3})\\)?[-.\\s]?([0-9]{3})[-.\\s]?([0-9]{4})\\b"
-    );
+    private final ContactExtractor contactExtractor;
     
-    // Website URL pattern
-    private static final Pattern WEBSITE_PATTERN = Pattern.compile(
-        "https?://[\\w\\-]+(\\.[\\w\\-]+)+([\\w\\-\\.,@?^=%&:/~\\+#]*[\\w\\-\\@?^=%&/~\\+#])?"
-    );
+    public InstagramScrapingService(@Value("${scraper.execution.instagram-sessions:5}") int maxBrowserSessions,
+                                    ContactExtractor contactExtractor) {
+        this.browserSessions = new Semaphore(maxBrowserSessions, true);
+        this.contactExtractor = contactExtractor;
+    }
     
     public InstagramScrapeResponse scrapeInstagramProfiles(InstagramScrapeRequest request) {
+        return scrapeInstagramProfiles(request, profile -> {});
+    }
+    
+    /**
+     * Scrapes like {@link #scrapeInstagramProfiles(InstagramScrapeRequest)}, passing each profile
+     * to {@code onProfile} as soon as it is collected. Called on the scraping thread.
+     */
+    public InstagramScrapeResponse scrapeInstagramProfiles(InstagramScrapeRequest request, Consumer<InstagramProfile> onProfile) {
         long startTime = System.currentTimeMillis();
         log.info("Starting Instagram scraping for target: {}", request.getTargetHandle());
+        Deadline deadline = Deadline.ofBudget(request.getDeadlineMs());
+        
+        try {
+            if (!deadline.isBounded()) {
+                browserSessions.acquire();
+            } else if (!browserSessions.tryAcquire(deadline.remainingMillis(), TimeUnit.MILLISECONDS)) {
+                return deadlineResponse(request, "while waiting for a browser session", startTime);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return createErrorResponse(request.getTargetHandle(), "Interrupted while waiting for a browser session", startTime);
+        }
         
+        try {
+            return scrapeWithBrowser(request, onProfile, deadline, startTime);
+        } finally {
+            browserSessions.release();
+        }
+    }
+    
+    private InstagramScrapeResponse scrapeWithBrowser(InstagramScrapeRequest request, Consumer<InstagramProfile> onProfile,
+                                                      Deadline deadline, long startTime) {
         WebDriver driver = null;
         try {
             // Setup WebDriver
             driver = setupWebDriver(request.getHeadlessMode() != null ? request.getHeadlessMode() : false);
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+            WebDriverWait wait = new WebDriverWait(driver, Duration.ofMillis(deadline.cap(10000)));
             
             // Login to Instagram
-            if (!loginToInstagram(driver, wait, request.getUsername(), request.getPassword())) {
+            if (deadline.isExpired()) {
+                return deadlineResponse(request, "before logging in", startTime);
+            }
+            applyDeadline(driver, wait, deadline);
+            boolean loggedIn = loginToInstagram(driver, wait, request.getUsername(), request.getPassword(), deadline);
+            if (deadline.isExpired()) {
+                return deadlineResponse(request, loggedIn ? "after logging in" : "while logging in", startTime);
+            }
+            if (!loggedIn) {
                 return createErrorResponse(request.getTargetHandle(), "Failed to login to Instagram", startTime);
             }
             
             // Navigate to target profile
+            applyDeadline(driver, wait, deadline);
             if (!navigateToProfile(driver, wait, request.getTargetHandle())) {
+                if (deadline.isExpired()) {
+                    return deadlineResponse(request, "while opening the profile", startTime);
+                }
                 return createErrorResponse(request.getTargetHandle(), "Failed to navigate to target profile", startTime);
             }
             
             List<InstagramProfile> allProfiles = new ArrayList<>();
+            List<String> unfinished = new ArrayList<>();
             
             // Scrape followers if requested
             if (request.getScrapeFollowers()) {
-                List<InstagramProfile> followers = scrapeFollowers(driver, wait, request);
+                applyDeadline(driver, wait, deadline);
+                List<InstagramProfile> followers = deadline.isExpired()
+                    ? List.of() : scrapeFollowers(driver, wait, request, onProfile, deadline);
                 allProfiles.addAll(followers);
                 log.info("Scraped {} followers", followers.size());
+                if (deadline.isExpired() && followers.size() < request.getMaxFollowers()) {
+                    unfinished.add(listUrl(request.getTargetHandle(), "followers"));
+                }
             }
             
             // Scrape following if requested
             if (request.getScrapeFollowing()) {
-                List<InstagramProfile> following = scrapeFollowing(driver, wait, request);
+                applyDeadline(driver, wait, deadline);
+                List<InstagramProfile> following = deadline.isExpired()
+                    ? List.of() : scrapeFollowing(driver, wait, request, onProfile, deadline);
                 allProfiles.addAll(following);
                 log.info("Scraped {} following", following.size());
+                if (deadline.isExpired() && following.size() < request.getMaxFollowing()) {
+                    unfinished.add(listUrl(request.getTargetHandle(), "following"));
+                }
             }
             
             // Calculate statistics
@@ -95,9 +144,11 @@ public class InstagramScrapingService {
                 .successfulScrapes((int) allProfiles.stream().filter(p -> "success".equals(p.getStatus())).count())
                 .failedScrapes((int) allProfiles.stream().filter(p -> "error".equals(p.getStatus())).count())
                 .profiles(allProfiles)
+                .unfinishedUrls(unfinished)
                 .processingTime(processingTime)
-                .status("completed")
-                .message("Instagram scraping completed successfully")
+                .status(unfinished.isEmpty() ? "completed" : "partial")
+                .message(unfinished.isEmpty() ? "Instagram scraping completed successfully"
+                    : "Deadline of " + request.getDeadlineMs() + " ms reached; returning the profiles collected so far")
                 .statistics(statistics)
                 .build();
                 
@@ -179,7 +230,31 @@ public class InstagramScrapingService {
         return driver;
     }
     
-    private boolean loginToInstagram(WebDriver driver, WebDriverWait wait, String username, String password) {
+    /**
+     * Caps the page load timeout, the implicit wait and the explicit wait by the time left, so
+     * no single browser step outlives the deadline. Called before each stage, as the time left
+     * shrinks.
+     */
+    private void applyDeadline(WebDriver driver, WebDriverWait wait, Deadline deadline) {
+        if (!deadline.isBounded()) {
+            return;
+        }
+        WebDriver.Timeouts timeouts = driver.manage().timeouts();
+        timeouts.pageLoadTimeout(Duration.ofMillis(Math.max(1, deadline.remainingMillis())));
+        timeouts.implicitlyWait(Duration.ofMillis(deadline.cap(5000)));
+        wait.withTimeout(Duration.ofMillis(deadline.cap(10000)));
+    }
+    
+    /** Sleeps for {@code millis}, but never past the deadline. */
+    private static void pause(long millis, Deadline deadline) throws InterruptedException {
+        long capped = Math.min(millis, deadline.remainingMillis());
+        if (capped > 0) {
+            Thread.sleep(capped);
+        }
+    }
+    
+    private boolean loginToInstagram(WebDriver driver, WebDriverWait wait, String username, String password,
+                                     Deadline deadline) {
         try {
             log.info("Logging into Instagram...");
             driver.get("https://www.instagram.com/accounts/login/");
@@ -202,7 +277,7 @@ public class InstagramScrapingService {
             loginButton.click();
             
             // Wait for login to complete (either success or error)
-            Thread.sleep(3000);
+            pause(3000, deadline);
             
             // Check if login was successful
             if (driver.getCurrentUrl().contains("/accounts/login/")) {
@@ -215,7 +290,7 @@ public class InstagramScrapingService {
                 WebElement notNowButton = wait.until(ExpectedConditions.elementToBeClickable(
                     By.xpath("//button[contains(text(), 'Not Now') or contains(text(), 'Not now')]")));
                 notNowButton.click();
-                Thread.sleep(1000);
+                pause(1000, deadline);
             } catch (TimeoutException e) {
                 // Dialog didn't appear, continue
             }
@@ -225,7 +300,7 @@ public class InstagramScrapingService {
                 WebElement notNowButton = wait.until(ExpectedConditions.elementToBeClickable(
                     By.xpath("//button[contains(text(), 'Not Now') or contains(text(), 'Not now')]")));
                 notNowButton.click();
-                Thread.sleep(1000);
+                pause(1000, deadline);
             } catch (TimeoutException e) {
                 // Dialog didn't appear, continue
             }
@@ -263,7 +338,8 @@ public class InstagramScrapingService {
         }
     }
     
-    private List<InstagramProfile> scrapeFollowers(WebDriver driver, WebDriverWait wait, InstagramScrapeRequest request) {
+    private List<InstagramProfile> scrapeFollowers(WebDriver driver, WebDriverWait wait, InstagramScrapeRequest request,
+                                                   Consumer<InstagramProfile> onProfile, Deadline deadline) {
         List<InstagramProfile> followers = new ArrayList<>();
         
         try {
@@ -277,12 +353,12 @@ public class InstagramScrapingService {
                 By.xpath("//div[@role='dialog']//div[contains(@class, 'x1dm5mii')]")));
             
             // Scroll and collect followers
-            followers = scrollAndCollectProfiles(driver, wait, request.getMaxFollowers(), request.getDelayMs());
+            followers = scrollAndCollectProfiles(driver, wait, request.getMaxFollowers(), request.getDelayMs(), onProfile, deadline);
             
             // Close modal
             WebElement closeButton = driver.findElement(By.xpath("//button[@aria-label='Close']"));
             closeButton.click();
-            Thread.sleep(1000);
+            pause(1000, deadline);
             
         } catch (Exception e) {
             log.error("Error scraping followers: ", e);
@@ -291,7 +367,8 @@ public class InstagramScrapingService {
         return followers;
     }
     
-    private List<InstagramProfile> scrapeFollowing(WebDriver driver, WebDriverWait wait, InstagramScrapeRequest request) {
+    private List<InstagramProfile> scrapeFollowing(WebDriver driver, WebDriverWait wait, InstagramScrapeRequest request,
+                                                   Consumer<InstagramProfile> onProfile, Deadline deadline) {
         List<InstagramProfile> following = new ArrayList<>();
         
         try {
@@ -305,12 +382,12 @@ public class InstagramScrapingService {
                 By.xpath("//div[@role='dialog']//div[contains(@class, 'x1dm5mii')]")));
             
             // Scroll and collect following
-            following = scrollAndCollectProfiles(driver, wait, request.getMaxFollowing(), request.getDelayMs());
+            following = scrollAndCollectProfiles(driver, wait, request.getMaxFollowing(), request.getDelayMs(), onProfile, deadline);
             
             // Close modal
             WebElement closeButton = driver.findElement(By.xpath("//button[@aria-label='Close']"));
             closeButton.click();
-            Thread.sleep(1000);
+            pause(1000, deadline);
             
         } catch (Exception e) {
             log.error("Error scraping following: ", e);
@@ -319,7 +396,8 @@ public class InstagramScrapingService {
         return following;
     }
     
-    private List<InstagramProfile> scrollAndCollectProfiles(WebDriver driver, WebDriverWait wait, int maxProfiles, long delayMs) {
+    private List<InstagramProfile> scrollAndCollectProfiles(WebDriver driver, WebDriverWait wait, int maxProfiles, long delayMs,
+                                                            Consumer<InstagramProfile> onProfile, Deadline deadline) {
         List<InstagramProfile> profiles = new ArrayList<>();
         Set<String> processedUsernames = new HashSet<>();
         
@@ -330,13 +408,14 @@ public class InstagramScrapingService {
             int lastSize = 0;
             int stableCount = 0;
             
-            while (profiles.size() < maxProfiles && stableCount < 3) {
+            // Past the deadline, stop scrolling and keep what has been collected
+            while (profiles.size() < maxProfiles && stableCount < 3 && !deadline.isExpired()) {
                 // Scroll down
                 ((JavascriptExecutor) driver).executeScript(
                     "arguments[0].scrollTop = arguments[0].scrollTop + arguments[0].offsetHeight;", 
                     scrollableDiv);
                 
-                Thread.sleep(delayMs);
+                Thread.sleep(Math.min(delayMs, deadline.remainingMillis()));
                 
                 // Find all profile links in the modal
                 List<WebElement> profileLinks = scrollableDiv.findElements(
@@ -357,6 +436,7 @@ public class InstagramScrapingService {
                             InstagramProfile profile = extractProfileFromLink(link, username);
                             if (profile != null) {
                                 profiles.add(profile);
+                                onProfile.accept(profile);
                             }
                         }
                     } catch (Exception e) {
@@ -420,9 +500,10 @@ public class InstagramScrapingService {
             }
             
             // Extract contact information from bio
-            Set<String> emails = extractEmails(bio);
-            Set<String> phoneNumbers = extractPhoneNumbers(bio);
-            String website = extractWebsite(bio);
+            ContactInfo contacts = contactExtractor.extract(bio);
+            Set<String> emails = contacts.getEmails();
+            Set<String> phoneNumbers = contacts.getPhoneNumbers();
+            String website = contacts.primaryWebsite();
             String contact = extractContact(bio);
             String location = extractLocation(bio);
             
@@ -451,44 +532,6 @@ public class InstagramScrapingService {
         }
     }
     
-    private Set<String> extractEmails(String text) {
-        if (text == null || text.isEmpty()) {
-            return new HashSet<>();
-        }
-        
-        Set<String> emails = new HashSet<>();
-        Matcher matcher = EMAIL_PATTERN.matcher(text);
-        while (matcher.find()) {
-            emails.add(matcher.group());
-        }
-        return emails;
-    }
-    
-    private Set<String> extractPhoneNumbers(String text) {
-        if (text == null || text.isEmpty()) {
-            return new HashSet<>();
-        }
-        
-        Set<String> phones = new HashSet<>();
-        Matcher matcher = PHONE_PATTERN.matcher(text);
-        while (matcher.find()) {
-            phones.add(matcher.group());
-        }
-        return phones;
-    }
-    
-    private String extractWebsite(String text) {
-        if (text == null || text.isEmpty()) {
-            return null;
-        }
-        
-        Matcher matcher = WEBSITE_PATTERN.matcher(text);
-        if (matcher.find()) {
-            return matcher.group();
-        }
-        return null;
-    }
-    
     private String extractContact(String text) {
         if (text == null || text.isEmpty()) {
             return null;
@@ -566,6 +609,30 @@ public class InstagramScrapingService {
         return stats;
     }
     
+    private static String listUrl(String targetHandle, String list) {
+        return "https://www.instagram.com/" + targetHandle + "/" + list + "/";
+    }
+    
+    private static List<String> requestedListUrls(InstagramScrapeRequest request) {
+        List<String> urls = new ArrayList<>();
+        if (Boolean.TRUE.equals(request.getScrapeFollowers())) {
+            urls.add(listUrl(request.getTargetHandle(), "followers"));
+        }
+        if (Boolean.TRUE.equals(request.getScrapeFollowing())) {
+            urls.add(listUrl(request.getTargetHandle(), "following"));
+        }
+        return urls;
+    }
+    
+    /** Ran out of time before anything was collected: every requested list is unfinished. */
+    private InstagramScrapeResponse deadlineResponse(InstagramScrapeRequest request, String when, long startTime) {
+        InstagramScrapeResponse response = createErrorResponse(request.getTargetHandle(),
+            "Deadline of " + request.getDeadlineMs() + " ms reached " + when, startTime);
+        response.setStatus("partial");
+        response.setUnfinishedUrls(requestedListUrls(request));
+        return response;
+    }
+    
     private InstagramScrapeResponse createErrorResponse(String targetHandle, String errorMessage, long startTime) {
         return InstagramScrapeResponse.builder()
             .targetHandle(targetHandle)
@@ -0,0 +1,29 @@
+package com.scraper.service;
+
+import com.scraper.model.ScrapedData;
+
+/**
+ * Follows a scrape while it runs. Results are reported as each URL finishes, from pipeline
+ * threads and in no particular order, so implementations must be thread-safe and quick.
+ */
+public interface ScrapeListener {
+
+    ScrapeListener NONE = new ScrapeListener() {};
+
+    /**
+     * The number of URLs the scrape expects to visit. A crawl reports it again as pages are
+     * discovered and budgets run out.
+     */
+    default void onPlanned(int urls) {}
+
+    /** One URL is done, with only the requested fields. */
+    default void onResult(ScrapedData result) {}
+
+    /**
+     * Whether the final response should still list every result. A listener that has already
+     * passed them on says no, and the scrape does not hold them all until it ends.
+     */
+    default boolean keepsResults() {
+        return true;
+    }
+}
@@ -0,0 +1,35 @@
+package com.scraper.service;
+
+import com.scraper.service.extract.ExtractionPlan;
+
+/**
+ * The extraction plan of one shared scrape, which callers joining it widen to cover their
+ * fields until extraction starts and seals it.
+ */
+final class SharedPlan {
+
+    private ExtractionPlan plan;
+    private boolean sealed;
+
+    SharedPlan(ExtractionPlan plan) {
+        this.plan = plan;
+    }
+
+    /** False when the plan is sealed without {@code other}'s fields. */
+    synchronized boolean widen(ExtractionPlan other) {
+        if (plan.covers(other)) {
+            return true;
+        }
+        if (sealed) {
+            return false;
+        }
+        plan = plan.union(other);
+        return true;
+    }
+
+    /** The plan as it stands; from now on it only serves callers it already covers. */
+    synchronized ExtractionPlan seal() {
+        sealed = true;
+        return plan;
+    }
+}
@@ -1,63 +1,125 @@
 package com.scraper.service;
 
+import com.scraper.model.BatchScrapeRequest;
+import com.scraper.model.BatchScrapeResponse;
 import com.scraper.model.ScrapeRequest;
 import com.scraper.model.ScrapedData;
 import com.scraper.model.ScrapeResponse;
+import com.scraper.service.crawl.CrawlFrontier;
+import com.scraper.service.crawl.LinkScorer;
+import com.scraper.service.crawl.SeenUrlFilter;
+import com.scraper.service.extract.ContactExtractor;
+import com.scraper.service.extract.ContactInfo;
+import com.scraper.service.extract.DocumentAnalyzer;
+import com.scraper.service.extract.ExtractionPlan;
+import com.scraper.service.extract.ExtractionPlan.Field;
+import com.scraper.service.extract.PageSignals;
+import com.scraper.service.extract.StreamedPage;
+import com.scraper.service.extract.StreamingPageExtractor;
+import com.scraper.service.extract.TextCollector;
+import com.scraper.service.fetch.AsyncSemaphore;
+import com.scraper.service.fetch.CircuitBreakerRegistry;
+import com.scraper.service.fetch.Deadline;
+import com.scraper.service.fetch.FetchAttempts;
+import com.scraper.service.fetch.FetchResult;
+import com.scraper.service.fetch.Fetcher;
+import com.scraper.service.fetch.PolitenessScheduler;
+import com.scraper.service.fetch.RetryingFetcher;
+import com.scraper.service.fetch.RobotsRules;
+import com.scraper.service.fetch.RobotsTxtCache;
+import com.scraper.service.fetch.SingleFlight;
+import com.scraper.service.fetch.UrlCanonicalizer;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
-import com.opencsv.CSVWriter;
 
 @Service
 public class WebScrapingService {
     
     private static final Logger log = LoggerFactory.getLogger(WebScrapingService.class);
 
-    @Value("${scraper.user-agent}")
-    private String userAgent;
+    @Autowired
+    private PolitenessScheduler politenessScheduler;
 
-    @Value("${scraper.timeout}")
-    private int timeout;
+    @Autowired
+    private Fetcher fetcher;
 
-    @Value("${scraper.max-retries}")
-    private int maxRetries;
+    @Autowired
+    private ContactExtractor contactExtractor;
 
-    @Value("${scraper.rate-limit-delay}")
-    private long rateLimitDelay;
+    @Autowired
+    private RetryingFetcher retryingFetcher;
 
-    private final ExecutorService executorService = Executors.newFixedThreadPool(10);
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakers;
 
-    // Email regex pattern
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(
-        "\\b[A-Za-z0-9]([A-Za-z0-9._%-]*[A-Za-z0-9])?@[A-Za-z0-9]([A-Za-z0-9.-]*[A-Za-z0-9])?\\.[A-Za-z]{2,}\\b"
-    );
+    @Autowired
+    private AsyncSemaphore fetchInFlightLimit;
 
-    // Phone number regex patterns
-    private static final Pattern PHONE_PATTERN = Pattern.compile(
-        "\\b(?:\\(?\\+?1[-.\\)\\s]?)?\\(?([0-9]{3})\\)?[-.\\s]?([0-9]{3})[-.\\s]?([0-9]{4})\\b"
-    );
+    @Autowired
+    private SeenUrlFilter recentlyCrawled;
 
-    // Social media patterns
-    private static final Pattern SOCIAL_PATTERN = Pattern.compile(
-        "(?:https?://)?(?:www\\.)?(?:instagram\\.com|twitter\\.com|facebook\\.com|linkedin\\.com|youtube\\.com|github\\.com|medium\\.com|reddit\\.com|pinterest\\.com|tiktok\\.com|snapchat\\.com)/[\\w\\-./]+"
-    );
+    @Autowired
+    private RobotsTxtCache robotsTxt;
+
+    @Autowired
+    @Qualifier("parseExecutor")
+    private ExecutorService parseExecutor;
+
+    @Autowired
+    @Qualifier("scraperTaskExecutor")
+    private ExecutorService scraperTaskExecutor;
+
+    @Value("${scraper.crawl.max-depth:1}")
+    private int crawlMaxDepth;
+
+    @Value("${scraper.crawl.max-pages-per-domain:5}")
+    private int crawlMaxPagesPerDomain;
+
+    @Value("${scraper.crawl.max-pages:100}")
+    private int crawlMaxPages;
+
+    @Value("${scraper.crawl.parallelism:8}")
+    private int crawlParallelism;
+
+    private static final int MAX_CONTENT_CHARS = 2000;
+
+    // Results that are not counted as failures: scraped, or deliberately not fetched
+    private static final Set<String> NOT_FAILED = Set.of("success", "skipped", "disallowed");
+
+    // Concurrent requests for the same page share one fetch and parse, whatever fields each wants
+    private final SingleFlight<String, SharedPlan, ScrapedData> inFlightScrapes = new SingleFlight<>();
 
     public ScrapeResponse scrapeWebData(ScrapeRequest request) {
+        return scrapeWebData(request, ScrapeListener.NONE);
+    }
+
+    /**
+     * Scrapes like {@link #scrapeWebData(ScrapeRequest)}, reporting each result to the listener
+     * as soon as its URL is done.
+     */
+    public ScrapeResponse scrapeWebData(ScrapeRequest request, ScrapeListener listener) {
         long startTime = System.currentTimeMillis();
         log.info("Starting web scraping for topic: {}", request.getSearchTopic());
 
@@ -66,35 +128,63 @@ public class WebScrapingService {
             List<String> urls = getSearchResults(request);
             log.info("Found {} URLs for topic: {}", urls.size(), request.getSearchTopic());
 
-            // Scrape data from URLs concurrently
-            List<CompletableFuture<ScrapedData>> futures = urls.stream()
-                .limit(request.getMaxResults())
-                .map(url -> CompletableFuture.supplyAsync(() -> scrapeUrl(url), executorService))
-                .collect(Collectors.toList());
+            // Decide up front which extractors run, so unrequested fields cost nothing
+            ExtractionPlan plan = ExtractionPlan.of(request.getFieldsToExtract());
 
-            // Wait for all scraping tasks to complete
-            List<ScrapedData> results = futures.stream()
-                .map(CompletableFuture::join)
+            boolean crawl = Boolean.TRUE.equals(request.getCrawl());
+            Deadline deadline = Deadline.ofBudget(request.getDeadlineMs());
+            List<String> unfinished = new ArrayList<>();
+            Tally tally = new Tally(listener);
+            List<ScrapedData> scraped;
+            if (crawl) {
+                scraped = crawl(urls.stream().limit(request.getMaxResults()).collect(Collectors.toList()), plan, request, tally,
+                    deadline, unfinished);
+            } else {
+                List<String> targets = urls.stream().limit(request.getMaxResults()).collect(Collectors.toList());
+                tally.onPlanned(targets.size());
+
+                // Run every URL through the fetch -> parse pipeline; nothing blocks until the join below
+                List<CompletableFuture<ScrapedData>> futures = targets.stream()
+                    .map(url -> scrapeUrlShared(url, plan, deadline, true).thenApply(data -> {
+                        if (data == null) {
+                            return null;
+                        }
+                        ScrapedData result = filterScrapedData(data, request.getFieldsToExtract());
+                        tally.onResult(result);
+                        return tally.keepsResults() ? result : null;
+                    }))
+                    .collect(Collectors.toList());
+
+                // Wait for the scraping tasks to complete, or for as long as the deadline allows
+                scraped = awaitUntil(deadline, targets, futures, unfinished);
+            }
+
+            List<ScrapedData> results = scraped.stream()
                 .filter(Objects::nonNull)
-                .map(data -> filterScrapedData(data, request.getFieldsToExtract()))
                 .collect(Collectors.toList());
 
             long processingTime = System.currentTimeMillis() - startTime;
+            if (!unfinished.isEmpty()) {
+                log.info("Deadline of {} ms reached for topic {}: {} URLs unfinished",
+                    request.getDeadlineMs(), request.getSearchTopic(), unfinished.size());
+            }
 
             return ScrapeResponse.builder()
                 .searchTopic(request.getSearchTopic())
-                .totalResults(urls.size())
-                .successfulScrapes((int) results.stream().filter(r -> "success".equals(r.getStatus())).count())
-                .failedScrapes((int) results.stream().filter(r -> "error".equals(r.getStatus())).count())
+                .totalResults(crawl ? tally.finished.get() + unfinished.size() : urls.size())
+                .successfulScrapes(tally.successes.get())
+                .failedScrapes(tally.failures.get())
                 .results(results)
+                .unfinishedUrls(unfinished)
                 .metadata(Map.of(
                     "searchEngine", request.getSearchEngine(),
                     "language", request.getLanguage(),
                     "country", request.getCountry()
                 ))
                 .processingTime(processingTime)
-                .status("completed")
-                .message("Scraping completed successfully")
+                .status(unfinished.isEmpty() ? "completed" : "partial")
+                .message(unfinished.isEmpty() ? "Scraping completed successfully"
+                    : "Deadline of " + request.getDeadlineMs() + " ms reached; " + unfinished.size() + " URLs did not finish")
                 .build();
 
         } catch (Exception e) {
@@ -112,6 +202,139 @@ public class WebScrapingService {
         }
     }
 
+    /**
+     * Scrapes many topics with the same options in one pass. Every topic's URLs are planned
+     * first; a URL several topics share is fetched and parsed once, and all distinct URLs go
+     * through the pipeline together instead of one fan-out per topic. Results come back grouped
+     * by topic, a shared URL's result appearing under each topic that planned it.
+     */
+    public BatchScrapeResponse scrapeBatch(BatchScrapeRequest request) {
+        long startTime = System.currentTimeMillis();
+        Set<String> topics = request.getSearchTopics().stream()
+            .filter(topic -> topic != null && !topic.isBlank())
+            .map(String::trim)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        log.info("Starting batch scraping for {} topics", topics.size());
+
+        try {
+            Map<String, List<String>> urlsByTopic = new LinkedHashMap<>();
+            for (String topic : topics) {
+                urlsByTopic.put(topic, simulateGoogleSearch(topic, request.getMaxResults()).stream()
+                    .limit(request.getMaxResults())
+                    .collect(Collectors.toList()));
+            }
+            BatchPlan batch = new BatchPlan(urlsByTopic);
+            log.info("Planned {} URLs for {} topics, {} distinct", batch.plannedUrls(), topics.size(), batch.uniqueUrls().size());
+
+            ExtractionPlan plan = ExtractionPlan.of(request.getFieldsToExtract());
+            Deadline deadline = Deadline.ofBudget(request.getDeadlineMs());
+            Map<String, CompletableFuture<ScrapedData>> scrapes = new LinkedHashMap<>();
+            batch.uniqueUrls().forEach((key, url) -> scrapes.put(key, scrapeUrlShared(url, plan, deadline, true)
+                .thenApply(data -> data != null ? filterScrapedData(data, request.getFieldsToExtract()) : null)));
+            // Scrapes still running at the deadline are cancelled and left out below
+            List<String> unfinished = new ArrayList<>();
+            awaitUntil(deadline, new ArrayList<>(batch.uniqueUrls().values()), new ArrayList<>(scrapes.values()), unfinished);
+
+            Map<String, Object> metadata = Map.of(
+                "searchEngine", request.getSearchEngine(),
+                "language", request.getLanguage(),
+                "country", request.getCountry()
+            );
+            List<ScrapeResponse> grouped = new ArrayList<>();
+            for (String topic : topics) {
+                List<String> topicUnfinished = batch.keysFor(topic).stream()
+                    .filter(key -> scrapes.get(key).isCancelled())
+                    .map(key -> batch.uniqueUrls().get(key))
+                    .collect(Collectors.toList());
+                List<ScrapedData> results = batch.keysFor(topic).stream()
+                    .filter(key -> !scrapes.get(key).isCancelled())
+                    .map(key -> scrapes.get(key).join())
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+                grouped.add(ScrapeResponse.builder()
+                    .searchTopic(topic)
+                    .totalResults(batch.keysFor(topic).size())
+                    .successfulScrapes((int) results.stream().filter(data -> "success".equals(data.getStatus())).count())
+                    .failedScrapes((int) results.stream().filter(data -> isFailure(data.getStatus())).count())
+                    .results(results)
+                    .unfinishedUrls(topicUnfinished)
+                    .metadata(metadata)
+                    .processingTime(System.currentTimeMillis() - startTime)
+                    .status(topicUnfinished.isEmpty() ? "completed" : "partial")
+                    .message(topicUnfinished.isEmpty() ? "Scraping completed successfully"
+                        : "Deadline of " + request.getDeadlineMs() + " ms reached; " + topicUnfinished.size() + " URLs did not finish")
+                    .build());
+            }
+
+            List<ScrapedData> distinct = scrapes.values().stream()
+                .filter(future -> !future.isCancelled())
+                .map(CompletableFuture::join)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+            return BatchScrapeResponse.builder()
+                .totalTopics(topics.size())
+                .plannedUrls(batch.plannedUrls())
+                .uniqueUrls(scrapes.size())
+                .successfulScrapes((int) distinct.stream().filter(data -> "success".equals(data.getStatus())).count())
+                .failedScrapes((int) distinct.stream().filter(data -> isFailure(data.getStatus())).count())
+                .topics(grouped)
+                .processingTime(System.currentTimeMillis() - startTime)
+                .status(unfinished.isEmpty() ? "completed" : "partial")
+                .message(unfinished.isEmpty() ? "Batch scraping completed successfully"
+                    : "Deadline of " + request.getDeadlineMs() + " ms reached; " + unfinished.size() + " URLs did not finish")
+                .build();
+
+        } catch (Exception e) {
+            log.error("Error during batch scraping: ", e);
+            return BatchScrapeResponse.builder()
+                .totalTopics(topics.size())
+                .topics(Collections.emptyList())
+                .processingTime(System.currentTimeMillis() - startTime)
+                .status("error")
+                .message("Batch scraping failed: " + e.getMessage())
+                .build();
+        }
+    }
+
+    /**
+     * Waits for the scrapes, but with a bounded deadline only until it passes. Scrapes still
+     * running then are cancelled, so they no longer report a result, and their URLs are added
+     * to {@code unfinished}. Cancelling does not reach a shared fetch, but fetches they started
+     * have the same deadline as their call timeout, and queued ones are never sent.
+     */
+    private static List<ScrapedData> awaitUntil(Deadline deadline, List<String> urls,
+                                                List<CompletableFuture<ScrapedData>> futures, List<String> unfinished) {
+        if (deadline.isBounded()) {
+            try {
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                    .get(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                // Out of time, or every scrape is done and a failure surfaces below as before
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<ScrapedData> results = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            CompletableFuture<ScrapedData> future = futures.get(i);
+            if (deadline.isBounded() && future.cancel(true)) {
+                unfinished.add(urls.get(i));
+            } else {
+                results.add(future.join());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Whether a result status counts towards {@code failedScrapes}. URLs that were deliberately
+     * not fetched (skipped, disallowed) do not.
+     */
+    public static boolean isFailure(String status) {
+        return !NOT_FAILED.contains(status);
+    }
+
     private List<String> getSearchResults(ScrapeRequest request) {
         // For demo purposes, we'll use a simple Google search simulation
         // In a real implementation, you would integrate with Google Custom Search API or SerpAPI
@@ -218,126 +441,509 @@ public class WebScrapingService {
         return urls;
     }
 
-    private ScrapedData scrapeUrl(String url) {
-        long startTime = System.currentTimeMillis();
-        
+    /**
+     * Crawls outward from the search pages. Their organic results are queued as sites to visit,
+     * and on each site the contact, about and team pages are followed up to the crawl depth. The
+     * frontier hands out the most promising URL first within the per-site and per-request page
+     * budgets; only a few pages are in flight at a time, so a contact page found later can still
+     * overtake weaker URLs already queued. Every page goes through the same shared, polite
+     * pipeline as a plain scrape.
+     */
+    private List<ScrapedData> crawl(List<String> seeds, ExtractionPlan plan, ScrapeRequest request,
+                                    ScrapeListener listener, Deadline deadline, List<String> unfinished) {
+        CrawlFrontier frontier = new CrawlFrontier(
+            request.getCrawlDepth() != null ? request.getCrawlDepth() : crawlMaxDepth,
+            request.getMaxPagesPerDomain() != null ? request.getMaxPagesPerDomain() : crawlMaxPagesPerDomain,
+            request.getMaxPages() != null ? request.getMaxPages() : crawlMaxPages,
+            recentlyCrawled, Boolean.TRUE.equals(request.getSkipRecentlySeen()));
+        seeds.forEach(frontier::offerSeed);
+        ExtractionPlan crawlPlan = plan.withLinks();
+
+        // Pages come back on pipeline threads; the frontier is only touched from this one
+        BlockingQueue<Visit> visits = new LinkedBlockingQueue<>();
+        List<ScrapedData> results = new ArrayList<>();
+        Set<String> pending = new LinkedHashSet<>();
+        int inFlight = 0;
         try {
-            // Add rate limiting
-            Thread.sleep(rateLimitDelay);
-            
-            // Configure Jsoup connection with better error handling
-            Document document = Jsoup.connect(url)
-                .userAgent(userAgent)
-                .timeout(timeout)
-                .followRedirects(true)
-                .ignoreHttpErrors(true)  // Don't throw exceptions for HTTP errors
-                .ignoreContentType(true) // Allow non-HTML content
-                .maxBodySize(0) // No limit on body size
-                .get();
-
-            // Check if we got a valid response
-            if (document == null) {
-                throw new IOException("No document received from URL");
+            while (true) {
+                CrawlFrontier.Entry next;
+                while (inFlight < crawlParallelism && !deadline.isExpired() && (next = frontier.poll()) != null) {
+                    CrawlFrontier.Entry entry = next;
+                    long startTime = System.currentTimeMillis();
+                    scrapeUrlShared(entry.getUrl(), crawlPlan, deadline, entry.isSeed()).whenComplete((data, error) -> visits.add(new Visit(entry,
+                        error == null ? data : errorResult(entry.getUrl(), error, new FetchAttempts(), startTime))));
+                    pending.add(entry.getUrl());
+                    inFlight++;
+                }
+                listener.onPlanned(Math.min(frontier.getAdmitted() + frontier.getQueued(), frontier.getMaxPages()));
+                if (inFlight == 0) {
+                    break;
+                }
+                Visit visit = deadline.isBounded()
+                    ? visits.poll(deadline.remainingMillis(), TimeUnit.MILLISECONDS)
+                    : visits.take();
+                if (visit == null) {
+                    break;
+                }
+                pending.remove(visit.entry.getUrl());
+                inFlight--;
+                ScrapedData result = visit.data != null ? filterScrapedData(visit.data, request.getFieldsToExtract()) : null;
+                if (result != null) {
+                    listener.onResult(result);
+                    if (listener.keepsResults()) {
+                        results.add(result);
+                    }
+                }
+                expand(frontier, visit.entry, visit.data);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Crawl interrupted with {} pages in flight", inFlight);
+        }
 
-            long responseTime = System.currentTimeMillis() - startTime;
+        if (deadline.isExpired()) {
+            // Pages still in flight, then those the frontier would have handed out next
+            unfinished.addAll(pending);
+            CrawlFrontier.Entry queued;
+            while ((queued = frontier.poll()) != null) {
+                unfinished.add(queued.getUrl());
+            }
+        }
 
-            // Check if this is a search results page and extract actual URLs
-            List<String> foundUrls = new ArrayList<>();
-            if (isSearchResultsPage(url, document)) {
-                foundUrls = extractUrlsFromSearchResults(document);
-                log.info("Found {} URLs from search results page: {}", foundUrls.size(), url);
+        log.info("Crawled {} pages from {} seeds (depth {}, {} URLs left in the frontier, {} skipped as recently crawled)",
+            frontier.getAdmitted(), seeds.size(), frontier.getMaxDepth(), frontier.getQueued(), frontier.getSkippedRecent());
+        return results;
+    }
+
+    /**
+     * Queues what a visited page leads to: every organic result of a search page, or the
+     * same-site links of any other page that look like they carry contact details.
+     */
+    private static void expand(CrawlFrontier frontier, CrawlFrontier.Entry entry, ScrapedData data) {
+        if (data == null || data.getLinks() == null) {
+            return;
+        }
+        for (String link : data.getLinks()) {
+            if (data.isSearchResultsPage()) {
+                int priority = LinkScorer.resultPriority(link);
+                if (priority > 0) {
+                    frontier.offer(link, 0, priority);
+                }
+            } else if (LinkScorer.site(link).equals(entry.getSite())) {
+                int yield = LinkScorer.contactYield(link);
+                if (yield > 0) {
+                    frontier.offer(link, entry.getDepth() + 1, yield);
+                }
             }
-            
-            Set<String> socialLinks = extractSocialLinks(document);
-            // If we found URLs from search results, add them to social links for now
-            if (!foundUrls.isEmpty()) {
-                socialLinks.addAll(foundUrls);
+        }
+    }
+
+    /** Counts results on their way to the caller's listener, for the response totals. */
+    private static final class Tally implements ScrapeListener {
+        private final ScrapeListener listener;
+        private final AtomicInteger finished = new AtomicInteger();
+        private final AtomicInteger successes = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        Tally(ScrapeListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void onPlanned(int urls) {
+            listener.onPlanned(urls);
+        }
+
+        @Override
+        public void onResult(ScrapedData result) {
+            finished.incrementAndGet();
+            if ("success".equals(result.getStatus())) {
+                successes.incrementAndGet();
+            } else if (isFailure(result.getStatus())) {
+                failures.incrementAndGet();
             }
+            listener.onResult(result);
+        }
+
+        @Override
+        public boolean keepsResults() {
+            return listener.keepsResults();
+        }
+    }
+
+    private static final class Visit {
+        private final CrawlFrontier.Entry entry;
+        private final ScrapedData data;
 
-            return ScrapedData.builder()
+        Visit(CrawlFrontier.Entry entry, ScrapedData data) {
+            this.entry = entry;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Attaches to an in-flight scrape of the same URL when there is one. The shared scrape
+     * extracts the union of its callers' fields, so its result may hold more than this caller
+     * asked for; callers narrow it with {@link #filterScrapedData}. Only a caller arriving after
+     * extraction has started without its fields runs a scrape of its own.
+     */
+    private CompletableFuture<ScrapedData> scrapeUrlShared(String url, ExtractionPlan plan) {
+        return scrapeUrlShared(url, plan, Deadline.NONE, true);
+    }
+
+    /**
+     * A scrape bound by a deadline may join a flight already under way, but never starts a
+     * shared one: callers without that deadline would get its cut-short result. {@code seed}
+     * marks the search pages this service builds itself, which skip robots.txt (see
+     * {@link #scrapeFromNetwork}).
+     */
+    private CompletableFuture<ScrapedData> scrapeUrlShared(String url, ExtractionPlan plan, Deadline deadline, boolean seed) {
+        String key = UrlCanonicalizer.canonicalize(url);
+        if (deadline.isBounded()) {
+            CompletableFuture<ScrapedData> inFlight = inFlightScrapes.attach(key, shared -> shared.widen(plan));
+            return inFlight != null ? inFlight : scrapeUrlAsync(url, new SharedPlan(plan), deadline, seed);
+        }
+        SharedPlan shared = new SharedPlan(plan);
+        return inFlightScrapes.execute(key, shared, existing -> existing.widen(plan),
+            () -> scrapeUrlAsync(url, shared, Deadline.NONE, seed));
+    }
+
+    /**
+     * Scrapes one URL as a staged pipeline. Fresh entries in the HTTP cache are parsed straight
+     * away; otherwise the circuit breaker fails fast, the politeness permit and the in-flight
+     * slot are awaited as futures, the fetch itself is non-blocking, and only parsing and
+     * extraction run on a (CPU-sized) thread.
+     */
+    private CompletableFuture<ScrapedData> scrapeUrlAsync(String url, SharedPlan plan, Deadline deadline, boolean seed) {
+        long startTime = System.currentTimeMillis();
+        return fetcher.fetchFromCache(url)
+            .exceptionally(error -> null)
+            .thenCompose(cached -> cached != null
+                ? CompletableFuture.supplyAsync(() -> extractStage(url, cached, plan, new FetchAttempts(), startTime), extractExecutor(cached))
+                    .exceptionally(error -> errorResult(url, error, new FetchAttempts(), startTime))
+                : scrapeFromNetwork(url, plan, deadline, seed));
+    }
+
+    /**
+     * robots.txt is consulted first, so a disallowed URL never takes a politeness permit, an
+     * in-flight slot or a circuit breaker probe; an allowed one is spaced by the host's
+     * Crawl-delay. Seeds are the search pages generated for the topic, which every search
+     * engine disallows to crawlers; they are queries this service makes on the caller's
+     * behalf, so only the pages they lead to are held to robots.txt.
+     */
+    private CompletableFuture<ScrapedData> scrapeFromNetwork(String url, SharedPlan plan, Deadline deadline, boolean seed) {
+        if (seed) {
+            return fetchAllowed(url, plan, deadline);
+        }
+        return robotsTxt.rulesFor(url).thenCompose(rules -> {
+            if (rules.getUnavailableReason() != null) {
+                return CompletableFuture.completedFuture(robotsUnavailableResult(url, rules));
+            }
+            if (!rules.isAllowed(url)) {
+                robotsTxt.recordDisallowed();
+                return CompletableFuture.completedFuture(disallowedResult(url, rules));
+            }
+            politenessScheduler.setCrawlDelay(url, rules.getCrawlDelayMillis());
+            return fetchAllowed(url, plan, deadline);
+        });
+    }
+
+    private ScrapedData deadlineResult(String url) {
+        return ScrapedData.builder()
+            .url(url)
+            .domain(extractDomain(url))
+            .status("unfinished")
+            .errorMessage("Deadline reached before the fetch was sent")
+            .build();
+    }
+
+    private ScrapedData disallowedResult(String url, RobotsRules rules) {
+        log.debug("Not fetching {}: disallowed by robots.txt", url);
+        return ScrapedData.builder()
+            .url(url)
+            .domain(extractDomain(url))
+            .status("disallowed")
+            .errorMessage("Disallowed by the robots.txt of " + extractDomain(url))
+            .build();
+    }
+
+    /**
+     * The host's robots.txt could not be fetched, so nothing on it may be. Unlike a disallowed
+     * URL this counts as a failure: the host is down or refusing us.
+     */
+    private ScrapedData robotsUnavailableResult(String url, RobotsRules rules) {
+        log.debug("Not fetching {}: {}", url, rules.getUnavailableReason());
+        return ScrapedData.builder()
+            .url(url)
+            .domain(extractDomain(url))
+            .status("robots_unavailable")
+            .errorMessage(rules.getUnavailableReason())
+            .build();
+    }
+
+    private CompletableFuture<ScrapedData> fetchAllowed(String url, SharedPlan plan, Deadline deadline) {
+        if (deadline.isExpired()) {
+            return CompletableFuture.completedFuture(deadlineResult(url));
+        }
+        if (!circuitBreakers.tryAcquire(url)) {
+            return CompletableFuture.completedFuture(ScrapedData.builder()
                 .url(url)
-                .title(extractTitle(document))
-                .description(extractDescription(document))
-                .emails(extractEmails(document))
-                .phoneNumbers(extractPhoneNumbers(document))
-                .socialLinks(socialLinks)
-                .content(extractContent(document))
                 .domain(extractDomain(url))
+                .status("circuit_open")
+                .errorMessage("Circuit open for " + extractDomain(url) + ", retry in "
+                    + circuitBreakers.retryAfterMillis(url) + " ms")
+                .build());
+        }
+
+        FetchAttempts attempts = new FetchAttempts();
+        return politenessScheduler.acquire(url)
+            .thenCompose(permit -> fetchInFlightLimit.acquire())
+            .thenCompose(slot -> {
+                if (deadline.isExpired()) {
+                    // Out of time while queued: hand back what was taken and never send it
+                    fetchInFlightLimit.release();
+                    circuitBreakers.release(url);
+                    return CompletableFuture.completedFuture(deadlineResult(url));
+                }
+                long startTime = System.currentTimeMillis();
+                return fetchStage(url, attempts, deadline)
+                    .whenComplete((fetched, error) -> fetchInFlightLimit.release())
+                    .thenCompose(fetched -> CompletableFuture.supplyAsync(
+                        () -> extractStage(url, fetched, plan, attempts, startTime), extractExecutor(fetched)))
+                    .exceptionally(error -> errorResult(url, error, attempts, startTime));
+            });
+    }
+
+    /**
+     * A streamed body is read off the socket while it is extracted, so that blocking work goes
+     * to the scrape task executor rather than the CPU-sized parse pool.
+     */
+    private ExecutorService extractExecutor(FetchResult fetched) {
+        return fetched.isStreamed() ? scraperTaskExecutor : parseExecutor;
+    }
+
+    private CompletableFuture<FetchResult> fetchStage(String url, FetchAttempts attempts, Deadline deadline) {
+        // Shared pooled client, retrying transient failures; HTTP errors still come back as documents
+        return retryingFetcher.fetchAsync(url, attempts, deadline).whenComplete((fetched, error) -> {
+            if (error != null || circuitBreakers.isFailureStatus(fetched.getStatusCode())) {
+                circuitBreakers.recordFailure(url);
+            } else {
+                circuitBreakers.recordSuccess(url);
+            }
+        });
+    }
+
+    /**
+     * Parses the page and runs only the extractors the plan asks for. A plan that needs nothing
+     * beyond {@code <head>} parses just the head; one that needs only the domain skips parsing.
+     * A body too large to buffer is extracted as it streams in; one rejected from its headers
+     * (not a page, or over its size limit) was never downloaded and comes back as skipped.
+     */
+    private ScrapedData extractStage(String url, FetchResult fetched, SharedPlan sharedPlan,
+                                     FetchAttempts attempts, long startTime) {
+        // Callers joining from here on must be served by the plan as it stands
+        ExtractionPlan plan = sharedPlan.seal();
+        try (fetched) {
+            if (fetched.isDropped()) {
+                log.info("Skipped {}: {}", url, fetched.getDroppedReason());
+                return ScrapedData.builder()
+                    .url(url)
+                    .status("skipped")
+                    .errorMessage(fetched.getDroppedReason())
+                    .responseTime(System.currentTimeMillis() - startTime)
+                    .retries(attempts.getRetries())
+                    .hedgedRequests(attempts.getHedges())
+                    .cacheStatus(fetched.getCacheStatus())
+                    .build();
+            }
+
+            ScrapedData.Builder builder = ScrapedData.builder()
+                .url(url)
                 .status("success")
-                .responseTime(responseTime)
-                .build();
+                .retries(attempts.getRetries())
+                .hedgedRequests(attempts.getHedges())
+                .cacheStatus(fetched.getCacheStatus());
+            if (plan.includes(Field.DOMAIN)) {
+                builder.domain(extractDomain(url));
+            }
 
+            if (!plan.needsDocument()) {
+                return builder.responseTime(System.currentTimeMillis() - startTime).build();
+            }
+            if (fetched.isStreamed()) {
+                // Reading and extracting are one pass here
+                extractStreamed(fetched, plan, builder);
+                builder.responseTime(System.currentTimeMillis() - startTime);
+            } else {
+                Document document = parseDocument(fetched, plan.isHeadOnly());
+                builder.responseTime(System.currentTimeMillis() - startTime);
+                extractParsed(url, document, plan, builder);
+            }
+            if (fetched.isTruncated()) {
+                log.debug("Body of {} was cut off at its size limit", url);
+            }
+            return builder.build();
         } catch (IOException e) {
-            log.warn("Failed to scrape URL {}: {}", url, e.getMessage());
-            return ScrapedData.builder()
-                .url(url)
-                .status("error")
-                .errorMessage("Connection error: " + e.getMessage())
-                .responseTime(System.currentTimeMillis() - startTime)
-                .build();
-        } catch (Exception e) {
-            log.error("Unexpected error scraping URL {}: ", url, e);
-            return ScrapedData.builder()
-                .url(url)
-                .status("error")
-                .errorMessage("Unexpected error: " + e.getMessage())
-                .responseTime(System.currentTimeMillis() - startTime)
-                .build();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Tokenizes a streamed body without building a tree. Search result pages are small, so their
+     * result links are only harvested on the parsed path.
+     */
+    private void extractStreamed(FetchResult fetched, ExtractionPlan plan, ScrapedData.Builder builder) throws IOException {
+        StreamedPage page = StreamingPageExtractor.extract(fetched.getBodyStream(), fetched.getCharset(), plan,
+            plan.needsContacts() ? contactExtractor.stream() : null, MAX_CONTENT_CHARS);
+        if (plan.includes(Field.TITLE)) {
+            builder.title(page.getTitle());
+        }
+        if (plan.includes(Field.DESCRIPTION)) {
+            builder.description(page.getDescription());
+        }
+        if (plan.needsContacts()) {
+            ContactInfo contacts = page.getContacts();
+            if (plan.includes(Field.EMAILS)) {
+                builder.emails(contacts.getEmails());
+            }
+            if (plan.includes(Field.PHONE_NUMBERS)) {
+                builder.phoneNumbers(contacts.getPhoneNumbers());
+            }
+            if (plan.includes(Field.SOCIAL_LINKS)) {
+                builder.socialLinks(contacts.getSocialLinks()).socialProfiles(contacts.getSocialProfiles());
+            }
+        }
+        if (plan.includes(Field.CONTENT)) {
+            builder.content(page.getContent());
         }
     }
+
+    private void extractParsed(String url, Document document, ExtractionPlan plan, ScrapedData.Builder builder) {
+        // One walk over the tree collects what every extractor below reads
+        PageSignals signals = DocumentAnalyzer.analyze(document, plan);
+
+        if (plan.includes(Field.TITLE)) {
+            builder.title(extractTitle(signals));
+        }
+        if (plan.includes(Field.DESCRIPTION)) {
+            builder.description(extractDescription(signals));
+        }
+        if (plan.needsContacts()) {
+            // One streamed pass over the page text for emails, phones and social links
+            ContactInfo contacts = contactExtractor.extract(document, signals.getLinks());
+            if (plan.includes(Field.EMAILS)) {
+                builder.emails(contacts.getEmails());
+            }
+            if (plan.includes(Field.PHONE_NUMBERS)) {
+                builder.phoneNumbers(contacts.getPhoneNumbers());
+            }
+            if (plan.includes(Field.SOCIAL_LINKS)) {
+                Set<String> socialLinks = contacts.getSocialLinks();
+                // Search results pages only feed social links, so only look for them here; a
+                // crawl visits them instead
+                if (!plan.needsLinks() && isSearchResultsPage(url, signals)) {
+                    List<String> foundUrls = extractUrlsFromSearchResults(signals);
+                    log.info("Found {} URLs from search results page: {}", foundUrls.size(), url);
+                    // If we found URLs from search results, add them to social links for now
+                    socialLinks.addAll(foundUrls);
+                }
+                builder.socialLinks(socialLinks).socialProfiles(contacts.getSocialProfiles());
+            }
+        }
+        if (plan.needsLinks()) {
+            // What a crawl follows: the organic results of a search page, any other page's links
+            boolean searchResults = isSearchResultsPage(url, signals);
+            builder.searchResultsPage(searchResults).links(searchResults
+                ? extractUrlsFromSearchResults(signals)
+                : signals.getLinks().stream()
+                    .map(href -> LinkScorer.resolve(document.location(), href))
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .collect(Collectors.toList()));
+        }
+        // Last, because it strips script/nav/header/footer/aside from the document
+        if (plan.includes(Field.CONTENT)) {
+            builder.content(extractContent(document, signals));
+        }
+    }
+
+    private ScrapedData errorResult(String url, Throwable error, FetchAttempts attempts, long startTime) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof UncheckedIOException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+
+        String errorMessage;
+        if (cause instanceof IOException) {
+            log.warn("Failed to scrape URL {}: {}", url, cause.getMessage());
+            errorMessage = "Connection error: " + cause.getMessage();
+        } else {
+            log.error("Unexpected error scraping URL {}: ", url, cause);
+            errorMessage = "Unexpected error: " + cause.getMessage();
+        }
+
+        return ScrapedData.builder()
+            .url(url)
+            .status("error")
+            .errorMessage(errorMessage)
+            .responseTime(System.currentTimeMillis() - startTime)
+            .retries(attempts.getRetries())
+            .hedgedRequests(attempts.getHedges())
+            .build();
+    }
+    
+    private Document parseDocument(FetchResult fetched, boolean headOnly) throws IOException {
+        String charsetName = fetched.getCharset() != null ? fetched.getCharset().name() : null;
+        byte[] body = fetched.getBody();
+        int length = headOnly ? headLength(body) : body.length;
+        return Jsoup.parse(new ByteArrayInputStream(body, 0, length), charsetName, fetched.getFinalUrl());
+    }
+
+    /**
+     * Bytes up to the first {@code </head} or {@code <body}, whichever comes first, or the whole
+     * page when neither is there. Matched as ASCII, which holds for every charset jsoup sniffs
+     * from a meta tag.
+     */
+    static int headLength(byte[] body) {
+        for (int i = 0; i < body.length; i++) {
+            if (body[i] == '<' && (isTagAt(body, i + 1, "/head") || isTagAt(body, i + 1, "body"))) {
+                return i;
+            }
+        }
+        return body.length;
+    }
+
+    /** Tag name match, so {@code </header>} is not mistaken for {@code </head>}. */
+    private static boolean isTagAt(byte[] body, int offset, String prefix) {
+        int end = offset + prefix.length();
+        if (end > body.length) {
+            return false;
+        }
+        for (int k = 0; k < prefix.length(); k++) {
+            if (Character.toLowerCase((char) (body[offset + k] & 0xff)) != prefix.charAt(k)) {
+                return false;
+            }
+        }
+        return end == body.length || !Character.isLetterOrDigit((char) (body[end] & 0xff));
+    }
     
-    private boolean isSearchResultsPage(String url, Document document) {
+    private boolean isSearchResultsPage(String url, PageSignals signals) {
         // Check if this is a search results page
         return url.contains("google.com/search") || 
                url.contains("bing.com/search") || 
                url.contains("duckduckgo.com") ||
-               document.select("div[data-ved]").size() > 0 || // Google search results
-               document.select(".b_algo").size() > 0 || // Bing search results
-               document.select(".result").size() > 0; // DuckDuckGo results
+               signals.hasSearchResultsMarkup(); // div[data-ved], .b_algo or .result
     }
     
-    private List<String> extractUrlsFromSearchResults(Document document) {
-        List<String> urls = new ArrayList<>();
-        
-        try {
-            // Extract URLs from Google search results
-            Elements googleResults = document.select("div[data-ved] a[href^='http']");
-            for (Element element : googleResults) {
-                String href = element.attr("href");
-                if (isValidUrl(href)) {
-                    urls.add(href);
-                }
-            }
-            
-            // Extract URLs from Bing search results
-            Elements bingResults = document.select(".b_algo a[href^='http']");
-            for (Element element : bingResults) {
-                String href = element.attr("href");
-                if (isValidUrl(href)) {
-                    urls.add(href);
-                }
-            }
-            
-            // Extract URLs from DuckDuckGo search results
-            Elements ddgResults = document.select(".result a[href^='http']");
-            for (Element element : ddgResults) {
-                String href = element.attr("href");
-                if (isValidUrl(href)) {
-                    urls.add(href);
-                }
-            }
-            
-            // Remove duplicates and limit
-            return urls.stream()
-                .distinct()
-                .limit(20) // Limit to prevent too many URLs
-                .collect(Collectors.toList());
-                
-        } catch (Exception e) {
-            log.error("Error extracting URLs from search results: ", e);
-            return new ArrayList<>();
-        }
+    private List<String> extractUrlsFromSearchResults(PageSignals signals) {
+        // Google, Bing and DuckDuckGo result anchors, in that order; tracking-parameter and
+        // fragment variants of one result count once
+        Set<String> seen = new HashSet<>();
+        return signals.getSearchResultLinks().stream()
+            .filter(this::isValidUrl)
+            .filter(url -> seen.add(UrlCanonicalizer.canonicalize(url)))
+            .limit(20) // Limit to prevent too many URLs
+            .collect(Collectors.toList());
     }
     
     private boolean isValidUrl(String url) {
@@ -359,136 +965,53 @@ public class WebScrapingService {
         }
     }
 
-    private String extractTitle(Document document) {
-        Element titleElement = document.select("title").first();
+    private String extractTitle(PageSignals signals) {
+        Element titleElement = signals.getTitle();
         return titleElement != null ? titleElement.text().trim() : "";
     }
 
-    private String extractDescription(Document document) {
-        // Try meta description first
-        Element metaDesc = document.select("meta[name=description]").first();
-        if (metaDesc != null && !metaDesc.attr("content").isEmpty()) {
-            return metaDesc.attr("content").trim();
-        }
-
-        // Try Open Graph description
-        Element ogDesc = document.select("meta[property=og:description]").first();
-        if (ogDesc != null && !ogDesc.attr("content").isEmpty()) {
-            return ogDesc.attr("content").trim();
-        }
-
-        // Try Twitter description
-        Element twitterDesc = document.select("meta[name=twitter:description]").first();
-        if (twitterDesc != null && !twitterDesc.attr("content").isEmpty()) {
-            return twitterDesc.attr("content").trim();
+    private String extractDescription(PageSignals signals) {
+        // Try meta description first, then Open Graph, then Twitter
+        for (Element meta : new Element[] {
+                signals.getMetaDescription(), signals.getOgDescription(), signals.getTwitterDescription()}) {
+            if (meta != null && !meta.attr("content").isEmpty()) {
+                return meta.attr("content").trim();
+            }
         }
 
-        // Try to find a meaningful paragraph
-        Elements paragraphs = document.select("p");
+        // Try to find a meaningful paragraph; longer ones are only read far enough to rule them out
+        List<Element> paragraphs = signals.getParagraphs();
         for (Element p : paragraphs) {
-            String text = p.text().trim();
+            String text = TextCollector.abbreviate(p, 300);
             if (text.length() > 50 && text.length() < 300) {
                 return text;
             }
         }
 
         // Fallback to first paragraph
-        Element firstP = document.select("p").first();
-        if (firstP != null) {
-            String text = firstP.text().trim();
-            return text.length() > 200 ? text.substring(0, 200) + "..." : text;
+        if (!paragraphs.isEmpty()) {
+            return TextCollector.abbreviate(paragraphs.get(0), 200);
         }
         
         return "";
     }
 
-    private Set<String> extractEmails(Document document) {
-        Set<String> emails = new HashSet<>();
-        String text = document.text();
-        
-        Matcher matcher = EMAIL_PATTERN.matcher(text);
-        while (matcher.find()) {
-            String email = matcher.group().toLowerCase();
-            // Filter out common false positives
-            if (!isFalsePositiveEmail(email)) {
-                emails.add(email);
-            }
-        }
-        
-        return emails;
-    }
-
-    private boolean isFalsePositiveEmail(String email) {
-        // Filter out common false positives
-        String lowerEmail = email.toLowerCase();
-        return lowerEmail.contains("@2x") || 
-               lowerEmail.contains("@3x") || 
-               lowerEmail.contains("fallback") ||
-               lowerEmail.contains(".min.") ||
-               lowerEmail.endsWith(".js") ||
-               lowerEmail.endsWith(".css") ||
-               lowerEmail.matches(".*@\\d+\\.\\d+.*");
-    }
-
-    private Set<String> extractPhoneNumbers(Document document) {
-        Set<String> phoneNumbers = new HashSet<>();
-        String text = document.text();
+    private String extractContent(Document document, PageSignals signals) {
+        // Remove script, style and navigation chrome
+        signals.getBoilerplate().forEach(Element::remove);
         
-        Matcher matcher = PHONE_PATTERN.matcher(text);
-        while (matcher.find()) {
-            phoneNumbers.add(matcher.group().trim());
-        }
-        
-        return phoneNumbers;
-    }
-
-    private Set<String> extractSocialLinks(Document document) {
-        Set<String> socialLinks = new HashSet<>();
-        
-        // Extract from href attributes
-        Elements links = document.select("a[href]");
-        for (Element link : links) {
-            String href = link.attr("href");
-            Matcher matcher = SOCIAL_PATTERN.matcher(href);
-            if (matcher.find()) {
-                socialLinks.add(href);
-            }
-        }
-        
-        // Extract from text content
-        String text = document.text();
-        Matcher matcher = SOCIAL_PATTERN.matcher(text);
-        while (matcher.find()) {
-            socialLinks.add(matcher.group());
-        }
-        
-        return socialLinks;
-    }
-
-    private String extractContent(Document document) {
-        // Remove script and style elements
-        document.select("script, style, nav, header, footer, aside").remove();
-        
-        // Try multiple selectors for main content
-        String[] contentSelectors = {
-            "main", "article", ".content", ".post", ".entry", ".main-content",
-            ".page-content", ".article-content", ".post-content", ".entry-content",
-            "#content", "#main", "#article", ".container", ".wrapper"
-        };
-        
-        for (String selector : contentSelectors) {
-            Element content = document.select(selector).first();
-            if (content != null && !content.text().trim().isEmpty()) {
-                String text = content.text().trim();
-                // Limit content length to avoid huge responses
-                return text.length() > 2000 ? text.substring(0, 2000) + "..." : text;
+        // First match of each main-content selector, most specific first. Text is gathered only
+        // up to the limit, to avoid huge responses and huge intermediate strings alike
+        for (Element content : signals.getContentCandidates()) {
+            String text = TextCollector.abbreviate(content, MAX_CONTENT_CHARS);
+            if (!text.isEmpty()) {
+                return text;
             }
         }
         
         // Fallback to body content, but limit it
         if (document.body() != null) {
-            String bodyText = document.body().text().trim();
-            return bodyText.length() > 2000 ? bodyText.substring(0, 2000) + "..." : bodyText;
+            return TextCollector.abbreviate(document.body(), MAX_CONTENT_CHARS);
         }
         
         return "";
@@ -514,7 +1037,10 @@ public class WebScrapingService {
             .url(data.getUrl())
             .status(data.getStatus())
             .responseTime(data.getResponseTime())
-            .errorMessage(data.getErrorMessage());
+            .errorMessage(data.getErrorMessage())
+            .retries(data.getRetries())
+            .hedgedRequests(data.getHedgedRequests())
+            .cacheStatus(data.getCacheStatus());
 
         // Only include requested fields
         if (fieldsToExtract.contains("title")) {
@@ -531,6 +1057,7 @@ public class WebScrapingService {
         }
         if (fieldsToExtract.contains("socialLinks")) {
             builder.socialLinks(data.getSocialLinks());
+            builder.socialProfiles(data.getSocialProfiles());
         }
         if (fieldsToExtract.contains("content")) {
             builder.content(data.getContent());
@@ -541,74 +1068,4 @@ public class WebScrapingService {
 
         return builder.build();
     }
-
-    /**
-     * Converts scraped data to CSV format
-     */
-    public String convertToCsv(List<ScrapedData> results, Set<String> fieldsToExtract) {
-        try (StringWriter writer = new StringWriter();
-             CSVWriter csvWriter = new CSVWriter(writer)) {
-
-            // Create header row
-            List<String> headers = new ArrayList<>();
-            headers.add("URL");
-            headers.add("Status");
-            headers.add("Response Time (ms)");
-            
-            if (fieldsToExtract == null || fieldsToExtract.isEmpty()) {
-                fieldsToExtract = Set.of("title", "description", "emails", "phoneNumbers", "socialLinks", "content", "domain");
-            }
-            
-            if (fieldsToExtract.contains("title")) headers.add("Title");
-            if (fieldsToExtract.contains("description")) headers.add("Description");
-            if (fieldsToExtract.contains("emails")) headers.add("Emails");
-            if (fieldsToExtract.contains("phoneNumbers")) headers.add("Phone Numbers");
-            if (fieldsToExtract.contains("socialLinks")) headers.add("Social Links");
-            if (fieldsToExtract.contains("content")) headers.add("Content");
-            if (fieldsToExtract.contains("domain")) headers.add("Domain");
-            if (fieldsToExtract.contains("errorMessage")) headers.add("Error Message");
-
-            csvWriter.writeNext(headers.toArray(new String[0]));
-
-            // Add data rows
-            for (ScrapedData data : results) {
-                List<String> row = new ArrayList<>();
-                row.add(data.getUrl() != null ? data.getUrl() : "");
-                row.add(data.getStatus() != null ? data.getStatus() : "");
-                row.add(String.valueOf(data.getResponseTime()));
-                
-                if (fieldsToExtract.contains("title")) {
-                    row.add(data.getTitle() != null ? data.getTitle() : "");
-                }
-                if (fieldsToExtract.contains("description")) {
-                    row.add(data.getDescription() != null ? data.getDescription() : "");
-                }
-                if (fieldsToExtract.contains("emails")) {
-                    row.add(data.getEmails() != null ? String.join("; ", data.getEmails()) : "");
-                }
-                if (fieldsToExtract.contains("phoneNumbers")) {
-                    row.add(data.getPhoneNumbers() != null ? String.join("; ", data.getPhoneNumbers()) : "");
-                }
-                if (fieldsToExtract.contains("socialLinks")) {
-                    row.add(data.getSocialLinks() != null ? String.join("; ", data.getSocialLinks()) : "");
-                }
-                if (fieldsToExtract.contains("content")) {
-                    row.add(data.getContent() != null ? data.getContent().replaceAll("\\s+", " ").trim() : "");
-                }
-                if (fieldsToExtract.contains("domain")) {
-                    row.add(data.getDomain() != null ? data.getDomain() : "");
-                }
-                if (fieldsToExtract.contains("errorMessage")) {
-                    row.add(data.getErrorMessage() != null ? data.getErrorMessage() : "");
-                }
-
-                csvWriter.writeNext(row.toArray(new String[0]));
-            }
-
-            return writer.toString();
-        } catch (Exception e) {
-            log.error("Error converting data to CSV: ", e);
-            throw new RuntimeException("Failed to convert data to CSV", e);
-        }
-    }
 }
@@ -0,0 +1,164 @@
+package com.scraper.service.crawl;
+
+import com.scraper.service.fetch.UrlCanonicalizer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * The URLs one crawl request still has to visit, highest expected contact yield first. A URL is
+ * queued at most once, whatever its spelling: the frontier remembers 64-bit fingerprints of
+ * canonical URLs, not the URLs. Pages are admitted against two budgets, one per site and one for
+ * the whole request; seeds (the request's own URLs) are never refused for their site's budget.
+ * Admitted pages are recorded in the shared {@link SeenUrlFilter}, and with {@code skipRecent}
+ * discovered URLs that another crawl visited within its window are not queued. Not thread-safe:
+ * one crawl drives its frontier from a single thread.
+ */
+public final class CrawlFrontier {
+
+    /** A queued URL with how it was reached. */
+    public static final class Entry {
+        private final String url;
+        private final String site;
+        private final int depth;
+        private final int priority;
+        private final boolean seed;
+        private final long fingerprint;
+        private final long sequence;
+
+        private Entry(String url, String site, int depth, int priority, boolean seed, long fingerprint, long sequence) {
+            this.url = url;
+            this.site = site;
+            this.depth = depth;
+            this.priority = priority;
+            this.seed = seed;
+            this.fingerprint = fingerprint;
+            this.sequence = sequence;
+        }
+
+        public String getUrl() { return url; }
+
+        /** Host without a leading {@code www.}, the unit of the per-site budget. */
+        public String getSite() { return site; }
+
+        /** Same-site links followed to get here; 0 for seeds and search results. */
+        public int getDepth() { return depth; }
+
+        public int getPriority() { return priority; }
+
+        public boolean isSeed() { return seed; }
+    }
+
+    private final int maxDepth;
+    private final int maxPagesPerSite;
+    private final int maxPages;
+    private final SeenUrlFilter recent;
+    private final boolean skipRecent;
+
+    // Higher priority first; equal priorities in the order they were offered
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>((a, b) -> a.priority != b.priority
+        ? Integer.compare(b.priority, a.priority)
+        : Long.compare(a.sequence, b.sequence));
+    private final FingerprintSet seen = new FingerprintSet();
+    private final Map<String, Integer> pagesPerSite = new HashMap<>();
+    private int admitted;
+    private int skippedRecent;
+    private long sequence;
+
+    public CrawlFrontier(int maxDepth, int maxPagesPerSite, int maxPages) {
+        this(maxDepth, maxPagesPerSite, maxPages, null, false);
+    }
+
+    /**
+     * @param recent     URLs crawled by recent requests, or {@code null}
+     * @param skipRecent whether discovered URLs found in {@code recent} are left out
+     */
+    public CrawlFrontier(int maxDepth, int maxPagesPerSite, int maxPages, SeenUrlFilter recent, boolean skipRecent) {
+        this.maxDepth = maxDepth;
+        this.maxPagesPerSite = maxPagesPerSite;
+        this.maxPages = maxPages;
+        this.recent = recent;
+        this.skipRecent = skipRecent && recent != null;
+    }
+
+    /** Queues one of the request's own URLs; seeds keep their order among themselves. */
+    public boolean offerSeed(String url) {
+        return offer(url, 0, 0, true);
+    }
+
+    /**
+     * Queues a discovered URL unless it was seen before, lies deeper than the crawl may go, or
+     * its site has no budget left. Returns whether it was queued.
+     */
+    public boolean offer(String url, int depth, int priority) {
+        return offer(url, depth, priority, false);
+    }
+
+    private boolean offer(String url, int depth, int priority, boolean seed) {
+        if (depth > maxDepth || admitted >= maxPages) {
+            return false;
+        }
+        String site = LinkScorer.site(url);
+        if (!seed && (site.isEmpty() || pagesPerSite.getOrDefault(site, 0) >= maxPagesPerSite)) {
+            return false;
+        }
+        long fingerprint = UrlCanonicalizer.fingerprint(url);
+        if (!seen.add(fingerprint)) {
+            return false;
+        }
+        if (!seed && skipRecent && recent.mightHaveSeen(fingerprint)) {
+            skippedRecent++;
+            return false;
+        }
+        queue.add(new Entry(url, site, depth, priority, seed, fingerprint, sequence++));
+        return true;
+    }
+
+    /**
+     * The next URL to visit, counted against its budgets, or {@code null} when nothing admissible
+     * is left. Entries whose site ran out of budget while they waited are dropped.
+     */
+    public Entry poll() {
+        while (admitted < maxPages) {
+            Entry entry = queue.poll();
+            if (entry == null) {
+                return null;
+            }
+            int pages = pagesPerSite.getOrDefault(entry.site, 0);
+            if (!entry.seed && pages >= maxPagesPerSite) {
+                continue;
+            }
+            pagesPerSite.put(entry.site, pages + 1);
+            admitted++;
+            if (recent != null) {
+                recent.record(entry.fingerprint);
+            }
+            return entry;
+        }
+        return null;
+    }
+
+    /** URLs handed out by {@link #poll()} so far. */
+    public int getAdmitted() {
+        return admitted;
+    }
+
+    /** URLs still waiting, some of which may yet be dropped for budget. */
+    public int getQueued() {
+        return queue.size();
+    }
+
+    /** Discovered URLs left out because a recent crawl already visited them. */
+    public int getSkippedRecent() {
+        return skippedRecent;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public int getMaxPages() {
+        return maxPages;
+    }
+}
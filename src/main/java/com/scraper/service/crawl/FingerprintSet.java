@@ -0,0 +1,76 @@
+package com.scraper.service.crawl;
+
+/**
+ * An open-addressing set of 64-bit URL fingerprints kept in a plain {@code long[]}: 8 to 16
+ * bytes per URL where a {@code HashSet<String>} of the URLs costs about ten times that. Zero
+ * marks an empty slot, so the fingerprint 0 is tracked on the side. Not thread-safe.
+ */
+final class FingerprintSet {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] slots;
+    private int size;
+    private boolean containsZero;
+
+    FingerprintSet() {
+        slots = new long[MIN_CAPACITY];
+    }
+
+    /** Returns whether the fingerprint was not in the set before. */
+    boolean add(long fingerprint) {
+        if (fingerprint == 0) {
+            boolean added = !containsZero;
+            containsZero = true;
+            return added;
+        }
+        int mask = slots.length - 1;
+        int slot = (int) fingerprint & mask;
+        while (slots[slot] != 0) {
+            if (slots[slot] == fingerprint) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = fingerprint;
+        // Kept at most half full, so probe runs stay short
+        if (++size * 2 > slots.length) {
+            grow();
+        }
+        return true;
+    }
+
+    boolean contains(long fingerprint) {
+        if (fingerprint == 0) {
+            return containsZero;
+        }
+        int mask = slots.length - 1;
+        int slot = (int) fingerprint & mask;
+        while (slots[slot] != 0) {
+            if (slots[slot] == fingerprint) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    int size() {
+        return size + (containsZero ? 1 : 0);
+    }
+
+    private void grow() {
+        long[] old = slots;
+        slots = new long[old.length * 2];
+        int mask = slots.length - 1;
+        for (long fingerprint : old) {
+            if (fingerprint != 0) {
+                int slot = (int) fingerprint & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = fingerprint;
+            }
+        }
+    }
+}
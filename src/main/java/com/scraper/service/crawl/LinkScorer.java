@@ -0,0 +1,106 @@
+package com.scraper.service.crawl;
+
+import java.net.URI;
+import java.util.Locale;
+
+/**
+ * Guesses how likely a URL is to carry contact details from its path alone, so a crawl can fetch
+ * contact, about and team pages before anything else on a site and leave the rest alone.
+ */
+public final class LinkScorer {
+
+    /** What a search result is worth before its own path is scored. */
+    public static final int SEARCH_RESULT = 10;
+
+    // Path words and the yield they promise; the best match in a path counts
+    private static final String[] WORDS = {
+        "contact", "kontakt", "contacto", "impressum", "imprint",
+        "team", "people", "staff", "leadership",
+        "about", "ueber-uns", "company", "office", "locations"
+    };
+    private static final int[] YIELDS = {
+        100, 100, 100, 90, 90,
+        70, 70, 70, 60,
+        60, 60, 40, 40, 40
+    };
+
+    // Links to these are files, not pages; the pre-flight would skip them, but not queueing saves a request
+    private static final String[] FILE_EXTENSIONS = {
+        ".pdf", ".jpg", ".jpeg", ".png", ".gif", ".svg", ".webp", ".zip", ".mp3", ".mp4", ".doc", ".docx", ".xls", ".xlsx"
+    };
+
+    private LinkScorer() {
+    }
+
+    /** Expected contact yield of a page on a site already being crawled; 0 means not worth a visit. */
+    public static int contactYield(String url) {
+        String path = path(url);
+        if (path == null || isFile(path)) {
+            return 0;
+        }
+        int best = 0;
+        for (int i = 0; i < WORDS.length; i++) {
+            if (YIELDS[i] > best && path.contains(WORDS[i])) {
+                best = YIELDS[i];
+            }
+        }
+        return best;
+    }
+
+    /** Priority of a search result: any result is worth a visit, contact pages first. */
+    public static int resultPriority(String url) {
+        String path = path(url);
+        return path == null || isFile(path) ? 0 : SEARCH_RESULT + contactYield(url);
+    }
+
+    /**
+     * An {@code http(s)} link resolved against the page it was found on, without its fragment,
+     * or {@code null} when it is something else (mailto:, javascript:, malformed).
+     */
+    public static String resolve(String pageUrl, String href) {
+        try {
+            URI uri = URI.create(pageUrl).resolve(href.trim());
+            String scheme = uri.getScheme();
+            if (uri.getHost() == null || !("http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme))) {
+                return null;
+            }
+            String resolved = uri.toString();
+            int fragment = resolved.indexOf('#');
+            return fragment >= 0 ? resolved.substring(0, fragment) : resolved;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /** Host without a leading {@code www.}, lower-cased; empty when there is none. */
+    public static String site(String url) {
+        try {
+            String host = URI.create(url.trim()).getHost();
+            if (host == null) {
+                return "";
+            }
+            host = host.toLowerCase(Locale.ROOT);
+            return host.startsWith("www.") ? host.substring(4) : host;
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    private static String path(String url) {
+        try {
+            String path = URI.create(url.trim()).getPath();
+            return path != null ? path.toLowerCase(Locale.ROOT) : "";
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static boolean isFile(String path) {
+        for (String extension : FILE_EXTENSIONS) {
+            if (path.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,143 @@
+package com.scraper.service.crawl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * URLs crawled recently by any request, as Bloom filters over their fingerprints: about
+ * 10 bits per URL at a 1% false-positive rate. Two generations rotate, so a URL is remembered
+ * for at least one window and at most two, and memory stays fixed however long the service
+ * runs. A generation that fills up before its window ends rotates early rather than let its
+ * false-positive rate climb. A false positive makes a crawl skip a page it has not seen; a
+ * page it has seen is never missed.
+ */
+@Component
+public class SeenUrlFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SeenUrlFilter.class);
+
+    private final long windowMillis;
+    private final int expectedUrls;
+    private final double falsePositiveRate;
+    private final long bits;
+    private final int hashes;
+
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    public SeenUrlFilter(
+            @Value("${scraper.crawl.seen.window-minutes:60}") long windowMinutes,
+            @Value("${scraper.crawl.seen.expected-urls:1000000}") int expectedUrls,
+            @Value("${scraper.crawl.seen.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.windowMillis = windowMinutes * 60_000;
+        this.expectedUrls = Math.max(expectedUrls, 1);
+        this.falsePositiveRate = falsePositiveRate;
+        // Optimal sizing for n insertions at rate p: m = -n ln p / (ln 2)^2 bits, k = m/n ln 2
+        double ln2 = Math.log(2);
+        this.bits = Math.max(64, (long) Math.ceil(-this.expectedUrls * Math.log(falsePositiveRate) / (ln2 * ln2)));
+        this.hashes = Math.max(1, (int) Math.round((double) bits / this.expectedUrls * ln2));
+        if (isEnabled()) {
+            this.current = new Generation(bits);
+            this.previous = new Generation(bits);
+            log.info("Crawl seen-URL filter: {} URLs per {}-minute window at {} false positives, {} KB per generation",
+                this.expectedUrls, windowMinutes, falsePositiveRate, bits / 8 / 1024);
+        }
+    }
+
+    /** False when {@code window-minutes} is 0, which keeps deduplication per request. */
+    public boolean isEnabled() {
+        return windowMillis > 0;
+    }
+
+    /** Whether the URL with this fingerprint may have been crawled within the window. */
+    public boolean mightHaveSeen(long fingerprint) {
+        if (!isEnabled()) {
+            return false;
+        }
+        rotateIfDue();
+        return current.mightContain(fingerprint) || previous.mightContain(fingerprint);
+    }
+
+    public void record(long fingerprint) {
+        if (!isEnabled()) {
+            return;
+        }
+        rotateIfDue();
+        current.add(fingerprint);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", isEnabled());
+        if (isEnabled()) {
+            stats.put("windowMinutes", windowMillis / 60_000);
+            stats.put("expectedUrls", expectedUrls);
+            stats.put("falsePositiveRate", falsePositiveRate);
+            stats.put("hashes", hashes);
+            stats.put("bytes", 2 * bits / 8);
+            stats.put("urlsThisWindow", current.added.get());
+            stats.put("urlsPreviousWindow", previous.added.get());
+        }
+        return stats;
+    }
+
+    private void rotateIfDue() {
+        Generation generation = current;
+        if (System.currentTimeMillis() - generation.started < windowMillis && generation.added.get() < expectedUrls) {
+            return;
+        }
+        synchronized (this) {
+            if (current == generation) {
+                previous = generation;
+                current = new Generation(bits);
+            }
+        }
+    }
+
+    private final class Generation {
+        private final AtomicLongArray words;
+        private final long started = System.currentTimeMillis();
+        private final AtomicLong added = new AtomicLong();
+
+        Generation(long bits) {
+            this.words = new AtomicLongArray((int) ((bits + 63) / 64));
+        }
+
+        void add(long fingerprint) {
+            boolean changed = false;
+            for (int i = 0; i < hashes; i++) {
+                long bit = index(fingerprint, i);
+                long mask = 1L << bit;
+                long before = words.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+                changed |= (before & mask) == 0;
+            }
+            if (changed) {
+                added.incrementAndGet();
+            }
+        }
+
+        boolean mightContain(long fingerprint) {
+            for (int i = 0; i < hashes; i++) {
+                long bit = index(fingerprint, i);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** Kirsch-Mitzenmacher: the i-th index as h1 + i * h2 from the two halves of the fingerprint. */
+        private long index(long fingerprint, int i) {
+            long h1 = fingerprint & 0xffffffffL;
+            long h2 = (fingerprint >>> 32) | 1;
+            return Math.floorMod(h1 + i * h2, bits);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.scraper.service.export;
+
+import com.scraper.model.InstagramProfile;
+import com.scraper.model.ScrapedData;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The CSV columns of an export, chosen once from {@code fieldsToExtract}. Rows are then built
+ * by running the chosen columns in order, with no per-row checks of which fields were asked for.
+ */
+public final class CsvColumns<T> {
+
+    private static final Set<String> DEFAULT_WEB_FIELDS =
+        Set.of("title", "description", "emails", "phoneNumbers", "socialLinks", "content", "domain");
+    private static final Set<String> DEFAULT_INSTAGRAM_FIELDS =
+        Set.of("bio", "contact", "email", "phone", "website", "location");
+
+    private final String[] headers;
+    private final List<Function<T, String>> values;
+
+    private CsvColumns(Builder<T> builder) {
+        this.headers = builder.headers.toArray(new String[0]);
+        this.values = List.copyOf(builder.values);
+    }
+
+    /** Columns for web results: URL, status and response time, then the requested fields. */
+    public static CsvColumns<ScrapedData> forWebResults(Set<String> fieldsToExtract) {
+        Set<String> fields = fieldsToExtract == null || fieldsToExtract.isEmpty() ? DEFAULT_WEB_FIELDS : fieldsToExtract;
+        return new Builder<ScrapedData>(fields)
+            .always("URL", ScrapedData::getUrl)
+            .always("Status", ScrapedData::getStatus)
+            .always("Response Time (ms)", data -> String.valueOf(data.getResponseTime()))
+            .field("title", "Title", ScrapedData::getTitle)
+            .field("description", "Description", ScrapedData::getDescription)
+            .field("emails", "Emails", data -> joined(data.getEmails()))
+            .field("phoneNumbers", "Phone Numbers", data -> joined(data.getPhoneNumbers()))
+            .field("socialLinks", "Social Links", data -> joined(data.getSocialLinks()))
+            .field("content", "Content", data -> collapsed(data.getContent()))
+            .field("domain", "Domain", ScrapedData::getDomain)
+            .field("errorMessage", "Error Message", ScrapedData::getErrorMessage)
+            .build();
+    }
+
+    /** Columns for Instagram profiles: username, name, URL and status, then the requested fields. */
+    public static CsvColumns<InstagramProfile> forInstagramProfiles(Set<String> fieldsToExtract) {
+        Set<String> fields = fieldsToExtract == null || fieldsToExtract.isEmpty() ? DEFAULT_INSTAGRAM_FIELDS : fieldsToExtract;
+        return new Builder<InstagramProfile>(fields)
+            .always("Username", InstagramProfile::getUsername)
+            .always("Full Name", InstagramProfile::getFullName)
+            .always("Profile URL", InstagramProfile::getProfileUrl)
+            .always("Status", InstagramProfile::getStatus)
+            .field("bio", "Bio", profile -> collapsed(profile.getBio()))
+            .field("contact", "Contact", InstagramProfile::getContact)
+            .field("email", "Emails", profile -> joined(profile.getEmails()))
+            .field("phone", "Phone Numbers", profile -> joined(profile.getPhoneNumbers()))
+            .field("website", "Website", InstagramProfile::getWebsite)
+            .field("location", "Location", InstagramProfile::getLocation)
+            .field("errorMessage", "Error Message", InstagramProfile::getErrorMessage)
+            .build();
+    }
+
+    public String[] header() {
+        return headers.clone();
+    }
+
+    /** One row in column order; missing values are empty strings. */
+    public String[] row(T item) {
+        String[] row = new String[values.size()];
+        for (int i = 0; i < row.length; i++) {
+            String value = values.get(i).apply(item);
+            row[i] = value != null ? value : "";
+        }
+        return row;
+    }
+
+    private static String joined(Collection<String> values) {
+        return values != null ? String.join("; ", values) : null;
+    }
+
+    private static String collapsed(String text) {
+        return text != null ? text.replaceAll("\\s+", " ").trim() : null;
+    }
+
+    private static final class Builder<T> {
+        private final Set<String> fields;
+        private final List<String> headers = new ArrayList<>();
+        private final List<Function<T, String>> values = new ArrayList<>();
+
+        Builder(Set<String> fields) {
+            this.fields = fields;
+        }
+
+        Builder<T> always(String header, Function<T, String> value) {
+            headers.add(header);
+            values.add(value);
+            return this;
+        }
+
+        Builder<T> field(String field, String header, Function<T, String> value) {
+            return fields.contains(field) ? always(header, value) : this;
+        }
+
+        CsvColumns<T> build() {
+            return new CsvColumns<>(this);
+        }
+    }
+}
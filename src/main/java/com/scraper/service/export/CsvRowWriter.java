@@ -0,0 +1,55 @@
+package com.scraper.service.export;
+
+import com.opencsv.CSVWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes CSV rows straight to an output stream, optionally gzip-compressed on the way. Only one
+ * formatted row is held at a time, so memory stays the same however many rows are written.
+ * Rows are formatted by opencsv into a reused buffer and then copied out, so a client that
+ * disconnects surfaces as an {@link IOException} from {@link #write} rather than being swallowed.
+ */
+public class CsvRowWriter<T> {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final CsvColumns<T> columns;
+    private final GZIPOutputStream gzip;
+    private final Writer out;
+    private final StringWriter line = new StringWriter();
+    private final CSVWriter formatter = new CSVWriter(line);
+
+    public CsvRowWriter(CsvColumns<T> columns, OutputStream out, boolean gzip) throws IOException {
+        this.columns = columns;
+        this.gzip = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        this.out = new BufferedWriter(new OutputStreamWriter(gzip ? this.gzip : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writeLine(columns.header());
+    }
+
+    public void write(T item) throws IOException {
+        writeLine(columns.row(item));
+    }
+
+    /** Flushes what is buffered and ends the gzip stream; the underlying stream stays open. */
+    public void finish() throws IOException {
+        out.flush();
+        if (gzip != null) {
+            gzip.finish();
+        }
+    }
+
+    private void writeLine(String[] values) throws IOException {
+        formatter.writeNext(values);
+        StringBuffer buffer = line.getBuffer();
+        out.append(buffer);
+        buffer.setLength(0);
+    }
+}
@@ -0,0 +1,158 @@
+package com.scraper.service.extract;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Finds emails, phone numbers, social profile links and websites in a single walk over the
+ * text with {@link ContactScanner}. Only confirmed matches are turned into strings.
+ */
+@Component
+public class ContactExtractor {
+
+    private final SocialHostRegistry socialHosts;
+
+    public ContactExtractor(SocialHostRegistry socialHosts) {
+        this.socialHosts = socialHosts;
+    }
+
+    private static final Pattern VERSIONED_DOMAIN = Pattern.compile("@\\d+\\.\\d+");
+
+    // Page text is scanned in windows of about this size, cut where no match can span
+    static final int WINDOW_CHARS = 16 * 1024;
+
+    // A window with no safe cut is scanned anyway once it grows this large
+    static final int MAX_WINDOW_CHARS = 4 * WINDOW_CHARS;
+
+    /**
+     * Scans the text once and returns everything it contains. Null or empty text yields empty sets.
+     */
+    public ContactInfo extract(CharSequence text) {
+        ContactInfo info = new ContactInfo();
+        if (text == null || text.length() == 0) {
+            return info;
+        }
+        SocialHostMatcher hosts = socialHosts.current();
+        ContactScanner.scan(text, 0, text.length(), hosts, sinkFor(info, hosts));
+        return info;
+    }
+
+    /**
+     * Extracts from the page text and adds social profiles linked from anchors whose text does
+     * not spell out the URL.
+     */
+    public ContactInfo extract(Document document) {
+        List<String> hrefs = new ArrayList<>();
+        for (Element link : document.select("a[href]")) {
+            hrefs.add(link.attr("href"));
+        }
+        return extract(document, hrefs);
+    }
+
+    /**
+     * Extracts from the text of {@code root}, as {@link Element#text()} would render it, plus
+     * social profiles among the given anchor hrefs (see {@link DocumentAnalyzer}). The text is
+     * never materialized: it is scanned window by window as {@link TextCollector} produces it,
+     * so memory stays flat however large the page is.
+     */
+    public ContactInfo extract(Element root, List<String> hrefs) {
+        ContactStream stream = stream();
+        TextCollector.collect(root, stream.window(), stream);
+        for (String href : hrefs) {
+            stream.addLink(href);
+        }
+        return stream.finish();
+    }
+
+    /**
+     * A fresh extraction fed piece by piece, for text that is never held in one place.
+     */
+    public ContactStream stream() {
+        ContactInfo info = new ContactInfo();
+        SocialHostMatcher hosts = socialHosts.current();
+        return new ContactStream(info, hosts, sinkFor(info, hosts));
+    }
+
+    /**
+     * The last offset in the window where the scan can stop and resume without changing any
+     * match, or 0 if there is none yet. Only phone numbers contain whitespace, as a single
+     * separator between a digit or ')' and a digit or '(', so any other whitespace character
+     * works. The character after the cut must already be there; the cut character itself is
+     * kept so the next window still sees it before its first match.
+     */
+    static int safeCut(CharSequence window) {
+        for (int i = window.length() - 2; i > 0; i--) {
+            if (window.charAt(i) <= ' ' && !(isPhoneSeparatorBefore(window.charAt(i - 1))
+                    && isPhoneSeparatorAfter(window.charAt(i + 1)))) {
+                return i;
+            }
+        }
+        // No whitespace for a long stretch (e.g. an inline data blob): cut anyway, keeping the
+        // last character for the text collector
+        return window.length() >= MAX_WINDOW_CHARS ? window.length() - 1 : 0;
+    }
+
+    private static boolean isPhoneSeparatorBefore(char c) {
+        return (c >= '0' && c <= '9') || c == ')';
+    }
+
+    private static boolean isPhoneSeparatorAfter(char c) {
+        return (c >= '0' && c <= '9') || c == '(';
+    }
+
+    private ContactScanner.Sink sinkFor(ContactInfo info, SocialHostMatcher hosts) {
+        return new ContactScanner.Sink() {
+            @Override
+            public void email(CharSequence source, int start, int end) {
+                String email = source.subSequence(start, end).toString().toLowerCase(Locale.ROOT);
+                if (!isFalsePositiveEmail(email)) {
+                    info.getEmails().add(email);
+                }
+            }
+
+            @Override
+            public void phone(CharSequence source, int start, int end) {
+                info.getPhoneNumbers().add(source.subSequence(start, end).toString().trim());
+            }
+
+            @Override
+            public void socialLink(CharSequence source, int start, int end, String platform) {
+                info.addSocialLink(source.subSequence(start, end).toString(), platform);
+            }
+
+            @Override
+            public void website(CharSequence source, int start, int end) {
+                String url = source.subSequence(start, end).toString();
+                if (ContactScanner.socialPlatform(url, hosts) == null) {
+                    info.getWebsites().add(url);
+                }
+            }
+        };
+    }
+
+    /**
+     * Platform of the first social profile link in the URL, or {@code null} if it has none.
+     */
+    public String socialPlatform(String url) {
+        return url != null ? ContactScanner.socialPlatform(url, socialHosts.current()) : null;
+    }
+
+    /**
+     * Asset names such as {@code logo@2x.png} or {@code lib@1.2.min.js} look like addresses.
+     */
+    static boolean isFalsePositiveEmail(String email) {
+        return email.contains("@2x") ||
+               email.contains("@3x") ||
+               email.contains("fallback") ||
+               email.contains(".min.") ||
+               email.endsWith(".js") ||
+               email.endsWith(".css") ||
+               VERSIONED_DOMAIN.matcher(email).find();
+    }
+}
@@ -0,0 +1,56 @@
+package com.scraper.service.extract;
+
+import com.scraper.model.SocialLink;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Contact details found in one piece of text, each set in order of first appearance.
+ */
+public class ContactInfo {
+
+    private final Set<String> emails = new LinkedHashSet<>();
+    private final Set<String> phoneNumbers = new LinkedHashSet<>();
+    private final Set<String> socialLinks = new LinkedHashSet<>();
+    private final Set<String> websites = new LinkedHashSet<>();
+    private final Map<String, String> socialPlatforms = new LinkedHashMap<>();
+
+    public Set<String> getEmails() { return emails; }
+
+    public Set<String> getPhoneNumbers() { return phoneNumbers; }
+
+    public Set<String> getSocialLinks() { return socialLinks; }
+
+    /** Social links with their platform, in order of first appearance. */
+    public List<SocialLink> getSocialProfiles() {
+        List<SocialLink> profiles = new ArrayList<>(socialPlatforms.size());
+        socialPlatforms.forEach((url, platform) -> profiles.add(new SocialLink(platform, url)));
+        return profiles;
+    }
+
+    void addSocialLink(String url, String platform) {
+        socialLinks.add(url);
+        socialPlatforms.putIfAbsent(url, platform);
+    }
+
+    /** Absolute http(s) URLs that are not social profile links. */
+    public Set<String> getWebsites() { return websites; }
+
+    /**
+     * The first website mentioned, falling back to the first absolute social link, or {@code null}.
+     */
+    public String primaryWebsite() {
+        if (!websites.isEmpty()) {
+            return websites.iterator().next();
+        }
+        return socialLinks.stream()
+            .filter(link -> link.startsWith("http://") || link.startsWith("https://"))
+            .findFirst()
+            .orElse(null);
+    }
+}
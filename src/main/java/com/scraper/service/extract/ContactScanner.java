@@ -0,0 +1,404 @@
+package com.scraper.service.extract;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Single walk over a {@link CharSequence} that reports contact matches as index ranges.
+ * Emails and phone numbers are recognized by hand-written character-class state machines
+ * that accept exactly what the former {@code EMAIL_PATTERN} and {@code PHONE_PATTERN}
+ * regexes matched with {@code find()}, without backtracking over the whole text and without
+ * creating substrings; the sink decides what to materialize. Word boundaries follow
+ * {@code java.util.regex} ({@code \b} over ASCII word characters) and may look at the
+ * characters just outside the scanned range.
+ *
+ * <p>Social profile links are found by stepping a {@link SocialHostMatcher} automaton along
+ * the same walk: a known host that starts at a host-name boundary and is followed by
+ * "/path" is a link, widened to the left over an optional "www." and scheme.
+ */
+public final class ContactScanner {
+
+    /**
+     * Receives each match as a range of the scanned text, in order of discovery. Matches of
+     * one kind never overlap; matches of different kinds may.
+     */
+    public interface Sink {
+
+        void email(CharSequence text, int start, int end);
+
+        void phone(CharSequence text, int start, int end);
+
+        default void socialLink(CharSequence text, int start, int end, String platform) {}
+
+        default void website(CharSequence text, int start, int end) {}
+    }
+
+    static final Pattern WEBSITE_PATTERN = Pattern.compile(
+        "https?://[\\w\\-]+(\\.[\\w\\-]+)+([\\w\\-\\.,@?^=%&:/~\\+#]*[\\w\\-\\@?^=%&/~\\+#])?"
+    );
+
+    private ContactScanner() {}
+
+    public static void scan(CharSequence text, Sink sink) {
+        scan(text, 0, text.length(), SocialHostMatcher.defaults(), sink);
+    }
+
+    public static void scan(CharSequence text, int start, int end, Sink sink) {
+        scan(text, start, end, SocialHostMatcher.defaults(), sink);
+    }
+
+    /**
+     * Scans {@code text[start, end)}. Matches lie entirely inside the range.
+     */
+    public static void scan(CharSequence text, int start, int end, SocialHostMatcher socialHosts, Sink sink) {
+        // End of the last match per kind; like Matcher.find(), the next one starts at or after it
+        int emailEnd = start;
+        int phoneEnd = start;
+        int socialEnd = start;
+        int websiteEnd = start;
+        int socialState = 0;
+        // Websites are still verified by regex; the matcher is only created once "http" shows up
+        Matcher website = null;
+
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '@') {
+                if (i > emailEnd) {
+                    int domainEnd = emailDomainEnd(text, i, end);
+                    int localStart = domainEnd < 0 ? -1 : emailLocalStart(text, i, emailEnd);
+                    if (localStart >= 0) {
+                        sink.email(text, localStart, domainEnd);
+                        emailEnd = domainEnd;
+                    }
+                }
+            } else if (c == 'h') {
+                if (i >= websiteEnd && startsWith(text, i, "http", end)) {
+                    if (website == null) {
+                        website = anchored(WEBSITE_PATTERN, text, end);
+                    }
+                    if (lookingAt(website, i)) {
+                        sink.website(text, i, website.end());
+                        websiteEnd = website.end();
+                    }
+                }
+            }
+
+            socialState = socialHosts.next(socialState, c);
+            if (i + 1 < end && text.charAt(i + 1) == '/') {
+                for (int hostState = socialHosts.hostState(socialState); hostState >= 0;
+                     hostState = socialHosts.shorterHostState(hostState)) {
+                    int host = socialHosts.hostOf(hostState);
+                    int hostStart = i + 1 - socialHosts.hostLength(host);
+                    if (hostStart < socialEnd || isHostChar(text, hostStart - 1)) {
+                        continue;
+                    }
+                    int pathEnd = pathEnd(text, i + 2, end);
+                    if (pathEnd > i + 2) {
+                        int linkStart = linkStart(text, hostStart, socialEnd);
+                        sink.socialLink(text, linkStart, pathEnd, socialHosts.platform(host));
+                        socialEnd = pathEnd;
+                    }
+                    break;
+                }
+            }
+
+            if (i >= phoneEnd && mayStartPhone(text, i, c)) {
+                int matchEnd = phoneEnd(text, i, end);
+                if (matchEnd >= 0) {
+                    sink.phone(text, i, matchEnd);
+                    phoneEnd = matchEnd;
+                }
+            }
+        }
+    }
+
+    // ---- email: [A-Za-z0-9]([A-Za-z0-9._%-]*[A-Za-z0-9])?@[A-Za-z0-9]([A-Za-z0-9.-]*[A-Za-z0-9])?\.[A-Za-z]{2,}, \b on both ends
+
+    /**
+     * End of the domain after the {@code @} at {@code at}, or -1. The regex prefers the last
+     * dot of the domain run that is followed by at least two letters and a word boundary.
+     */
+    static int emailDomainEnd(CharSequence text, int at, int limit) {
+        int first = at + 1;
+        if (first >= limit || !isAlphanumeric(text.charAt(first))) {
+            return -1;
+        }
+        int run = first + 1;
+        while (run < limit && isDomainChar(text.charAt(run))) {
+            run++;
+        }
+        for (int dot = run - 1; dot > first; dot--) {
+            if (text.charAt(dot) != '.' || !isAlphanumeric(text.charAt(dot - 1))) {
+                continue;
+            }
+            int tld = dot + 1;
+            while (tld < limit && isLetter(text.charAt(tld))) {
+                tld++;
+            }
+            if (tld - dot > 2 && !isWordChar(text, tld)) {
+                return tld;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Leftmost start of the local part before the {@code @} at {@code at}, not before
+     * {@code floor}, or -1. The local part cannot contain '@', so it is the address run
+     * directly left of it.
+     */
+    static int emailLocalStart(CharSequence text, int at, int floor) {
+        if (!isAlphanumeric(text.charAt(at - 1))) {
+            return -1;
+        }
+        int start = at;
+        while (start > floor && isLocalChar(text.charAt(start - 1))) {
+            start--;
+        }
+        for (; start < at; start++) {
+            if (isAlphanumeric(text.charAt(start)) && !isWordChar(text, start - 1)) {
+                return start;
+            }
+        }
+        return -1;
+    }
+
+    // ---- phone: \b(?:\(?\+?1[-.)\s]?)?\(?[0-9]{3}\)?[-.\s]?[0-9]{3}[-.\s]?[0-9]{4}\b
+
+    /**
+     * The leading \b: a digit must follow a non-word character, an opening '(' or '+' must
+     * follow a word character.
+     */
+    private static boolean mayStartPhone(CharSequence text, int i, char c) {
+        if (isDigit(c)) {
+            return !isWordChar(text, i - 1);
+        }
+        return (c == '(' || c == '+') && isWordChar(text, i - 1);
+    }
+
+    /**
+     * End of a phone number starting at {@code start}, or -1. Optional parts are tried
+     * present-first, in the order the regex backtracks through them, so the first end found
+     * is the one the regex would report.
+     */
+    static int phoneEnd(CharSequence text, int start, int limit) {
+        // Country code group (?:\(?\+?1[-.)\s]?)?
+        for (int paren = 1; paren >= 0; paren--) {
+            int afterParen = start + paren;
+            if (paren == 1 && !charIs(text, start, '(', limit)) {
+                continue;
+            }
+            for (int plus = 1; plus >= 0; plus--) {
+                int afterPlus = afterParen + plus;
+                if (plus == 1 && !charIs(text, afterParen, '+', limit)) {
+                    continue;
+                }
+                if (!charIs(text, afterPlus, '1', limit)) {
+                    continue;
+                }
+                int afterOne = afterPlus + 1;
+                for (int separator = 1; separator >= 0; separator--) {
+                    if (separator == 1 && !(afterOne < limit && isCountryCodeSeparator(text.charAt(afterOne)))) {
+                        continue;
+                    }
+                    int end = localNumberEnd(text, afterOne + separator, limit);
+                    if (end >= 0) {
+                        return end;
+                    }
+                }
+            }
+        }
+        return localNumberEnd(text, start, limit);
+    }
+
+    private static int localNumberEnd(CharSequence text, int start, int limit) {
+        for (int open = 1; open >= 0; open--) {
+            if (open == 1 && !charIs(text, start, '(', limit)) {
+                continue;
+            }
+            int area = start + open;
+            if (!digits(text, area, 3, limit)) {
+                continue;
+            }
+            for (int close = 1; close >= 0; close--) {
+                int afterArea = area + 3;
+                if (close == 1 && !charIs(text, afterArea, ')', limit)) {
+                    continue;
+                }
+                for (int sep1 = 1; sep1 >= 0; sep1--) {
+                    int exchange = afterArea + close;
+                    if (sep1 == 1 && !(exchange < limit && isSeparator(text.charAt(exchange)))) {
+                        continue;
+                    }
+                    exchange += sep1;
+                    if (!digits(text, exchange, 3, limit)) {
+                        continue;
+                    }
+                    for (int sep2 = 1; sep2 >= 0; sep2--) {
+                        int line = exchange + 3;
+                        if (sep2 == 1 && !(line < limit && isSeparator(text.charAt(line)))) {
+                            continue;
+                        }
+                        line += sep2;
+                        if (digits(text, line, 4, limit) && !isWordChar(text, line + 4)) {
+                            return line + 4;
+                        }
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Platform of the first social profile link in {@code text}, or {@code null}.
+     */
+    public static String socialPlatform(CharSequence text, SocialHostMatcher socialHosts) {
+        String[] platform = new String[1];
+        scan(text, 0, text.length(), socialHosts, new Sink() {
+            @Override
+            public void email(CharSequence source, int start, int end) {}
+
+            @Override
+            public void phone(CharSequence source, int start, int end) {}
+
+            @Override
+            public void socialLink(CharSequence source, int start, int end, String found) {
+                if (platform[0] == null) {
+                    platform[0] = found;
+                }
+            }
+        });
+        return platform[0];
+    }
+
+    // ---- social links: (?i:https?://)?(?i:www\.)?<host>/[\w\-./@]+ with no host character before <host>
+
+    /**
+     * Widens a link to the left over "www." and "http(s)://", as far as the previous link allows.
+     */
+    private static int linkStart(CharSequence text, int hostStart, int floor) {
+        int start = hostStart;
+        if (start - 4 >= floor && startsWithIgnoreCase(text, start - 4, "www.")) {
+            start -= 4;
+        }
+        if (start - 8 >= floor && startsWithIgnoreCase(text, start - 8, "https://")) {
+            start -= 8;
+        } else if (start - 7 >= floor && startsWithIgnoreCase(text, start - 7, "http://")) {
+            start -= 7;
+        }
+        return start;
+    }
+
+    private static int pathEnd(CharSequence text, int start, int limit) {
+        int end = start;
+        while (end < limit && isPathChar(text.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    private static Matcher anchored(Pattern pattern, CharSequence text, int end) {
+        // Transparent bounds let \b look at the character before the region start
+        return pattern.matcher(text).region(0, end).useTransparentBounds(true).useAnchoringBounds(false);
+    }
+
+    private static boolean lookingAt(Matcher matcher, int start) {
+        return matcher.region(start, matcher.regionEnd()).lookingAt();
+    }
+
+    // ---- character classes
+
+    private static boolean startsWith(CharSequence text, int offset, String prefix, int limit) {
+        if (offset < 0 || offset + prefix.length() > limit) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.charAt(offset + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWithIgnoreCase(CharSequence text, int offset, String lowerPrefix) {
+        if (offset < 0 || offset + lowerPrefix.length() > text.length()) {
+            return false;
+        }
+        for (int i = 0; i < lowerPrefix.length(); i++) {
+            char c = text.charAt(offset + i);
+            if ((c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c) != lowerPrefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean charIs(CharSequence text, int i, char expected, int limit) {
+        return i < limit && text.charAt(i) == expected;
+    }
+
+    private static boolean digits(CharSequence text, int start, int count, int limit) {
+        if (start + count > limit) {
+            return false;
+        }
+        for (int i = start; i < start + count; i++) {
+            if (!isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** ASCII \w at {@code i}; positions outside the text count as non-word, as for \b. */
+    private static boolean isWordChar(CharSequence text, int i) {
+        if (i < 0 || i >= text.length()) {
+            return false;
+        }
+        char c = text.charAt(i);
+        return isAlphanumeric(c) || c == '_';
+    }
+
+    /** Characters that would make the text before a host part of a longer host name. */
+    private static boolean isHostChar(CharSequence text, int i) {
+        return isWordChar(text, i) || (i >= 0 && text.charAt(i) == '-');
+    }
+
+    /** [\w\-./@]; '@' for handles such as medium.com/@name */
+    private static boolean isPathChar(char c) {
+        return isAlphanumeric(c) || c == '_' || c == '-' || c == '.' || c == '/' || c == '@';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAlphanumeric(char c) {
+        return isLetter(c) || isDigit(c);
+    }
+
+    private static boolean isLocalChar(char c) {
+        return isAlphanumeric(c) || c == '.' || c == '_' || c == '%' || c == '-';
+    }
+
+    private static boolean isDomainChar(char c) {
+        return isAlphanumeric(c) || c == '.' || c == '-';
+    }
+
+    /** [-.\s] with \s as in java.util.regex: [ \t\n\x0B\f\r]. */
+    private static boolean isSeparator(char c) {
+        return c == '-' || c == '.' || isRegexWhitespace(c);
+    }
+
+    private static boolean isCountryCodeSeparator(char c) {
+        return c == ')' || isSeparator(c);
+    }
+
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
@@ -0,0 +1,57 @@
+package com.scraper.service.extract;
+
+/**
+ * Contact extraction over text that arrives in pieces. Text is kept in a window of about
+ * {@link ContactExtractor#WINDOW_CHARS} and scanned up to a cut where no match can span, so
+ * memory stays flat however much text goes through. Obtain one from
+ * {@link ContactExtractor#stream()}; it is not thread-safe.
+ */
+public final class ContactStream implements TextCollector.Listener {
+
+    private final ContactInfo info;
+    private final SocialHostMatcher hosts;
+    private final ContactScanner.Sink sink;
+    private final StringBuilder window = new StringBuilder(ContactExtractor.WINDOW_CHARS + TextCollector.SLICE_CHARS);
+
+    ContactStream(ContactInfo info, SocialHostMatcher hosts, ContactScanner.Sink sink) {
+        this.info = info;
+        this.hosts = hosts;
+        this.sink = sink;
+    }
+
+    /** Appends text, scanning whatever the window can let go of. */
+    public void append(CharSequence text) {
+        window.append(text);
+        appended(window);
+    }
+
+    /** The window, for {@link TextCollector#collect} with this stream as its listener. */
+    StringBuilder window() {
+        return window;
+    }
+
+    @Override
+    public boolean appended(StringBuilder buffer) {
+        if (buffer.length() >= ContactExtractor.WINDOW_CHARS) {
+            int cut = ContactExtractor.safeCut(buffer);
+            ContactScanner.scan(buffer, 0, cut, hosts, sink);
+            buffer.delete(0, cut);
+        }
+        return true;
+    }
+
+    /** Adds the link if it points at a social profile, even when no text spells it out. */
+    public void addLink(String href) {
+        String platform = ContactScanner.socialPlatform(href, hosts);
+        if (platform != null) {
+            info.addSocialLink(href, platform);
+        }
+    }
+
+    /** Scans what is left in the window and returns everything found. */
+    public ContactInfo finish() {
+        ContactScanner.scan(window, 0, window.length(), hosts, sink);
+        window.setLength(0);
+        return info;
+    }
+}
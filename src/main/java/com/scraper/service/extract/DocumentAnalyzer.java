@@ -0,0 +1,240 @@
+package com.scraper.service.extract;
+
+import com.scraper.service.extract.ExtractionPlan.Field;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Collects every {@link PageSignals} field in one {@link NodeTraversor} walk, replacing a couple
+ * of dozen full-document {@code select()} calls per page. Each signal matches exactly what its
+ * former selector did, including the search-result and content-container selectors below.
+ */
+public final class DocumentAnalyzer {
+
+    /** Main-content containers, most specific first: a tag name, {@code .class} or {@code #id}. */
+    static final String[] CONTENT_SELECTORS = {
+        "main", "article", ".content", ".post", ".entry", ".main-content",
+        ".page-content", ".article-content", ".post-content", ".entry-content",
+        "#content", "#main", "#article", ".container", ".wrapper"
+    };
+
+    private static final Set<String> BOILERPLATE_TAGS = Set.of("script", "style", "nav", "header", "footer", "aside");
+
+    // Every class name of interest gets a bit, so an element's class attribute is read once
+    private static final String[] CLASS_NAMES;
+    private static final int BING_RESULT = 1;        // .b_algo
+    private static final int DUCKDUCKGO_RESULT = 2;  // .result
+
+    // CONTENT_SELECTORS compiled: a tag name, an id, or a mask over CLASS_NAMES
+    private static final String[] CONTENT_TAGS = new String[CONTENT_SELECTORS.length];
+    private static final String[] CONTENT_IDS = new String[CONTENT_SELECTORS.length];
+    private static final int[] CONTENT_CLASSES = new int[CONTENT_SELECTORS.length];
+
+    static {
+        List<String> classNames = new ArrayList<>(List.of("b_algo", "result"));
+        for (int i = 0; i < CONTENT_SELECTORS.length; i++) {
+            String selector = CONTENT_SELECTORS[i];
+            if (selector.startsWith(".")) {
+                CONTENT_CLASSES[i] = 1 << classNames.size();
+                classNames.add(selector.substring(1));
+            } else if (selector.startsWith("#")) {
+                CONTENT_IDS[i] = selector.substring(1);
+            } else {
+                CONTENT_TAGS[i] = selector;
+            }
+        }
+        CLASS_NAMES = classNames.toArray(new String[0]);
+    }
+
+    private static final Set<String> CONTENT_TAG_NAMES = Set.of(
+        Arrays.stream(CONTENT_TAGS).filter(Objects::nonNull).toArray(String[]::new));
+
+    private DocumentAnalyzer() {
+    }
+
+    /**
+     * Walks the document once. Signals the plan does not need (paragraphs, search results, links,
+     * content containers) are left empty.
+     */
+    public static PageSignals analyze(Document document, ExtractionPlan plan) {
+        PageSignals signals = new PageSignals();
+        NodeTraversor.traverse(new Collector(signals, plan), document);
+        return signals;
+    }
+
+    private static final class Collector implements NodeVisitor {
+
+        private final PageSignals signals;
+        private final boolean paragraphs;
+        private final boolean searchResults;
+        private final boolean content;
+
+        // Open ancestors of the current node, counted so a visit never walks up the tree
+        private int googleResultDepth;
+        private int bingResultDepth;
+        private int duckDuckGoResultDepth;
+        private int boilerplateDepth;
+
+        Collector(PageSignals signals, ExtractionPlan plan) {
+            this.signals = signals;
+            this.paragraphs = plan.includes(Field.DESCRIPTION);
+            this.searchResults = plan.includes(Field.SOCIAL_LINKS) || plan.needsLinks();
+            this.content = plan.includes(Field.CONTENT);
+        }
+
+        @Override
+        public void head(Node node, int depth) {
+            if (!(node instanceof Element)) {
+                return;
+            }
+            Element element = (Element) node;
+            String name = element.normalName();
+
+            switch (name) {
+                case "title":
+                    if (signals.getTitle() == null) {
+                        signals.setTitle(element);
+                    }
+                    break;
+                case "meta":
+                    visitMeta(element);
+                    break;
+                case "p":
+                    if (paragraphs) {
+                        signals.addParagraph(element);
+                    }
+                    break;
+                case "a":
+                    if (searchResults && element.hasAttr("href")) {
+                        visitAnchor(element.attr("href"));
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            // Result containers are ancestors of their anchors, never the anchor itself
+            int classes = classMask(element);
+            boolean googleResult = isGoogleResult(element, name);
+            if (googleResult || (classes & (BING_RESULT | DUCKDUCKGO_RESULT)) != 0) {
+                signals.markSearchResults();
+            }
+            if (googleResult) googleResultDepth++;
+            if ((classes & BING_RESULT) != 0) bingResultDepth++;
+            if ((classes & DUCKDUCKGO_RESULT) != 0) duckDuckGoResultDepth++;
+
+            if (BOILERPLATE_TAGS.contains(name)) {
+                if (boilerplateDepth++ == 0) {
+                    signals.addBoilerplate(element);
+                }
+            } else if (content && boilerplateDepth == 0) {
+                visitContentCandidate(element, name, classes);
+            }
+        }
+
+        @Override
+        public void tail(Node node, int depth) {
+            if (!(node instanceof Element)) {
+                return;
+            }
+            Element element = (Element) node;
+            String name = element.normalName();
+            int classes = classMask(element);
+            if (isGoogleResult(element, name)) googleResultDepth--;
+            if ((classes & BING_RESULT) != 0) bingResultDepth--;
+            if ((classes & DUCKDUCKGO_RESULT) != 0) duckDuckGoResultDepth--;
+            if (BOILERPLATE_TAGS.contains(name)) boilerplateDepth--;
+        }
+
+        private void visitMeta(Element meta) {
+            if (signals.getMetaDescription() == null && attrEquals(meta, "name", "description")) {
+                signals.setMetaDescription(meta);
+            }
+            if (signals.getOgDescription() == null && attrEquals(meta, "property", "og:description")) {
+                signals.setOgDescription(meta);
+            }
+            if (signals.getTwitterDescription() == null && attrEquals(meta, "name", "twitter:description")) {
+                signals.setTwitterDescription(meta);
+            }
+        }
+
+        private void visitAnchor(String href) {
+            signals.addLink(href);
+            if (!href.regionMatches(true, 0, "http", 0, 4)) {
+                return;
+            }
+            if (googleResultDepth > 0) signals.addGoogleResultLink(href);
+            if (bingResultDepth > 0) signals.addBingResultLink(href);
+            if (duckDuckGoResultDepth > 0) signals.addDuckDuckGoResultLink(href);
+        }
+
+        private void visitContentCandidate(Element element, String name, int classes) {
+            String id = element.attributesSize() > 0 ? element.id() : "";
+            // Most elements are a plain tag with no class or id of interest
+            if (classes == 0 && id.isEmpty() && !CONTENT_TAG_NAMES.contains(name)) {
+                return;
+            }
+            for (int i = 0; i < CONTENT_SELECTORS.length; i++) {
+                if (signals.contentCandidate(i) != null) {
+                    continue;
+                }
+                boolean matches = CONTENT_TAGS[i] != null ? CONTENT_TAGS[i].equals(name)
+                    : CONTENT_IDS[i] != null ? CONTENT_IDS[i].equals(id)
+                    : (classes & CONTENT_CLASSES[i]) != 0;
+                if (matches) {
+                    signals.setContentCandidate(i, element);
+                }
+            }
+        }
+    }
+
+    private static boolean isGoogleResult(Element element, String name) {
+        return "div".equals(name) && element.attributesSize() > 0 && element.hasAttr("data-ved");
+    }
+
+    /**
+     * Bits of {@link #CLASS_NAMES} present in the element's class attribute, compared ignoring
+     * case as jsoup's {@code hasClass} does. Elements without attributes are not touched, since
+     * asking for their attributes would allocate an empty set.
+     */
+    private static int classMask(Element element) {
+        if (element.attributesSize() == 0) {
+            return 0;
+        }
+        String classAttr = element.attributes().getIgnoreCase("class");
+        int mask = 0;
+        int length = classAttr.length();
+        int start = 0;
+        while (start < length) {
+            while (start < length && Character.isWhitespace(classAttr.charAt(start))) {
+                start++;
+            }
+            int end = start;
+            while (end < length && !Character.isWhitespace(classAttr.charAt(end))) {
+                end++;
+            }
+            for (int bit = 0; bit < CLASS_NAMES.length; bit++) {
+                String className = CLASS_NAMES[bit];
+                if (className.length() == end - start && classAttr.regionMatches(true, start, className, 0, end - start)) {
+                    mask |= 1 << bit;
+                }
+            }
+            start = end;
+        }
+        return mask;
+    }
+
+    /** As jsoup's {@code [key=value]}: the trimmed value, ignoring case. */
+    private static boolean attrEquals(Element element, String key, String value) {
+        return element.hasAttr(key) && value.equalsIgnoreCase(element.attr(key).trim());
+    }
+}
@@ -0,0 +1,140 @@
+package com.scraper.service.extract;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The extraction work a request actually needs, compiled once from
+ * {@code ScrapeRequest.fieldsToExtract} before anything is fetched. Extractors for fields the
+ * caller did not ask for are skipped, and a plan that only needs what sits in
+ * {@code <head>} lets the parser stop there.
+ */
+public final class ExtractionPlan {
+
+    public enum Field {
+        TITLE("title"),
+        DESCRIPTION("description"),
+        EMAILS("emails"),
+        PHONE_NUMBERS("phoneNumbers"),
+        SOCIAL_LINKS("socialLinks"),
+        CONTENT("content"),
+        DOMAIN("domain");
+
+        private final String fieldName;
+
+        Field(String fieldName) {
+            this.fieldName = fieldName;
+        }
+
+        public String getFieldName() {
+            return fieldName;
+        }
+
+        static Field of(String fieldName) {
+            for (Field field : values()) {
+                if (field.fieldName.equals(fieldName)) {
+                    return field;
+                }
+            }
+            return null;
+        }
+    }
+
+    public static final ExtractionPlan ALL = new ExtractionPlan(EnumSet.allOf(Field.class), false);
+
+    private final Set<Field> fields;
+    private final boolean links;
+    private final String key;
+
+    private ExtractionPlan(EnumSet<Field> fields, boolean links) {
+        this.fields = Collections.unmodifiableSet(fields);
+        this.links = links;
+        this.key = fields.stream().map(Field::getFieldName).collect(Collectors.joining(",")) + (links ? "+links" : "");
+    }
+
+    /**
+     * Null or empty selects every field, as before; unknown names are ignored.
+     */
+    public static ExtractionPlan of(Set<String> fieldsToExtract) {
+        if (fieldsToExtract == null || fieldsToExtract.isEmpty()) {
+            return ALL;
+        }
+        EnumSet<Field> fields = EnumSet.noneOf(Field.class);
+        for (String name : fieldsToExtract) {
+            Field field = Field.of(name);
+            if (field != null) {
+                fields.add(field);
+            }
+        }
+        return fields.size() == Field.values().length ? ALL : new ExtractionPlan(fields, false);
+    }
+
+    /** The same fields, plus the page's links for a crawl to follow. */
+    public ExtractionPlan withLinks() {
+        if (links) {
+            return this;
+        }
+        EnumSet<Field> copy = EnumSet.noneOf(Field.class);
+        copy.addAll(fields);
+        return new ExtractionPlan(copy, true);
+    }
+
+    /** Whether this plan extracts everything {@code other} does. */
+    public boolean covers(ExtractionPlan other) {
+        return fields.containsAll(other.fields) && (links || !other.links);
+    }
+
+    /** A plan extracting what either plan does, e.g. for one scrape serving both. */
+    public ExtractionPlan union(ExtractionPlan other) {
+        if (covers(other)) {
+            return this;
+        }
+        if (other.covers(this)) {
+            return other;
+        }
+        EnumSet<Field> both = EnumSet.noneOf(Field.class);
+        both.addAll(fields);
+        both.addAll(other.fields);
+        return new ExtractionPlan(both, links || other.links);
+    }
+
+    public boolean includes(Field field) {
+        return fields.contains(field);
+    }
+
+    public Set<Field> getFields() {
+        return fields;
+    }
+
+    /** Emails, phone numbers and social links all come from one contact scan. */
+    public boolean needsContacts() {
+        return includes(Field.EMAILS) || includes(Field.PHONE_NUMBERS) || includes(Field.SOCIAL_LINKS);
+    }
+
+    /** Whether every anchor's href is collected, not just those social links need. */
+    public boolean needsLinks() {
+        return links;
+    }
+
+    /** False when the URL alone answers the request (only {@code domain}). */
+    public boolean needsDocument() {
+        return links || fields.stream().anyMatch(field -> field != Field.DOMAIN);
+    }
+
+    /** True when everything requested is found in {@code <head>}. */
+    public boolean isHeadOnly() {
+        return !links && fields.stream().allMatch(field -> field == Field.TITLE || field == Field.DOMAIN);
+    }
+
+    /** Stable identity of the plan, e.g. for keying shared work. */
+    public String key() {
+        return key;
+    }
+
+    @Override
+    public String toString() {
+        return "ExtractionPlan[" + key + "]";
+    }
+}
@@ -0,0 +1,372 @@
+package com.scraper.service.extract;
+
+import org.jsoup.nodes.Attributes;
+import org.jsoup.parser.Parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Set;
+
+/**
+ * A forgiving HTML tokenizer that reads from a {@link Reader} and reports tags and text as they
+ * arrive, without building a tree. It follows the tokenizer states that matter for extraction:
+ * tags with quoted or bare attributes, comments and other markup declarations, raw text elements
+ * whose content is skipped, and title/textarea whose content is text. Text and attribute values
+ * come out with entities decoded; no single token is held in full past a few kilobytes.
+ */
+final class HtmlTokenizer {
+
+    /** Receives tokens in document order; returning {@code false} from any method stops the run. */
+    interface Handler {
+        /** {@code selfClosing} for a tag written {@code <name/>}, which opens nothing. */
+        boolean startTag(String name, Attributes attributes, boolean selfClosing);
+
+        boolean endTag(String name);
+
+        boolean text(CharSequence text);
+    }
+
+    // Elements whose content is not markup; the first group is not text either
+    private static final Set<String> RAW_TEXT = Set.of("script", "style", "xmp", "iframe", "noembed", "noframes", "plaintext");
+    private static final Set<String> ESCAPABLE_RAW_TEXT = Set.of("title", "textarea");
+
+    // Text is handed over in slices of about this size; longer attribute values are cut
+    static final int SLICE_CHARS = 8 * 1024;
+    static final int MAX_ATTRIBUTE_CHARS = 8 * 1024;
+    private static final int MAX_NAME_CHARS = 256;
+
+    // The longest entity reference worth waiting for across a slice boundary
+    private static final int MAX_ENTITY_CHARS = 32;
+
+    // Room in front of each read for the few characters a lookahead may push back
+    private static final int PUSH_BACK_CHARS = 64;
+
+    private final Reader reader;
+    private final Handler handler;
+    private final char[] buffer = new char[PUSH_BACK_CHARS + 8 * 1024];
+    private int position;
+    private int limit;
+    private final StringBuilder text = new StringBuilder(SLICE_CHARS + MAX_ENTITY_CHARS);
+    private final StringBuilder token = new StringBuilder();
+
+    private HtmlTokenizer(Reader reader, Handler handler) {
+        this.reader = reader;
+        this.handler = handler;
+    }
+
+    /** Tokenizes until the input ends or the handler asks to stop. */
+    static void tokenize(Reader reader, Handler handler) throws IOException {
+        new HtmlTokenizer(reader, handler).run();
+    }
+
+    private void run() throws IOException {
+        int c;
+        while ((c = read()) >= 0) {
+            if (c == '<') {
+                if (!flushText(true) || !markup()) {
+                    return;
+                }
+            } else {
+                text.append((char) c);
+                if (text.length() >= SLICE_CHARS && !flushText(false)) {
+                    return;
+                }
+            }
+        }
+        flushText(true);
+    }
+
+    /**
+     * Everything after a {@code <}. Anything that does not start a tag, comment or declaration is
+     * text, as a browser would have it.
+     */
+    private boolean markup() throws IOException {
+        int c = read();
+        if (c == '!') {
+            if (skipIfNext("--")) {
+                skipPast("-->");
+            } else {
+                skipPast(">");
+            }
+            return true;
+        }
+        if (c == '?') {
+            skipPast(">");
+            return true;
+        }
+        if (c == '/') {
+            c = read();
+            if (!isLetter(c)) {
+                if (c != '>') {
+                    skipPast(">");
+                }
+                return true;
+            }
+            String name = tagName(c);
+            skipPast(">");
+            return handler.endTag(name);
+        }
+        if (!isLetter(c)) {
+            text.append('<');
+            unread(c);
+            return true;
+        }
+
+        String name = tagName(c);
+        Attributes attributes = new Attributes();
+        boolean selfClosing = !endsTagName() && attributes(attributes);
+        if (!handler.startTag(name, attributes, selfClosing)) {
+            return false;
+        }
+        if (selfClosing) {
+            return true;
+        }
+        if (RAW_TEXT.contains(name)) {
+            skipRawText(name, false);
+            return handler.endTag(name);
+        }
+        if (ESCAPABLE_RAW_TEXT.contains(name)) {
+            return skipRawText(name, true) && handler.endTag(name);
+        }
+        return true;
+    }
+
+    /**
+     * Reads the rest of a tag name starting with {@code first}, lower-cased. A {@code <} ends the
+     * whole tag early, as jsoup reads {@code a<b</b>}.
+     */
+    private String tagName(int first) throws IOException {
+        token.setLength(0);
+        int c = first;
+        while (c >= 0 && !isWhitespace(c) && c != '/' && c != '>' && c != '<') {
+            if (token.length() < MAX_NAME_CHARS) {
+                token.append(Character.toLowerCase((char) c));
+            }
+            c = read();
+        }
+        unread(c);
+        return token.toString();
+    }
+
+    /** Whether a {@code <} cut the tag name short, which ends the tag there. */
+    private boolean endsTagName() throws IOException {
+        int c = read();
+        unread(c);
+        return c == '<';
+    }
+
+    /**
+     * Reads attributes up to and including the closing {@code >}. Returns whether the tag closed
+     * with {@code />}.
+     */
+    private boolean attributes(Attributes attributes) throws IOException {
+        boolean afterName = false;
+        while (true) {
+            int c = read();
+            while (isWhitespace(c)) {
+                c = read();
+            }
+            if (c < 0 || c == '>') {
+                return false;
+            }
+            if (c == '<' && !afterName) {
+                // jsoup ends the tag here, but takes a '<' after a bare attribute name as a name
+                unread(c);
+                return false;
+            }
+            afterName = false;
+            if (c == '/') {
+                c = read();
+                if (c == '>') {
+                    return true;
+                }
+                unread(c);
+                continue;
+            }
+
+            token.setLength(0);
+            do {
+                if (token.length() < MAX_NAME_CHARS) {
+                    token.append(Character.toLowerCase((char) c));
+                }
+                c = read();
+            } while (c >= 0 && !isWhitespace(c) && c != '=' && c != '>' && c != '/');
+            String key = token.toString();
+            while (isWhitespace(c)) {
+                c = read();
+            }
+            if (c != '=') {
+                unread(c);
+                putFirst(attributes, key, "");
+                afterName = true;
+                continue;
+            }
+
+            c = read();
+            while (isWhitespace(c)) {
+                c = read();
+            }
+            token.setLength(0);
+            if (c == '"' || c == '\'') {
+                int quote = c;
+                while ((c = read()) >= 0 && c != quote) {
+                    appendCapped(token, c);
+                }
+            } else {
+                while (c >= 0 && !isWhitespace(c) && c != '>') {
+                    appendCapped(token, c);
+                    c = read();
+                }
+                unread(c);
+            }
+            putFirst(attributes, key, Parser.unescapeEntities(token.toString(), true));
+        }
+    }
+
+    /**
+     * Consumes the content of a raw text element up to its end tag. Escapable content is reported
+     * as text; the end tag itself is consumed. Returns {@code false} if the handler stopped.
+     */
+    private boolean skipRawText(String name, boolean escapable) throws IOException {
+        int c;
+        while ((c = read()) >= 0) {
+            if (c == '<' && isEndTagOf(name)) {
+                skipPast(">");
+                break;
+            }
+            if (escapable) {
+                text.append((char) c);
+                if (text.length() >= SLICE_CHARS && !flushText(false)) {
+                    return false;
+                }
+            }
+        }
+        return !escapable || flushText(true);
+    }
+
+    /** After a {@code <}: consumes {@code /name} if it follows as a whole tag name. */
+    private boolean isEndTagOf(String name) throws IOException {
+        int c = read();
+        if (c != '/') {
+            unread(c);
+            return false;
+        }
+        token.setLength(0);
+        token.append('/');
+        for (int i = 0; i < name.length(); i++) {
+            c = read();
+            if (c < 0 || Character.toLowerCase((char) c) != name.charAt(i)) {
+                unread(c);
+                pushBack(token);
+                return false;
+            }
+            token.append((char) c);
+        }
+        c = read();
+        unread(c);
+        if (c >= 0 && !isWhitespace(c) && c != '/' && c != '>') {
+            pushBack(token);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Hands buffered text to the handler with entities decoded. Unless this is the end of a text
+     * run, a trailing {@code &} that may start an entity is kept back for the next slice.
+     */
+    private boolean flushText(boolean endOfRun) {
+        if (text.length() == 0) {
+            return true;
+        }
+        int end = text.length();
+        if (!endOfRun) {
+            int amp = text.lastIndexOf("&");
+            if (amp >= 0 && end - amp <= MAX_ENTITY_CHARS && text.indexOf(";", amp) < 0) {
+                end = amp;
+            }
+        }
+        String chunk = text.substring(0, end);
+        text.delete(0, end);
+        return chunk.isEmpty() || handler.text(chunk.indexOf('&') >= 0 ? Parser.unescapeEntities(chunk, false) : chunk);
+    }
+
+    private boolean skipIfNext(String expected) throws IOException {
+        for (int i = 0; i < expected.length(); i++) {
+            int c = read();
+            if (c != expected.charAt(i)) {
+                unread(c);
+                for (int k = i - 1; k >= 0; k--) {
+                    unread(expected.charAt(k));
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Consumes input up to and including {@code terminator}, or to the end. */
+    private void skipPast(String terminator) throws IOException {
+        int matched = 0;
+        int c;
+        while (matched < terminator.length() && (c = read()) >= 0) {
+            if (c == terminator.charAt(matched)) {
+                matched++;
+            } else if (matched > 0 && c == terminator.charAt(0)) {
+                // Only "-->" has a repeated prefix: "--->" must still end the comment
+                matched = c == terminator.charAt(matched - 1) ? matched : 1;
+            } else {
+                matched = 0;
+            }
+        }
+    }
+
+    private void pushBack(CharSequence chars) {
+        for (int i = chars.length() - 1; i >= 0; i--) {
+            unread(chars.charAt(i));
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            int read = reader.read(buffer, PUSH_BACK_CHARS, buffer.length - PUSH_BACK_CHARS);
+            position = PUSH_BACK_CHARS;
+            limit = PUSH_BACK_CHARS + Math.max(read, 0);
+            if (read <= 0) {
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    /**
+     * Steps back over a character just read, which may have come before the last refill; end of
+     * input is not pushed back. Lookaheads never push back more than a tag name.
+     */
+    private void unread(int c) {
+        if (c >= 0) {
+            buffer[--position] = (char) c;
+        }
+    }
+
+    private static void putFirst(Attributes attributes, String key, String value) {
+        // As in the HTML spec (and jsoup), the first of duplicate attributes wins
+        if (!key.isEmpty() && !attributes.hasKey(key)) {
+            attributes.put(key, value);
+        }
+    }
+
+    private static void appendCapped(StringBuilder builder, int c) {
+        if (builder.length() < MAX_ATTRIBUTE_CHARS) {
+            builder.append((char) c);
+        }
+    }
+
+    private static boolean isLetter(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+    }
+}
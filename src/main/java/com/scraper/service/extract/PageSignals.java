@@ -0,0 +1,96 @@
+package com.scraper.service.extract;
+
+import org.jsoup.nodes.Element;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Everything the extractors read from a parsed page, collected by {@link DocumentAnalyzer} in a
+ * single walk. Element fields hold the first match in document order, or {@code null}.
+ */
+public class PageSignals {
+
+    private Element title;
+    private Element metaDescription;
+    private Element ogDescription;
+    private Element twitterDescription;
+    private boolean searchResultsMarkup;
+    private final List<Element> paragraphs = new ArrayList<>();
+    private final List<String> googleResultLinks = new ArrayList<>();
+    private final List<String> bingResultLinks = new ArrayList<>();
+    private final List<String> duckDuckGoResultLinks = new ArrayList<>();
+    private final List<String> links = new ArrayList<>();
+    private final Element[] contentCandidates = new Element[DocumentAnalyzer.CONTENT_SELECTORS.length];
+    private final List<Element> boilerplate = new ArrayList<>();
+
+    /** First {@code <title>}. */
+    public Element getTitle() { return title; }
+
+    /** First {@code meta[name=description]}. */
+    public Element getMetaDescription() { return metaDescription; }
+
+    /** First {@code meta[property=og:description]}. */
+    public Element getOgDescription() { return ogDescription; }
+
+    /** First {@code meta[name=twitter:description]}. */
+    public Element getTwitterDescription() { return twitterDescription; }
+
+    /** Whether the page has Google, Bing or DuckDuckGo result markup. */
+    public boolean hasSearchResultsMarkup() { return searchResultsMarkup; }
+
+    /** Every {@code <p>}, in document order. */
+    public List<Element> getParagraphs() { return Collections.unmodifiableList(paragraphs); }
+
+    /** Result anchors ({@code http*} hrefs), Google's first, then Bing's, then DuckDuckGo's. */
+    public List<String> getSearchResultLinks() {
+        List<String> all = new ArrayList<>(googleResultLinks);
+        all.addAll(bingResultLinks);
+        all.addAll(duckDuckGoResultLinks);
+        return all;
+    }
+
+    /** The {@code href} of every anchor that has one. */
+    public List<String> getLinks() { return Collections.unmodifiableList(links); }
+
+    /**
+     * For each of {@link DocumentAnalyzer#CONTENT_SELECTORS} that matched outside boilerplate,
+     * its first match, in selector order.
+     */
+    public List<Element> getContentCandidates() {
+        return Arrays.stream(contentCandidates).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /** Outermost script, style, nav, header, footer and aside elements. */
+    public List<Element> getBoilerplate() { return Collections.unmodifiableList(boilerplate); }
+
+    void setTitle(Element title) { this.title = title; }
+
+    void setMetaDescription(Element metaDescription) { this.metaDescription = metaDescription; }
+
+    void setOgDescription(Element ogDescription) { this.ogDescription = ogDescription; }
+
+    void setTwitterDescription(Element twitterDescription) { this.twitterDescription = twitterDescription; }
+
+    void markSearchResults() { this.searchResultsMarkup = true; }
+
+    void addParagraph(Element paragraph) { paragraphs.add(paragraph); }
+
+    void addGoogleResultLink(String href) { googleResultLinks.add(href); }
+
+    void addBingResultLink(String href) { bingResultLinks.add(href); }
+
+    void addDuckDuckGoResultLink(String href) { duckDuckGoResultLinks.add(href); }
+
+    void addLink(String href) { links.add(href); }
+
+    Element contentCandidate(int selector) { return contentCandidates[selector]; }
+
+    void setContentCandidate(int selector, Element element) { contentCandidates[selector] = element; }
+
+    void addBoilerplate(Element element) { boilerplate.add(element); }
+}
@@ -0,0 +1,217 @@
+package com.scraper.service.extract;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Aho-Corasick automaton over a set of social network hosts, each mapped to its platform name.
+ * Built once per host list and immutable afterwards, so one instance can be shared by every
+ * scan; changing the list means building a new matcher, not recompiling a regex.
+ *
+ * <p>The automaton is a full DFA over host characters ({@code a-z 0-9 . -}, ASCII
+ * case-insensitive); any other character returns to the root. Callers feed it one character
+ * at a time with {@link #next(int, char)} and walk the hosts that end at the current position,
+ * longest first, with {@link #hostState(int)} and {@link #shorterHostState(int)}.
+ */
+public final class SocialHostMatcher {
+
+    /** Hosts recognized out of the box; extra ones come from configuration or the admin endpoint. */
+    public static final Map<String, String> DEFAULT_HOSTS;
+
+    static {
+        Map<String, String> hosts = new LinkedHashMap<>();
+        hosts.put("instagram.com", "instagram");
+        hosts.put("twitter.com", "twitter");
+        hosts.put("facebook.com", "facebook");
+        hosts.put("linkedin.com", "linkedin");
+        hosts.put("youtube.com", "youtube");
+        hosts.put("github.com", "github");
+        hosts.put("medium.com", "medium");
+        hosts.put("reddit.com", "reddit");
+        hosts.put("pinterest.com", "pinterest");
+        hosts.put("tiktok.com", "tiktok");
+        hosts.put("snapchat.com", "snapchat");
+        DEFAULT_HOSTS = Collections.unmodifiableMap(hosts);
+    }
+
+    private static final SocialHostMatcher DEFAULT = of(DEFAULT_HOSTS);
+
+    // Alphabet: 0 = any other character, 1-26 letters, 27-36 digits, 37 '.', 38 '-'
+    private static final int ALPHABET = 39;
+
+    private final Map<String, String> hosts;
+    private final String[] hostNames;
+    private final String[] platforms;
+    private final int[] transitions;
+    // Host id completed in each state (or -1), and the nearest state along the failure chain that completes one
+    private final int[] terminal;
+    private final int[] outputLink;
+
+    private SocialHostMatcher(Map<String, String> hosts) {
+        this.hosts = Collections.unmodifiableMap(new LinkedHashMap<>(hosts));
+        this.hostNames = hosts.keySet().toArray(new String[0]);
+        this.platforms = hosts.values().toArray(new String[0]);
+
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> hostEnds = new ArrayList<>();
+        trie.add(newRow());
+        hostEnds.add(-1);
+        for (int h = 0; h < hostNames.length; h++) {
+            int state = 0;
+            for (int i = 0; i < hostNames[h].length(); i++) {
+                int symbol = symbol(hostNames[h].charAt(i));
+                if (trie.get(state)[symbol] < 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newRow());
+                    hostEnds.add(-1);
+                }
+                state = trie.get(state)[symbol];
+            }
+            hostEnds.set(state, h);
+        }
+
+        int states = trie.size();
+        this.transitions = new int[states * ALPHABET];
+        this.terminal = new int[states];
+        this.outputLink = new int[states];
+        int[] failure = new int[states];
+        for (int state = 0; state < states; state++) {
+            terminal[state] = hostEnds.get(state);
+        }
+
+        // Breadth-first, so a state's failure target is complete before the state is expanded
+        Deque<Integer> queue = new ArrayDeque<>();
+        outputLink[0] = -1;
+        for (int symbol = 0; symbol < ALPHABET; symbol++) {
+            int child = trie.get(0)[symbol];
+            transitions[symbol] = Math.max(child, 0);
+            if (child > 0) {
+                outputLink[child] = -1;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int symbol = 0; symbol < ALPHABET; symbol++) {
+                int child = trie.get(state)[symbol];
+                int viaFailure = transitions[failure[state] * ALPHABET + symbol];
+                if (child > 0) {
+                    failure[child] = viaFailure;
+                    outputLink[child] = terminal[viaFailure] >= 0 ? viaFailure : outputLink[viaFailure];
+                    transitions[state * ALPHABET + symbol] = child;
+                    queue.add(child);
+                } else {
+                    transitions[state * ALPHABET + symbol] = viaFailure;
+                }
+            }
+        }
+    }
+
+    public static SocialHostMatcher of(Map<String, String> hostsToPlatforms) {
+        Map<String, String> normalized = new LinkedHashMap<>();
+        hostsToPlatforms.forEach((host, platform) -> {
+            String key = normalizeHost(host);
+            if (!key.isEmpty() && platform != null && !platform.isBlank()) {
+                normalized.put(key, platform.trim().toLowerCase(Locale.ROOT));
+            }
+        });
+        return new SocialHostMatcher(normalized);
+    }
+
+    public static SocialHostMatcher defaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * Lower-cases the host and strips a scheme, "www." and anything from the first '/'.
+     */
+    public static String normalizeHost(String host) {
+        if (host == null) {
+            return "";
+        }
+        String value = host.trim().toLowerCase(Locale.ROOT);
+        int scheme = value.indexOf("://");
+        if (scheme >= 0) {
+            value = value.substring(scheme + 3);
+        }
+        if (value.startsWith("www.")) {
+            value = value.substring(4);
+        }
+        int slash = value.indexOf('/');
+        if (slash >= 0) {
+            value = value.substring(0, slash);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (symbol(value.charAt(i)) == 0) {
+                return "";
+            }
+        }
+        return value;
+    }
+
+    /** Host name to platform, in insertion order. */
+    public Map<String, String> getHosts() {
+        return hosts;
+    }
+
+    public int next(int state, char c) {
+        return transitions[state * ALPHABET + symbol(c)];
+    }
+
+    /**
+     * State holding the longest host that ends where {@code state} was reached, or -1 if none does.
+     */
+    public int hostState(int state) {
+        return terminal[state] >= 0 ? state : outputLink[state];
+    }
+
+    /** Next state along the chain of shorter hosts ending at the same position, or -1. */
+    public int shorterHostState(int hostState) {
+        return outputLink[hostState];
+    }
+
+    /** Host id completed in a state returned by {@link #hostState(int)} or {@link #shorterHostState(int)}. */
+    public int hostOf(int hostState) {
+        return terminal[hostState];
+    }
+
+    public int hostLength(int host) {
+        return hostNames[host].length();
+    }
+
+    public String platform(int host) {
+        return platforms[host];
+    }
+
+    private static int[] newRow() {
+        int[] row = new int[ALPHABET];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static int symbol(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 1;
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 1;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 27;
+        }
+        if (c == '.') {
+            return 37;
+        }
+        if (c == '-') {
+            return 38;
+        }
+        return 0;
+    }
+}
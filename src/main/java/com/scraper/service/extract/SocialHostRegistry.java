@@ -0,0 +1,73 @@
+package com.scraper.service.extract;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds the current {@link SocialHostMatcher}. Hosts can be added or removed while the service
+ * runs; each change builds a new automaton and swaps it in, so scans in progress keep the one
+ * they started with.
+ */
+@Component
+public class SocialHostRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(SocialHostRegistry.class);
+
+    private volatile SocialHostMatcher matcher;
+
+    /**
+     * @param extraHosts comma-separated {@code host=platform} pairs added to the built-in list,
+     *                   e.g. {@code x.com=twitter, threads.net=threads}
+     */
+    public SocialHostRegistry(@Value("${scraper.social.extra-hosts:}") String extraHosts) {
+        Map<String, String> hosts = new LinkedHashMap<>(SocialHostMatcher.DEFAULT_HOSTS);
+        for (String entry : extraHosts.split(",")) {
+            int separator = entry.indexOf('=');
+            if (separator > 0) {
+                hosts.put(entry.substring(0, separator), entry.substring(separator + 1));
+            } else if (!entry.isBlank()) {
+                log.warn("Ignoring social host entry '{}', expected host=platform", entry.trim());
+            }
+        }
+        this.matcher = SocialHostMatcher.of(hosts);
+        log.info("Recognizing {} social hosts", matcher.getHosts().size());
+    }
+
+    public SocialHostMatcher current() {
+        return matcher;
+    }
+
+    public Map<String, String> getHosts() {
+        return matcher.getHosts();
+    }
+
+    /**
+     * Adds or re-maps a host. Returns false when the host name is not usable.
+     */
+    public synchronized boolean addHost(String host, String platform) {
+        String normalized = SocialHostMatcher.normalizeHost(host);
+        if (normalized.isEmpty() || platform == null || platform.isBlank()) {
+            return false;
+        }
+        Map<String, String> hosts = new LinkedHashMap<>(matcher.getHosts());
+        hosts.put(normalized, platform);
+        matcher = SocialHostMatcher.of(hosts);
+        log.info("Social host {} mapped to {}", normalized, platform);
+        return true;
+    }
+
+    public synchronized boolean removeHost(String host) {
+        Map<String, String> hosts = new LinkedHashMap<>(matcher.getHosts());
+        if (hosts.remove(SocialHostMatcher.normalizeHost(host)) == null) {
+            return false;
+        }
+        matcher = SocialHostMatcher.of(hosts);
+        log.info("Social host {} removed", host);
+        return true;
+    }
+}
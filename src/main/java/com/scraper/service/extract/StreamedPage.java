@@ -0,0 +1,29 @@
+package com.scraper.service.extract;
+
+/**
+ * What {@link StreamingPageExtractor} read from a page it never parsed into a tree. Fields the
+ * plan did not ask for are empty; {@link #getContacts()} is {@code null} unless contacts were
+ * extracted.
+ */
+public class StreamedPage {
+
+    private final String title;
+    private final String description;
+    private final String content;
+    private final ContactInfo contacts;
+
+    StreamedPage(String title, String description, String content, ContactInfo contacts) {
+        this.title = title;
+        this.description = description;
+        this.content = content;
+        this.contacts = contacts;
+    }
+
+    public String getTitle() { return title; }
+
+    public String getDescription() { return description; }
+
+    public String getContent() { return content; }
+
+    public ContactInfo getContacts() { return contacts; }
+}
@@ -0,0 +1,430 @@
+package com.scraper.service.extract;
+
+import com.scraper.service.extract.ExtractionPlan.Field;
+import org.jsoup.nodes.Attributes;
+import org.jsoup.parser.Tag;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Extracts from a page as its bytes come off the socket, for bodies too large to parse into a
+ * {@code Document}. {@link HtmlTokenizer} feeds a handful of bounded buffers and the contact
+ * window, so memory does not grow with the page. The results follow the tree-based extractors
+ * with one approximation: content is the body text outside navigation chrome rather than the
+ * text of a main-content container, which would need the whole tree to pick.
+ */
+public final class StreamingPageExtractor {
+
+    // Bytes searched for a BOM or a meta charset before decoding starts, as browsers do
+    private static final int SNIFF_BYTES = 1024;
+
+    private static final int MAX_TITLE_CHARS = 4096;
+    private static final int DESCRIPTION_CHARS = 300;
+    private static final int FALLBACK_DESCRIPTION_CHARS = 200;
+    private static final int MIN_DESCRIPTION_CHARS = 50;
+
+    private static final Set<String> BOILERPLATE_TAGS = Set.of("nav", "header", "footer", "aside");
+
+    // Start tags that close an open paragraph, per the HTML tree construction rules
+    private static final Set<String> CLOSES_PARAGRAPH = Set.of(
+        "address", "article", "aside", "blockquote", "center", "details", "dialog", "dir", "div", "dl",
+        "fieldset", "figcaption", "figure", "footer", "header", "hgroup", "main", "menu", "nav", "ol", "p",
+        "section", "summary", "ul", "h1", "h2", "h3", "h4", "h5", "h6", "pre", "listing", "form",
+        "plaintext", "table", "hr", "xmp", "li", "dd", "dt");
+
+    // Formatting elements, whose end tag does not close a block opened inside them
+    private static final Set<String> FORMATTING = Set.of(
+        "a", "b", "big", "code", "em", "font", "i", "nobr", "s", "small", "strike", "strong", "tt", "u");
+
+    // Open elements tracked; anything nested deeper is treated as closed with its parent
+    private static final int MAX_OPEN_ELEMENTS = 512;
+
+    // Removed from the tree before content is read, so their boundaries do not space content
+    private static final Set<String> REMOVED_FROM_CONTENT = Set.of("script", "style", "nav", "header", "footer", "aside");
+
+    private StreamingPageExtractor() {
+    }
+
+    /**
+     * Reads the page to its end, or only through {@code <head>} for a head-only plan.
+     *
+     * @param charset  charset from the Content-Type header, or {@code null} to sniff it
+     * @param contacts where page text and links go for contact extraction, or {@code null}
+     * @param maxContentChars content is abbreviated to this many characters
+     */
+    public static StreamedPage extract(InputStream body, Charset charset, ExtractionPlan plan,
+                                       ContactStream contacts, int maxContentChars) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(body, 8 * 1024);
+        Charset decoding = sniffCharset(in, charset);
+        Collector collector = new Collector(plan, contacts, maxContentChars);
+        HtmlTokenizer.tokenize(new InputStreamReader(in, decoding), collector);
+        return collector.finish();
+    }
+
+    /**
+     * A byte order mark wins, then the declared charset, then a meta charset in the first
+     * {@link #SNIFF_BYTES}, then UTF-8. A UTF-8 BOM is consumed; the UTF-16 decoders skip theirs.
+     */
+    static Charset sniffCharset(BufferedInputStream in, Charset declared) throws IOException {
+        in.mark(SNIFF_BYTES);
+        byte[] head = in.readNBytes(SNIFF_BYTES);
+        in.reset();
+        if (head.length >= 3 && (head[0] & 0xff) == 0xEF && (head[1] & 0xff) == 0xBB && (head[2] & 0xff) == 0xBF) {
+            in.skip(3);
+            return StandardCharsets.UTF_8;
+        }
+        if (head.length >= 2 && (head[0] & 0xff) == 0xFE && (head[1] & 0xff) == 0xFF) {
+            return StandardCharsets.UTF_16;
+        }
+        if (head.length >= 2 && (head[0] & 0xff) == 0xFF && (head[1] & 0xff) == 0xFE) {
+            return StandardCharsets.UTF_16;
+        }
+        if (declared != null) {
+            return declared;
+        }
+        Charset meta = metaCharset(new String(head, StandardCharsets.ISO_8859_1).toLowerCase(Locale.ROOT));
+        return meta != null ? meta : StandardCharsets.UTF_8;
+    }
+
+    /** {@code charset=} inside the first {@code <meta} tag that has one. */
+    private static Charset metaCharset(String head) {
+        int meta = head.indexOf("<meta");
+        while (meta >= 0) {
+            int end = head.indexOf('>', meta);
+            if (end < 0) {
+                return null;
+            }
+            int at = head.indexOf("charset=", meta);
+            if (at >= 0 && at < end) {
+                int start = at + "charset=".length();
+                while (start < end && (head.charAt(start) == '"' || head.charAt(start) == '\'' || head.charAt(start) == ' ')) {
+                    start++;
+                }
+                int stop = start;
+                while (stop < end && " \"';/>".indexOf(head.charAt(stop)) < 0) {
+                    stop++;
+                }
+                try {
+                    return Charset.forName(head.substring(start, stop));
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+            }
+            meta = head.indexOf("<meta", end);
+        }
+        return null;
+    }
+
+    private static final class Collector implements HtmlTokenizer.Handler {
+
+        private final boolean headOnly;
+        private final boolean paragraphs;
+        private final boolean links;
+        private final ContactStream contacts;
+
+        private final Capped title;
+        private final Capped paragraph = new Capped(DESCRIPTION_CHARS + 1);
+        private final Capped content;
+        private String metaDescription;
+        private String ogDescription;
+        private String twitterDescription;
+        private String description;
+        private String firstParagraph;
+
+        private boolean inTitle;
+        private boolean titleSeen;
+        private boolean inHead;
+        private boolean inParagraph;
+        private int boilerplateDepth;
+
+        // Names of the open elements, so an end tag closes whatever it implies, as in the tree
+        private final List<String> open = new ArrayList<>();
+
+        // Whitespace is collapsed as it arrives; a space is only written before the next word.
+        // Content has its own pending space, as it is read with the boilerplate removed
+        private final StringBuilder normalised = new StringBuilder();
+        private boolean leadingSpace;
+        private boolean trailingSpace;
+        private boolean pendingSpace;
+        private boolean contentSpace;
+
+        Collector(ExtractionPlan plan, ContactStream contacts, int maxContentChars) {
+            this.headOnly = plan.isHeadOnly();
+            this.paragraphs = plan.includes(Field.DESCRIPTION);
+            this.links = plan.includes(Field.SOCIAL_LINKS) && contacts != null;
+            this.contacts = contacts;
+            this.title = new Capped(plan.includes(Field.TITLE) ? MAX_TITLE_CHARS : 0);
+            // One more than the limit tells whether there was more to abbreviate
+            this.content = new Capped(plan.includes(Field.CONTENT) ? maxContentChars + 1 : 0);
+        }
+
+        @Override
+        public boolean startTag(String name, Attributes attributes, boolean selfClosing) {
+            switch (name) {
+                case "head":
+                    inHead = true;
+                    break;
+                case "body":
+                    inHead = false;
+                    if (headOnly) {
+                        return false;
+                    }
+                    break;
+                case "title":
+                    inTitle = !titleSeen;
+                    titleSeen = true;
+                    break;
+                case "meta":
+                    visitMeta(attributes);
+                    break;
+                case "a":
+                    if (links && attributes.hasKey("href")) {
+                        contacts.addLink(attributes.get("href"));
+                    }
+                    break;
+                default:
+                    break;
+            }
+            if (CLOSES_PARAGRAPH.contains(name)) {
+                closeThrough("p");
+            }
+            if ("br".equals(name) || isBlock(name)) {
+                boundary(name);
+            }
+            if (!selfClosing && !isVoid(name) && open.size() < MAX_OPEN_ELEMENTS) {
+                open.add(name);
+                if (BOILERPLATE_TAGS.contains(name)) {
+                    boilerplateDepth++;
+                }
+                if (paragraphs && "p".equals(name) && description == null) {
+                    inParagraph = true;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean endTag(String name) {
+            if ("title".equals(name)) {
+                inTitle = false;
+            } else if ("head".equals(name)) {
+                inHead = false;
+                if (headOnly) {
+                    return false;
+                }
+            }
+            if ("p".equals(name) && !open.contains("p") && paragraphs && firstParagraph == null) {
+                // A stray </p> makes an empty paragraph
+                firstParagraph = "";
+            }
+            // The tree builder leaves body and html open for whatever trails them
+            if (!"body".equals(name) && !"html".equals(name)) {
+                closeThrough(name);
+            }
+            return true;
+        }
+
+        /**
+         * Whether an end tag for a formatting element at {@code index} should only unwrap it: the
+         * tree builder's adoption agency keeps a block opened inside it open.
+         */
+        private boolean hasBlockAbove(int index) {
+            for (int i = index + 1; i < open.size(); i++) {
+                if (isBlock(open.get(i))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** Closes the innermost open element with this name and everything opened inside it. */
+        private void closeThrough(String name) {
+            int index = open.lastIndexOf(name);
+            if (index < 0) {
+                return;
+            }
+            if (FORMATTING.contains(name) && hasBlockAbove(index)) {
+                open.remove(index);
+                return;
+            }
+            for (int i = open.size() - 1; i >= index; i--) {
+                String closed = open.remove(i);
+                if (BOILERPLATE_TAGS.contains(closed)) {
+                    boilerplateDepth--;
+                }
+                if ("p".equals(closed)) {
+                    closeParagraph();
+                }
+                if (isBlock(closed)) {
+                    boundary(closed);
+                }
+            }
+        }
+
+        @Override
+        public boolean text(CharSequence text) {
+            normalise(text);
+            boolean inContent = !inTitle && !inHead && boilerplateDepth == 0;
+            if (normalised.length() == 0) {
+                pendingSpace |= trailingSpace;
+                contentSpace |= trailingSpace && inContent;
+                return true;
+            }
+            boolean space = pendingSpace || leadingSpace;
+            pendingSpace = trailingSpace;
+            if (contacts != null) {
+                if (space) {
+                    contacts.append(" ");
+                }
+                contacts.append(normalised);
+            }
+            if (inTitle) {
+                title.append(space, normalised);
+                return true;
+            }
+            if (inParagraph) {
+                paragraph.append(space, normalised);
+            }
+            if (inContent) {
+                content.append(contentSpace || leadingSpace, normalised);
+                contentSpace = trailingSpace;
+            }
+            return true;
+        }
+
+        /** A block or line break separates the words on either side. */
+        private void boundary(String name) {
+            pendingSpace = true;
+            if (boilerplateDepth == 0 && !REMOVED_FROM_CONTENT.contains(name)) {
+                contentSpace = true;
+            }
+        }
+
+        private void visitMeta(Attributes meta) {
+            String name = meta.get("name").trim();
+            String property = meta.get("property").trim();
+            if (metaDescription == null && "description".equalsIgnoreCase(name)) {
+                metaDescription = meta.get("content");
+            }
+            if (ogDescription == null && "og:description".equalsIgnoreCase(property)) {
+                ogDescription = meta.get("content");
+            }
+            if (twitterDescription == null && "twitter:description".equalsIgnoreCase(name)) {
+                twitterDescription = meta.get("content");
+            }
+        }
+
+        private void closeParagraph() {
+            if (!inParagraph) {
+                return;
+            }
+            inParagraph = false;
+            String text = paragraph.toString();
+            paragraph.clear();
+            if (firstParagraph == null) {
+                firstParagraph = abbreviate(text, FALLBACK_DESCRIPTION_CHARS);
+            }
+            if (text.length() > MIN_DESCRIPTION_CHARS && text.length() < DESCRIPTION_CHARS) {
+                description = text;
+            }
+        }
+
+        /** Collapses whitespace runs into {@link #normalised}, noting whether either end had any. */
+        private void normalise(CharSequence text) {
+            normalised.setLength(0);
+            leadingSpace = false;
+            boolean space = false;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                // As jsoup normalises text: a no-break space is whitespace, invisible characters go
+                if (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u00A0') {
+                    space = true;
+                } else if (c != '\u200B' && c != '\u00AD') {
+                    if (space) {
+                        if (normalised.length() == 0) {
+                            leadingSpace = true;
+                        } else {
+                            normalised.append(' ');
+                        }
+                        space = false;
+                    }
+                    normalised.append(c);
+                }
+            }
+            trailingSpace = space;
+        }
+
+        StreamedPage finish() {
+            closeParagraph();
+            ContactInfo contactInfo = contacts != null ? contacts.finish() : null;
+            String text = content.max > 0 ? abbreviate(content.toString(), content.max - 1) : "";
+            return new StreamedPage(title.toString(), describe(), text, contactInfo);
+        }
+
+        /** Meta, Open Graph, then Twitter description, then the first fitting paragraph. */
+        private String describe() {
+            for (String meta : new String[] {metaDescription, ogDescription, twitterDescription}) {
+                if (meta != null && !meta.isEmpty()) {
+                    return meta.trim();
+                }
+            }
+            if (description != null) {
+                return description;
+            }
+            return firstParagraph != null ? firstParagraph : "";
+        }
+    }
+
+    /** Normalised text up to a fixed length; the rest is dropped as it arrives. */
+    private static final class Capped {
+
+        private final int max;
+        private final StringBuilder text = new StringBuilder();
+
+        Capped(int max) {
+            this.max = max;
+        }
+
+        /** Appends words, after a space if asked for one and there is text to separate. */
+        void append(boolean space, CharSequence words) {
+            if (space && text.length() > 0 && text.length() < max) {
+                text.append(' ');
+            }
+            int end = Math.min(words.length(), max - text.length());
+            if (end > 0) {
+                text.append(words, 0, end);
+            }
+        }
+
+        void clear() {
+            text.setLength(0);
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+
+    /** As {@link TextCollector#abbreviate}: text with no surrounding blanks, cut at {@code maxChars}. */
+    private static String abbreviate(String text, int maxChars) {
+        return text.length() > maxChars ? text.substring(0, maxChars) + "..." : text;
+    }
+
+    private static boolean isVoid(String name) {
+        return Tag.isKnownTag(name) && Tag.valueOf(name).isEmpty();
+    }
+
+    private static boolean isBlock(String name) {
+        return Tag.isKnownTag(name) && Tag.valueOf(name).isBlock();
+    }
+}
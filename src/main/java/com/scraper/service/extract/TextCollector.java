@@ -0,0 +1,166 @@
+package com.scraper.service.extract;
+
+import org.jsoup.Jsoup;
+import org.jsoup.internal.StringUtil;
+import org.jsoup.nodes.CDataNode;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeFilter;
+import org.jsoup.select.NodeTraversor;
+
+/**
+ * Gathers an element's text the way {@link Element#text()} does (same whitespace
+ * normalization and block spacing, before the final trim), but into a caller's buffer that a
+ * {@link Listener} sees after every append. The listener can drain the buffer or stop the
+ * walk, so neither the whole text nor any one large text node has to be held at once.
+ */
+public final class TextCollector implements NodeFilter {
+
+    /** Receives the buffer after text was appended to it. */
+    public interface Listener {
+
+        /**
+         * May remove a prefix of the buffer but must keep its last character, which decides
+         * the spacing of what follows. Returns false to stop collecting.
+         */
+        boolean appended(StringBuilder buffer);
+    }
+
+    // Large text nodes are appended in slices so the listener keeps up with them
+    static final int SLICE_CHARS = 8 * 1024;
+
+    // Whether this jsoup's text() also spaces a block from a following inline element, which
+    // changed between releases; asked once so the output matches whichever is on the classpath
+    private static final boolean SPACES_BLOCK_BEFORE_INLINE =
+        Jsoup.parse("<div>One</div><span>Two</span>").body().text().equals("One Two");
+
+    private final StringBuilder buffer;
+    private final Listener listener;
+
+    private TextCollector(StringBuilder buffer, Listener listener) {
+        this.buffer = buffer;
+        this.listener = listener;
+    }
+
+    public static void collect(Element root, StringBuilder buffer, Listener listener) {
+        NodeTraversor.filter(new TextCollector(buffer, listener), root);
+    }
+
+    /**
+     * {@code root.text()}, or its first {@code maxChars} characters followed by "..." when it is
+     * longer, reading no further into the tree than needed to tell.
+     */
+    public static String abbreviate(Element root, int maxChars) {
+        StringBuilder buffer = new StringBuilder();
+        Abbreviation abbreviation = new Abbreviation(maxChars);
+        collect(root, buffer, abbreviation);
+        String text = buffer.toString().trim();
+        return abbreviation.truncated ? text.substring(0, maxChars) + "..." : text;
+    }
+
+    @Override
+    public FilterResult head(Node node, int depth) {
+        if (node instanceof TextNode) {
+            return appendText((TextNode) node);
+        }
+        if (node instanceof Element) {
+            Element element = (Element) node;
+            if (buffer.length() > 0
+                    && (element.isBlock() || element.normalName().equals("br"))
+                    && !lastCharIsWhitespace()) {
+                return append(" ");
+            }
+        }
+        return FilterResult.CONTINUE;
+    }
+
+    @Override
+    public FilterResult tail(Node node, int depth) {
+        // A space between a block and the text right after it: <div>One</div>Two is "One Two"
+        if (node instanceof Element && ((Element) node).isBlock() && !lastCharIsWhitespace()) {
+            Node next = node.nextSibling();
+            if (next instanceof TextNode || SPACES_BLOCK_BEFORE_INLINE
+                    && next instanceof Element && !((Element) next).tag().formatAsBlock()) {
+                return append(" ");
+            }
+        }
+        return FilterResult.CONTINUE;
+    }
+
+    private FilterResult appendText(TextNode textNode) {
+        String text = textNode.getWholeText();
+        boolean preserve = textNode instanceof CDataNode || preservesWhitespace(textNode.parent());
+        for (int start = 0; start < text.length(); start += SLICE_CHARS) {
+            String slice = text.length() <= SLICE_CHARS ? text : text.substring(start, Math.min(text.length(), start + SLICE_CHARS));
+            int before = buffer.length();
+            if (preserve) {
+                buffer.append(slice);
+            } else {
+                StringUtil.appendNormalisedWhitespace(buffer, slice, lastCharIsWhitespace());
+            }
+            if (buffer.length() != before && !listener.appended(buffer)) {
+                return FilterResult.STOP;
+            }
+        }
+        return FilterResult.CONTINUE;
+    }
+
+    private FilterResult append(String text) {
+        buffer.append(text);
+        return listener.appended(buffer) ? FilterResult.CONTINUE : FilterResult.STOP;
+    }
+
+    private boolean lastCharIsWhitespace() {
+        return buffer.length() != 0 && buffer.charAt(buffer.length() - 1) == ' ';
+    }
+
+    /** As jsoup decides it: a pre-like tag on the parent or one of its five nearest ancestors. */
+    private static boolean preservesWhitespace(Node parent) {
+        if (!(parent instanceof Element)) {
+            return false;
+        }
+        Element element = (Element) parent;
+        for (int i = 0; i < 6 && element != null; i++) {
+            if (element.tag().preserveWhitespace()) {
+                return true;
+            }
+            element = element.parent();
+        }
+        return false;
+    }
+
+    /**
+     * Stops as soon as the trimmed text is known to run past {@code maxChars}, i.e. once a
+     * non-blank character shows up at or after that offset.
+     */
+    private static final class Abbreviation implements Listener {
+
+        private final int maxChars;
+        private int leading;
+        private int checked;
+        private boolean truncated;
+
+        Abbreviation(int maxChars) {
+            this.maxChars = maxChars;
+        }
+
+        @Override
+        public boolean appended(StringBuilder buffer) {
+            // Blanks before the first visible character are trimmed away and do not count
+            if (leading == checked) {
+                while (leading < buffer.length() && buffer.charAt(leading) <= ' ') {
+                    leading++;
+                }
+            }
+            for (int i = Math.max(checked, leading + maxChars); i < buffer.length(); i++) {
+                if (buffer.charAt(i) > ' ') {
+                    truncated = true;
+                    return false;
+                }
+            }
+            checked = buffer.length();
+            return true;
+        }
+    }
+}
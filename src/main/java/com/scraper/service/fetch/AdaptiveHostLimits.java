@@ -0,0 +1,231 @@
+package com.scraper.service.fetch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-host request timeouts and concurrency, learned from how each host has been answering.
+ * The timeout is the host's recent p99 latency times a factor, kept between
+ * {@code min-timeout-ms} and {@code scraper.timeout}; until a host has enough samples it gets
+ * {@code scraper.timeout}. Concurrency follows AIMD, as TCP congestion control does: each
+ * request that succeeds while the host is using its whole limit adds {@code 1/limit}, so the limit grows by one
+ * per round of requests; a timeout, connection failure or throttling status cuts it by
+ * {@code backoff-ratio}, at most once per round. Fast hosts work their way up to
+ * {@code scraper.http.max-requests-per-host} connections, and a struggling host drops to one.
+ */
+@Component
+public class AdaptiveHostLimits {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveHostLimits.class);
+
+    private static final int EVICTION_THRESHOLD = 10_000;
+    private static final long IDLE_NANOS = TimeUnit.MINUTES.toNanos(30);
+
+    private final HostLatencyTracker latencyTracker;
+    private final boolean enabled;
+    private final long maxTimeoutMs;
+    private final long minTimeoutMs;
+    private final double timeoutPercentile;
+    private final double timeoutFactor;
+    private final int initialConcurrency;
+    private final int maxConcurrency;
+    private final double backoffRatio;
+
+    private final Map<String, HostLimit> limits = new ConcurrentHashMap<>();
+
+    public AdaptiveHostLimits(
+            HostLatencyTracker latencyTracker,
+            @Value("${scraper.adaptive.enabled:true}") boolean enabled,
+            @Value("${scraper.timeout}") long maxTimeoutMs,
+            @Value("${scraper.adaptive.min-timeout-ms:2000}") long minTimeoutMs,
+            @Value("${scraper.adaptive.timeout-percentile:99}") double timeoutPercentile,
+            @Value("${scraper.adaptive.timeout-factor:2.0}") double timeoutFactor,
+            @Value("${scraper.adaptive.initial-concurrency:2}") int initialConcurrency,
+            @Value("${scraper.http.max-requests-per-host:5}") int maxConcurrency,
+            @Value("${scraper.adaptive.backoff-ratio:0.5}") double backoffRatio) {
+        this.latencyTracker = latencyTracker;
+        this.enabled = enabled;
+        this.maxTimeoutMs = maxTimeoutMs;
+        this.minTimeoutMs = Math.min(minTimeoutMs, maxTimeoutMs);
+        this.timeoutPercentile = timeoutPercentile;
+        this.timeoutFactor = timeoutFactor;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.initialConcurrency = Math.min(Math.max(1, initialConcurrency), this.maxConcurrency);
+        this.backoffRatio = backoffRatio;
+        if (enabled) {
+            log.info("Adaptive host limits: timeout p{} x {} within [{}, {}] ms, {} to {} requests per host",
+                timeoutPercentile, timeoutFactor, this.minTimeoutMs, maxTimeoutMs, this.initialConcurrency, this.maxConcurrency);
+        }
+    }
+
+    /** The timeout for the next request to the host, in milliseconds. */
+    public long timeoutMillis(String host) {
+        long observed = enabled ? latencyTracker.percentile(host, timeoutPercentile) : -1;
+        if (observed < 0) {
+            return maxTimeoutMs;
+        }
+        return Math.min(Math.max((long) (observed * timeoutFactor), minTimeoutMs), maxTimeoutMs);
+    }
+
+    /**
+     * Waits for one of the host's request slots. Every permit must be released once its request
+     * is done; cancelling the returned future gives up the wait (or the slot, if it was already
+     * granted).
+     */
+    public CompletableFuture<Permit> acquire(String host) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(new Permit(null, 0));
+        }
+        if (limits.size() > EVICTION_THRESHOLD) {
+            evictIdle();
+        }
+        HostLimit limit = limits.computeIfAbsent(host, h -> new HostLimit(initialConcurrency));
+        limit.lastUsed = System.nanoTime();
+
+        CompletableFuture<Permit> permit = new CompletableFuture<>();
+        CompletableFuture<Void> slot = limit.slots.acquire();
+        slot.thenRun(() -> {
+            Permit granted = new Permit(limit, limit.epoch());
+            if (!permit.complete(granted)) {
+                granted.release(Outcome.IGNORED);
+            }
+        });
+        permit.whenComplete((granted, error) -> {
+            if (permit.isCancelled()) {
+                slot.cancel(false);
+            }
+        });
+        return permit;
+    }
+
+    /** Current limits and recent latencies of every host seen lately, by host name. */
+    public List<Map<String, Object>> snapshot() {
+        List<Map<String, Object>> hosts = new ArrayList<>();
+        limits.forEach((host, limit) -> {
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("host", host);
+            state.put("concurrencyLimit", Math.round(limit.limit() * 100) / 100.0);
+            state.put("inFlight", limit.slots.getInUse());
+            state.put("queued", limit.slots.getQueued());
+            state.put("timeoutMs", timeoutMillis(host));
+            state.put("decreases", limit.epoch());
+            state.putAll(latencyTracker.stats(host));
+            hosts.add(state);
+        });
+        hosts.sort(Comparator.comparing(state -> (String) state.get("host")));
+        return hosts;
+    }
+
+    public Map<String, Object> settings() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("enabled", enabled);
+        settings.put("timeoutPercentile", timeoutPercentile);
+        settings.put("timeoutFactor", timeoutFactor);
+        settings.put("minTimeoutMs", minTimeoutMs);
+        settings.put("maxTimeoutMs", maxTimeoutMs);
+        settings.put("initialConcurrency", initialConcurrency);
+        settings.put("maxConcurrency", maxConcurrency);
+        settings.put("backoffRatio", backoffRatio);
+        return settings;
+    }
+
+    private void evictIdle() {
+        long now = System.nanoTime();
+        limits.values().removeIf(limit -> now - limit.lastUsed > IDLE_NANOS
+            && limit.slots.getInUse() == 0 && limit.slots.getQueued() == 0);
+    }
+
+    /** How a request that held a permit went, as far as the host's capacity is concerned. */
+    public enum Outcome {
+        /** Answered in time with a status that is not throttling. */
+        SUCCESS,
+        /** Timed out, could not connect, or answered 408/429/502/503/504. */
+        CONGESTED,
+        /** Cancelled, served from cache, or failed for a reason unrelated to load. */
+        IGNORED
+    }
+
+    /** One request slot of a host. */
+    public final class Permit {
+        private final HostLimit limit;
+        private final long epoch;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(HostLimit limit, long epoch) {
+            this.limit = limit;
+            this.epoch = epoch;
+        }
+
+        /** Adjusts the host's limit for the outcome and frees the slot; later calls do nothing. */
+        public void release(Outcome outcome) {
+            if (limit == null || !released.compareAndSet(false, true)) {
+                return;
+            }
+            if (outcome == Outcome.SUCCESS) {
+                limit.increase();
+            } else if (outcome == Outcome.CONGESTED) {
+                limit.decrease(epoch);
+            }
+            limit.slots.release();
+        }
+    }
+
+    private final class HostLimit {
+        private final AsyncSemaphore slots;
+        private double limit;
+        // Bumped on every decrease; failures of requests sent before it do not cut again
+        private long epoch;
+        private volatile long lastUsed = System.nanoTime();
+
+        HostLimit(int initial) {
+            this.limit = initial;
+            this.slots = new AsyncSemaphore(initial);
+        }
+
+        synchronized double limit() {
+            return limit;
+        }
+
+        synchronized long epoch() {
+            return epoch;
+        }
+
+        void increase() {
+            int applied;
+            synchronized (this) {
+                // Only a host using its whole limit has shown it can take more; this permit is still held
+                if (limit >= maxConcurrency || slots.getInUse() < (int) limit) {
+                    return;
+                }
+                limit = Math.min(maxConcurrency, limit + 1 / limit);
+                applied = (int) limit;
+            }
+            slots.setLimit(applied);
+        }
+
+        void decrease(long permitEpoch) {
+            int applied;
+            synchronized (this) {
+                if (permitEpoch != epoch) {
+                    return;
+                }
+                epoch++;
+                limit = Math.max(1, limit * backoffRatio);
+                applied = (int) limit;
+            }
+            slots.setLimit(applied);
+        }
+    }
+}
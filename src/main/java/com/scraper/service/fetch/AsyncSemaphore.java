@@ -0,0 +1,83 @@
+package com.scraper.service.fetch;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Semaphore whose waiters are futures rather than blocked threads. A released permit is
+ * handed straight to the oldest waiter, so queued work resumes in arrival order. The limit can
+ * change while permits are out; lowering it lets releases drain the excess before anyone else
+ * gets through.
+ */
+public class AsyncSemaphore {
+
+    private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int limit;
+    private int inUse;
+
+    public AsyncSemaphore(int limit) {
+        this.limit = Math.max(1, limit);
+    }
+
+    public CompletableFuture<Void> acquire() {
+        synchronized (this) {
+            if (inUse < limit) {
+                inUse++;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            return waiter;
+        }
+    }
+
+    public void release() {
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                if (inUse > limit || (next = waiters.poll()) == null) {
+                    inUse--;
+                    return;
+                }
+            }
+            // Completed outside the lock; a waiter that was cancelled meanwhile passes the permit on
+            if (next.complete(null)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Changes the number of permits. Raising it hands the new permits to waiters right away.
+     */
+    public void setLimit(int limit) {
+        List<CompletableFuture<Void>> granted = new ArrayList<>();
+        synchronized (this) {
+            this.limit = Math.max(1, limit);
+            while (inUse < this.limit && !waiters.isEmpty()) {
+                granted.add(waiters.poll());
+                inUse++;
+            }
+        }
+        for (CompletableFuture<Void> waiter : granted) {
+            if (!waiter.complete(null)) {
+                release();
+            }
+        }
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    public synchronized int getInUse() {
+        return inUse;
+    }
+
+    public synchronized int getQueued() {
+        return waiters.size();
+    }
+}
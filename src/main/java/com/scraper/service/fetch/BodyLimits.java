@@ -0,0 +1,162 @@
+package com.scraper.service.fetch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * How many bytes of a response body the fetch layer will read, by media type, under a hard
+ * global cap. HTML bodies above the streaming threshold are not buffered at all but handed on
+ * as a stream for incremental extraction.
+ */
+@Component
+public class BodyLimits {
+
+    private static final Logger log = LoggerFactory.getLogger(BodyLimits.class);
+
+    private static final String ANY_TYPE = "*";
+
+    private final long maxBytes;
+    private final long streamThresholdBytes;
+    private final Map<String, Long> limits;
+
+    private final AtomicLong skippedByType = new AtomicLong();
+    private final AtomicLong skippedBySize = new AtomicLong();
+    private final AtomicLong skippedBytes = new AtomicLong();
+    private final AtomicLong truncated = new AtomicLong();
+    private final AtomicLong streamed = new AtomicLong();
+
+    /**
+     * @param limits comma-separated {@code media-type=size} pairs, sizes in bytes or with a
+     *               KB/MB suffix; {@code *} covers types not listed and 0 means "do not read"
+     */
+    public BodyLimits(
+            @Value("${scraper.body.max-bytes:20971520}") long maxBytes,
+            @Value("${scraper.body.stream-threshold-bytes:2097152}") long streamThresholdBytes,
+            @Value("${scraper.body.limits:text/html=20MB, application/xhtml+xml=20MB, text/plain=1MB, *=0}") String limits) {
+        this.maxBytes = maxBytes;
+        this.streamThresholdBytes = streamThresholdBytes;
+        this.limits = parse(limits);
+        log.info("Response bodies: at most {} bytes, streamed above {} bytes, per type {}",
+            maxBytes, streamThresholdBytes, this.limits);
+    }
+
+    /**
+     * Bytes that may be read for the given Content-Type header value, never more than the
+     * global cap. A missing Content-Type is treated as HTML, which is what sniffing would find.
+     */
+    public long limitFor(String contentType) {
+        String mediaType = mediaType(contentType);
+        Long limit = limits.get(mediaType != null ? mediaType : "text/html");
+        if (limit == null) {
+            limit = limits.getOrDefault(ANY_TYPE, maxBytes);
+        }
+        return Math.min(limit, maxBytes);
+    }
+
+    /** Whether bodies of this type can be extracted from a stream instead of a parsed document. */
+    public boolean isStreamable(String contentType) {
+        String mediaType = mediaType(contentType);
+        return mediaType == null || mediaType.equals("text/html") || mediaType.equals("application/xhtml+xml");
+    }
+
+    public long getStreamThresholdBytes() {
+        return streamThresholdBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Why a body is not worth reading, judged from its headers alone, or {@code null}. Each
+     * rejection is counted; a declared length counts towards the bytes not downloaded.
+     */
+    public String rejectReason(String contentType, long contentLength) {
+        long limit = limitFor(contentType);
+        String type = mediaType(contentType) != null ? mediaType(contentType) : "text/html";
+        if (limit == 0 && contentLength != 0) {
+            skippedByType.incrementAndGet();
+            skippedBytes.addAndGet(Math.max(contentLength, 0));
+            return "Content-Type " + type + " is not scraped";
+        }
+        if (contentLength > limit) {
+            skippedBySize.incrementAndGet();
+            skippedBytes.addAndGet(contentLength);
+            return "Content-Length " + contentLength + " exceeds the " + limit + "-byte limit for " + type;
+        }
+        return null;
+    }
+
+    void recordTruncated() {
+        truncated.incrementAndGet();
+    }
+
+    void recordStreamed() {
+        streamed.incrementAndGet();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("skippedByContentType", skippedByType.get());
+        stats.put("skippedByContentLength", skippedBySize.get());
+        // Only bodies that declared their length are counted here
+        stats.put("skippedBytes", skippedBytes.get());
+        stats.put("truncated", truncated.get());
+        stats.put("streamed", streamed.get());
+        stats.put("limits", limits);
+        stats.put("maxBytes", maxBytes);
+        stats.put("streamThresholdBytes", streamThresholdBytes);
+        return stats;
+    }
+
+    /** The lower-cased type/subtype of a Content-Type header value, or {@code null}. */
+    static String mediaType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        int parameters = contentType.indexOf(';');
+        String mediaType = (parameters >= 0 ? contentType.substring(0, parameters) : contentType).trim();
+        return mediaType.isEmpty() ? null : mediaType.toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, Long> parse(String limits) {
+        Map<String, Long> parsed = new LinkedHashMap<>();
+        for (String entry : limits.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                if (!entry.isBlank()) {
+                    log.warn("Ignoring body limit '{}', expected media-type=size", entry.trim());
+                }
+                continue;
+            }
+            try {
+                parsed.put(entry.substring(0, separator).trim().toLowerCase(Locale.ROOT),
+                    parseSize(entry.substring(separator + 1)));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring body limit '{}': {}", entry.trim(), e.getMessage());
+            }
+        }
+        return parsed;
+    }
+
+    static long parseSize(String size) {
+        String value = size.trim().toUpperCase(Locale.ROOT);
+        long unit = 1;
+        if (value.endsWith("KB")) {
+            unit = 1024;
+        } else if (value.endsWith("MB")) {
+            unit = 1024 * 1024;
+        }
+        if (unit > 1) {
+            value = value.substring(0, value.length() - 2).trim();
+        }
+        return Long.parseLong(value) * unit;
+    }
+}
@@ -0,0 +1,75 @@
+package com.scraper.service.fetch;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Ends the stream after a fixed number of bytes and remembers whether there was more.
+ */
+class BoundedInputStream extends FilterInputStream {
+
+    private long remaining;
+    private boolean limitReached;
+
+    public BoundedInputStream(InputStream in, long limit) {
+        super(in);
+        this.remaining = limit;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (remaining <= 0) {
+            return endOrLimit();
+        }
+        int b = in.read();
+        if (b >= 0) {
+            remaining--;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (remaining <= 0) {
+            return endOrLimit();
+        }
+        int read = in.read(buffer, offset, (int) Math.min(length, remaining));
+        if (read > 0) {
+            remaining -= read;
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = in.skip(Math.min(n, remaining));
+        remaining -= skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(in.available(), remaining);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /** True once a read past the limit found more data. */
+    public boolean isLimitReached() {
+        return limitReached;
+    }
+
+    private int endOrLimit() throws IOException {
+        if (!limitReached && in.read() >= 0) {
+            limitReached = true;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,177 @@
+package com.scraper.service.fetch;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Circuit breaker for a single domain. Outcomes are counted in a rolling window of time
+ * buckets; once enough requests fail the breaker opens and rejects calls until the open
+ * period has passed, then lets a limited number of probes through while half-open.
+ */
+class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final int BUCKETS = 10;
+
+    private final String domain;
+    private final double failureRateThreshold;
+    private final int minimumRequests;
+    private final long bucketMillis;
+    private final long openMillis;
+    private final int halfOpenProbes;
+
+    private final long[] bucketStart = new long[BUCKETS];
+    private final int[] successes = new int[BUCKETS];
+    private final int[] failures = new int[BUCKETS];
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesInFlight;
+    private long lastActivity;
+
+    CircuitBreaker(String domain, double failureRateThreshold, int minimumRequests,
+                   long windowMillis, long openMillis, int halfOpenProbes) {
+        this.domain = domain;
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumRequests = minimumRequests;
+        this.bucketMillis = Math.max(1, windowMillis / BUCKETS);
+        this.openMillis = openMillis;
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+    }
+
+    synchronized boolean tryAcquire(long now) {
+        lastActivity = now;
+        if (state == State.OPEN) {
+            if (now - openedAt < openMillis) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= halfOpenProbes) {
+                return false;
+            }
+            probesInFlight++;
+        }
+        return true;
+    }
+
+    /** Gives back a permission that was granted but not used; a half-open probe slot reopens. */
+    synchronized void onUnused() {
+        if (state == State.HALF_OPEN && probesInFlight > 0) {
+            probesInFlight--;
+        }
+    }
+
+    synchronized void onSuccess(long now) {
+        lastActivity = now;
+        if (state == State.HALF_OPEN) {
+            close();
+            return;
+        }
+        bucketFor(now);
+        successes[index(now)]++;
+    }
+
+    synchronized void onFailure(long now) {
+        lastActivity = now;
+        if (state == State.HALF_OPEN) {
+            open(now);
+            return;
+        }
+        bucketFor(now);
+        failures[index(now)]++;
+
+        if (state == State.CLOSED) {
+            int total = totalRequests(now);
+            if (total >= minimumRequests && failureRate(now) >= failureRateThreshold) {
+                open(now);
+            }
+        }
+    }
+
+    synchronized long retryAfterMillis(long now) {
+        return state == State.OPEN ? Math.max(0, openMillis - (now - openedAt)) : 0;
+    }
+
+    synchronized boolean isIdle(long now, long idleMillis) {
+        return state == State.CLOSED && now - lastActivity > idleMillis;
+    }
+
+    synchronized Map<String, Object> snapshot(long now) {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        State effective = state == State.OPEN && now - openedAt >= openMillis ? State.HALF_OPEN : state;
+        snapshot.put("domain", domain);
+        snapshot.put("state", effective.name());
+        snapshot.put("requestsInWindow", totalRequests(now));
+        snapshot.put("failureRate", Math.round(failureRate(now) * 10) / 10.0);
+        snapshot.put("retryAfterMs", retryAfterMillis(now));
+        return snapshot;
+    }
+
+    private void open(long now) {
+        state = State.OPEN;
+        openedAt = now;
+        probesInFlight = 0;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        probesInFlight = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            bucketStart[i] = 0;
+            successes[i] = 0;
+            failures[i] = 0;
+        }
+    }
+
+    /**
+     * Failure percentage (0-100) over the live part of the window.
+     */
+    private double failureRate(long now) {
+        int total = totalRequests(now);
+        if (total == 0) {
+            return 0;
+        }
+        int failed = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (isLive(i, now)) {
+                failed += failures[i];
+            }
+        }
+        return failed * 100.0 / total;
+    }
+
+    private int totalRequests(long now) {
+        int total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (isLive(i, now)) {
+                total += successes[i] + failures[i];
+            }
+        }
+        return total;
+    }
+
+    private boolean isLive(int i, long now) {
+        return now - bucketStart[i] < bucketMillis * BUCKETS;
+    }
+
+    private int index(long now) {
+        return (int) ((now / bucketMillis) % BUCKETS);
+    }
+
+    /**
+     * Recycles the bucket for {@code now} if it still holds counts from an earlier lap.
+     */
+    private void bucketFor(long now) {
+        int i = index(now);
+        long start = now - (now % bucketMillis);
+        if (bucketStart[i] != start) {
+            bucketStart[i] = start;
+            successes[i] = 0;
+            failures[i] = 0;
+        }
+    }
+}
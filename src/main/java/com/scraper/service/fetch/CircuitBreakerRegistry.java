@@ -0,0 +1,119 @@
+package com.scraper.service.fetch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Holds one {@link CircuitBreaker} per domain so that a site which starts blocking us
+ * fails fast instead of tying up a fetch slot for the full timeout on every URL.
+ */
+@Component
+public class CircuitBreakerRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreakerRegistry.class);
+
+    private static final int EVICTION_THRESHOLD = 10_000;
+    private static final long IDLE_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final double failureRateThreshold;
+    private final int minimumRequests;
+    private final long windowMillis;
+    private final long openMillis;
+    private final int halfOpenProbes;
+    private final LongSupplier clock;
+
+    @Autowired
+    public CircuitBreakerRegistry(
+            @Value("${scraper.circuit-breaker.failure-rate-threshold:50}") double failureRateThreshold,
+            @Value("${scraper.circuit-breaker.minimum-requests:5}") int minimumRequests,
+            @Value("${scraper.circuit-breaker.window-seconds:60}") long windowSeconds,
+            @Value("${scraper.circuit-breaker.open-seconds:30}") long openSeconds,
+            @Value("${scraper.circuit-breaker.half-open-probes:1}") int halfOpenProbes) {
+        this(failureRateThreshold, minimumRequests, windowSeconds, openSeconds, halfOpenProbes, System::currentTimeMillis);
+    }
+
+    /** With {@code clock} in place of the wall clock, in milliseconds. */
+    CircuitBreakerRegistry(double failureRateThreshold, int minimumRequests, long windowSeconds, long openSeconds,
+                           int halfOpenProbes, LongSupplier clock) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumRequests = minimumRequests;
+        this.windowMillis = TimeUnit.SECONDS.toMillis(windowSeconds);
+        this.openMillis = TimeUnit.SECONDS.toMillis(openSeconds);
+        this.halfOpenProbes = halfOpenProbes;
+        this.clock = clock;
+    }
+
+    /**
+     * Asks the domain's breaker for permission to fetch the URL. Every granted call must be
+     * followed by {@link #recordSuccess(String)}, {@link #recordFailure(String)} or, when the
+     * fetch was never sent, {@link #release(String)}.
+     */
+    public boolean tryAcquire(String url) {
+        if (breakers.size() > EVICTION_THRESHOLD) {
+            evictIdle();
+        }
+        return breakerFor(url).tryAcquire(clock.getAsLong());
+    }
+
+    /** Returns a permission whose fetch was abandoned before it was sent. */
+    public void release(String url) {
+        breakerFor(url).onUnused();
+    }
+
+    public void recordSuccess(String url) {
+        breakerFor(url).onSuccess(clock.getAsLong());
+    }
+
+    public void recordFailure(String url) {
+        CircuitBreaker breaker = breakerFor(url);
+        long now = clock.getAsLong();
+        breaker.onFailure(now);
+        if (breaker.retryAfterMillis(now) > 0) {
+            log.debug("Circuit for {} is open", Hosts.domainOf(url));
+        }
+    }
+
+    /**
+     * How long until the domain's breaker lets a probe through; 0 when it is not open.
+     */
+    public long retryAfterMillis(String url) {
+        return breakerFor(url).retryAfterMillis(clock.getAsLong());
+    }
+
+    /**
+     * Whether an HTTP status means the site is refusing or unable to serve us.
+     */
+    public boolean isFailureStatus(int statusCode) {
+        return statusCode == 403 || statusCode == 429 || statusCode >= 500;
+    }
+
+    public List<Map<String, Object>> snapshot() {
+        long now = clock.getAsLong();
+        List<Map<String, Object>> states = new ArrayList<>();
+        breakers.values().forEach(breaker -> states.add(breaker.snapshot(now)));
+        states.sort(Comparator.comparing(state -> (String) state.get("domain")));
+        return states;
+    }
+
+    private CircuitBreaker breakerFor(String url) {
+        return breakers.computeIfAbsent(Hosts.domainOf(url), domain -> new CircuitBreaker(
+            domain, failureRateThreshold, minimumRequests, windowMillis, openMillis, halfOpenProbes));
+    }
+
+    private void evictIdle() {
+        long now = clock.getAsLong();
+        breakers.values().removeIf(breaker -> breaker.isIdle(now, IDLE_MILLIS));
+    }
+}
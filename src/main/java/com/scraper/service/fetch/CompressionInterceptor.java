@@ -0,0 +1,89 @@
+package com.scraper.service.fetch;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.GzipSource;
+import okio.InflaterSource;
+import okio.Okio;
+
+import java.io.IOException;
+import java.util.zip.Inflater;
+
+/**
+ * Negotiates gzip and deflate explicitly. OkHttp only handles gzip transparently, so once
+ * we advertise deflate we also take over decoding of both encodings. "deflate" is meant to be
+ * zlib-wrapped, but some servers send a raw deflate stream; the first two bytes tell them apart.
+ */
+class CompressionInterceptor implements Interceptor {
+
+    // Content-Length of a decoded response as it came over the wire; the decoded body is at least
+    // about as long, so size checks made before reading can still use it
+    static final String ENCODED_LENGTH = "X-Encoded-Content-Length";
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (request.header("Accept-Encoding") != null) {
+            return chain.proceed(request);
+        }
+
+        Response response = chain.proceed(request.newBuilder()
+            .header("Accept-Encoding", "gzip, deflate")
+            .build());
+
+        ResponseBody body = response.body();
+        String encoding = response.header("Content-Encoding");
+        if (body == null || encoding == null) {
+            return response;
+        }
+
+        BufferedSource decoded;
+        if ("gzip".equalsIgnoreCase(encoding)) {
+            decoded = Okio.buffer(new GzipSource(body.source()));
+        } else if ("deflate".equalsIgnoreCase(encoding)) {
+            BufferedSource source = body.source();
+            Inflater inflater = new Inflater(!isZlibWrapped(source));
+            decoded = Okio.buffer(new ForwardingSource(new InflaterSource(source, inflater)) {
+                @Override
+                public void close() throws IOException {
+                    // Frees the inflater's native memory even if closing the socket fails
+                    try {
+                        super.close();
+                    } finally {
+                        inflater.end();
+                    }
+                }
+            });
+        } else {
+            return response;
+        }
+
+        Response.Builder decodedResponse = response.newBuilder();
+        String encodedLength = response.header("Content-Length");
+        if (encodedLength != null) {
+            decodedResponse.header(ENCODED_LENGTH, encodedLength);
+        }
+        return decodedResponse
+            .removeHeader("Content-Encoding")
+            .removeHeader("Content-Length")
+            .body(ResponseBody.create(decoded, body.contentType(), -1L))
+            .build();
+    }
+
+    /**
+     * Whether the body starts with a zlib header: compression method 8 (deflate) and a header
+     * checksum that is a multiple of 31. Too short to tell counts as wrapped.
+     */
+    static boolean isZlibWrapped(BufferedSource source) throws IOException {
+        if (!source.request(2)) {
+            return true;
+        }
+        int cmf = source.getBuffer().getByte(0) & 0xff;
+        int flg = source.getBuffer().getByte(1) & 0xff;
+        return (cmf & 0x0f) == 8 && (cmf << 8 | flg) % 31 == 0;
+    }
+}
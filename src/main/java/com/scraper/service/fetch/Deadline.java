@@ -0,0 +1,57 @@
+package com.scraper.service.fetch;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The point in time by which a request wants its answer. Stages ask it how much time is left
+ * instead of each running on its own clock: fetch timeouts are capped by it, retries are only
+ * scheduled if they can start before it, and work that has not started by then is skipped.
+ * {@link #NONE} never expires.
+ */
+public final class Deadline {
+
+    public static final Deadline NONE = new Deadline(0, false);
+
+    private final long expiresAtNanos;
+    private final boolean bounded;
+
+    private Deadline(long expiresAtNanos, boolean bounded) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.bounded = bounded;
+    }
+
+    public static Deadline afterMillis(long millis) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis), true);
+    }
+
+    /** A deadline {@code millis} from now, or {@link #NONE} when no positive budget is given. */
+    public static Deadline ofBudget(Long millis) {
+        return millis != null && millis > 0 ? afterMillis(millis) : NONE;
+    }
+
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /** Milliseconds left, 0 once expired, {@link Long#MAX_VALUE} when unbounded. */
+    public long remainingMillis() {
+        if (!bounded) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return bounded && expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /** The timeout to use for one more step: the step's own, or what is left if that is less. */
+    public long cap(long timeoutMillis) {
+        return Math.max(1, Math.min(timeoutMillis, remainingMillis()));
+    }
+
+    @Override
+    public String toString() {
+        return bounded ? remainingMillis() + " ms left" : "no deadline";
+    }
+}
@@ -0,0 +1,29 @@
+package com.scraper.service.fetch;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the extra requests spent on one logical fetch so their cost can be reported
+ * alongside the scraped result, whether the fetch eventually succeeded or not.
+ */
+public class FetchAttempts {
+
+    private final AtomicInteger retries = new AtomicInteger();
+    private final AtomicInteger hedges = new AtomicInteger();
+
+    void recordRetry() {
+        retries.incrementAndGet();
+    }
+
+    void recordHedge() {
+        hedges.incrementAndGet();
+    }
+
+    public int getRetries() {
+        return retries.get();
+    }
+
+    public int getHedges() {
+        return hedges.get();
+    }
+}
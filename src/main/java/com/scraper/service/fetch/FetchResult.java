@@ -0,0 +1,121 @@
+package com.scraper.service.fetch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An HTTP response as handed from the fetch layer to the parsers: normally a fully read body,
+ * but a large HTML body arrives as a still-open stream (see {@link BodyLimits}) that whoever
+ * consumes the result must close.
+ */
+public class FetchResult implements Closeable {
+
+    public static final String CACHE_HIT = "hit";
+    public static final String CACHE_REVALIDATED = "revalidated";
+    public static final String CACHE_MISS = "miss";
+    public static final String CACHE_DISABLED = "disabled";
+
+    private final String url;
+    private final String finalUrl;
+    private final int statusCode;
+    private final String contentType;
+    private final Charset charset;
+    private final byte[] body;
+    private final Map<String, String> headers;
+    private final String protocol;
+    private final String cacheStatus;
+    private final InputStream bodyStream;
+    private final boolean truncated;
+    private final String droppedReason;
+
+    public FetchResult(String url, String finalUrl, int statusCode, String contentType, Charset charset,
+                       byte[] body, Map<String, String> headers, String protocol, String cacheStatus) {
+        this(url, finalUrl, statusCode, contentType, charset, body, headers, protocol, cacheStatus, null, false, null);
+    }
+
+    /**
+     * @param bodyStream    the unread body when it is streamed rather than buffered, else {@code null}
+     * @param truncated     whether the body (buffered or streamed) stops at a byte limit
+     * @param droppedReason why the body was not read at all, else {@code null}
+     */
+    public FetchResult(String url, String finalUrl, int statusCode, String contentType, Charset charset,
+                       byte[] body, Map<String, String> headers, String protocol, String cacheStatus,
+                       InputStream bodyStream, boolean truncated, String droppedReason) {
+        this.url = url;
+        this.finalUrl = finalUrl;
+        this.statusCode = statusCode;
+        this.contentType = contentType;
+        this.charset = charset;
+        this.body = body != null ? body : new byte[0];
+        Map<String, String> caseInsensitive = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (headers != null) {
+            caseInsensitive.putAll(headers);
+        }
+        this.headers = Collections.unmodifiableMap(caseInsensitive);
+        this.protocol = protocol;
+        this.cacheStatus = cacheStatus;
+        this.bodyStream = bodyStream;
+        this.truncated = truncated;
+        this.droppedReason = droppedReason;
+    }
+
+    public String getUrl() { return url; }
+
+    public String getFinalUrl() { return finalUrl; }
+
+    public int getStatusCode() { return statusCode; }
+
+    public String getContentType() { return contentType; }
+
+    /** Charset declared in the Content-Type header, or {@code null} to let the parser sniff it. */
+    public Charset getCharset() { return charset; }
+
+    /** The buffered body; empty when the body is streamed or was dropped. */
+    public byte[] getBody() { return body; }
+
+    /** True when the body must be read from {@link #getBodyStream()}. */
+    public boolean isStreamed() { return bodyStream != null; }
+
+    public InputStream getBodyStream() { return bodyStream; }
+
+    /** Whether the body stops at a byte limit; for a stream, known once it has been read to the end. */
+    public boolean isTruncated() {
+        return truncated || bodyStream instanceof BoundedInputStream && ((BoundedInputStream) bodyStream).isLimitReached();
+    }
+
+    /** True when the body was left unread because of its type or declared size. */
+    public boolean isDropped() { return droppedReason != null; }
+
+    public String getDroppedReason() { return droppedReason; }
+
+    public Map<String, String> getHeaders() { return headers; }
+
+    public String getHeader(String name) { return headers.get(name); }
+
+    public String getProtocol() { return protocol; }
+
+    /** One of {@code hit}, {@code revalidated}, {@code miss} or {@code disabled}. */
+    public String getCacheStatus() { return cacheStatus; }
+
+    /** True when the body came from the local HTTP cache, with or without a 304 round trip. */
+    public boolean isFromCache() {
+        return CACHE_HIT.equals(cacheStatus) || CACHE_REVALIDATED.equals(cacheStatus);
+    }
+
+    /** Releases the connection behind a streamed body; a no-op otherwise. */
+    @Override
+    public void close() {
+        if (bodyStream != null) {
+            try {
+                bodyStream.close();
+            } catch (IOException e) {
+                // Nothing left to read from it either way
+            }
+        }
+    }
+}
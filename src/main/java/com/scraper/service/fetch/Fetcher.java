@@ -0,0 +1,63 @@
+package com.scraper.service.fetch;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Retrieves raw page bytes for the scraping pipeline. HTTP error statuses are returned as
+ * regular results; only transport failures complete the future exceptionally.
+ */
+public interface Fetcher {
+
+    /**
+     * Starts fetching the given URL without blocking the caller. Cancelling the returned
+     * future aborts the underlying request.
+     */
+    CompletableFuture<FetchResult> fetchAsync(String url);
+
+    /**
+     * Like {@link #fetchAsync(String)}, giving up on connecting or reading after
+     * {@code timeoutMs} instead of the default timeout. Implementations without per-request
+     * timeouts ignore it.
+     */
+    default CompletableFuture<FetchResult> fetchAsync(String url, long timeoutMs) {
+        return fetchAsync(url);
+    }
+
+    /**
+     * Like {@link #fetchAsync(String, long)}, also failing once the whole call, reading the body
+     * included, has taken {@code callTimeoutMs}: a body that trickles in never trips the read
+     * timeout, but still has to be done by then.
+     */
+    default CompletableFuture<FetchResult> fetchAsync(String url, long timeoutMs, long callTimeoutMs) {
+        return fetchAsync(url, timeoutMs);
+    }
+
+    /**
+     * Serves the URL from a local cache without touching the network. Completes with
+     * {@code null} when there is no fresh entry; implementations without a cache always do.
+     */
+    default CompletableFuture<FetchResult> fetchFromCache(String url) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Blocking convenience wrapper around {@link #fetchAsync(String)}.
+     */
+    default FetchResult fetch(String url) throws IOException {
+        try {
+            return fetchAsync(url).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching " + url, e);
+        } catch (ExecutionException | CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.scraper.service.fetch;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps histograms of recent response times and failures per host. Each host has two
+ * generations of up to 256 samples; when the current one fills up it replaces the previous
+ * one, so percentiles cover the last 256 to 512 requests and follow a host that gets slower
+ * or faster.
+ */
+@Component
+public class HostLatencyTracker {
+
+    private static final int WINDOW_SIZE = 256;
+    private static final int MIN_SAMPLES = 20;
+    private static final int EVICTION_THRESHOLD = 10_000;
+    private static final long IDLE_NANOS = TimeUnit.MINUTES.toNanos(30);
+
+    private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Records one request to the host. Failed requests count too, with the time they took to
+     * fail: a timeout is a sample at the timeout, which keeps a slow host's percentiles honest.
+     */
+    public void record(String host, long latencyMs, boolean failed) {
+        if (windows.size() > EVICTION_THRESHOLD) {
+            long now = System.nanoTime();
+            windows.values().removeIf(window -> now - window.lastRecorded > IDLE_NANOS);
+        }
+        windows.computeIfAbsent(host, h -> new LatencyWindow()).add(latencyMs, failed);
+    }
+
+    /**
+     * Returns the given percentile (0-100) of recent latencies for the host, or -1 while
+     * there are too few samples to be meaningful.
+     */
+    public long percentile(String host, double percentile) {
+        LatencyWindow window = windows.get(host);
+        return window != null ? window.percentile(percentile) : -1;
+    }
+
+    /** Sample count, failure rate and the usual percentiles for the host; empty when unknown. */
+    public Map<String, Object> stats(String host) {
+        LatencyWindow window = windows.get(host);
+        return window != null ? window.stats() : Map.of();
+    }
+
+    private static class LatencyWindow {
+        private LatencyHistogram current = new LatencyHistogram();
+        private LatencyHistogram previous = new LatencyHistogram();
+        private volatile long lastRecorded = System.nanoTime();
+
+        synchronized void add(long latencyMs, boolean failed) {
+            if (current.count() >= WINDOW_SIZE) {
+                LatencyHistogram full = current;
+                current = previous;
+                current.clear();
+                previous = full;
+            }
+            current.record(latencyMs, failed);
+            lastRecorded = System.nanoTime();
+        }
+
+        synchronized long percentile(double percentile) {
+            if (current.count() + previous.count() < MIN_SAMPLES) {
+                return -1;
+            }
+            return current.percentile(percentile, previous);
+        }
+
+        synchronized Map<String, Object> stats() {
+            int samples = current.count() + previous.count();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("samples", samples);
+            stats.put("failureRate", samples > 0
+                ? Math.round(1000.0 * (current.failures() + previous.failures()) / samples) / 10.0 : 0.0);
+            stats.put("p50Ms", current.percentile(50, previous));
+            stats.put("p95Ms", current.percentile(95, previous));
+            stats.put("p99Ms", current.percentile(99, previous));
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.scraper.service.fetch;
+
+import java.net.URI;
+import java.util.Locale;
+
+/**
+ * Host-name helpers shared by the per-host components of the fetch layer.
+ */
+final class Hosts {
+
+    private Hosts() {}
+
+    /**
+     * Lower-cased host of the URL, or an empty string when it cannot be parsed.
+     */
+    static String of(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host.toLowerCase(Locale.ROOT) : "";
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    /**
+     * Registrable-ish domain used for per-site state: the host without a leading "www.".
+     */
+    static String domainOf(String url) {
+        String host = of(url);
+        return host.startsWith("www.") ? host.substring(4) : host;
+    }
+}
@@ -0,0 +1,138 @@
+package com.scraper.service.fetch;
+
+import jakarta.annotation.PreDestroy;
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistent HTTP cache for the fetch layer, backed by OkHttp's disk cache: bodies are stored
+ * with their validators, stale entries are revalidated with If-None-Match/If-Modified-Since,
+ * and the least recently used entries are evicted once the size cap is reached.
+ */
+@Component
+public class HttpResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpResponseCache.class);
+
+    private final Cache cache;
+    private final int defaultTtlSeconds;
+    private final int minFreshSeconds;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong revalidated = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public HttpResponseCache(
+            @Value("${scraper.cache.enabled:true}") boolean enabled,
+            @Value("${scraper.cache.directory:${java.io.tmpdir}/scraper-http-cache}") String directory,
+            @Value("${scraper.cache.max-size-mb:256}") long maxSizeMb,
+            @Value("${scraper.cache.default-ttl-seconds:3600}") int defaultTtlSeconds,
+            @Value("${scraper.cache.min-fresh-seconds:0}") int minFreshSeconds) {
+        this.cache = enabled ? new Cache(new File(directory), maxSizeMb * 1024 * 1024) : null;
+        this.defaultTtlSeconds = defaultTtlSeconds;
+        this.minFreshSeconds = minFreshSeconds;
+        if (enabled) {
+            log.info("HTTP cache at {} (max {} MB)", directory, maxSizeMb);
+        }
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    Cache okHttpCache() {
+        return cache;
+    }
+
+    /**
+     * Network interceptor that gives responses without any freshness information a default
+     * TTL, and optionally raises short max-age values to {@code min-fresh-seconds}, before
+     * the cache decides whether and how long to store them. no-store is always honored.
+     */
+    Interceptor freshnessInterceptor() {
+        return chain -> {
+            Response response = chain.proceed(chain.request());
+            if (!"GET".equals(chain.request().method()) || !response.isSuccessful()) {
+                return response;
+            }
+
+            CacheControl control = response.cacheControl();
+            if (control.noStore()) {
+                return response;
+            }
+
+            boolean explicit = control.maxAgeSeconds() >= 0 || control.noCache() || response.header("Expires") != null;
+            int ttl = -1;
+            if (!explicit) {
+                ttl = defaultTtlSeconds;
+            } else if (minFreshSeconds > 0 && !control.noCache() && control.maxAgeSeconds() < minFreshSeconds) {
+                ttl = minFreshSeconds;
+            }
+
+            if (ttl <= 0) {
+                return response;
+            }
+            return response.newBuilder()
+                .header("Cache-Control", "max-age=" + ttl)
+                .removeHeader("Pragma")
+                .removeHeader("Expires")
+                .build();
+        };
+    }
+
+    void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    void recordRevalidated() {
+        revalidated.incrementAndGet();
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", isEnabled());
+        long hitCount = hits.get();
+        long revalidatedCount = revalidated.get();
+        long missCount = misses.get();
+        long total = hitCount + revalidatedCount + missCount;
+        stats.put("requests", total);
+        stats.put("hits", hitCount);
+        stats.put("revalidated", revalidatedCount);
+        stats.put("misses", missCount);
+        // Revalidated responses are served from cache too; only their headers crossed the network
+        stats.put("hitRatio", total > 0 ? (double) (hitCount + revalidatedCount) / total : 0.0);
+        stats.put("missRatio", total > 0 ? (double) missCount / total : 0.0);
+        if (cache != null) {
+            try {
+                stats.put("sizeBytes", cache.size());
+            } catch (IOException e) {
+                stats.put("sizeBytes", -1L);
+            }
+            stats.put("maxSizeBytes", cache.maxSize());
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (cache != null) {
+            cache.close();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.scraper.service.fetch;
+
+import java.util.Arrays;
+
+/**
+ * Counts of latencies in log-linear buckets: exact below 8 ms, then eight buckets per power of
+ * two, so any percentile is read to within 12.5% from 176 counters however many samples were
+ * recorded. Percentiles report the upper edge of their bucket, erring towards the slower side.
+ * Not thread-safe.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // About 4.6 hours; anything longer is counted as this
+    static final long MAX_VALUE = (1L << 24) - 1;
+
+    private final int[] counts = new int[bucketOf(MAX_VALUE) + 1];
+    private int count;
+    private int failures;
+
+    void record(long latencyMs, boolean failed) {
+        counts[bucketOf(Math.min(Math.max(latencyMs, 0), MAX_VALUE))]++;
+        count++;
+        if (failed) {
+            failures++;
+        }
+    }
+
+    int count() {
+        return count;
+    }
+
+    int failures() {
+        return failures;
+    }
+
+    void clear() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        failures = 0;
+    }
+
+    /**
+     * The given percentile (0-100) over this histogram and {@code older} together, or -1 when
+     * both are empty.
+     */
+    long percentile(double percentile, LatencyHistogram older) {
+        int total = count + (older != null ? older.count : 0);
+        if (total == 0) {
+            return -1;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i] + (older != null ? older.counts[i] : 0);
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return MAX_VALUE;
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /** The largest value counted in the bucket. */
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+        return lower + width - 1;
+    }
+}
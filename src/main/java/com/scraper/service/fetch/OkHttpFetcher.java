@@ -0,0 +1,311 @@
+package com.scraper.service.fetch;
+
+import jakarta.annotation.PreDestroy;
+import okhttp3.Call;
+import okhttp3.CacheControl;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared OkHttp-backed {@link Fetcher}. One client instance owns the connection pool and
+ * dispatcher, so keep-alive connections and HTTP/2 sessions are reused across scrape tasks
+ * instead of paying a TLS handshake per URL.
+ */
+@Component
+public class OkHttpFetcher implements Fetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OkHttpFetcher.class);
+
+    // Per-request timeouts are rounded up to this, which bounds the number of client variants
+    private static final long TIMEOUT_GRANULARITY_MS = 250;
+
+    // only-if-cached without max-stale: stale entries are not served, so they get revalidated
+    private static final CacheControl CACHE_ONLY = new CacheControl.Builder().onlyIfCached().build();
+
+    private final OkHttpClient client;
+    private final long timeout;
+    // Variants of the client with shorter timeouts; they share its pool, dispatcher and cache
+    private final Map<Long, OkHttpClient> clientsByTimeout = new ConcurrentHashMap<>();
+    private final String userAgent;
+    private final HttpResponseCache responseCache;
+    private final BodyLimits bodyLimits;
+
+    public OkHttpFetcher(
+            HttpResponseCache responseCache,
+            BodyLimits bodyLimits,
+            @Value("${scraper.user-agent}") String userAgent,
+            @Value("${scraper.timeout}") int timeout,
+            @Value("${scraper.http.max-idle-connections:32}") int maxIdleConnections,
+            @Value("${scraper.http.keep-alive-seconds:300}") long keepAliveSeconds,
+            @Value("${scraper.http.max-requests:64}") int maxRequests,
+            @Value("${scraper.http.max-requests-per-host:5}") int maxRequestsPerHost) {
+        this.userAgent = userAgent;
+        this.timeout = timeout;
+        this.responseCache = responseCache;
+        this.bodyLimits = bodyLimits;
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+            .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS))
+            .dispatcher(dispatcher)
+            .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+            .connectTimeout(timeout, TimeUnit.MILLISECONDS)
+            .readTimeout(timeout, TimeUnit.MILLISECONDS)
+            .followRedirects(true)
+            .followSslRedirects(true)
+            .addInterceptor(new CompressionInterceptor());
+        if (responseCache.isEnabled()) {
+            builder.cache(responseCache.okHttpCache())
+                .addNetworkInterceptor(responseCache.freshnessInterceptor());
+        }
+        this.client = builder.build();
+
+        log.info("HTTP client: {} idle connections kept {}s, {} concurrent requests ({} per host)",
+            maxIdleConnections, keepAliveSeconds, maxRequests, maxRequestsPerHost);
+    }
+
+    @Override
+    public CompletableFuture<FetchResult> fetchAsync(String url) {
+        return execute(client, url, null, 0);
+    }
+
+    /**
+     * Fetches with {@code timeoutMs} as the connect and read timeout. Shorter than the default
+     * timeout, it runs on a variant of the shared client; longer, it is capped at the default.
+     */
+    @Override
+    public CompletableFuture<FetchResult> fetchAsync(String url, long timeoutMs) {
+        return fetchAsync(url, timeoutMs, 0);
+    }
+
+    /**
+     * The call timeout is set on the call itself rather than on a client variant, so it can be
+     * exact; it keeps running while a streamed body is read after the future has completed.
+     */
+    @Override
+    public CompletableFuture<FetchResult> fetchAsync(String url, long timeoutMs, long callTimeoutMs) {
+        long rounded = (timeoutMs + TIMEOUT_GRANULARITY_MS - 1) / TIMEOUT_GRANULARITY_MS * TIMEOUT_GRANULARITY_MS;
+        if (timeoutMs <= 0 || rounded >= timeout) {
+            return execute(client, url, null, callTimeoutMs);
+        }
+        OkHttpClient variant = clientsByTimeout.computeIfAbsent(rounded, ms -> client.newBuilder()
+            .connectTimeout(ms, TimeUnit.MILLISECONDS)
+            .readTimeout(ms, TimeUnit.MILLISECONDS)
+            .build());
+        return execute(variant, url, null, callTimeoutMs);
+    }
+
+    /**
+     * Looks the URL up in the HTTP cache only (only-if-cached), completing with {@code null}
+     * when there is no fresh entry so the caller can fall back to the network path, where a
+     * stale entry is revalidated with its ETag or Last-Modified.
+     */
+    @Override
+    public CompletableFuture<FetchResult> fetchFromCache(String url) {
+        if (!responseCache.isEnabled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return execute(client, url, CACHE_ONLY, 0);
+    }
+
+    private CompletableFuture<FetchResult> execute(OkHttpClient httpClient, String url, CacheControl cacheControl,
+                                                   long callTimeoutMs) {
+        Request request;
+        try {
+            Request.Builder builder = new Request.Builder()
+                .url(url)
+                .header("User-Agent", userAgent)
+                .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
+                .get();
+            if (cacheControl != null) {
+                builder.cacheControl(cacheControl);
+            }
+            request = builder.build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(new IOException("Invalid URL: " + url, e));
+        }
+
+        CompletableFuture<FetchResult> future = new CompletableFuture<>();
+        Call call = httpClient.newCall(request);
+        if (callTimeoutMs > 0) {
+            call.timeout().timeout(callTimeoutMs, TimeUnit.MILLISECONDS);
+        }
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                FetchResult result = null;
+                try {
+                    result = toResult(url, response);
+                    if (!future.complete(result) && result != null) {
+                        result.close();
+                    }
+                } catch (IOException e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    // A streamed body keeps the response open until the result is closed
+                    if (result == null || !result.isStreamed()) {
+                        response.close();
+                    }
+                }
+            }
+        });
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        return future;
+    }
+
+    private FetchResult toResult(String url, Response response) throws IOException {
+        String cacheStatus = cacheStatus(response);
+        if (cacheStatus == null) {
+            // only-if-cached request that the cache could not satisfy
+            return null;
+        }
+
+        ResponseBody body = response.body();
+        MediaType mediaType = body != null ? body.contentType() : null;
+        Charset charset = mediaType != null ? mediaType.charset() : null;
+        String contentType = response.header("Content-Type");
+
+        Map<String, String> headers = new HashMap<>();
+        for (String name : response.headers().names()) {
+            headers.put(name, response.header(name));
+        }
+
+        byte[] bytes = new byte[0];
+        InputStream stream = null;
+        boolean truncated = false;
+        // Pre-flight: this runs once the headers are in and nothing of the body has been read, so
+        // a rejected body is never downloaded; closing the response abandons the rest of it. A
+        // decoded body has no length of its own, so its length on the wire stands in
+        String droppedReason = body != null ? bodyLimits.rejectReason(contentType, declaredLength(response, body)) : null;
+        if (droppedReason != null) {
+            log.debug("Not reading body of {}: {}", url, droppedReason);
+        } else if (body != null) {
+            // A body without a declared length is read up to the point where it has to be
+            // streamed or cut off
+            long limit = bodyLimits.limitFor(contentType);
+            long threshold = bodyLimits.getStreamThresholdBytes();
+            boolean streamable = bodyLimits.isStreamable(contentType) && limit > threshold;
+            InputStream in = body.byteStream();
+            if (streamable && body.contentLength() > threshold) {
+                stream = new BoundedInputStream(in, limit);
+            } else {
+                long buffered = Math.min(streamable ? threshold : limit, Integer.MAX_VALUE - 16);
+                byte[] prefix = readUpTo(in, buffered + 1);
+                if (prefix.length <= buffered) {
+                    bytes = prefix;
+                } else if (streamable) {
+                    stream = new BoundedInputStream(new SequenceInputStream(new ByteArrayInputStream(prefix), in), limit);
+                } else {
+                    bytes = Arrays.copyOf(prefix, (int) buffered);
+                    truncated = true;
+                    bodyLimits.recordTruncated();
+                }
+            }
+            if (stream != null) {
+                bodyLimits.recordStreamed();
+                log.debug("Streaming large body of {} ({} bytes declared)", url, body.contentLength());
+            }
+        }
+
+        return new FetchResult(
+            url,
+            response.request().url().toString(),
+            response.code(),
+            contentType,
+            charset,
+            bytes,
+            headers,
+            response.protocol().toString(),
+            cacheStatus,
+            stream,
+            truncated,
+            droppedReason
+        );
+    }
+
+    private static long declaredLength(Response response, ResponseBody body) {
+        if (body.contentLength() >= 0) {
+            return body.contentLength();
+        }
+        String encoded = response.header(CompressionInterceptor.ENCODED_LENGTH);
+        try {
+            return encoded != null ? Long.parseLong(encoded.trim()) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static byte[] readUpTo(InputStream in, long maxBytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.min(maxBytes, 64 * 1024));
+        byte[] chunk = new byte[8192];
+        long remaining = maxBytes;
+        int read;
+        while (remaining > 0 && (read = in.read(chunk, 0, (int) Math.min(chunk.length, remaining))) >= 0) {
+            out.write(chunk, 0, read);
+            remaining -= read;
+        }
+        return out.toByteArray();
+    }
+
+    private String cacheStatus(Response response) {
+        if (!responseCache.isEnabled()) {
+            return FetchResult.CACHE_DISABLED;
+        }
+        Response networkResponse = response.networkResponse();
+        if (networkResponse == null) {
+            if (response.cacheResponse() == null) {
+                return null;
+            }
+            responseCache.recordHit();
+            return FetchResult.CACHE_HIT;
+        }
+        if (networkResponse.code() == 304 && response.cacheResponse() != null) {
+            responseCache.recordRevalidated();
+            return FetchResult.CACHE_REVALIDATED;
+        }
+        responseCache.recordMiss();
+        return FetchResult.CACHE_MISS;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+}
@@ -0,0 +1,130 @@
+package com.scraper.service.fetch;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands out fetch permits from one token bucket per host plus a global bucket.
+ * Permits are returned as futures completed by a timer, so waiting for a slow host
+ * never parks a worker thread and requests to other hosts proceed at full speed.
+ * A host's robots.txt Crawl-delay replaces the default spacing for that host, in
+ * either direction, within configured bounds.
+ */
+@Component
+public class PolitenessScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(PolitenessScheduler.class);
+
+    private static final long IDLE_EVICTION_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Map<String, TokenBucket> hostBuckets = new ConcurrentHashMap<>();
+    private final TokenBucket globalBucket;
+    private final long hostIntervalNanos;
+    private final long minHostIntervalNanos;
+    private final long maxCrawlDelayNanos;
+    private final int hostBurst;
+    private final ScheduledExecutorService timer;
+
+    public PolitenessScheduler(
+            @Value("${scraper.rate-limit-delay}") long hostIntervalMs,
+            @Value("${scraper.politeness.host-burst:1}") int hostBurst,
+            @Value("${scraper.politeness.global-permits-per-second:20}") double globalPermitsPerSecond,
+            @Value("${scraper.politeness.global-burst:20}") int globalBurst,
+            @Value("${scraper.politeness.min-host-interval-ms:250}") long minHostIntervalMs,
+            @Value("${scraper.politeness.max-crawl-delay-ms:30000}") long maxCrawlDelayMs) {
+        this.hostIntervalNanos = TimeUnit.MILLISECONDS.toNanos(hostIntervalMs);
+        this.minHostIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minHostIntervalMs);
+        this.maxCrawlDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxCrawlDelayMs);
+        this.hostBurst = hostBurst;
+        // 0 (or less) leaves the global rate unlimited; only the per-host spacing applies
+        this.globalBucket = new TokenBucket(globalPermitsPerSecond > 0
+            ? (long) (TimeUnit.SECONDS.toNanos(1) / globalPermitsPerSecond) : 0, globalBurst);
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "politeness-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.scheduleWithFixedDelay(this::evictIdleHosts, 1, 1, TimeUnit.MINUTES);
+        log.info("Politeness scheduler: {} ms per host (burst {}), {} globally (burst {})",
+            hostIntervalMs, hostBurst, globalPermitsPerSecond > 0 ? globalPermitsPerSecond + " permits/s" : "unlimited",
+            globalBurst);
+    }
+
+    /**
+     * Reserves a permit for fetching the given URL. The returned future completes once
+     * both the host bucket and the global bucket allow the request to go out.
+     */
+    public CompletableFuture<Void> acquire(String url) {
+        // Read the clock after the lookup: a new bucket starts at its creation time
+        TokenBucket hostBucket = bucketFor(Hosts.of(url));
+        long now = System.nanoTime();
+        long hostReady = hostBucket.reserve(now);
+        long ready = globalBucket.reserve(hostReady);
+        return permitAt(ready, now);
+    }
+
+    /**
+     * Like {@link #acquire(String)}, but only reserves a permit that becomes usable within
+     * {@code maxWaitMs}; returns {@code null}, reserving nothing, when none would.
+     */
+    public CompletableFuture<Void> tryAcquire(String url, long maxWaitMs) {
+        TokenBucket hostBucket = bucketFor(Hosts.of(url));
+        long now = System.nanoTime();
+        long latest = now + TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMs));
+        long hostReady = hostBucket.nextAvailable(now);
+        if (hostReady > latest || globalBucket.nextAvailable(hostReady) > latest) {
+            return null;
+        }
+        long ready = globalBucket.reserve(hostBucket.reserve(now));
+        return permitAt(ready, now);
+    }
+
+    private CompletableFuture<Void> permitAt(long readyNanos, long nowNanos) {
+        long waitNanos = readyNanos - nowNanos;
+        if (waitNanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        timer.schedule(() -> permit.complete(null), waitNanos, TimeUnit.NANOSECONDS);
+        return permit;
+    }
+
+    /**
+     * Spaces requests to the URL's host by its Crawl-delay, clamped to
+     * [min-host-interval-ms, max-crawl-delay-ms]; a negative delay (none given) restores the
+     * default spacing. Called before each acquire, so the setting outlives idle eviction.
+     */
+    public void setCrawlDelay(String url, long crawlDelayMs) {
+        long interval = crawlDelayMs < 0 ? hostIntervalNanos
+            : Math.min(Math.max(TimeUnit.MILLISECONDS.toNanos(crawlDelayMs), minHostIntervalNanos), maxCrawlDelayNanos);
+        TokenBucket bucket = bucketFor(Hosts.of(url));
+        if (bucket.getIntervalNanos() != interval) {
+            bucket.setIntervalNanos(interval);
+        }
+    }
+
+    private TokenBucket bucketFor(String host) {
+        return hostBuckets.computeIfAbsent(host, h -> new TokenBucket(hostIntervalNanos, hostBurst));
+    }
+
+    private void evictIdleHosts() {
+        long now = System.nanoTime();
+        hostBuckets.entrySet().removeIf(entry -> entry.getValue().isIdleSince(now, IDLE_EVICTION_NANOS));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+}
@@ -0,0 +1,105 @@
+package com.scraper.service.fetch;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLPeerUnverifiedException;
+import java.io.IOException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether a failed fetch is worth repeating and how long to back off before doing so.
+ */
+@Component
+public class RetryPolicy {
+
+    private final int maxRetries;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+
+    public RetryPolicy(
+            @Value("${scraper.max-retries}") int maxRetries,
+            @Value("${scraper.retry.base-delay-ms:250}") long baseDelayMs,
+            @Value("${scraper.retry.max-delay-ms:10000}") long maxDelayMs) {
+        this.maxRetries = maxRetries;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Transport failures are retryable unless they can never succeed on a second try:
+     * unknown hosts, certificate problems, malformed URLs and cancellations.
+     */
+    public boolean isRetryable(Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof CancellationException
+                || cause instanceof UnknownHostException
+                || cause instanceof SSLPeerUnverifiedException
+                || cause.getCause() instanceof IllegalArgumentException) {
+            return false;
+        }
+        return cause instanceof IOException;
+    }
+
+    /**
+     * Throttling and transient gateway statuses are retryable; everything else is final.
+     */
+    public boolean isRetryable(FetchResult result) {
+        int status = result.getStatusCode();
+        return status == 408 || status == 429 || status == 502 || status == 503 || status == 504;
+    }
+
+    /**
+     * Backoff before the given retry (0-based), using exponential growth with full jitter.
+     * A Retry-After header on the failed response acts as a floor. Returns -1 when the
+     * server asks us to wait longer than the configured maximum, meaning: give up.
+     */
+    public long backoffMillis(int retry, FetchResult failedResult) {
+        long ceiling = Math.min(maxDelayMs, baseDelayMs << Math.min(retry, 20));
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+
+        long retryAfter = failedResult != null ? retryAfterMillis(failedResult.getHeader("Retry-After")) : -1;
+        if (retryAfter > maxDelayMs) {
+            return -1;
+        }
+        return Math.max(delay, retryAfter);
+    }
+
+    static long retryAfterMillis(String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return -1;
+        }
+        String value = retryAfter.trim();
+        try {
+            return Long.parseLong(value) * 1000;
+        } catch (NumberFormatException e) {
+            // Not delta-seconds, try an HTTP date
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis());
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
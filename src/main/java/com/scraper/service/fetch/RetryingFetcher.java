@@ -0,0 +1,245 @@
+package com.scraper.service.fetch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wraps the {@link Fetcher} with the {@link RetryPolicy}: retryable failures are repeated
+ * after a jittered backoff (and a fresh politeness permit), and a hedged duplicate request
+ * is sent when a fetch runs past the host's p95 latency, if the host's politeness spacing
+ * allows one before the first request times out. Every request, hedges and retries
+ * included, takes one of the host's {@link AdaptiveHostLimits} slots and runs with the host's
+ * learned timeout.
+ */
+@Component
+public class RetryingFetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(RetryingFetcher.class);
+
+    private static final double HEDGE_PERCENTILE = 95.0;
+
+    private final Fetcher fetcher;
+    private final RetryPolicy retryPolicy;
+    private final HostLatencyTracker latencyTracker;
+    private final AdaptiveHostLimits hostLimits;
+    private final PolitenessScheduler politenessScheduler;
+    private final boolean hedgingEnabled;
+    private final long minHedgeDelayMs;
+
+    public RetryingFetcher(
+            Fetcher fetcher,
+            RetryPolicy retryPolicy,
+            HostLatencyTracker latencyTracker,
+            AdaptiveHostLimits hostLimits,
+            PolitenessScheduler politenessScheduler,
+            @Value("${scraper.retry.hedge-enabled:true}") boolean hedgingEnabled,
+            @Value("${scraper.retry.min-hedge-delay-ms:100}") long minHedgeDelayMs) {
+        this.fetcher = fetcher;
+        this.retryPolicy = retryPolicy;
+        this.latencyTracker = latencyTracker;
+        this.hostLimits = hostLimits;
+        this.politenessScheduler = politenessScheduler;
+        this.hedgingEnabled = hedgingEnabled;
+        this.minHedgeDelayMs = minHedgeDelayMs;
+    }
+
+    /**
+     * Fetches the URL, retrying and hedging as configured. Extra requests are counted in
+     * {@code attempts}, which stays valid after the returned future completes either way.
+     */
+    public CompletableFuture<FetchResult> fetchAsync(String url, FetchAttempts attempts) {
+        return fetchAsync(url, attempts, Deadline.NONE);
+    }
+
+    /**
+     * Fetches within the deadline: every request's timeout is capped by the time left, and a
+     * retry is only scheduled if its backoff ends before the deadline.
+     */
+    public CompletableFuture<FetchResult> fetchAsync(String url, FetchAttempts attempts, Deadline deadline) {
+        CompletableFuture<FetchResult> outcome = new CompletableFuture<>();
+        attempt(url, 0, attempts, deadline, outcome);
+        return outcome;
+    }
+
+    /**
+     * Blocking variant of {@link #fetchAsync(String, FetchAttempts)}.
+     */
+    public FetchResult fetch(String url, FetchAttempts attempts) throws IOException {
+        try {
+            return fetchAsync(url, attempts).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching " + url, e);
+        } catch (ExecutionException | CompletionException e) {
+            Throwable cause = RetryPolicy.unwrap(e);
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    private void attempt(String url, int retry, FetchAttempts attempts, Deadline deadline,
+                         CompletableFuture<FetchResult> outcome) {
+        hedgedFetch(url, attempts, deadline).whenComplete((result, error) -> {
+            boolean retryable = error != null ? retryPolicy.isRetryable(error) : retryPolicy.isRetryable(result);
+            long backoff = retryable && retry < retryPolicy.getMaxRetries()
+                ? retryPolicy.backoffMillis(retry, result)
+                : -1;
+            if (backoff >= deadline.remainingMillis()) {
+                // The retry could not start in time; the failure we have is the answer
+                backoff = -1;
+            }
+
+            if (backoff < 0) {
+                if (error != null) {
+                    outcome.completeExceptionally(RetryPolicy.unwrap(error));
+                } else {
+                    outcome.complete(result);
+                }
+                return;
+            }
+
+            if (result != null) {
+                result.close();
+            }
+            attempts.recordRetry();
+            log.debug("Retrying {} in {} ms (retry {} of {}): {}", url, backoff, retry + 1, retryPolicy.getMaxRetries(),
+                error != null ? RetryPolicy.unwrap(error).toString() : "HTTP " + result.getStatusCode());
+
+            CompletableFuture.delayedExecutor(backoff, TimeUnit.MILLISECONDS).execute(() ->
+                politenessScheduler.acquire(url).thenRun(() -> attempt(url, retry + 1, attempts, deadline, outcome)));
+        });
+    }
+
+    private CompletableFuture<FetchResult> hedgedFetch(String url, FetchAttempts attempts, Deadline deadline) {
+        String host = Hosts.of(url);
+        CompletableFuture<FetchResult> primary = send(host, url, deadline);
+
+        long hedgeAfter = hedgingEnabled ? latencyTracker.percentile(host, HEDGE_PERCENTILE) : -1;
+        long hedgeDelay = Math.max(hedgeAfter, minHedgeDelayMs);
+        long primaryTimeout = deadline.cap(hostLimits.timeoutMillis(host));
+        if (hedgeAfter < 0 || hedgeDelay >= primaryTimeout) {
+            return primary;
+        }
+
+        CompletableFuture<FetchResult> winner = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        settleInto(winner, primary, pending);
+
+        CompletableFuture.delayedExecutor(hedgeDelay, TimeUnit.MILLISECONDS).execute(() -> {
+            if (winner.isDone()) {
+                return;
+            }
+            // The hedge is spaced like any other request to the host; one that could only go
+            // out after the first request has timed out is not worth sending
+            CompletableFuture<Void> permit = politenessScheduler.tryAcquire(url, primaryTimeout - hedgeDelay);
+            if (permit == null) {
+                log.debug("Not hedging {}: the host's spacing allows no request before the first one times out", url);
+                return;
+            }
+            permit.thenRun(() -> {
+                // Joins only while the race is open: never a request that is cancelled at once
+                if (winner.isDone() || pending.getAndUpdate(count -> count == 0 ? 0 : count + 1) == 0) {
+                    return;
+                }
+                attempts.recordHedge();
+                log.debug("Hedging {} after {} ms", url, hedgeDelay);
+                CompletableFuture<FetchResult> hedge = send(host, url, deadline);
+                settleInto(winner, hedge, pending);
+                winner.whenComplete((result, error) -> hedge.cancel(true));
+            });
+        });
+
+        // Whichever request wins, the other one is no longer needed
+        winner.whenComplete((result, error) -> primary.cancel(true));
+        return winner;
+    }
+
+    /**
+     * The first successful response wins; a failure only counts once no other request is in flight.
+     */
+    private void settleInto(CompletableFuture<FetchResult> winner, CompletableFuture<FetchResult> request,
+                            AtomicInteger pending) {
+        request.whenComplete((result, error) -> {
+            if (error == null) {
+                if (!winner.complete(result) && result != null) {
+                    // Lost the race after all; release a streamed body
+                    result.close();
+                }
+            } else if (pending.decrementAndGet() == 0) {
+                winner.completeExceptionally(error);
+            }
+        });
+    }
+
+    /**
+     * One request within the host's concurrency limit and timeout, or the time left before the
+     * deadline if that is shorter. With a deadline the whole call, body included, must also end
+     * by then. Cancelling the returned future cancels the request, or the wait for a slot.
+     */
+    private CompletableFuture<FetchResult> send(String host, String url, Deadline deadline) {
+        CompletableFuture<FetchResult> outcome = new CompletableFuture<>();
+        CompletableFuture<AdaptiveHostLimits.Permit> slot = hostLimits.acquire(host);
+        slot.thenAccept(permit -> {
+            if (outcome.isDone()) {
+                permit.release(AdaptiveHostLimits.Outcome.IGNORED);
+                return;
+            }
+            long start = System.nanoTime();
+            long hostTimeout = hostLimits.timeoutMillis(host);
+            long timeout = deadline.cap(hostTimeout);
+            CompletableFuture<FetchResult> request = deadline.isBounded()
+                ? fetcher.fetchAsync(url, timeout, Math.max(1, deadline.remainingMillis()))
+                : fetcher.fetchAsync(url, timeout);
+            outcome.whenComplete((result, error) -> {
+                if (outcome.isCancelled()) {
+                    request.cancel(true);
+                }
+            });
+            request.whenComplete((result, error) -> {
+                // Failed once the caller's deadline had passed: likely cut short by it, not the host's doing
+                boolean cutShort = error != null && deadline.isExpired();
+                permit.release(cutShort ? AdaptiveHostLimits.Outcome.IGNORED
+                    : record(host, result, error, System.nanoTime() - start));
+                if (error != null) {
+                    outcome.completeExceptionally(error);
+                } else if (!outcome.complete(result) && result != null) {
+                    result.close();
+                }
+            });
+        });
+        outcome.whenComplete((result, error) -> {
+            if (outcome.isCancelled()) {
+                slot.cancel(false);
+            }
+        });
+        return outcome;
+    }
+
+    /** Feeds a finished request to the latency histogram and classifies it for the host's limit. */
+    private AdaptiveHostLimits.Outcome record(String host, FetchResult result, Throwable error, long elapsedNanos) {
+        // Cancelled losers of a hedge race and disk cache hits say nothing about the host's latency
+        if (error == null ? FetchResult.CACHE_HIT.equals(result.getCacheStatus())
+                : RetryPolicy.unwrap(error) instanceof CancellationException) {
+            return AdaptiveHostLimits.Outcome.IGNORED;
+        }
+        boolean congested = error != null ? retryPolicy.isRetryable(error) : retryPolicy.isRetryable(result);
+        latencyTracker.record(host, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), error != null || congested);
+        if (congested) {
+            return AdaptiveHostLimits.Outcome.CONGESTED;
+        }
+        // Unknown hosts and certificate errors fail fast whatever the load
+        return error != null ? AdaptiveHostLimits.Outcome.IGNORED : AdaptiveHostLimits.Outcome.SUCCESS;
+    }
+}
@@ -0,0 +1,195 @@
+package com.scraper.service.fetch;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The robots.txt rules that apply to this scraper on one host, parsed as RFC 9309 has it: the
+ * groups naming our product token apply, else the {@code *} groups; the longest matching
+ * Allow/Disallow pattern decides, Allow winning a tie; {@code *} matches any run of characters
+ * and a trailing {@code $} anchors the end. Crawl-delay, which the RFC leaves out, is read the
+ * way most crawlers that honor it do: seconds, possibly fractional, from the applicable groups.
+ */
+public final class RobotsRules {
+
+    public static final RobotsRules ALLOW_ALL = new RobotsRules(List.of(), -1, null);
+
+    private static final class Rule {
+        private final String pattern;
+        private final boolean allow;
+
+        Rule(String pattern, boolean allow) {
+            this.pattern = pattern;
+            this.allow = allow;
+        }
+    }
+
+    private final List<Rule> rules;
+    private final long crawlDelayMillis;
+    private final String unavailableReason;
+
+    private RobotsRules(List<Rule> rules, long crawlDelayMillis, String unavailableReason) {
+        this.rules = rules;
+        this.crawlDelayMillis = crawlDelayMillis;
+        this.unavailableReason = unavailableReason;
+    }
+
+    /**
+     * Complete disallow, for a robots.txt that could not be fetched (5xx, network error): the
+     * RFC has crawlers assume the worst until it can be read.
+     */
+    public static RobotsRules unavailable(String reason) {
+        return new RobotsRules(List.of(new Rule("/", false)), -1, reason);
+    }
+
+    /** Parses a robots.txt body for the given product token (e.g. {@code web-scraper}). */
+    public static RobotsRules parse(String body, String productToken) {
+        String token = productToken.toLowerCase(Locale.ROOT);
+        List<Rule> ours = new ArrayList<>();
+        List<Rule> any = new ArrayList<>();
+        long oursDelay = -1;
+        long anyDelay = -1;
+        boolean oursFound = false;
+
+        // The groups the current run of lines belongs to
+        boolean inOurs = false;
+        boolean inAny = false;
+        boolean readingAgents = false;
+
+        for (String rawLine : body.split("\r\n|\r|\n")) {
+            int comment = rawLine.indexOf('#');
+            String line = (comment >= 0 ? rawLine.substring(0, comment) : rawLine).trim();
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String key = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = line.substring(colon + 1).trim();
+
+            if (key.equals("user-agent")) {
+                if (!readingAgents) {
+                    // A user-agent line after rules starts a new group
+                    inOurs = false;
+                    inAny = false;
+                    readingAgents = true;
+                }
+                String agent = value.split("[\\s/]", 2)[0].toLowerCase(Locale.ROOT);
+                if (agent.equals("*")) {
+                    inAny = true;
+                } else if (!agent.isEmpty() && agent.equals(token)) {
+                    inOurs = true;
+                    oursFound = true;
+                }
+                continue;
+            }
+            readingAgents = false;
+            switch (key) {
+                case "allow":
+                case "disallow":
+                    // An empty Disallow allows everything, which is what no rule means too
+                    if (!value.isEmpty()) {
+                        Rule rule = new Rule(value, key.equals("allow"));
+                        if (inOurs) ours.add(rule);
+                        if (inAny) any.add(rule);
+                    }
+                    break;
+                case "crawl-delay":
+                    long delay = parseDelay(value);
+                    if (inOurs && oursDelay < 0) oursDelay = delay;
+                    if (inAny && anyDelay < 0) anyDelay = delay;
+                    break;
+                default:
+                    // Sitemap and unknown keys do not end a group
+                    break;
+            }
+        }
+        return oursFound ? new RobotsRules(ours, oursDelay, null) : new RobotsRules(any, anyDelay, null);
+    }
+
+    public boolean isAllowed(String url) {
+        if (rules.isEmpty()) {
+            return true;
+        }
+        String path;
+        try {
+            URI uri = URI.create(url.trim());
+            path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+            if (uri.getRawQuery() != null) {
+                path += "?" + uri.getRawQuery();
+            }
+        } catch (Exception e) {
+            return true;
+        }
+        if (path.equals("/robots.txt")) {
+            return true;
+        }
+
+        int bestLength = -1;
+        boolean allowed = true;
+        for (Rule rule : rules) {
+            int length = rule.pattern.length();
+            if (length >= bestLength && matches(rule.pattern, path)) {
+                if (length > bestLength || rule.allow) {
+                    allowed = rule.allow;
+                }
+                bestLength = length;
+            }
+        }
+        return allowed;
+    }
+
+    /** The host's Crawl-delay in milliseconds, or -1 when it sets none. */
+    public long getCrawlDelayMillis() {
+        return crawlDelayMillis;
+    }
+
+    /** Why these rules are a blanket disallow rather than the host's own, or {@code null}. */
+    public String getUnavailableReason() {
+        return unavailableReason;
+    }
+
+    /**
+     * Glob match of a robots.txt path pattern against a path: {@code *} matches any run of
+     * characters, a trailing {@code $} requires the path to end there, and otherwise matching
+     * a prefix of the path is enough.
+     */
+    static boolean matches(String pattern, String path) {
+        boolean anchored = pattern.endsWith("$");
+        int end = anchored ? pattern.length() - 1 : pattern.length();
+        int p = 0;
+        int s = 0;
+        int star = -1;
+        int mark = 0;
+        while (s < path.length()) {
+            if (p < end && pattern.charAt(p) == '*') {
+                star = p++;
+                mark = s;
+            } else if (p < end && pattern.charAt(p) == path.charAt(s)) {
+                p++;
+                s++;
+            } else if (p == end && !anchored) {
+                return true;
+            } else if (star >= 0) {
+                p = star + 1;
+                s = ++mark;
+            } else {
+                return false;
+            }
+        }
+        while (p < end && pattern.charAt(p) == '*') {
+            p++;
+        }
+        return p == end;
+    }
+
+    private static long parseDelay(String value) {
+        try {
+            double seconds = Double.parseDouble(value);
+            return seconds >= 0 && !Double.isNaN(seconds) ? (long) (seconds * 1000) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
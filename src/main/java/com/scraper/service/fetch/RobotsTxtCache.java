@@ -0,0 +1,174 @@
+package com.scraper.service.fetch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parsed robots.txt rules per origin (scheme, host and port). Concurrent lookups for an origin
+ * share one fetch; rules are kept for {@code ttl-minutes}. Missing files (4xx) are cached for as
+ * long, as "allow everything". Unreachable ones (5xx, network errors) mean "disallow everything"
+ * per RFC 9309, and are only cached for {@code error-ttl-seconds} so a host that recovers is
+ * crawled again soon.
+ */
+@Component
+public class RobotsTxtCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RobotsTxtCache.class);
+
+    private final Fetcher fetcher;
+    private final boolean enabled;
+    private final String productToken;
+    private final long ttlMillis;
+    private final long errorTtlMillis;
+    private final int maxOrigins;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong fetches = new AtomicLong();
+    private final AtomicLong unavailable = new AtomicLong();
+    private final AtomicLong disallowed = new AtomicLong();
+
+    public RobotsTxtCache(
+            Fetcher fetcher,
+            @Value("${scraper.robots.enabled:true}") boolean enabled,
+            @Value("${scraper.robots.product-token:web-scraper}") String productToken,
+            @Value("${scraper.robots.ttl-minutes:1440}") long ttlMinutes,
+            @Value("${scraper.robots.error-ttl-seconds:300}") long errorTtlSeconds,
+            @Value("${scraper.robots.max-origins:10000}") int maxOrigins) {
+        this.fetcher = fetcher;
+        this.enabled = enabled;
+        this.productToken = productToken;
+        this.ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+        this.errorTtlMillis = TimeUnit.SECONDS.toMillis(errorTtlSeconds);
+        this.maxOrigins = maxOrigins;
+        log.info("robots.txt: {} for '{}', cached {} min ({} s when unreachable)",
+            enabled ? "honored" : "ignored", productToken, ttlMinutes, errorTtlSeconds);
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<RobotsRules> rules;
+        // Until the fetch completes the entry never expires, so lookups join it
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        Entry(CompletableFuture<RobotsRules> rules) {
+            this.rules = rules;
+        }
+    }
+
+    /**
+     * The rules for the URL's origin, fetching robots.txt when they are not cached. Never
+     * completes exceptionally; with robots.txt handling disabled every URL is allowed.
+     */
+    public CompletableFuture<RobotsRules> rulesFor(String url) {
+        String origin = enabled ? origin(url) : null;
+        if (origin == null) {
+            return CompletableFuture.completedFuture(RobotsRules.ALLOW_ALL);
+        }
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(origin);
+        if (entry == null || entry.expiresAt <= now) {
+            entry = entries.compute(origin, (key, existing) ->
+                existing != null && existing.expiresAt > now ? existing : load(key));
+            if (entries.size() > maxOrigins) {
+                evict(now);
+            }
+        }
+        return entry.rules;
+    }
+
+    /** Counts a URL turned away, for {@link #stats()}. */
+    public void recordDisallowed() {
+        disallowed.incrementAndGet();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("productToken", productToken);
+        stats.put("origins", entries.size());
+        stats.put("fetches", fetches.get());
+        stats.put("unavailable", unavailable.get());
+        stats.put("disallowedUrls", disallowed.get());
+        return stats;
+    }
+
+    private Entry load(String origin) {
+        fetches.incrementAndGet();
+        CompletableFuture<RobotsRules> rules = new CompletableFuture<>();
+        Entry entry = new Entry(rules);
+        fetcher.fetchAsync(origin + "/robots.txt").whenComplete((result, error) -> {
+            RobotsRules parsed;
+            try {
+                parsed = rulesOf(origin, result, error);
+            } catch (RuntimeException e) {
+                parsed = RobotsRules.unavailable("robots.txt of " + origin + " could not be read: " + e.getMessage());
+            }
+            long ttl = ttlMillis;
+            if (parsed.getUnavailableReason() != null) {
+                ttl = errorTtlMillis;
+                unavailable.incrementAndGet();
+                log.debug("{}; disallowing the host for {} s", parsed.getUnavailableReason(), ttl / 1000);
+            }
+            entry.expiresAt = System.currentTimeMillis() + ttl;
+            rules.complete(parsed);
+        });
+        return entry;
+    }
+
+    private RobotsRules rulesOf(String origin, FetchResult result, Throwable error) {
+        if (error != null) {
+            return RobotsRules.unavailable("robots.txt of " + origin + " could not be fetched: " + error.getMessage());
+        }
+        try (result) {
+            int status = result.getStatusCode();
+            if (status >= 200 && status < 300) {
+                Charset charset = result.getCharset() != null ? result.getCharset() : StandardCharsets.UTF_8;
+                return RobotsRules.parse(new String(result.getBody(), charset), productToken);
+            }
+            // A missing robots.txt allows everything; 429 is a server asking us to slow down
+            if (status >= 400 && status < 500 && status != 429) {
+                return RobotsRules.ALLOW_ALL;
+            }
+            return RobotsRules.unavailable("robots.txt of " + origin + " answered HTTP " + status);
+        }
+    }
+
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        // Still over: drop arbitrary origins, which only costs them a refetch
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (entries.size() > maxOrigins && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /** {@code scheme://host[:port]} of an http(s) URL, or {@code null}. */
+    static String origin(String url) {
+        try {
+            URI uri = URI.create(url.trim());
+            String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase(Locale.ROOT) : null;
+            if (uri.getHost() == null || !("http".equals(scheme) || "https".equals(scheme))) {
+                return null;
+            }
+            String origin = scheme + "://" + uri.getHost().toLowerCase(Locale.ROOT);
+            return uri.getPort() != -1 ? origin + ":" + uri.getPort() : origin;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.scraper.service.fetch;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller starts the work, callers that
+ * arrive while it is still running attach to the same result. The key is forgotten as soon as
+ * the work completes, so nothing is cached beyond the in-flight window.
+ *
+ * <p>Each flight carries the state its first caller passed in. A later caller only attaches if
+ * {@code joins} accepts that state, which lets it widen the work before it is done or decline a
+ * flight that can no longer serve it; a declined call runs on its own, unshared.
+ */
+public class SingleFlight<K, S, V> {
+
+    private final ConcurrentMap<K, Flight<S, V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Runs {@code call} unless a call for the same key is already in flight and {@code joins}
+     * accepts its state. Every caller gets its own dependent future, so cancelling one does not
+     * cancel the shared work.
+     */
+    public CompletableFuture<V> execute(K key, S state, Predicate<? super S> joins, Supplier<CompletableFuture<V>> call) {
+        Flight<S, V> flight = new Flight<>(state);
+        Flight<S, V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            if (joins.test(existing.state)) {
+                coalesced.incrementAndGet();
+                return existing.shared.copy();
+            }
+            started.incrementAndGet();
+            return call.get();
+        }
+
+        started.incrementAndGet();
+        try {
+            call.get().whenComplete((value, error) -> {
+                // Unregister before completing so a late caller never attaches to a finished flight
+                inFlight.remove(key, flight);
+                if (error != null) {
+                    flight.shared.completeExceptionally(error);
+                } else {
+                    flight.shared.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, flight);
+            flight.shared.completeExceptionally(e);
+        }
+        return flight.shared.copy();
+    }
+
+    /**
+     * Attaches to the call in flight for the key, if there is one and {@code joins} accepts its
+     * state, without ever starting work; {@code null} otherwise.
+     */
+    public CompletableFuture<V> attach(K key, Predicate<? super S> joins) {
+        Flight<S, V> existing = inFlight.get(key);
+        if (existing == null || !joins.test(existing.state)) {
+            return null;
+        }
+        coalesced.incrementAndGet();
+        return existing.shared.copy();
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    public long getStarted() {
+        return started.get();
+    }
+
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    private static final class Flight<S, V> {
+        private final S state;
+        private final CompletableFuture<V> shared = new CompletableFuture<>();
+
+        Flight(S state) {
+            this.state = state;
+        }
+    }
+}
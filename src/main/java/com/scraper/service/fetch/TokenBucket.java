@@ -0,0 +1,51 @@
+package com.scraper.service.fetch;
+
+/**
+ * Token bucket kept in its virtual-scheduling form: instead of counting tokens we track
+ * the theoretical arrival time of the next permit, which lets callers reserve a permit
+ * for a point in time without holding a thread until then.
+ */
+class TokenBucket {
+
+    private long intervalNanos;
+    private final int burst;
+    private long theoreticalArrival;
+
+    TokenBucket(long intervalNanos, int burst) {
+        this.intervalNanos = Math.max(0, intervalNanos);
+        this.burst = Math.max(1, burst);
+        this.theoreticalArrival = System.nanoTime();
+    }
+
+    /**
+     * Reserves one permit that may be used no earlier than {@code atNanos}.
+     *
+     * @return the {@link System#nanoTime()} instant at which the permit becomes usable
+     */
+    synchronized long reserve(long atNanos) {
+        long earliest = nextAvailable(atNanos);
+        theoreticalArrival = Math.max(theoreticalArrival, earliest) + intervalNanos;
+        return earliest;
+    }
+
+    /** When a permit wanted at {@code atNanos} would become usable, without reserving it. */
+    synchronized long nextAvailable(long atNanos) {
+        long burstTolerance = (burst - 1) * intervalNanos;
+        return Math.max(atNanos, theoreticalArrival - burstTolerance);
+    }
+
+    synchronized void setIntervalNanos(long intervalNanos) {
+        this.intervalNanos = Math.max(0, intervalNanos);
+    }
+
+    synchronized long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    /**
+     * A bucket is idle once every permit it handed out is in the past and it has refilled.
+     */
+    synchronized boolean isIdleSince(long nowNanos, long idleNanos) {
+        return theoreticalArrival + idleNanos < nowNanos;
+    }
+}
@@ -0,0 +1,107 @@
+package com.scraper.service.fetch;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Reduces equivalent spellings of a URL to one key: scheme and host are lower-cased, default
+ * ports, fragments and tracking parameters are dropped, dot segments are resolved, query
+ * parameters are sorted by name and an empty path becomes "/". Unparseable input is returned
+ * unchanged so it still maps to a stable key.
+ */
+public final class UrlCanonicalizer {
+
+    // Parameters that only say where a click came from; utm_* is matched as a prefix
+    private static final Set<String> TRACKING_PARAMETERS = Set.of(
+        "gclid", "dclid", "gbraid", "wbraid", "fbclid", "msclkid", "yclid", "twclid", "igshid",
+        "mc_cid", "mc_eid", "_ga", "_gl", "_hsenc", "_hsmi", "mkt_tok", "ref_src");
+
+    private UrlCanonicalizer() {}
+
+    public static String canonicalize(String url) {
+        if (url == null) {
+            return "";
+        }
+        try {
+            URI uri = new URI(url.trim()).normalize();
+            String scheme = uri.getScheme();
+            String host = uri.getHost();
+            if (scheme == null || host == null) {
+                return url;
+            }
+            scheme = scheme.toLowerCase(Locale.ROOT);
+            host = host.toLowerCase(Locale.ROOT);
+            if (host.endsWith(".")) {
+                host = host.substring(0, host.length() - 1);
+            }
+
+            StringBuilder key = new StringBuilder(url.length());
+            key.append(scheme).append("://").append(host);
+            int port = uri.getPort();
+            if (port != -1 && !(port == 80 && "http".equals(scheme)) && !(port == 443 && "https".equals(scheme))) {
+                key.append(':').append(port);
+            }
+            String path = uri.getRawPath();
+            key.append(path == null || path.isEmpty() ? "/" : path);
+            String query = canonicalQuery(uri.getRawQuery());
+            if (!query.isEmpty()) {
+                key.append('?').append(query);
+            }
+            return key.toString();
+        } catch (Exception e) {
+            return url;
+        }
+    }
+
+    /**
+     * A 64-bit fingerprint of the canonical form, for sets that cannot afford to keep the URL
+     * itself. Collisions are negligible below billions of URLs.
+     */
+    public static long fingerprint(String url) {
+        String canonical = canonicalize(url);
+        // FNV-1a over the UTF-16 code units, then the MurmurHash3 finalizer to spread the bits
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < canonical.length(); i++) {
+            hash ^= canonical.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Tracking parameters and empty pieces removed, the rest sorted by name; parameters of the
+     * same name keep their relative order, since some sites read repeated values as a list.
+     */
+    private static String canonicalQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return "";
+        }
+        List<String> parameters = new ArrayList<>();
+        for (String parameter : rawQuery.split("&")) {
+            if (!parameter.isEmpty() && !isTracking(name(parameter))) {
+                parameters.add(parameter);
+            }
+        }
+        parameters.sort(Comparator.comparing(UrlCanonicalizer::name));
+        return String.join("&", parameters);
+    }
+
+    private static String name(String parameter) {
+        int equals = parameter.indexOf('=');
+        return equals >= 0 ? parameter.substring(0, equals) : parameter;
+    }
+
+    private static boolean isTracking(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        return lower.startsWith("utm_") || TRACKING_PARAMETERS.contains(lower);
+    }
+}
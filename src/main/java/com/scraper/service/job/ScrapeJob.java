@@ -0,0 +1,142 @@
+package com.scraper.service.job;
+
+import com.scraper.model.ScrapeJobStatus;
+import com.scraper.model.ScrapeRequest;
+import com.scraper.model.ScrapeResponse;
+import com.scraper.model.ScrapedData;
+import com.scraper.service.ScrapeListener;
+import com.scraper.service.WebScrapingService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One submitted scrape and everything it has produced so far. Results are kept in the order
+ * their URLs finished and are only ever appended, so a page of results stays the same however
+ * often it is read, while the job runs and after.
+ */
+public final class ScrapeJob implements ScrapeListener {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, ERROR;
+
+        public String value() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final String id;
+    private final ScrapeRequest request;
+    private final long submittedAt = System.currentTimeMillis();
+
+    // Guarded by this
+    private final List<ScrapedData> results = new ArrayList<>();
+    private State state = State.QUEUED;
+    private int plannedUrls;
+    private int successes;
+    private int failures;
+    private long startedAt;
+    private long finishedAt;
+    private Map<String, Object> metadata;
+    private String message;
+
+    ScrapeJob(String id, ScrapeRequest request) {
+        this.id = id;
+        this.request = request;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    ScrapeRequest getRequest() {
+        return request;
+    }
+
+    synchronized void start() {
+        state = State.RUNNING;
+        startedAt = System.currentTimeMillis();
+    }
+
+    /** Records the outcome; the results were already reported one by one. */
+    synchronized void finish(ScrapeResponse response) {
+        boolean failed = "error".equals(response.getStatus());
+        state = failed ? State.ERROR : State.COMPLETED;
+        finishedAt = System.currentTimeMillis();
+        metadata = response.getMetadata();
+        message = response.getMessage();
+        // Whatever was planned, the job is over with what it has
+        plannedUrls = results.size();
+    }
+
+    synchronized void fail(Throwable error) {
+        state = State.ERROR;
+        finishedAt = System.currentTimeMillis();
+        plannedUrls = results.size();
+        message = "Scraping failed: " + error.getMessage();
+    }
+
+    @Override
+    public synchronized void onPlanned(int urls) {
+        plannedUrls = urls;
+    }
+
+    @Override
+    public synchronized void onResult(ScrapedData result) {
+        results.add(result);
+        if ("success".equals(result.getStatus())) {
+            successes++;
+        } else if (WebScrapingService.isFailure(result.getStatus())) {
+            failures++;
+        }
+    }
+
+    /** The job holds its results itself; the final response need not list them again. */
+    @Override
+    public boolean keepsResults() {
+        return false;
+    }
+
+    public synchronized boolean isFinished() {
+        return state == State.COMPLETED || state == State.ERROR;
+    }
+
+    /** When the job finished, or 0 while it is queued or running. */
+    synchronized long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int getResultCount() {
+        return results.size();
+    }
+
+    /** Up to {@code limit} results from {@code offset} on, in the order their URLs finished. */
+    public synchronized List<ScrapedData> getResults(int offset, int limit) {
+        int from = Math.min(offset, results.size());
+        int to = (int) Math.min((long) from + limit, results.size());
+        return new ArrayList<>(results.subList(from, to));
+    }
+
+    public synchronized ScrapeJobStatus toStatus() {
+        return ScrapeJobStatus.builder()
+            .jobId(id)
+            .status(state.value())
+            .searchTopic(request.getSearchTopic())
+            .totalUrls(Math.max(plannedUrls, results.size()))
+            .completedUrls(results.size())
+            .successfulScrapes(successes)
+            .failedScrapes(failures)
+            .submittedAt(submittedAt)
+            .startedAt(startedAt > 0 ? startedAt : null)
+            .finishedAt(finishedAt > 0 ? finishedAt : null)
+            .metadata(metadata)
+            .message(message)
+            .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.scraper.service.job;
+
+import com.scraper.config.ExecutionMode;
+import com.scraper.model.ScrapeRequest;
+import com.scraper.service.WebScrapingService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs scrapes in the background so the HTTP request that submits one returns at once. At
+ * most {@code max-running} jobs scrape at a time and the rest wait in submission order. Jobs
+ * are kept in memory: a finished job is dropped {@code retention-minutes} after it finished,
+ * or earlier, oldest first, when {@code max-retained} jobs are held. A submission that would
+ * need to drop an unfinished job is refused instead.
+ */
+@Service
+public class ScrapeJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ScrapeJobService.class);
+
+    private final WebScrapingService webScrapingService;
+    private final ExecutorService executor;
+    private final int maxRetained;
+    private final long retentionMillis;
+
+    private final Map<String, ScrapeJob> jobs = new ConcurrentHashMap<>();
+
+    public ScrapeJobService(
+            WebScrapingService webScrapingService,
+            ExecutionMode executionMode,
+            @Value("${scraper.jobs.max-running:4}") int maxRunning,
+            @Value("${scraper.jobs.max-retained:200}") int maxRetained,
+            @Value("${scraper.jobs.retention-minutes:60}") long retentionMinutes) {
+        this.webScrapingService = webScrapingService;
+        this.executor = executionMode.newExecutor("scrape-job-", maxRunning);
+        this.maxRetained = Math.max(1, maxRetained);
+        this.retentionMillis = TimeUnit.MINUTES.toMillis(retentionMinutes);
+        log.info("Scrape jobs: {} running at a time, {} retained for {} min after finishing",
+            maxRunning, this.maxRetained, retentionMinutes);
+    }
+
+    /**
+     * Queues the scrape and returns its job right away, or {@code null} when every retained
+     * job is still unfinished and none can make room.
+     */
+    public synchronized ScrapeJob submit(ScrapeRequest request) {
+        evict();
+        if (jobs.size() >= maxRetained) {
+            return null;
+        }
+        ScrapeJob job = new ScrapeJob(UUID.randomUUID().toString(), request);
+        jobs.put(job.getId(), job);
+        executor.execute(() -> run(job));
+        log.info("Queued scrape job {} for topic: {}", job.getId(), request.getSearchTopic());
+        return job;
+    }
+
+    /** The job, or {@code null} when it is unknown or was already dropped. */
+    public ScrapeJob get(String jobId) {
+        ScrapeJob job = jobs.get(jobId);
+        if (job != null && isExpired(job, System.currentTimeMillis())) {
+            jobs.remove(jobId, job);
+            return null;
+        }
+        return job;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (ScrapeJob.State state : ScrapeJob.State.values()) {
+            stats.put(state.value(), jobs.values().stream().filter(job -> job.getState() == state).count());
+        }
+        stats.put("maxRetained", maxRetained);
+        stats.put("retentionMinutes", TimeUnit.MILLISECONDS.toMinutes(retentionMillis));
+        return stats;
+    }
+
+    private void run(ScrapeJob job) {
+        job.start();
+        try {
+            job.finish(webScrapingService.scrapeWebData(job.getRequest(), job));
+            log.info("Scrape job {} finished with {} results", job.getId(), job.getResultCount());
+        } catch (Throwable e) {
+            // Errors included: a job left running would never be evicted and would hold its place for good
+            log.error("Scrape job {} failed: ", job.getId(), e);
+            job.fail(e);
+        }
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        jobs.values().removeIf(job -> isExpired(job, now));
+        if (jobs.size() < maxRetained) {
+            return;
+        }
+        // Still full: make room by dropping the oldest finished jobs
+        jobs.values().stream()
+            .filter(ScrapeJob::isFinished)
+            .sorted(Comparator.comparingLong(ScrapeJob::getFinishedAt))
+            .limit(jobs.size() - maxRetained + 1)
+            .forEach(job -> jobs.remove(job.getId(), job));
+    }
+
+    private boolean isExpired(ScrapeJob job, long now) {
+        long finishedAt = job.getFinishedAt();
+        return finishedAt > 0 && now - finishedAt > retentionMillis;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,291 @@
+package com.scraper.service.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.scraper.config.ExecutionMode;
+import com.scraper.model.InstagramProfile;
+import com.scraper.model.InstagramScrapeRequest;
+import com.scraper.model.InstagramScrapeResponse;
+import com.scraper.model.ScrapeRequest;
+import com.scraper.model.ScrapeResponse;
+import com.scraper.model.ScrapedData;
+import com.scraper.service.InstagramScrapingService;
+import com.scraper.service.ScrapeListener;
+import com.scraper.service.WebScrapingService;
+import com.scraper.service.export.CsvColumns;
+import com.scraper.service.export.CsvRowWriter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Writes scrape results to an HTTP response as each one is ready instead of after the whole
+ * scrape. The scrape runs on this service's executor and hands records over a queue; the
+ * response thread writes and flushes them one by one, and ends with a summary record carrying
+ * the counts of the usual JSON response. Results are not held for that response, and the queue
+ * holds at most {@value #BUFFERED_RECORDS} records: once a slow client lets it fill up, the scrape
+ * waits for the client, so memory stays flat however many URLs there are. CSV exports go through
+ * the same path, one row per record.
+ */
+@Service
+public class ScrapeStreamer {
+
+    private static final Logger log = LoggerFactory.getLogger(ScrapeStreamer.class);
+
+    static final int BUFFERED_RECORDS = 64;
+
+    // How often a scrape waiting for room checks whether the client has gone
+    private static final long OFFER_POLL_MILLIS = 100;
+
+    /** How records are framed on the wire. */
+    public enum Format {
+        /** One JSON object per line: {@code {"type":"result","data":{...}}}. */
+        NDJSON(MediaType.APPLICATION_NDJSON_VALUE),
+        /** Server-Sent Events named {@code result} and {@code summary}, the record as data. */
+        SSE(MediaType.TEXT_EVENT_STREAM_VALUE);
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        /** SSE when the Accept header asks for an event stream, NDJSON otherwise. */
+        public static Format fromAccept(String accept) {
+            return accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE) ? SSE : NDJSON;
+        }
+    }
+
+    private final WebScrapingService webScrapingService;
+    private final InstagramScrapingService instagramScrapingService;
+    private final ObjectWriter json;
+    private final ExecutorService executor;
+
+    public ScrapeStreamer(
+            WebScrapingService webScrapingService,
+            InstagramScrapingService instagramScrapingService,
+            ObjectMapper objectMapper,
+            ExecutionMode executionMode,
+            @Value("${scraper.stream.max-concurrent:16}") int maxConcurrent) {
+        this.webScrapingService = webScrapingService;
+        this.instagramScrapingService = instagramScrapingService;
+        // Each record must stay on one line for both framings
+        this.json = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.executor = executionMode.newExecutor("scrape-stream-", maxConcurrent);
+    }
+
+    /** Streams {@link WebScrapingService#scrapeWebData} results, then its summary. */
+    public void streamWeb(ScrapeRequest request, Format format, OutputStream out) throws IOException {
+        stream(jsonRecords(format, out), webScrape(request));
+    }
+
+    /** Streams Instagram profiles as they are collected, then the summary and statistics. */
+    public void streamInstagram(InstagramScrapeRequest request, Format format, OutputStream out) throws IOException {
+        stream(jsonRecords(format, out), instagramScrape(request));
+    }
+
+    /** Writes web results as CSV rows while the scrape runs, gzip-compressed if asked. */
+    public void exportWebCsv(ScrapeRequest request, boolean gzip, OutputStream out) throws IOException {
+        CsvRowWriter<ScrapedData> rows = new CsvRowWriter<>(CsvColumns.forWebResults(request.getFieldsToExtract()), out, gzip);
+        stream(csvRecords(rows), webScrape(request));
+    }
+
+    /** Writes Instagram profiles as CSV rows while they are collected, gzip-compressed if asked. */
+    public void exportInstagramCsv(InstagramScrapeRequest request, boolean gzip, OutputStream out) throws IOException {
+        CsvRowWriter<InstagramProfile> rows =
+            new CsvRowWriter<>(CsvColumns.forInstagramProfiles(request.getFieldsToExtract()), out, gzip);
+        stream(csvRecords(rows), instagramScrape(request));
+    }
+
+    private Function<Consumer<ScrapedData>, Map<String, Object>> webScrape(ScrapeRequest request) {
+        return sink -> summary(webScrapingService.scrapeWebData(request, new ScrapeListener() {
+            @Override
+            public void onResult(ScrapedData result) {
+                sink.accept(result);
+            }
+
+            @Override
+            public boolean keepsResults() {
+                return false;
+            }
+        }));
+    }
+
+    private Function<Consumer<InstagramProfile>, Map<String, Object>> instagramScrape(InstagramScrapeRequest request) {
+        return sink -> summary(instagramScrapingService.scrapeInstagramProfiles(request, sink));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void stream(RecordWriter<T> writer, Function<Consumer<T>, Map<String, Object>> scrape)
+            throws IOException {
+        BlockingQueue<Object> records = new ArrayBlockingQueue<>(BUFFERED_RECORDS);
+        AtomicBoolean closed = new AtomicBoolean();
+        Future<?> task = executor.submit(() -> {
+            Map<String, Object> summary;
+            try {
+                // A web scrape cannot be interrupted mid-join; once the client is gone, drop what it still finds
+                summary = scrape.apply(record -> hand(records, record, closed));
+            } catch (Throwable e) {
+                // Errors included: without a summary the response thread would wait for one until the async timeout
+                log.error("Streamed scrape failed: ", e);
+                summary = new LinkedHashMap<>();
+                summary.put("status", "error");
+                summary.put("message", "Scraping failed: " + e.getMessage());
+            }
+            hand(records, new Summary(summary), closed);
+        });
+
+        try {
+            while (true) {
+                Object record = records.take();
+                if (record instanceof Summary summary) {
+                    writer.summary(summary.fields);
+                    return;
+                }
+                writer.result((T) record);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // The client went away; nobody is left to read the rest
+            log.info("Stream closed by the client before the scrape finished: {}", e.getMessage());
+        } finally {
+            closed.set(true);
+            task.cancel(true);
+        }
+    }
+
+    /**
+     * Queues a record for the response thread, waiting while the queue is full; drops it once
+     * the client is gone, so a producer never waits on a reader that left.
+     */
+    private static void hand(BlockingQueue<Object> records, Object record, AtomicBoolean closed) {
+        try {
+            while (!closed.get()) {
+                if (records.offer(record, OFFER_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Frames each record as NDJSON or SSE and flushes it, so the client sees it at once. */
+    private <T> RecordWriter<T> jsonRecords(Format format, OutputStream out) {
+        return new RecordWriter<>() {
+            @Override
+            public void result(T record) throws IOException {
+                write("result", record);
+            }
+
+            @Override
+            public void summary(Map<String, Object> fields) throws IOException {
+                write("summary", fields);
+            }
+
+            private void write(String type, Object record) throws IOException {
+                if (format == Format.SSE) {
+                    out.write(("event: " + type + "\ndata: ").getBytes(StandardCharsets.UTF_8));
+                    out.write(json.writeValueAsBytes(record));
+                    out.write('\n');
+                    out.write('\n');
+                } else {
+                    Map<String, Object> line = new LinkedHashMap<>();
+                    line.put("type", type);
+                    line.put("data", record);
+                    out.write(json.writeValueAsBytes(line));
+                    out.write('\n');
+                }
+                out.flush();
+            }
+        };
+    }
+
+    /** CSV has no place for the summary; rows leave as the buffer fills, the rest at the end. */
+    private static <T> RecordWriter<T> csvRecords(CsvRowWriter<T> rows) {
+        return new RecordWriter<>() {
+            @Override
+            public void result(T record) throws IOException {
+                rows.write(record);
+            }
+
+            @Override
+            public void summary(Map<String, Object> fields) throws IOException {
+                rows.finish();
+            }
+        };
+    }
+
+    private static Map<String, Object> summary(ScrapeResponse response) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("searchTopic", response.getSearchTopic());
+        fields.put("totalResults", response.getTotalResults());
+        fields.put("successfulScrapes", response.getSuccessfulScrapes());
+        fields.put("failedScrapes", response.getFailedScrapes());
+        fields.put("unfinishedUrls", response.getUnfinishedUrls());
+        fields.put("metadata", response.getMetadata());
+        fields.put("processingTime", response.getProcessingTime());
+        fields.put("status", response.getStatus());
+        fields.put("message", response.getMessage());
+        return fields;
+    }
+
+    private static Map<String, Object> summary(InstagramScrapeResponse response) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("targetHandle", response.getTargetHandle());
+        fields.put("totalProfiles", response.getTotalProfiles());
+        fields.put("followersScraped", response.getFollowersScraped());
+        fields.put("followingScraped", response.getFollowingScraped());
+        fields.put("successfulScrapes", response.getSuccessfulScrapes());
+        fields.put("failedScrapes", response.getFailedScrapes());
+        fields.put("unfinishedUrls", response.getUnfinishedUrls());
+        fields.put("processingTime", response.getProcessingTime());
+        fields.put("status", response.getStatus());
+        fields.put("message", response.getMessage());
+        fields.put("statistics", response.getStatistics());
+        return fields;
+    }
+
+    private interface RecordWriter<T> {
+        void result(T record) throws IOException;
+
+        void summary(Map<String, Object> fields) throws IOException;
+    }
+
+    /** Marks the end of a stream. */
+    private static final class Summary {
+        private final Map<String, Object> fields;
+
+        Summary(Map<String, Object> fields) {
+            this.fields = fields;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,134 @@
+package com.scraper.benchmark;
+
+import com.scraper.service.extract.ContactExtractor;
+import com.scraper.service.extract.ContactInfo;
+import com.scraper.service.extract.SocialHostRegistry;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Per-page cost of contact extraction: the previous three scans (each over its own
+ * {@code document.text()}) against the single-pass {@link ContactExtractor}.
+ * Run with {@code -prof gc} to compare allocation per page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContactExtractionBenchmark {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+        "\\b[A-Za-z0-9]([A-Za-z0-9._%-]*[A-Za-z0-9])?@[A-Za-z0-9]([A-Za-z0-9.-]*[A-Za-z0-9])?\\.[A-Za-z]{2,}\\b"
+    );
+
+    private static final Pattern PHONE_PATTERN = Pattern.compile(
+        "\\b(?:\\(?\\+?1[-.\\)\\s]?)?\\(?([0-9]{3})\\)?[-.\\s]?([0-9]{3})[-.\\s]?([0-9]{4})\\b"
+    );
+
+    private static final Pattern SOCIAL_PATTERN = Pattern.compile(
+        "(?:https?://)?(?:www\\.)?(?:instagram\\.com|twitter\\.com|facebook\\.com|linkedin\\.com|youtube\\.com|github\\.com|medium\\.com|reddit\\.com|pinterest\\.com|tiktok\\.com|snapchat\\.com)/[\\w\\-./]+"
+    );
+
+    // Paragraphs of filler text per page; 400 is roughly a 100 KB company page
+    @Param({"50", "400"})
+    public int paragraphs;
+
+    private final ContactExtractor extractor = new ContactExtractor(new SocialHostRegistry(""));
+    private Document document;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder page = new StringBuilder("<html><head><title>Bench</title></head><body><nav>")
+            .append("<a href=\"https://www.linkedin.com/company/acme\">LinkedIn</a>")
+            .append("<a href=\"https://twitter.com/acme\">Twitter</a></nav>");
+        for (int i = 0; i < paragraphs; i++) {
+            page.append("<p>Our team of ").append(i).append(" engineers builds software for clients across the")
+                .append(" country, from early prototypes to large production systems and long-term support.");
+            if (i % 10 == 0) {
+                page.append(" Write to team").append(i).append("@acme-example.com or call (555) 010-")
+                    .append(1000 + i).append(". Follow instagram.com/acme").append(i).append(" for updates.");
+            }
+            page.append("</p>");
+        }
+        document = Jsoup.parse(page.append("</body></html>").toString());
+    }
+
+    @Benchmark
+    public int threeScans() {
+        return legacyEmails(document).size() + legacyPhones(document).size() + legacySocial(document).size();
+    }
+
+    @Benchmark
+    public int singlePass() {
+        ContactInfo info = extractor.extract(document);
+        return info.getEmails().size() + info.getPhoneNumbers().size() + info.getSocialLinks().size();
+    }
+
+    private static Set<String> legacyEmails(Document document) {
+        Set<String> emails = new HashSet<>();
+        Matcher matcher = EMAIL_PATTERN.matcher(document.text());
+        while (matcher.find()) {
+            String email = matcher.group().toLowerCase();
+            if (!isFalsePositiveEmail(email)) {
+                emails.add(email);
+            }
+        }
+        return emails;
+    }
+
+    private static boolean isFalsePositiveEmail(String email) {
+        String lowerEmail = email.toLowerCase();
+        return lowerEmail.contains("@2x") ||
+               lowerEmail.contains("@3x") ||
+               lowerEmail.contains("fallback") ||
+               lowerEmail.contains(".min.") ||
+               lowerEmail.endsWith(".js") ||
+               lowerEmail.endsWith(".css") ||
+               lowerEmail.matches(".*@\\d+\\.\\d+.*");
+    }
+
+    private static Set<String> legacyPhones(Document document) {
+        Set<String> phones = new HashSet<>();
+        Matcher matcher = PHONE_PATTERN.matcher(document.text());
+        while (matcher.find()) {
+            phones.add(matcher.group().trim());
+        }
+        return phones;
+    }
+
+    private static Set<String> legacySocial(Document document) {
+        Set<String> links = new HashSet<>();
+        for (Element link : document.select("a[href]")) {
+            String href = link.attr("href");
+            if (SOCIAL_PATTERN.matcher(href).find()) {
+                links.add(href);
+            }
+        }
+        Matcher matcher = SOCIAL_PATTERN.matcher(document.text());
+        while (matcher.find()) {
+            links.add(matcher.group());
+        }
+        return links;
+    }
+}
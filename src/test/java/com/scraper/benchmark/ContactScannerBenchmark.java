@@ -0,0 +1,94 @@
+package com.scraper.benchmark;
+
+import com.scraper.service.extract.ContactScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Email and phone detection over a page's text: the backtracking regexes with {@code find()}
+ * against the {@link ContactScanner} state machines. Run with {@code -prof gc} to compare
+ * allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContactScannerBenchmark {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+        "\\b[A-Za-z0-9]([A-Za-z0-9._%-]*[A-Za-z0-9])?@[A-Za-z0-9]([A-Za-z0-9.-]*[A-Za-z0-9])?\\.[A-Za-z]{2,}\\b"
+    );
+
+    private static final Pattern PHONE_PATTERN = Pattern.compile(
+        "\\b(?:\\(?\\+?1[-.\\)\\s]?)?\\(?([0-9]{3})\\)?[-.\\s]?([0-9]{3})[-.\\s]?([0-9]{4})\\b"
+    );
+
+    // Characters of page text; 4 MB stands in for the uncapped bodies we see on directory sites
+    @Param({"65536", "4194304"})
+    public int textLength;
+
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder page = new StringBuilder(textLength + 200);
+        int i = 0;
+        while (page.length() < textLength) {
+            page.append("Our team of ").append(i).append(" engineers ships order #").append(100000 + i)
+                .append(" in 2-3 days, version 1.").append(i % 10).append(". ");
+            if (i % 25 == 0) {
+                page.append("Write to team").append(i).append("@acme-example.com or call (555) 010-")
+                    .append(1000 + i % 9000).append(". ");
+            }
+            i++;
+        }
+        text = page.substring(0, textLength);
+    }
+
+    @Benchmark
+    public int regex() {
+        int matches = 0;
+        Matcher email = EMAIL_PATTERN.matcher(text);
+        while (email.find()) {
+            matches += email.group().length() > 0 ? 1 : 0;
+        }
+        Matcher phone = PHONE_PATTERN.matcher(text);
+        while (phone.find()) {
+            matches += phone.group().length() > 0 ? 1 : 0;
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int scanner() {
+        int[] matches = new int[1];
+        ContactScanner.scan(text, new ContactScanner.Sink() {
+            @Override
+            public void email(CharSequence source, int start, int end) {
+                matches[0]++;
+            }
+
+            @Override
+            public void phone(CharSequence source, int start, int end) {
+                matches[0]++;
+            }
+        });
+        return matches[0];
+    }
+}
@@ -0,0 +1,97 @@
+package com.scraper.benchmark;
+
+import com.scraper.service.extract.DocumentAnalyzer;
+import com.scraper.service.extract.ExtractionPlan;
+import com.scraper.service.extract.PageSignals;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-page cost of finding the title, description, search-result anchors, links and main
+ * content container: the previous {@code select()} per signal against one
+ * {@link DocumentAnalyzer} walk. Text extraction itself is the same on both sides and left out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DocumentAnalysisBenchmark {
+
+    private static final String[] CONTENT_SELECTORS = {
+        "main", "article", ".content", ".post", ".entry", ".main-content",
+        ".page-content", ".article-content", ".post-content", ".entry-content",
+        "#content", "#main", "#article", ".container", ".wrapper"
+    };
+
+    // Sections of nested markup per page; 400 is roughly a 300 KB page
+    @Param({"50", "400"})
+    public int sections;
+
+    private Document document;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder page = new StringBuilder("<html><head><title>Bench</title>")
+            .append("<meta name=\"viewport\" content=\"width=device-width\"></head><body><nav>")
+            .append("<a href=\"https://www.linkedin.com/company/acme\">LinkedIn</a></nav>");
+        for (int i = 0; i < sections; i++) {
+            page.append("<div class=\"section\"><div class=\"row\"><span>Item ").append(i).append("</span>")
+                .append("<a href=\"/item/").append(i).append("\">Details</a></div>")
+                .append("<ul><li>One</li><li>Two</li></ul><p>Short.</p></div>");
+        }
+        // Only the last, least specific selector matches, as on many real pages
+        document = Jsoup.parse(page.append("<div class=\"wrapper\">Footer text</div></body></html>").toString());
+    }
+
+    @Benchmark
+    public int selectPerSignal() {
+        int found = 0;
+        found += document.select("title").size() > 0 ? 1 : 0;
+        found += document.select("meta[name=description]").first() != null ? 1 : 0;
+        found += document.select("meta[property=og:description]").first() != null ? 1 : 0;
+        found += document.select("meta[name=twitter:description]").first() != null ? 1 : 0;
+        found += document.select("p").size();
+        found += document.select("div[data-ved]").size() + document.select(".b_algo").size() + document.select(".result").size();
+        found += document.select("div[data-ved] a[href^='http']").size();
+        found += document.select(".b_algo a[href^='http']").size();
+        found += document.select(".result a[href^='http']").size();
+        found += document.select("a[href]").size();
+        found += document.select("script, style, nav, header, footer, aside").size();
+        for (String selector : CONTENT_SELECTORS) {
+            Element content = document.select(selector).first();
+            if (content != null) {
+                found++;
+                break;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int singleWalk() {
+        PageSignals signals = DocumentAnalyzer.analyze(document, ExtractionPlan.ALL);
+        return (signals.getTitle() != null ? 1 : 0)
+            + signals.getParagraphs().size()
+            + signals.getSearchResultLinks().size()
+            + signals.getLinks().size()
+            + signals.getBoilerplate().size()
+            + signals.getContentCandidates().size();
+    }
+}
@@ -0,0 +1,89 @@
+package com.scraper.benchmark;
+
+import com.scraper.config.ExecutionMode;
+import org.jsoup.Jsoup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the platform thread pools with semaphore-bounded virtual threads on a batch of
+ * blocking scrape tasks: a simulated socket wait followed by a Jsoup parse.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public String mode;
+
+    // 10 was the old fixed pool size; 200 shows what bounding by semaphore buys
+    @Param({"10", "200"})
+    public int concurrency;
+
+    @Param({"400"})
+    public int tasks;
+
+    @Param({"20"})
+    public int ioMillis;
+
+    private ExecutorService executor;
+    private String html;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = ExecutionMode.of(mode).newExecutor("bench-", concurrency);
+
+        StringBuilder page = new StringBuilder("<html><head><title>Bench</title></head><body>");
+        for (int i = 0; i < 200; i++) {
+            page.append("<div class=\"result\"><a href=\"https://example.com/page/").append(i)
+                .append("\">Result ").append(i).append("</a><p>Contact sales").append(i)
+                .append("@example.com or call (555) 123-45").append(i % 10).append(i % 10).append("</p></div>");
+        }
+        html = page.append("</body></html>").toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int fetchAndParseBatch() throws Exception {
+        List<Future<Integer>> futures = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            futures.add(executor.submit(this::fetchAndParse));
+        }
+        int links = 0;
+        for (Future<Integer> future : futures) {
+            links += future.get();
+        }
+        return links;
+    }
+
+    private int fetchAndParse() throws InterruptedException {
+        // Stands in for waiting on the socket
+        Thread.sleep(ioMillis);
+        return Jsoup.parse(html).select("a[href]").size();
+    }
+}
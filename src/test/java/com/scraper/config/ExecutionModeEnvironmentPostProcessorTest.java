@@ -0,0 +1,29 @@
+package com.scraper.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExecutionModeEnvironmentPostProcessorTest {
+
+    private final ExecutionModeEnvironmentPostProcessor processor = new ExecutionModeEnvironmentPostProcessor();
+
+    @Test
+    void virtualThreadsFollowTheModeUnlessSetExplicitly() {
+        assertEquals("true", virtualThreads(Map.of()));
+        assertEquals("false", virtualThreads(Map.of("scraper.execution.mode", "platform")));
+        assertEquals("true", virtualThreads(Map.of("scraper.execution.mode", "platform",
+            ExecutionModeEnvironmentPostProcessor.VIRTUAL_THREADS, "true")));
+    }
+
+    private String virtualThreads(Map<String, Object> properties) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+        processor.postProcessEnvironment(environment, null);
+        return environment.getProperty(ExecutionModeEnvironmentPostProcessor.VIRTUAL_THREADS);
+    }
+}
@@ -1,19 +1,39 @@
 package com.scraper.controller;
 
+import com.scraper.model.ScrapeJobStatus;
 import com.scraper.model.ScrapeRequest;
 import com.scraper.model.ScrapeResponse;
+import com.scraper.service.InstagramScrapingService;
 import com.scraper.service.WebScrapingService;
+import com.scraper.service.extract.SocialHostRegistry;
+import com.scraper.service.fetch.AdaptiveHostLimits;
+import com.scraper.service.fetch.BodyLimits;
+import com.scraper.service.fetch.CircuitBreakerRegistry;
+import com.scraper.service.fetch.HttpResponseCache;
+import com.scraper.service.fetch.RobotsTxtCache;
+import com.scraper.service.job.ScrapeJob;
+import com.scraper.service.job.ScrapeJobService;
+import com.scraper.service.stream.ScrapeStreamer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -27,6 +47,33 @@ class ScrapingControllerTest {
     @MockBean
     private WebScrapingService webScrapingService;
 
+    @MockBean
+    private InstagramScrapingService instagramScrapingService;
+
+    @MockBean
+    private ScrapeJobService scrapeJobService;
+
+    @MockBean
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @MockBean
+    private HttpResponseCache httpResponseCache;
+
+    @MockBean
+    private BodyLimits bodyLimits;
+
+    @MockBean
+    private RobotsTxtCache robotsTxtCache;
+
+    @MockBean
+    private AdaptiveHostLimits adaptiveHostLimits;
+
+    @MockBean
+    private SocialHostRegistry socialHostRegistry;
+
+    @MockBean
+    private ScrapeStreamer scrapeStreamer;
+
     @Test
     void testHealthCheck() throws Exception {
         mockMvc.perform(get("/scrape/health"))
@@ -63,4 +110,92 @@ class ScrapingControllerTest {
                 .andExpect(jsonPath("$.searchTopic").value("test topic"))
                 .andExpect(jsonPath("$.status").value("completed"));
     }
+
+    @Test
+    void testCsvExportNegotiatesGzip() throws Exception {
+        MvcResult started = mockMvc.perform(post("/scrape/web")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"searchTopic\":\"test topic\",\"maxResults\":5,\"exportAsCsv\":true}"))
+                // Rows are written off the request thread
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)));
+
+        assertTrue(ScrapingController.acceptsGzip("gzip, deflate, br"));
+        assertTrue(ScrapingController.acceptsGzip("br;q=1.0, *;q=0.5"));
+        assertFalse(ScrapingController.acceptsGzip("gzip;q=0"));
+        assertFalse(ScrapingController.acceptsGzip("*;q=0.5, gzip;q=0"));
+        assertFalse(ScrapingController.acceptsGzip("identity"));
+        assertFalse(ScrapingController.acceptsGzip(null));
+    }
+
+    @Test
+    void testSubmitScrapeJob() throws Exception {
+        ScrapeJob job = mock(ScrapeJob.class);
+        when(job.toStatus()).thenReturn(ScrapeJobStatus.builder().jobId("job-1").status("queued").build());
+        when(scrapeJobService.submit(any(ScrapeRequest.class))).thenReturn(job);
+
+        mockMvc.perform(post("/scrape/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"searchTopic\":\"test topic\",\"maxResults\":5}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.status").value("queued"));
+
+        when(scrapeJobService.submit(any(ScrapeRequest.class))).thenReturn(null);
+        mockMvc.perform(post("/scrape/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"searchTopic\":\"test topic\",\"maxResults\":5}"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void testUnknownScrapeJob() throws Exception {
+        mockMvc.perform(get("/scrape/jobs/unknown"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/scrape/jobs/unknown/results"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testCircuitBreakers() throws Exception {
+        when(circuitBreakerRegistry.snapshot())
+                .thenReturn(List.of(Map.of("domain", "crunchbase.com", "state", "OPEN")));
+
+        mockMvc.perform(get("/scrape/circuit-breakers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.breakers[0].domain").value("crunchbase.com"))
+                .andExpect(jsonPath("$.breakers[0].state").value("OPEN"));
+    }
+
+    @Test
+    void testCacheStats() throws Exception {
+        when(httpResponseCache.stats()).thenReturn(Map.of("enabled", true, "hits", 3, "misses", 1));
+
+        mockMvc.perform(get("/scrape/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cache.enabled").value(true))
+                .andExpect(jsonPath("$.cache.hits").value(3));
+    }
+
+    @Test
+    void testAddSocialHost() throws Exception {
+        when(socialHostRegistry.addHost("threads.net", "threads")).thenReturn(true);
+        when(socialHostRegistry.getHosts()).thenReturn(Map.of("threads.net", "threads"));
+
+        mockMvc.perform(post("/scrape/social-hosts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"host\": \"threads.net\", \"platform\": \"threads\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hosts['threads.net']").value("threads"));
+
+        mockMvc.perform(post("/scrape/social-hosts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"host\": \"threads.net\"}"))
+                .andExpect(status().isBadRequest());
+    }
 }
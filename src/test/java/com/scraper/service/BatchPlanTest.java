@@ -0,0 +1,33 @@
+package com.scraper.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BatchPlanTest {
+
+    @Test
+    void fetchesSharedUrlsOnceAndInterleavesTopics() {
+        Map<String, List<String>> urlsByTopic = new LinkedHashMap<>();
+        urlsByTopic.put("dentists", List.of(
+            "https://a.example/", "https://shared.example/list?utm_source=x", "https://b.example/"));
+        urlsByTopic.put("orthodontists", List.of(
+            "https://SHARED.example/list", "https://c.example/", "https://c.example/#top"));
+
+        BatchPlan plan = new BatchPlan(urlsByTopic);
+
+        assertEquals(5, plan.plannedUrls());
+        assertEquals(4, plan.uniqueUrls().size());
+        // First URL of each topic, then the second of each, and so on
+        assertEquals(List.of("https://a.example/", "https://SHARED.example/list", "https://c.example/", "https://b.example/"),
+            new ArrayList<>(plan.uniqueUrls().values()));
+        assertEquals(plan.keysFor("dentists").get(1), plan.keysFor("orthodontists").get(0));
+        assertEquals(2, plan.keysFor("orthodontists").size());
+        assertEquals(List.of(), plan.keysFor("unknown"));
+    }
+}
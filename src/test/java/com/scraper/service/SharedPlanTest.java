@@ -0,0 +1,74 @@
+package com.scraper.service;
+
+import com.scraper.service.extract.ExtractionPlan;
+import com.scraper.service.extract.ExtractionPlan.Field;
+import com.scraper.service.fetch.SingleFlight;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SharedPlanTest {
+
+    private static final ExtractionPlan TITLES = ExtractionPlan.of(Set.of("title"));
+    private static final ExtractionPlan EMAILS = ExtractionPlan.of(Set.of("emails"));
+
+    private final SingleFlight<String, SharedPlan, ExtractionPlan> flights = new SingleFlight<>();
+    private final AtomicInteger scrapes = new AtomicInteger();
+
+    @Test
+    void joinerWidensThePlanBeforeItIsSealed() {
+        SharedPlan shared = new SharedPlan(TITLES);
+        CompletableFuture<ExtractionPlan> extracted = new CompletableFuture<>();
+        CompletableFuture<ExtractionPlan> first = scrape(shared, TITLES, extracted);
+        CompletableFuture<ExtractionPlan> joiner = scrape(new SharedPlan(EMAILS), EMAILS, new CompletableFuture<>());
+
+        // Extraction starts now and serves both callers
+        extracted.complete(shared.seal());
+
+        assertEquals(1, scrapes.get());
+        assertTrue(joiner.join().includes(Field.EMAILS));
+        assertTrue(first.join().includes(Field.TITLE));
+    }
+
+    @Test
+    void joinerNeedingMoreAfterTheSealRunsItsOwnScrape() {
+        SharedPlan shared = new SharedPlan(TITLES);
+        CompletableFuture<ExtractionPlan> extracted = new CompletableFuture<>();
+        scrape(shared, TITLES, extracted);
+        ExtractionPlan sealed = shared.seal();
+
+        CompletableFuture<ExtractionPlan> covered = scrape(new SharedPlan(TITLES), TITLES, new CompletableFuture<>());
+        SharedPlan own = new SharedPlan(EMAILS);
+        CompletableFuture<ExtractionPlan> wider = scrape(own, EMAILS, CompletableFuture.completedFuture(EMAILS));
+        extracted.complete(sealed);
+
+        assertEquals(2, scrapes.get());
+        assertFalse(sealed.includes(Field.EMAILS));
+        assertTrue(wider.join().includes(Field.EMAILS));
+        assertEquals(sealed, covered.join());
+    }
+
+    @Test
+    void sealedPlanStillServesCallersItCovers() {
+        SharedPlan shared = new SharedPlan(ExtractionPlan.ALL);
+        shared.seal();
+
+        assertTrue(shared.widen(EMAILS));
+        assertTrue(shared.widen(TITLES));
+    }
+
+    /** Joins the flight for the page when its plan can widen to {@code plan}, as the service does. */
+    private CompletableFuture<ExtractionPlan> scrape(SharedPlan state, ExtractionPlan plan,
+                                                     CompletableFuture<ExtractionPlan> work) {
+        return flights.execute("https://www.example.com/", state, existing -> existing.widen(plan), () -> {
+            scrapes.incrementAndGet();
+            return work;
+        });
+    }
+}
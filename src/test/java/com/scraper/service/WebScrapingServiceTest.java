@@ -0,0 +1,66 @@
+package com.scraper.service;
+
+import com.scraper.model.ScrapeRequest;
+import com.scraper.model.ScrapeResponse;
+import com.scraper.model.ScrapedData;
+import com.scraper.service.fetch.CircuitBreakerRegistry;
+import com.scraper.service.fetch.Fetcher;
+import com.scraper.service.fetch.RobotsRules;
+import com.scraper.service.fetch.RobotsTxtCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WebScrapingServiceTest {
+
+    @Mock
+    private Fetcher fetcher;
+
+    @Mock
+    private CircuitBreakerRegistry circuitBreakers;
+
+    @Mock
+    private RobotsTxtCache robotsTxt;
+
+    @InjectMocks
+    private WebScrapingService service;
+
+    @Test
+    void generatedSearchPagesAreNotHeldToRobotsTxt() {
+        when(fetcher.fetchFromCache(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+        // Every search engine's robots.txt disallows its result pages
+        lenient().when(robotsTxt.rulesFor(anyString()))
+            .thenReturn(CompletableFuture.completedFuture(RobotsRules.parse("User-agent: *\nDisallow: /", "web-scraper")));
+        // An open circuit ends each scrape right after the robots.txt check, before any network
+        when(circuitBreakers.tryAcquire(anyString())).thenReturn(false);
+
+        ScrapeRequest request = new ScrapeRequest("acme", 3, "google", "en", "us");
+        ScrapeResponse response = service.scrapeWebData(request);
+
+        assertEquals(3, response.getResults().size());
+        for (ScrapedData data : response.getResults()) {
+            assertEquals("circuit_open", data.getStatus());
+        }
+        verify(robotsTxt, never()).rulesFor(anyString());
+    }
+
+    @Test
+    void unreachableRobotsTxtCountsAsAFailureUnlikeADisallowedUrl() {
+        assertTrue(WebScrapingService.isFailure("robots_unavailable"));
+        assertFalse(WebScrapingService.isFailure("disallowed"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.scraper.service.crawl;
+
+import org.junit.jupiter.api.Test;
+
+import com.scraper.service.fetch.UrlCanonicalizer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CrawlFrontierTest {
+
+    @Test
+    void handsOutBestYieldFirstAndSeedsInOrder() {
+        CrawlFrontier frontier = new CrawlFrontier(1, 10, 100);
+        frontier.offerSeed("https://www.google.com/search?q=a");
+        frontier.offerSeed("https://www.google.com/search?q=b");
+        frontier.offer("https://acme.example/team", 1, LinkScorer.contactYield("https://acme.example/team"));
+        frontier.offer("https://acme.example/about-us", 1, LinkScorer.contactYield("https://acme.example/about-us"));
+        frontier.offer("https://acme.example/contact", 1, LinkScorer.contactYield("https://acme.example/contact"));
+
+        assertEquals(List.of("https://acme.example/contact", "https://acme.example/team", "https://acme.example/about-us",
+            "https://www.google.com/search?q=a", "https://www.google.com/search?q=b"), drain(frontier));
+    }
+
+    @Test
+    void queuesEachUrlOnceWhateverItsSpelling() {
+        CrawlFrontier frontier = new CrawlFrontier(1, 10, 100);
+        assertTrue(frontier.offer("https://acme.example/contact", 1, 100));
+        assertFalse(frontier.offer("HTTPS://ACME.example:443/contact", 1, 100));
+        assertFalse(frontier.offer("https://acme.example/contact#form", 1, 100));
+        assertFalse(frontier.offer("https://acme.example/team/../contact?utm_source=x", 1, 100));
+        assertEquals(1, frontier.getQueued());
+
+        assertEquals("https://acme.example/search?a=2&b=1&b=0",
+            UrlCanonicalizer.canonicalize("https://Acme.Example./search?b=1&gclid=z&a=2&&b=0&UTM_medium=m#top"));
+    }
+
+    @Test
+    void skipsWhatRecentCrawlsVisitedOnlyWhenAsked() {
+        SeenUrlFilter recent = new SeenUrlFilter(60, 1000, 0.01);
+        CrawlFrontier first = new CrawlFrontier(1, 10, 100, recent, false);
+        first.offer("https://acme.example/contact", 1, 100);
+        first.poll();
+
+        CrawlFrontier skipping = new CrawlFrontier(1, 10, 100, recent, true);
+        assertFalse(skipping.offer("https://ACME.example/contact?utm_campaign=b", 1, 100));
+        assertTrue(skipping.offer("https://acme.example/about", 1, 60));
+        assertEquals(1, skipping.getSkippedRecent());
+        assertTrue(new CrawlFrontier(1, 10, 100, recent, true).offerSeed("https://acme.example/contact"),
+            "seeds are always visited");
+
+        assertTrue(new CrawlFrontier(1, 10, 100, recent, false).offer("https://acme.example/contact", 1, 100));
+    }
+
+    @Test
+    void fingerprintSetAgreesWithHashSet() {
+        Random random = new Random(5);
+        FingerprintSet fingerprints = new FingerprintSet();
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            // A narrow range, so repeats and the zero fingerprint both occur
+            long fingerprint = random.nextInt(40_000) - 20_000L;
+            assertEquals(expected.add(fingerprint), fingerprints.add(fingerprint));
+        }
+        assertEquals(expected.size(), fingerprints.size());
+        assertTrue(fingerprints.contains(0));
+        assertFalse(fingerprints.contains(1L << 40));
+    }
+
+    @Test
+    void enforcesDepthAndBudgets() {
+        CrawlFrontier frontier = new CrawlFrontier(1, 2, 4);
+        assertFalse(frontier.offer("https://acme.example/team/contact", 2, 100));
+
+        // Seeds count towards their site's budget but are never refused for it
+        frontier.offerSeed("https://acme.example/");
+        frontier.offerSeed("https://www.acme.example/home");
+        frontier.offerSeed("https://acme.example/products");
+        assertEquals(3, drain(frontier).size());
+        assertFalse(frontier.offer("https://acme.example/contact", 1, 100));
+
+        frontier.offer("https://other.example/contact", 1, 100);
+        frontier.offer("https://third.example/contact", 1, 100);
+        assertEquals("https://other.example/contact", frontier.poll().getUrl());
+        assertNull(frontier.poll(), "the request budget of 4 pages is spent");
+        assertEquals(4, frontier.getAdmitted());
+    }
+
+    @Test
+    void scoresAndResolvesLinks() {
+        assertEquals(100, LinkScorer.contactYield("https://acme.example/en/Contact-Us"));
+        assertEquals(70, LinkScorer.contactYield("https://acme.example/our-team"));
+        assertEquals(0, LinkScorer.contactYield("https://acme.example/contact.pdf"));
+        assertEquals(0, LinkScorer.contactYield("https://acme.example/blog"));
+        assertEquals(LinkScorer.SEARCH_RESULT, LinkScorer.resultPriority("https://acme.example/"));
+
+        assertEquals("https://acme.example/about", LinkScorer.resolve("https://acme.example/en/", "../about#team"));
+        assertNull(LinkScorer.resolve("https://acme.example/", "mailto:info@acme.example"));
+        assertNull(LinkScorer.resolve("https://acme.example/", "javascript:void(0)"));
+        assertEquals("acme.example", LinkScorer.site("https://WWW.Acme.example/contact"));
+    }
+
+    private static List<String> drain(CrawlFrontier frontier) {
+        List<String> urls = new ArrayList<>();
+        CrawlFrontier.Entry entry;
+        while ((entry = frontier.poll()) != null) {
+            urls.add(entry.getUrl());
+        }
+        return urls;
+    }
+}
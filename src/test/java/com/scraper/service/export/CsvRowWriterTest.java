@@ -0,0 +1,49 @@
+package com.scraper.service.export;
+
+import com.scraper.model.ScrapedData;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvRowWriterTest {
+
+    @Test
+    void projectsOnlyTheRequestedFields() {
+        CsvColumns<ScrapedData> columns = CsvColumns.forWebResults(Set.of("emails", "errorMessage"));
+        assertArrayEquals(new String[]{"URL", "Status", "Response Time (ms)", "Emails", "Error Message"}, columns.header());
+
+        ScrapedData data = ScrapedData.builder()
+            .url("https://a.example")
+            .status("success")
+            .responseTime(120)
+            .emails(Set.of("info@a.example"))
+            .title("ignored")
+            .build();
+        assertArrayEquals(new String[]{"https://a.example", "success", "120", "info@a.example", ""}, columns.row(data));
+    }
+
+    @Test
+    void gzipsRowsOnTheWay() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvRowWriter<ScrapedData> rows = new CsvRowWriter<>(CsvColumns.forWebResults(Set.of("domain")), out, true);
+        rows.write(ScrapedData.builder().url("https://a.example").status("success").domain("a.example").build());
+        rows.write(ScrapedData.builder().url("https://b.example").status("error").build());
+        rows.finish();
+
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = csv.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("\"URL\",\"Status\",\"Response Time (ms)\",\"Domain\"", lines[0]);
+        assertEquals("\"https://b.example\",\"error\",\"0\",\"\"", lines[2]);
+    }
+}
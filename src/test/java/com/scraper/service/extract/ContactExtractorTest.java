@@ -0,0 +1,53 @@
+package com.scraper.service.extract;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Streaming extraction must find exactly what a scan of the fully materialized text finds.
+ */
+class ContactExtractorTest {
+
+    private static final String[] FRAGMENTS = {
+        "call ", "(555) 123-4567", "555 123 4567", "+1 555 123 4567", "1 (800) 555-0199", "555", " ", "  ",
+        "123", "4567", "(", ")", "-", ".", "\n", "info@acme.example.com", "sales@", "example.org",
+        "https://acme.example.com/about", "instagram.com/acme", "www.linkedin.com/company/acme",
+        "word", "x", "9", "<b>", "</b>", "<div>", "</div>", "<br>", "<span>", "</span>"
+    };
+
+    private final ContactExtractor extractor = new ContactExtractor(new SocialHostRegistry(""));
+
+    @Test
+    void streamedScanMatchesMaterializedText() {
+        Random random = new Random(3);
+        for (int page = 0; page < 20; page++) {
+            StringBuilder html = new StringBuilder("<body>");
+            while (html.length() < 5 * ContactExtractor.WINDOW_CHARS) {
+                html.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            Element body = Jsoup.parse(html.toString()).body();
+
+            ContactInfo streamed = extractor.extract(body, List.of());
+            ContactInfo materialized = extractor.extract(body.text());
+            assertEquals(new ArrayList<>(materialized.getEmails()), new ArrayList<>(streamed.getEmails()));
+            assertEquals(new ArrayList<>(materialized.getPhoneNumbers()), new ArrayList<>(streamed.getPhoneNumbers()));
+            assertEquals(new ArrayList<>(materialized.getSocialLinks()), new ArrayList<>(streamed.getSocialLinks()));
+            assertEquals(new ArrayList<>(materialized.getWebsites()), new ArrayList<>(streamed.getWebsites()));
+        }
+    }
+
+    @Test
+    void cutsOnlyWhereNoPhoneNumberCanSpan() {
+        assertEquals(0, ContactExtractor.safeCut("555 123 4567x"));
+        assertEquals(8, ContactExtractor.safeCut("555 1234 x"));
+        assertEquals(4, ContactExtractor.safeCut("call (555) 123-4567"));
+        assertEquals(5, ContactExtractor.safeCut("(555) x"));
+    }
+}
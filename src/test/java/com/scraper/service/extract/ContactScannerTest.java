@@ -0,0 +1,138 @@
+package com.scraper.service.extract;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Differential test: the scanner must report exactly the matches the original regexes find.
+ */
+class ContactScannerTest {
+
+    // The patterns ContactScanner replaces, kept verbatim as the reference
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+        "\\b[A-Za-z0-9]([A-Za-z0-9._%-]*[A-Za-z0-9])?@[A-Za-z0-9]([A-Za-z0-9.-]*[A-Za-z0-9])?\\.[A-Za-z]{2,}\\b"
+    );
+
+    private static final Pattern PHONE_PATTERN = Pattern.compile(
+        "\\b(?:\\(?\\+?1[-.\\)\\s]?)?\\(?([0-9]{3})\\)?[-.\\s]?([0-9]{3})[-.\\s]?([0-9]{4})\\b"
+    );
+
+    // The former SOCIAL_PATTERN, now case-insensitive, anchored at a host-name boundary and allowing '@' handles
+    private static final Pattern SOCIAL_PATTERN = Pattern.compile(
+        "(?i:https?://)?(?i:www\\.)?(?<![\\w-])(?i:instagram\\.com|twitter\\.com|facebook\\.com|linkedin\\.com|youtube\\.com|github\\.com|medium\\.com|reddit\\.com|pinterest\\.com|tiktok\\.com|snapchat\\.com)/[\\w\\-./@]+"
+    );
+
+    private static final String[] CORPUS = {
+        "",
+        "Contact us at info@example.com or sales@example.co.uk.",
+        "Mail John.Doe@Example.COM, jane_doe99@mail.example.org; x@y.z is too short",
+        "a@b.com.au a@b.com1 a@b.c0m a@b.-com a@-b.com a.@b.com .a@b.com -a@b.com",
+        "logo@2x.png lib@1.2.min.js first@second@third.com user@@host.com @host.com user@",
+        "a@b.com@c.com foo.bar-baz%qux@sub-domain.example.io__ test@example.comé",
+        "call (555) 123-4567, 555.123.4567, 555 123 4567 or 5551234567 today",
+        "+1 555-123-4567, +1(555)123-4567, 1-555-123-4567, 1.555.123.4567, (1)555-123-4567",
+        "x(555) 123-4567 x+1 555 123 4567 _555 123 4567 5555 123 4567 555 123 45678",
+        "555\t123\n4567 555\u000B123\f4567 555 123 4567 ①555 123 4567",
+        "ids: 123456789012345 and 1234567890123 and 12345-678-9012 and 800)555-0199",
+        "https://www.linkedin.com/company/acme, instagram.com/acme, http://twitter.com/acme?x=1",
+        "HTTPS://WWW.Instagram.COM/Acme medium.com/@acme myinstagram.com/x m.facebook.com/acme facebook.com/ github.com//",
+        "visit https://acme.example.com/about?ref=a@b.com or call 1 (800) 555-0199 ext 2",
+        "mixed: bob@example.com555-123-4567 and 555-123-4567bob@example.com",
+    };
+
+    private static final String[] FRAGMENTS = {
+        "a", "b", "Z", "9", "1", "0", "5", "_", "%", "-", ".", " ", "  ", "\t", "\n", "@", "(", ")", "+",
+        "/", ":", "é", " ", "com", "org", "555", "123", "4567", "mail", "x.y", "-1-", "(555)",
+        "+1 ", "555-123-4567", "jo.e@ex-a.mple.org", "https://", "www.", "instagram", ".com/", "@2x"
+    };
+
+    @Test
+    void matchesReferencePatternsOnCorpus() {
+        for (String text : CORPUS) {
+            assertSameMatches(text);
+        }
+    }
+
+    @Test
+    void matchesReferencePatternsOnGeneratedText() {
+        Random random = new Random(20240917L);
+        for (int i = 0; i < 50_000; i++) {
+            StringBuilder text = new StringBuilder();
+            int fragments = random.nextInt(40);
+            for (int j = 0; j < fragments; j++) {
+                text.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            assertSameMatches(text.toString());
+        }
+    }
+
+    @Test
+    void keepsMatchesInsideTheRequestedRange() {
+        String text = "xx call 555-123-4567 or mail a@b.com yy";
+        int start = text.indexOf("555");
+        int end = text.indexOf(" yy");
+        Collected collected = scan(text, start, end);
+
+        assertEquals(List.of("555-123-4567"), collected.phones);
+        assertEquals(List.of("a@b.com"), collected.emails);
+        // A cut through the middle of an address yields nothing rather than a fragment
+        assertEquals(List.of(), scan(text, start, text.indexOf(".com")).emails);
+    }
+
+    private static void assertSameMatches(String text) {
+        Collected collected = scan(text, 0, text.length());
+        assertEquals(find(EMAIL_PATTERN, text), collected.emails, () -> "emails in [" + text + "]");
+        assertEquals(find(PHONE_PATTERN, text), collected.phones, () -> "phones in [" + text + "]");
+        assertEquals(find(SOCIAL_PATTERN, text), collected.socialLinks, () -> "social links in [" + text + "]");
+        assertEquals(find(ContactScanner.WEBSITE_PATTERN, text), collected.websites, () -> "websites in [" + text + "]");
+    }
+
+    private static List<String> find(Pattern pattern, String text) {
+        List<String> matches = new ArrayList<>();
+        Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) {
+            matches.add(matcher.group());
+        }
+        return matches;
+    }
+
+    private static Collected scan(String text, int start, int end) {
+        Collected collected = new Collected();
+        ContactScanner.scan(text, start, end, collected);
+        return collected;
+    }
+
+    private static class Collected implements ContactScanner.Sink {
+        final List<String> emails = new ArrayList<>();
+        final List<String> phones = new ArrayList<>();
+        final List<String> socialLinks = new ArrayList<>();
+        final List<String> websites = new ArrayList<>();
+
+        @Override
+        public void email(CharSequence text, int start, int end) {
+            emails.add(text.subSequence(start, end).toString());
+        }
+
+        @Override
+        public void phone(CharSequence text, int start, int end) {
+            phones.add(text.subSequence(start, end).toString());
+        }
+
+        @Override
+        public void socialLink(CharSequence text, int start, int end, String platform) {
+            socialLinks.add(text.subSequence(start, end).toString());
+        }
+
+        @Override
+        public void website(CharSequence text, int start, int end) {
+            websites.add(text.subSequence(start, end).toString());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.scraper.service.extract;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Differential test: every signal must be what the {@code select()} call it replaces returns.
+ */
+class DocumentAnalyzerTest {
+
+    private static final String[] TAGS = {
+        "div", "div", "p", "p", "a", "a", "span", "section", "main", "article",
+        "nav", "header", "footer", "aside", "script", "style", "title", "meta"
+    };
+
+    private static final String[] CLASSES = {
+        "content", "post", "entry", "main-content", "result", "b_algo", "container", "wrapper", "Content", "other"
+    };
+
+    private static final String[] IDS = {"content", "main", "article", "Main", "other"};
+
+    private static final String[] HREFS = {
+        "https://acme.example.com/", "HTTP://Acme.Example.com/x", "mailto:info@acme.example.com",
+        "/relative", "https://www.google.com/url", "https://twitter.com/acme", ""
+    };
+
+    private static final String[] META_KEYS = {"name", "property", "NAME"};
+
+    private static final String[] META_VALUES = {
+        "description", " Description ", "og:description", "twitter:description", "keywords"
+    };
+
+    @Test
+    void matchesSelectorsOnSamplePage() {
+        assertSameSignals("<html><head><title> Acme </title>"
+            + "<meta name=\"description\" content=\"\"><meta property=\"og:description\" content=\"Og\">"
+            + "</head><body><header class=\"content\"><p>Header</p></header>"
+            + "<div data-ved=\"1\"><a href=\"https://acme.example.com\">Acme</a>"
+            + "<div class=\"result\"><a class=\"b_algo\" href=\"HTTPS://b.example.com\">B</a></div></div>"
+            + "<main><nav>Menu</nav><p>Main text that is long enough to be chosen as a description.</p></main>"
+            + "<div id=\"content\"><script>var x;</script></div><footer>(c)</footer></body></html>");
+    }
+
+    @Test
+    void matchesSelectorsOnGeneratedPages() {
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            StringBuilder html = new StringBuilder();
+            appendChildren(html, random, 0);
+            assertSameSignals(html.toString());
+        }
+    }
+
+    private static void appendChildren(StringBuilder html, Random random, int depth) {
+        int children = depth > 5 ? 0 : random.nextInt(4);
+        for (int i = 0; i < children; i++) {
+            String tag = TAGS[random.nextInt(TAGS.length)];
+            html.append('<').append(tag);
+            if (random.nextInt(3) == 0) {
+                html.append(" class=\"").append(CLASSES[random.nextInt(CLASSES.length)])
+                    .append(random.nextBoolean() ? " " + CLASSES[random.nextInt(CLASSES.length)] : "").append('"');
+            }
+            if (random.nextInt(6) == 0) {
+                html.append(" id=\"").append(IDS[random.nextInt(IDS.length)]).append('"');
+            }
+            if (random.nextInt(6) == 0) {
+                html.append(" data-ved=\"x\"");
+            }
+            if (tag.equals("a") && random.nextInt(4) != 0) {
+                html.append(" href=\"").append(HREFS[random.nextInt(HREFS.length)]).append('"');
+            }
+            if (tag.equals("meta")) {
+                html.append(' ').append(META_KEYS[random.nextInt(META_KEYS.length)]).append("=\"")
+                    .append(META_VALUES[random.nextInt(META_VALUES.length)]).append("\" content=\"c")
+                    .append(i).append('"');
+            }
+            html.append('>');
+            if (random.nextBoolean()) {
+                html.append("text ").append(depth).append(i);
+            }
+            if (!tag.equals("meta")) {
+                appendChildren(html, random, depth + 1);
+                html.append("</").append(tag).append('>');
+            }
+        }
+    }
+
+    private static void assertSameSignals(String html) {
+        Document document = Jsoup.parse(html);
+        Document reference = document.clone();
+        PageSignals signals = DocumentAnalyzer.analyze(document, ExtractionPlan.ALL);
+
+        assertSameElement(reference.select("title").first(), signals.getTitle(), html);
+        assertSameElement(reference.select("meta[name=description]").first(), signals.getMetaDescription(), html);
+        assertSameElement(reference.select("meta[property=og:description]").first(), signals.getOgDescription(), html);
+        assertSameElement(reference.select("meta[name=twitter:description]").first(), signals.getTwitterDescription(), html);
+        assertEquals(outerHtml(reference.select("p")), outerHtml(signals.getParagraphs()), html);
+        assertEquals(reference.select("a[href]").eachAttr("href"), signals.getLinks(), html);
+
+        boolean markup = !reference.select("div[data-ved]").isEmpty()
+            || !reference.select(".b_algo").isEmpty()
+            || !reference.select(".result").isEmpty();
+        assertEquals(markup, signals.hasSearchResultsMarkup(), html);
+        List<String> resultLinks = new ArrayList<>();
+        for (String query : new String[] {"div[data-ved] a[href^='http']", ".b_algo a[href^='http']", ".result a[href^='http']"}) {
+            resultLinks.addAll(reference.select(query).eachAttr("href"));
+        }
+        assertEquals(resultLinks, signals.getSearchResultLinks(), html);
+
+        // Content candidates are compared after both sides strip the same boilerplate
+        reference.select("script, style, nav, header, footer, aside").remove();
+        signals.getBoilerplate().forEach(Element::remove);
+        List<Element> candidates = new ArrayList<>();
+        for (String selector : DocumentAnalyzer.CONTENT_SELECTORS) {
+            Element first = reference.select(selector).first();
+            if (first != null) {
+                candidates.add(first);
+            }
+        }
+        assertEquals(outerHtml(candidates), outerHtml(signals.getContentCandidates()), html);
+        assertEquals(reference.outerHtml(), document.outerHtml(), html);
+    }
+
+    private static void assertSameElement(Element expected, Element actual, String html) {
+        assertEquals(expected != null ? expected.outerHtml() : null, actual != null ? actual.outerHtml() : null, html);
+    }
+
+    private static List<String> outerHtml(List<Element> elements) {
+        return elements.stream().map(Element::outerHtml).collect(Collectors.toList());
+    }
+}
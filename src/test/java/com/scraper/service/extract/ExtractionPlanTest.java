@@ -0,0 +1,70 @@
+package com.scraper.service.extract;
+
+import com.scraper.service.extract.ExtractionPlan.Field;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExtractionPlanTest {
+
+    @Test
+    void noSelectionMeansEveryField() {
+        assertSame(ExtractionPlan.ALL, ExtractionPlan.of(null));
+        assertSame(ExtractionPlan.ALL, ExtractionPlan.of(Set.of()));
+        assertTrue(ExtractionPlan.ALL.needsContacts());
+        assertFalse(ExtractionPlan.ALL.isHeadOnly());
+    }
+
+    @Test
+    void titleAndDomainStopAtHead() {
+        ExtractionPlan plan = ExtractionPlan.of(Set.of("title", "domain"));
+        assertTrue(plan.needsDocument());
+        assertTrue(plan.isHeadOnly());
+        assertFalse(plan.needsContacts());
+        assertEquals("title,domain", plan.key());
+    }
+
+    @Test
+    void domainAloneNeedsNoDocument() {
+        ExtractionPlan plan = ExtractionPlan.of(Set.of("domain", "errorMessage"));
+        assertFalse(plan.needsDocument());
+        assertEquals(Set.of(Field.DOMAIN), plan.getFields());
+    }
+
+    @Test
+    void anyContactFieldRunsTheContactScan() {
+        ExtractionPlan plan = ExtractionPlan.of(Set.of("phoneNumbers"));
+        assertTrue(plan.needsContacts());
+        assertFalse(plan.isHeadOnly());
+        assertFalse(plan.includes(Field.EMAILS));
+    }
+
+    @Test
+    void linksReadTheBody() {
+        ExtractionPlan plan = ExtractionPlan.of(Set.of("domain")).withLinks();
+        assertTrue(plan.needsLinks());
+        assertTrue(plan.needsDocument());
+        assertFalse(plan.isHeadOnly());
+        assertEquals("domain+links", plan.key());
+        assertSame(plan, plan.withLinks());
+        assertFalse(ExtractionPlan.ALL.needsLinks());
+    }
+
+    @Test
+    void unionServesBothPlans() {
+        ExtractionPlan titles = ExtractionPlan.of(Set.of("title"));
+        ExtractionPlan emails = ExtractionPlan.of(Set.of("emails")).withLinks();
+        ExtractionPlan both = titles.union(emails);
+        assertTrue(both.covers(titles));
+        assertTrue(both.covers(emails));
+        assertEquals("title,emails+links", both.key());
+        assertFalse(titles.covers(emails));
+        assertFalse(ExtractionPlan.ALL.covers(emails));
+        assertSame(ExtractionPlan.ALL, ExtractionPlan.ALL.union(titles));
+    }
+}
@@ -0,0 +1,64 @@
+package com.scraper.service.extract;
+
+import com.scraper.model.SocialLink;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SocialHostMatcherTest {
+
+    @Test
+    void typesLinksByPlatform() {
+        ContactExtractor extractor = new ContactExtractor(new SocialHostRegistry(""));
+
+        ContactInfo info = extractor.extract(
+            "Find us on https://www.LinkedIn.com/company/acme and github.com/acme, not on acme.com/about");
+
+        assertEquals(List.of(
+            new SocialLink("linkedin", "https://www.LinkedIn.com/company/acme"),
+            new SocialLink("github", "github.com/acme")
+        ), info.getSocialProfiles());
+    }
+
+    @Test
+    void requiresHostNameBoundary() {
+        SocialHostMatcher matcher = SocialHostMatcher.of(Map.of("x.com", "twitter", "facebook.com", "facebook"));
+
+        assertNull(ContactScanner.socialPlatform("https://box.com/files", matcher));
+        assertNull(ContactScanner.socialPlatform("my-x.com/acme", matcher));
+        assertEquals("twitter", ContactScanner.socialPlatform("https://x.com/acme", matcher));
+        assertEquals("facebook", ContactScanner.socialPlatform("https://m.facebook.com/acme", matcher));
+    }
+
+    @Test
+    void prefersLongestHostEndingAtSamePosition() {
+        SocialHostMatcher matcher = SocialHostMatcher.of(Map.of(
+            "facebook.com", "facebook",
+            "business.facebook.com", "facebook-business"));
+
+        assertEquals("facebook-business", ContactScanner.socialPlatform("business.facebook.com/acme", matcher));
+        assertEquals("facebook", ContactScanner.socialPlatform("xbusiness.facebook.com/acme", matcher));
+    }
+
+    @Test
+    void registryAddsAndRemovesHostsAtRuntime() {
+        SocialHostRegistry registry = new SocialHostRegistry("threads.net=threads");
+        ContactExtractor extractor = new ContactExtractor(registry);
+
+        assertEquals("threads", extractor.socialPlatform("https://www.threads.net/@acme"));
+        assertNull(extractor.socialPlatform("https://bsky.app/profile/acme"));
+
+        assertTrue(registry.addHost("https://bsky.app", "Bluesky"));
+        assertEquals("bluesky", extractor.socialPlatform("https://bsky.app/profile/acme"));
+
+        assertTrue(registry.removeHost("bsky.app"));
+        assertNull(extractor.socialPlatform("https://bsky.app/profile/acme"));
+        assertFalse(registry.addHost("not a host", "x"));
+    }
+}
@@ -0,0 +1,165 @@
+package com.scraper.service.extract;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Streaming extraction must agree with the tree-based extractors on pages where content is the
+ * body text, which is the one place streaming approximates.
+ */
+class StreamingPageExtractorTest {
+
+    private static final String[] TEXT = {
+        "call ", "(555) 123-4567", "+1 555 123 4567", " ", "  ", "\n", "word", "x", "9",
+        "info@acme.example.com", "https://acme.example.com/about", "instagram.com/acme",
+        "&amp;", "&lt;b&gt;", "&copy;", "&#169;", "&nbsp;", "AT&T", "&notanentity;", "< not a tag",
+        "<!-- 555 123 4567 -->", "<?php echo 1 ?>", "<br>", "<img src=x alt=\"(555) 987-6543\">",
+        "<script>var s = '</div> 555 123 4567';</script>", "<style>p { color: red }</style>"
+    };
+
+    private static final String[] BLOCKS = {"div", "section", "nav", "footer", "p"};
+    private static final String[] INLINE = {"b", "span class=x", "a href=\"https://twitter.com/acme\"", "a href='/about' title=\"a > b\""};
+
+    private final ContactExtractor extractor = new ContactExtractor(new SocialHostRegistry(""));
+
+    @Test
+    void matchesTreeExtractionOnSamplePage() throws IOException {
+        String html = "<!DOCTYPE html><html><head><title> Acme &amp; Sons </title>"
+            + "<meta name=\"description\" content=\"\"><meta property=og:description content=\" Tools and more \">"
+            + "</head><body><header>Acme header</header><nav><a href=\"https://www.linkedin.com/company/acme\">in</a></nav>"
+            + "<p>Short.</p><p>We have been making tools for the trade since 1921, one bench at a time.</p>"
+            + "<div>Write to sales@acme.example.com or call (555) 123-4567.</div><footer>footer</footer></body></html>";
+        assertMatchesTree(html);
+        StreamedPage page = stream(html, ExtractionPlan.ALL);
+        assertEquals("Acme & Sons", page.getTitle());
+        assertEquals("Tools and more", page.getDescription());
+    }
+
+    @Test
+    void matchesTreeExtractionOnGeneratedPages() throws IOException {
+        Random random = new Random(11);
+        for (int page = 0; page < 300; page++) {
+            StringBuilder html = new StringBuilder("<html><head><title>t</title></head><body>");
+            // Some pages cross the tokenizer's slice size and the contact window
+            int length = page % 10 == 0 ? 3 * ContactExtractor.WINDOW_CHARS : 2000;
+            while (html.length() < length) {
+                appendBlock(random, html, 0);
+            }
+            assertMatchesTree(html.toString());
+        }
+    }
+
+    /**
+     * Well-formed markup: how a tree builder repairs broken nesting is out of a tokenizer's
+     * reach. Blocks are followed by whitespace, as formatted markup has it; jsoup versions
+     * differ on spacing a block from an inline sibling.
+     */
+    private static void appendBlock(Random random, StringBuilder html, int depth) {
+        String tag = BLOCKS[random.nextInt(BLOCKS.length)];
+        html.append('<').append(tag).append('>');
+        for (int i = random.nextInt(6); i >= 0; i--) {
+            if (!"p".equals(tag) && depth < 3 && random.nextInt(4) == 0) {
+                appendBlock(random, html, depth + 1);
+            } else {
+                appendInline(random, html, depth, false);
+            }
+        }
+        html.append("</").append(tag).append(">\n");
+    }
+
+    private static void appendInline(Random random, StringBuilder html, int depth, boolean inLink) {
+        String tag = INLINE[random.nextInt(INLINE.length)];
+        // Links do not nest
+        if (depth < 4 && random.nextInt(3) == 0 && !(inLink && tag.startsWith("a "))) {
+            html.append('<').append(tag).append('>');
+            appendInline(random, html, depth + 1, inLink || tag.startsWith("a "));
+            html.append("</").append(tag, 0, tag.indexOf(' ') < 0 ? tag.length() : tag.indexOf(' ')).append('>');
+        } else {
+            html.append(TEXT[random.nextInt(TEXT.length)]);
+        }
+    }
+
+    @Test
+    void headOnlyPlanStopsReadingAtBody() throws IOException {
+        byte[] html = ("<html><head><title>Head only</title></head><body>" + "x".repeat(1 << 20) + "</body></html>")
+            .getBytes(StandardCharsets.UTF_8);
+        int[] read = {0};
+        InputStream counting = new ByteArrayInputStream(html) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                int n = super.read(b, off, len);
+                read[0] += Math.max(n, 0);
+                return n;
+            }
+        };
+        StreamedPage page = StreamingPageExtractor.extract(counting, null, ExtractionPlan.of(Set.of("title")), null, 2000);
+        assertEquals("Head only", page.getTitle());
+        assertTrue(read[0] < 64 * 1024, "read " + read[0] + " bytes");
+    }
+
+    @Test
+    void decodesWithMetaCharsetUnlessDeclared() throws IOException {
+        byte[] html = "<html><head><meta charset=\"windows-1252\"><title>Caf\u00e9</title></head></html>"
+            .getBytes(Charset.forName("windows-1252"));
+        ExtractionPlan plan = ExtractionPlan.of(Set.of("title"));
+        assertEquals("Caf\u00e9", StreamingPageExtractor.extract(new ByteArrayInputStream(html), null, plan, null, 2000).getTitle());
+        assertEquals("Caf\uFFFD", StreamingPageExtractor.extract(new ByteArrayInputStream(html), StandardCharsets.UTF_8, plan, null, 2000).getTitle());
+    }
+
+    private void assertMatchesTree(String html) throws IOException {
+        Document document = Jsoup.parse(html);
+        PageSignals signals = DocumentAnalyzer.analyze(document, ExtractionPlan.ALL);
+        ContactInfo expectedContacts = extractor.extract(document, signals.getLinks());
+        String expectedDescription = describe(signals);
+        String expectedTitle = signals.getTitle() != null ? signals.getTitle().text().trim() : "";
+        signals.getBoilerplate().forEach(Element::remove);
+        String expectedContent = TextCollector.abbreviate(document.body(), 2000);
+
+        StreamedPage page = stream(html, ExtractionPlan.ALL);
+        assertEquals(expectedTitle, page.getTitle(), html);
+        assertEquals(expectedDescription, page.getDescription(), html);
+        assertEquals(expectedContent, page.getContent(), html);
+        ContactInfo contacts = page.getContacts();
+        assertEquals(new ArrayList<>(expectedContacts.getEmails()), new ArrayList<>(contacts.getEmails()), html);
+        assertEquals(new ArrayList<>(expectedContacts.getPhoneNumbers()), new ArrayList<>(contacts.getPhoneNumbers()), html);
+        assertEquals(new ArrayList<>(expectedContacts.getSocialLinks()), new ArrayList<>(contacts.getSocialLinks()), html);
+    }
+
+    private StreamedPage stream(String html, ExtractionPlan plan) throws IOException {
+        return StreamingPageExtractor.extract(new ByteArrayInputStream(html.getBytes(StandardCharsets.UTF_8)),
+            StandardCharsets.UTF_8, plan, extractor.stream(), 2000);
+    }
+
+    /** The tree-based description rules, as the scraping service applies them. */
+    private static String describe(PageSignals signals) {
+        for (Element meta : new Element[] {
+                signals.getMetaDescription(), signals.getOgDescription(), signals.getTwitterDescription()}) {
+            if (meta != null && !meta.attr("content").isEmpty()) {
+                return meta.attr("content").trim();
+            }
+        }
+        List<Element> paragraphs = signals.getParagraphs();
+        for (Element p : paragraphs) {
+            String text = TextCollector.abbreviate(p, 300);
+            if (text.length() > 50 && text.length() < 300) {
+                return text;
+            }
+        }
+        return paragraphs.isEmpty() ? "" : TextCollector.abbreviate(paragraphs.get(0), 200);
+    }
+}
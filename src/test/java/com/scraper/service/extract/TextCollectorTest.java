@@ -0,0 +1,80 @@
+package com.scraper.service.extract;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Differential test: abbreviated text must be exactly {@code text()} cut the way callers cut it.
+ */
+class TextCollectorTest {
+
+    private static final String[] TAGS = {
+        "div", "p", "span", "b", "a", "br", "pre", "ul", "li", "h1", "textarea", "section", "x-widget"
+    };
+
+    private static final String[] TEXT = {
+        "one", "Two", " ", "   ", "\n", "\t", " ", "​", "a  b", " lead", "trail ", "555-0199", "x"
+    };
+
+    private static final int[] LIMITS = {0, 1, 3, 10, 40, 200};
+
+    @Test
+    void abbreviatesLikeTextOnGeneratedPages() {
+        Random random = new Random(7);
+        for (int i = 0; i < 2_000; i++) {
+            StringBuilder html = new StringBuilder();
+            appendChildren(html, random, 0);
+            Document document = Jsoup.parse(html.toString());
+            for (Element element : document.getAllElements()) {
+                for (int limit : LIMITS) {
+                    assertAbbreviates(element, limit);
+                }
+            }
+        }
+    }
+
+    @Test
+    void abbreviatesLargeTextNodesAcrossSlices() {
+        StringBuilder text = new StringBuilder();
+        Random random = new Random(11);
+        while (text.length() < 5 * TextCollector.SLICE_CHARS) {
+            text.append(TEXT[random.nextInt(TEXT.length)]);
+        }
+        for (String html : new String[] {"<p>" + text + "</p>", "<pre>" + text + "</pre>"}) {
+            Element body = Jsoup.parse(html).body();
+            for (int limit : new int[] {10, TextCollector.SLICE_CHARS - 1, 3 * TextCollector.SLICE_CHARS, 10 * TextCollector.SLICE_CHARS}) {
+                assertAbbreviates(body, limit);
+            }
+        }
+    }
+
+    private static void assertAbbreviates(Element element, int limit) {
+        String text = element.text();
+        String expected = text.length() > limit ? text.substring(0, limit) + "..." : text;
+        assertEquals(expected, TextCollector.abbreviate(element, limit), () -> element.outerHtml() + " / " + limit);
+    }
+
+    private static void appendChildren(StringBuilder html, Random random, int depth) {
+        int children = depth > 4 ? 0 : random.nextInt(4);
+        for (int i = 0; i < children; i++) {
+            if (random.nextBoolean()) {
+                html.append(TEXT[random.nextInt(TEXT.length)]);
+            }
+            String tag = TAGS[random.nextInt(TAGS.length)];
+            html.append('<').append(tag).append('>');
+            if (!tag.equals("br")) {
+                if (random.nextBoolean()) {
+                    html.append(TEXT[random.nextInt(TEXT.length)]);
+                }
+                appendChildren(html, random, depth + 1);
+                html.append("</").append(tag).append('>');
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.scraper.service.fetch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveHostLimitsTest {
+
+    private static final String HOST = "www.example.com";
+
+    private final HostLatencyTracker tracker = new HostLatencyTracker();
+    private final AdaptiveHostLimits limits = new AdaptiveHostLimits(tracker, true, 10_000, 2_000, 99, 2.0, 2, 8, 0.5);
+
+    @Test
+    void histogramBucketsStayWithinAnEighth() {
+        for (long value = 0; value < 100_000; value += 7) {
+            long upper = LatencyHistogram.upperBound(LatencyHistogram.bucketOf(value));
+            assertTrue(upper >= value && upper <= value + value / 8, value + " -> " + upper);
+        }
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i, false);
+        }
+        assertEquals(51, histogram.percentile(50, null));
+        assertEquals(103, histogram.percentile(99, null));
+    }
+
+    @Test
+    void timeoutFollowsTheHostsP99WithinBounds() {
+        assertEquals(10_000, limits.timeoutMillis(HOST));
+        for (int i = 0; i < 50; i++) {
+            tracker.record(HOST, 300, false);
+        }
+        assertEquals(2_000, limits.timeoutMillis(HOST));
+        for (int i = 0; i < 50; i++) {
+            tracker.record(HOST, 1_500, false);
+        }
+        long timeout = limits.timeoutMillis(HOST);
+        assertTrue(timeout >= 3_000 && timeout <= 3_400, String.valueOf(timeout));
+        for (int i = 0; i < 50; i++) {
+            tracker.record(HOST, 9_000, true);
+        }
+        assertEquals(10_000, limits.timeoutMillis(HOST));
+    }
+
+    @Test
+    void busyHostGrowsAdditivelyAndBacksOffOncePerRound() {
+        AdaptiveHostLimits.Permit first = limits.acquire(HOST).join();
+        AdaptiveHostLimits.Permit second = limits.acquire(HOST).join();
+        CompletableFuture<AdaptiveHostLimits.Permit> third = limits.acquire(HOST);
+        assertFalse(third.isDone());
+
+        // Each success while every slot is taken adds 1/limit: 2 -> 2.5 -> 2.9
+        first.release(AdaptiveHostLimits.Outcome.SUCCESS);
+        assertTrue(third.isDone());
+        second.release(AdaptiveHostLimits.Outcome.SUCCESS);
+        assertEquals(2.9, limit());
+
+        AdaptiveHostLimits.Permit a = third.join();
+        AdaptiveHostLimits.Permit b = limits.acquire(HOST).join();
+        // Both were sent before the cut, so only the first failure counts
+        a.release(AdaptiveHostLimits.Outcome.CONGESTED);
+        b.release(AdaptiveHostLimits.Outcome.CONGESTED);
+        assertEquals(1.45, limit());
+
+        AdaptiveHostLimits.Permit c = limits.acquire(HOST).join();
+        c.release(AdaptiveHostLimits.Outcome.CONGESTED);
+        c.release(AdaptiveHostLimits.Outcome.CONGESTED);
+        assertEquals(1.0, limit());
+    }
+
+    @Test
+    void idleHostDoesNotGrowAndCancelledWaitsGiveTheirSlotBack() {
+        AdaptiveHostLimits.Permit only = limits.acquire(HOST).join();
+        only.release(AdaptiveHostLimits.Outcome.SUCCESS);
+        assertEquals(2.0, limit());
+
+        AdaptiveHostLimits.Permit first = limits.acquire(HOST).join();
+        AdaptiveHostLimits.Permit second = limits.acquire(HOST).join();
+        CompletableFuture<AdaptiveHostLimits.Permit> waiting = limits.acquire(HOST);
+        waiting.cancel(true);
+        first.release(AdaptiveHostLimits.Outcome.IGNORED);
+        second.release(AdaptiveHostLimits.Outcome.IGNORED);
+        assertEquals(0, state().get("inFlight"));
+    }
+
+    private double limit() {
+        return (double) state().get("concurrencyLimit");
+    }
+
+    private Map<String, Object> state() {
+        return limits.snapshot().get(0);
+    }
+}
@@ -0,0 +1,130 @@
+package com.scraper.service.fetch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final String URL = "https://www.example.com/page";
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    // 50% of at least 4 requests in a 10 s window opens the circuit for 5 s, with one probe
+    private final CircuitBreakerRegistry breakers = new CircuitBreakerRegistry(50, 4, 10, 5, 1, now::get);
+
+    @Test
+    void opensOnceEnoughRequestsFail() {
+        fail(3);
+        assertEquals("CLOSED", state());
+
+        succeed(1);
+        fail(1);
+        assertEquals("OPEN", state());
+        assertFalse(breakers.tryAcquire(URL));
+        assertEquals(5_000, breakers.retryAfterMillis(URL));
+        // Other domains are unaffected
+        assertTrue(breakers.tryAcquire("https://other.example.org/"));
+    }
+
+    @Test
+    void staysClosedBelowTheFailureRate() {
+        succeed(3);
+        fail(2);
+        assertEquals("CLOSED", state());
+        assertTrue(breakers.tryAcquire(URL));
+    }
+
+    @Test
+    void halfOpenProbeThatSucceedsClosesTheCircuit() {
+        open();
+        now.addAndGet(4_000);
+        assertFalse(breakers.tryAcquire(URL));
+        assertEquals(1_000, breakers.retryAfterMillis(URL));
+
+        now.addAndGet(1_000);
+        assertTrue(breakers.tryAcquire(URL));
+        // Only one probe at a time
+        assertFalse(breakers.tryAcquire(URL));
+
+        breakers.recordSuccess(URL);
+        assertEquals("CLOSED", state());
+        assertEquals(0, requestsInWindow());
+        assertTrue(breakers.tryAcquire(URL));
+    }
+
+    @Test
+    void halfOpenProbeThatFailsReopensTheCircuit() {
+        open();
+        now.addAndGet(5_000);
+        assertTrue(breakers.tryAcquire(URL));
+
+        breakers.recordFailure(URL);
+        assertEquals("OPEN", state());
+        assertEquals(5_000, breakers.retryAfterMillis(URL));
+    }
+
+    @Test
+    void releasedProbeLetsTheNextOneThrough() {
+        open();
+        now.addAndGet(5_000);
+        assertTrue(breakers.tryAcquire(URL));
+        assertFalse(breakers.tryAcquire(URL));
+
+        // The probe's fetch was never sent
+        breakers.release(URL);
+        assertTrue(breakers.tryAcquire(URL));
+        assertEquals("HALF_OPEN", state());
+    }
+
+    @Test
+    void oldOutcomesLeaveTheWindow() {
+        fail(3);
+        now.addAndGet(11_000);
+        assertEquals(0, requestsInWindow());
+
+        // The earlier failures no longer count: 1 of 4 is below the rate
+        fail(1);
+        succeed(3);
+        assertEquals("CLOSED", state());
+        assertEquals(4, requestsInWindow());
+    }
+
+    private void open() {
+        fail(4);
+        assertEquals("OPEN", state());
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            breakers.tryAcquire(URL);
+            breakers.recordFailure(URL);
+        }
+    }
+
+    private void succeed(int times) {
+        for (int i = 0; i < times; i++) {
+            breakers.tryAcquire(URL);
+            breakers.recordSuccess(URL);
+        }
+    }
+
+    private String state() {
+        return (String) snapshot().get("state");
+    }
+
+    private int requestsInWindow() {
+        return (Integer) snapshot().get("requestsInWindow");
+    }
+
+    private Map<String, Object> snapshot() {
+        return breakers.snapshot().stream()
+            .filter(state -> "example.com".equals(state.get("domain")))
+            .findFirst()
+            .orElseThrow();
+    }
+}
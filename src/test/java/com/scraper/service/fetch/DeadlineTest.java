@@ -0,0 +1,34 @@
+package com.scraper.service.fetch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadlineTest {
+
+    @Test
+    void noBudgetNeverExpires() {
+        assertSame(Deadline.NONE, Deadline.ofBudget(null));
+        assertSame(Deadline.NONE, Deadline.ofBudget(0L));
+        assertFalse(Deadline.NONE.isExpired());
+        assertEquals(Long.MAX_VALUE, Deadline.NONE.remainingMillis());
+        assertEquals(10_000, Deadline.NONE.cap(10_000));
+    }
+
+    @Test
+    void capsStepTimeoutsToWhatIsLeft() throws InterruptedException {
+        Deadline deadline = Deadline.ofBudget(50L);
+        assertTrue(deadline.isBounded());
+        assertTrue(deadline.cap(10_000) <= 50);
+        assertEquals(20, deadline.cap(20));
+
+        Thread.sleep(60);
+        assertTrue(deadline.isExpired());
+        assertEquals(0, deadline.remainingMillis());
+        // An expired deadline still yields a usable, minimal timeout
+        assertEquals(1, deadline.cap(10_000));
+    }
+}
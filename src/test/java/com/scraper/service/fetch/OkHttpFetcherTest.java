@@ -0,0 +1,171 @@
+package com.scraper.service.fetch;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CompletionException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OkHttpFetcherTest {
+
+    private static final String ETAG = "\"v1\"";
+
+    @Test
+    void expiredEntryIsRevalidatedRatherThanServedAsHit() throws Exception {
+        AtomicInteger notModified = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            // A minute old with a 30 second lifetime: stale as soon as it is stored
+            exchange.getResponseHeaders().set("Age", "60");
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=30");
+            exchange.getResponseHeaders().set("ETag", ETAG);
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                byte[] body = "<html><title>Acme</title></html>".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+            exchange.close();
+        });
+        server.start();
+
+        HttpResponseCache cache = new HttpResponseCache(true,
+            Files.createTempDirectory("http-cache").toString(), 1, 3600, 0);
+        OkHttpFetcher fetcher = new OkHttpFetcher(cache, new BodyLimits(1 << 20, 1 << 20, "*=1MB"),
+            "test-agent", 5_000, 2, 10, 4, 2);
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/page";
+        try {
+            assertEquals(FetchResult.CACHE_MISS, fetcher.fetchAsync(url).join().getCacheStatus());
+            assertNull(fetcher.fetchFromCache(url).join());
+
+            FetchResult again = fetcher.fetchAsync(url).join();
+            assertEquals(FetchResult.CACHE_REVALIDATED, again.getCacheStatus());
+            assertEquals("<html><title>Acme</title></html>", new String(again.getBody(), StandardCharsets.UTF_8));
+            assertEquals(1, notModified.get());
+        } finally {
+            fetcher.shutdown();
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void callTimeoutEndsABodyThatTricklesIn() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "text/html");
+            exchange.sendResponseHeaders(200, 0);
+            try {
+                // A byte every 100 ms: never idle long enough for the read timeout
+                for (int i = 0; i < 30; i++) {
+                    exchange.getResponseBody().write('x');
+                    exchange.getResponseBody().flush();
+                    Thread.sleep(100);
+                }
+            } catch (Exception e) {
+                // The client hung up
+            }
+            exchange.close();
+        });
+        server.start();
+
+        HttpResponseCache cache = new HttpResponseCache(false, "unused", 1, 3600, 0);
+        OkHttpFetcher fetcher = new OkHttpFetcher(cache, new BodyLimits(1 << 20, 1 << 20, "*=1MB"),
+            "test-agent", 5_000, 2, 10, 4, 2);
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/slow";
+        try {
+            long start = System.nanoTime();
+            assertThrows(CompletionException.class, () -> fetcher.fetchAsync(url, 1_000, 400).join());
+            assertTrue((System.nanoTime() - start) / 1_000_000 < 2_000);
+        } finally {
+            fetcher.shutdown();
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void compressedBodyOverTheLimitIsDroppedFromItsHeaders() throws Exception {
+        // Random bytes barely compress, so the gzip body on the wire is still about 8KB
+        byte[] raw = new byte[8 * 1024];
+        new Random(42).nextBytes(raw);
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(raw);
+        }
+        byte[] body = gzipped.toByteArray();
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "text/html");
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        HttpResponseCache cache = new HttpResponseCache(false, "unused", 1, 3600, 0);
+        OkHttpFetcher fetcher = new OkHttpFetcher(cache, new BodyLimits(1 << 20, 1 << 20, "*=4KB"),
+            "test-agent", 5_000, 2, 10, 4, 2);
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/big";
+        try {
+            FetchResult result = fetcher.fetchAsync(url).join();
+            assertTrue(result.isDropped());
+            assertTrue(result.getDroppedReason().contains(String.valueOf(body.length)));
+        } finally {
+            fetcher.shutdown();
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void deflateIsDecodedWithOrWithoutTheZlibWrapper() throws Exception {
+        byte[] page = "<html><title>Acme</title></html>".getBytes(StandardCharsets.UTF_8);
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            // /raw sends the bare deflate stream some servers use, /zlib the wrapped one
+            boolean raw = exchange.getRequestURI().getPath().equals("/raw");
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, raw);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater)) {
+                out.write(page);
+            }
+            deflater.end();
+            exchange.getResponseHeaders().set("Content-Type", "text/html");
+            exchange.getResponseHeaders().set("Content-Encoding", "deflate");
+            exchange.sendResponseHeaders(200, compressed.size());
+            exchange.getResponseBody().write(compressed.toByteArray());
+            exchange.close();
+        });
+        server.start();
+
+        HttpResponseCache cache = new HttpResponseCache(false, "unused", 1, 3600, 0);
+        OkHttpFetcher fetcher = new OkHttpFetcher(cache, new BodyLimits(1 << 20, 1 << 20, "*=1MB"),
+            "test-agent", 5_000, 2, 10, 4, 2);
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        try {
+            for (String path : new String[] {"/raw", "/zlib"}) {
+                FetchResult result = fetcher.fetchAsync(base + path).join();
+                assertEquals("<html><title>Acme</title></html>", new String(result.getBody(), StandardCharsets.UTF_8), path);
+            }
+        } finally {
+            fetcher.shutdown();
+            server.stop(0);
+        }
+    }
+}
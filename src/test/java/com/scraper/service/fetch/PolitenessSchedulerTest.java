@@ -0,0 +1,80 @@
+package com.scraper.service.fetch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PolitenessSchedulerTest {
+
+    private PolitenessScheduler scheduler;
+
+    @AfterEach
+    void stopTimer() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void requestsToOneHostAreSpaced() {
+        scheduler = new PolitenessScheduler(200, 1, 1_000, 1_000, 0, 30_000);
+
+        assertTrue(scheduler.acquire("https://a.example.com/1").isDone());
+        CompletableFuture<Void> second = scheduler.acquire("https://a.example.com/2");
+        assertFalse(second.isDone());
+
+        long start = System.nanoTime();
+        second.join();
+        assertTrue((System.nanoTime() - start) / 1_000_000 >= 150);
+    }
+
+    @Test
+    void hostsAreSpacedIndependently() {
+        scheduler = new PolitenessScheduler(60_000, 1, 1_000, 1_000, 0, 30_000);
+
+        assertTrue(scheduler.acquire("https://a.example.com/").isDone());
+        assertTrue(scheduler.acquire("https://b.example.com/").isDone());
+        assertFalse(scheduler.acquire("https://a.example.com/next").isDone());
+    }
+
+    @Test
+    void hostBurstGoesOutBackToBack() {
+        scheduler = new PolitenessScheduler(60_000, 3, 1_000, 1_000, 0, 30_000);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(scheduler.acquire("https://a.example.com/" + i).isDone());
+        }
+        assertFalse(scheduler.acquire("https://a.example.com/3").isDone());
+    }
+
+    @Test
+    void globalBurstSpansHosts() {
+        scheduler = new PolitenessScheduler(0, 1, 1, 2, 0, 30_000);
+
+        assertTrue(scheduler.acquire("https://a.example.com/").isDone());
+        assertTrue(scheduler.acquire("https://b.example.com/").isDone());
+        assertFalse(scheduler.acquire("https://c.example.com/").isDone());
+    }
+
+    @Test
+    void zeroGlobalRateMeansNoGlobalLimit() {
+        scheduler = new PolitenessScheduler(0, 1, 0, 5, 0, 30_000);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(scheduler.acquire("https://host" + i + ".example.com/").isDone());
+        }
+    }
+
+    @Test
+    void tryAcquireOnlyReservesAPermitReadyInTime() {
+        scheduler = new PolitenessScheduler(60_000, 1, 1_000, 1_000, 0, 30_000);
+        scheduler.acquire("https://a.example.com/");
+
+        assertNull(scheduler.tryAcquire("https://a.example.com/hedge", 1_000));
+        assertNotNull(scheduler.tryAcquire("https://b.example.com/", 1_000));
+    }
+}
@@ -0,0 +1,86 @@
+package com.scraper.service.fetch;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryPolicyTest {
+
+    private final RetryPolicy policy = new RetryPolicy(3, 100, 1_000);
+
+    @Test
+    void transientTransportFailuresAreRetried() {
+        assertTrue(policy.isRetryable(new SocketException("Connection reset")));
+        assertTrue(policy.isRetryable(new ConnectException("Connection refused")));
+        assertTrue(policy.isRetryable(new SocketTimeoutException("timeout")));
+        assertTrue(policy.isRetryable(new CompletionException(new SocketTimeoutException("Read timed out"))));
+    }
+
+    @Test
+    void failuresThatCannotSucceedAreFinal() {
+        assertFalse(policy.isRetryable(new UnknownHostException("nowhere.invalid")));
+        assertFalse(policy.isRetryable(new CancellationException()));
+        assertFalse(policy.isRetryable(new IOException("bad url", new IllegalArgumentException())));
+        assertFalse(policy.isRetryable(new IllegalStateException("not I/O")));
+    }
+
+    @Test
+    void onlyThrottlingAndGatewayStatusesAreRetried() {
+        for (int status : new int[] {408, 429, 502, 503, 504}) {
+            assertTrue(policy.isRetryable(RetryingFetcherTest.response(status, Map.of())), "HTTP " + status);
+        }
+        for (int status : new int[] {200, 301, 403, 404, 500}) {
+            assertFalse(policy.isRetryable(RetryingFetcherTest.response(status, Map.of())), "HTTP " + status);
+        }
+    }
+
+    @Test
+    void backoffGrowsUpToTheCeiling() {
+        long[] largest = new long[6];
+        for (int retry = 0; retry < largest.length; retry++) {
+            for (int i = 0; i < 2_000; i++) {
+                long backoff = policy.backoffMillis(retry, null);
+                long ceiling = Math.min(1_000, 100L << retry);
+                assertTrue(backoff >= 0 && backoff <= ceiling, "retry " + retry + ": " + backoff);
+                largest[retry] = Math.max(largest[retry], backoff);
+            }
+        }
+        // Full jitter reaches close to each retry's ceiling: 100, 200, 400, 800, then capped at 1000
+        assertTrue(largest[0] > 80 && largest[1] > 160 && largest[2] > 320 && largest[3] > 640);
+        assertTrue(largest[4] > 800 && largest[5] > 800);
+    }
+
+    @Test
+    void retryAfterIsAFloorUnlessItIsTooLong() {
+        FetchResult throttled = RetryingFetcherTest.response(429, Map.of("Retry-After", "1"));
+        for (int i = 0; i < 100; i++) {
+            assertTrue(policy.backoffMillis(0, throttled) >= 1_000);
+        }
+        // Asked to wait longer than the maximum delay: give up instead
+        assertEquals(-1, policy.backoffMillis(0, RetryingFetcherTest.response(503, Map.of("Retry-After", "120"))));
+    }
+
+    @Test
+    void retryAfterTakesSecondsOrAnHttpDate() {
+        assertEquals(5_000, RetryPolicy.retryAfterMillis("5"));
+        assertEquals(-1, RetryPolicy.retryAfterMillis("soon"));
+        assertEquals(-1, RetryPolicy.retryAfterMillis(null));
+        String inAMinute = ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(60).format(DateTimeFormatter.RFC_1123_DATE_TIME);
+        long millis = RetryPolicy.retryAfterMillis(inAMinute);
+        assertTrue(millis > 55_000 && millis <= 60_000, String.valueOf(millis));
+    }
+}
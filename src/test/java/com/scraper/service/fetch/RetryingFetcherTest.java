@@ -0,0 +1,188 @@
+package com.scraper.service.fetch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryingFetcherTest {
+
+    private static final String URL = "https://www.example.com/page";
+    private static final String HOST = "www.example.com";
+
+    private final HostLatencyTracker tracker = new HostLatencyTracker();
+    private final AdaptiveHostLimits hostLimits = new AdaptiveHostLimits(tracker, true, 10_000, 2_000, 99, 2.0, 2, 8, 0.5);
+    private final ScriptedFetcher fetcher = new ScriptedFetcher();
+    private PolitenessScheduler politeness;
+
+    @AfterEach
+    void stopTimer() {
+        if (politeness != null) {
+            politeness.shutdown();
+        }
+    }
+
+    @Test
+    void connectionResetIsRetriedUntilItSucceeds() {
+        RetryingFetcher retrying = fetcherWith(0, false);
+        fetcher.then(() -> CompletableFuture.failedFuture(new SocketException("Connection reset")))
+            .then(() -> CompletableFuture.failedFuture(new SocketTimeoutException("timeout")))
+            .then(() -> CompletableFuture.completedFuture(response(200, Map.of())));
+
+        FetchAttempts attempts = new FetchAttempts();
+        FetchResult result = retrying.fetchAsync(URL, attempts).join();
+
+        assertEquals(200, result.getStatusCode());
+        assertEquals(2, attempts.getRetries());
+        assertEquals(3, fetcher.calls.size());
+    }
+
+    @Test
+    void serviceUnavailableIsRetriedAfterItsRetryAfter() {
+        RetryingFetcher retrying = fetcherWith(0, false);
+        fetcher.then(() -> CompletableFuture.completedFuture(response(503, Map.of("Retry-After", "1"))))
+            .then(() -> CompletableFuture.completedFuture(response(200, Map.of())));
+
+        FetchResult result = retrying.fetchAsync(URL, new FetchAttempts()).join();
+
+        assertEquals(200, result.getStatusCode());
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(fetcher.calls.get(1) - fetcher.calls.get(0));
+        assertTrue(waitedMs >= 990, waitedMs + " ms");
+    }
+
+    @Test
+    void unknownHostIsNotRetried() {
+        RetryingFetcher retrying = fetcherWith(0, false);
+        fetcher.then(() -> CompletableFuture.failedFuture(new UnknownHostException("www.example.com")));
+
+        FetchAttempts attempts = new FetchAttempts();
+        CompletionException error = assertThrows(CompletionException.class, () -> retrying.fetchAsync(URL, attempts).join());
+
+        assertInstanceOf(UnknownHostException.class, error.getCause());
+        assertEquals(0, attempts.getRetries());
+        assertEquals(1, fetcher.calls.size());
+    }
+
+    @Test
+    void retriesStopAtTheLimitWithTheLastResponse() {
+        RetryingFetcher retrying = fetcherWith(0, false);
+        for (int i = 0; i < 4; i++) {
+            fetcher.then(() -> CompletableFuture.completedFuture(response(502, Map.of())));
+        }
+
+        FetchAttempts attempts = new FetchAttempts();
+        FetchResult result = retrying.fetchAsync(URL, attempts).join();
+
+        assertEquals(502, result.getStatusCode());
+        assertEquals(3, attempts.getRetries());
+        assertEquals(4, fetcher.calls.size());
+    }
+
+    @Test
+    void firstResponseWinsTheHedgeRace() {
+        RetryingFetcher retrying = fetcherWith(0, true);
+        learnLatency(10);
+        CompletableFuture<FetchResult> stuck = new CompletableFuture<>();
+        fetcher.then(() -> stuck).then(() -> CompletableFuture.completedFuture(response(200, Map.of())));
+
+        FetchAttempts attempts = new FetchAttempts();
+        FetchResult result = retrying.fetchAsync(URL, attempts).join();
+
+        assertEquals(200, result.getStatusCode());
+        assertEquals(1, attempts.getHedges());
+        assertEquals(2, fetcher.calls.size());
+        // The loser is cancelled as the winner completes, which may be just after join returns
+        assertTrue(eventually(stuck::isCancelled));
+    }
+
+    @Test
+    void aFailedHedgeDoesNotBeatAPrimaryThatSucceeds() {
+        RetryingFetcher retrying = fetcherWith(0, true);
+        learnLatency(10);
+        fetcher.then(() -> CompletableFuture.supplyAsync(() -> response(200, Map.of()),
+                CompletableFuture.delayedExecutor(300, TimeUnit.MILLISECONDS)))
+            .then(() -> CompletableFuture.failedFuture(new SocketException("Connection reset")));
+
+        FetchAttempts attempts = new FetchAttempts();
+        FetchResult result = retrying.fetchAsync(URL, attempts).join();
+
+        assertEquals(200, result.getStatusCode());
+        assertEquals(1, attempts.getHedges());
+        assertEquals(0, attempts.getRetries());
+    }
+
+    @Test
+    void hedgeWaitsForTheHostsSpacing() {
+        // A minute between requests to the host: no hedge can go out before the first one times out
+        RetryingFetcher retrying = fetcherWith(60_000, true);
+        learnLatency(10);
+        politeness.acquire(URL).join();
+        fetcher.then(() -> CompletableFuture.supplyAsync(() -> response(200, Map.of()),
+            CompletableFuture.delayedExecutor(300, TimeUnit.MILLISECONDS)));
+
+        FetchAttempts attempts = new FetchAttempts();
+        FetchResult result = retrying.fetchAsync(URL, attempts).join();
+
+        assertEquals(200, result.getStatusCode());
+        assertEquals(0, attempts.getHedges());
+        assertEquals(1, fetcher.calls.size());
+    }
+
+    private static boolean eventually(BooleanSupplier condition) {
+        long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean() && System.nanoTime() < until) {
+            Thread.onSpinWait();
+        }
+        return condition.getAsBoolean();
+    }
+
+    private RetryingFetcher fetcherWith(long hostIntervalMs, boolean hedging) {
+        politeness = new PolitenessScheduler(hostIntervalMs, 1, 1_000, 1_000, 0, 60_000);
+        return new RetryingFetcher(fetcher, new RetryPolicy(3, 1, 5_000), tracker, hostLimits, politeness, hedging, 50);
+    }
+
+    private void learnLatency(long latencyMs) {
+        for (int i = 0; i < 50; i++) {
+            tracker.record(HOST, latencyMs, false);
+        }
+    }
+
+    static FetchResult response(int status, Map<String, String> headers) {
+        return new FetchResult(URL, URL, status, "text/html", null, new byte[0], headers, "http/1.1", FetchResult.CACHE_MISS);
+    }
+
+    /** Answers each call with the next scripted future, and records when it was made. */
+    static final class ScriptedFetcher implements Fetcher {
+        private final Deque<Supplier<CompletableFuture<FetchResult>>> script = new ArrayDeque<>();
+        final List<Long> calls = new ArrayList<>();
+
+        ScriptedFetcher then(Supplier<CompletableFuture<FetchResult>> answer) {
+            script.add(answer);
+            return this;
+        }
+
+        @Override
+        public synchronized CompletableFuture<FetchResult> fetchAsync(String url) {
+            calls.add(System.nanoTime());
+            Supplier<CompletableFuture<FetchResult>> answer = script.poll();
+            return answer != null ? answer.get() : CompletableFuture.failedFuture(new AssertionError("unexpected fetch of " + url));
+        }
+    }
+}
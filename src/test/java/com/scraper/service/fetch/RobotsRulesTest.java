@@ -0,0 +1,78 @@
+package com.scraper.service.fetch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RobotsRulesTest {
+
+    private static final String ROBOTS = String.join("\n",
+        "# comments and unknown keys are ignored",
+        "User-agent: Googlebot",
+        "Disallow: /",
+        "",
+        "User-agent: *",
+        "User-agent: other-bot",
+        "Disallow: /private",
+        "Allow: /private/press",
+        "Disallow: /*.pdf$",
+        "Disallow: /search?",
+        "Crawl-delay: 2.5",
+        "Sitemap: https://acme.example/sitemap.xml",
+        "Disallow: /tmp/  # still the same group",
+        "",
+        "User-agent: web-scraper",
+        "Disallow: /admin",
+        "Crawl-delay: 0.5");
+
+    @Test
+    void ourOwnGroupReplacesTheWildcardGroup() {
+        RobotsRules rules = RobotsRules.parse(ROBOTS, "Web-Scraper");
+        assertFalse(rules.isAllowed("https://acme.example/admin/users"));
+        assertTrue(rules.isAllowed("https://acme.example/private"));
+        assertEquals(500, rules.getCrawlDelayMillis());
+    }
+
+    @Test
+    void longestMatchWinsAndWildcardsMatch() {
+        RobotsRules rules = RobotsRules.parse(ROBOTS, "unknown-bot");
+        assertEquals(2500, rules.getCrawlDelayMillis());
+        assertTrue(rules.isAllowed("https://acme.example/"));
+        assertFalse(rules.isAllowed("https://acme.example/private/data"));
+        assertTrue(rules.isAllowed("https://acme.example/private/press/2024"));
+        assertFalse(rules.isAllowed("https://acme.example/files/report.pdf"));
+        assertTrue(rules.isAllowed("https://acme.example/files/report.pdf?download=1"));
+        assertFalse(rules.isAllowed("https://acme.example/search?q=x"));
+        assertTrue(rules.isAllowed("https://acme.example/search"));
+        assertFalse(rules.isAllowed("https://acme.example/tmp/x"));
+    }
+
+    @Test
+    void allowWinsATieAndRobotsTxtIsAlwaysReadable() {
+        RobotsRules rules = RobotsRules.parse("User-agent: *\nDisallow: /page\nAllow: /page\nDisallow: /", "web-scraper");
+        assertTrue(rules.isAllowed("https://acme.example/page"));
+        assertFalse(rules.isAllowed("https://acme.example/other"));
+        assertTrue(rules.isAllowed("https://acme.example/robots.txt"));
+    }
+
+    @Test
+    void emptyOrMissingRulesAllowAndUnavailableDisallows() {
+        assertTrue(RobotsRules.parse("User-agent: *\nDisallow:\n", "web-scraper").isAllowed("https://acme.example/x"));
+        assertTrue(RobotsRules.parse("", "web-scraper").isAllowed("https://acme.example/x"));
+        assertEquals(-1, RobotsRules.ALLOW_ALL.getCrawlDelayMillis());
+        RobotsRules unavailable = RobotsRules.unavailable("robots.txt answered HTTP 503");
+        assertFalse(unavailable.isAllowed("https://acme.example/"));
+        assertEquals("robots.txt answered HTTP 503", unavailable.getUnavailableReason());
+    }
+
+    @Test
+    void globsMatchLikeRobotsPatterns() {
+        assertTrue(RobotsRules.matches("/a*b*c", "/a-b-c-d"));
+        assertTrue(RobotsRules.matches("/a*c$", "/abcbc"));
+        assertFalse(RobotsRules.matches("/a*c$", "/abcd"));
+        assertTrue(RobotsRules.matches("*", "/anything"));
+        assertFalse(RobotsRules.matches("/fish", "/Fish"));
+    }
+}
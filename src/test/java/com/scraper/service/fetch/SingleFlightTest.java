@@ -0,0 +1,79 @@
+package com.scraper.service.fetch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String, String> flights = new SingleFlight<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void joinerAttachesAndGetsTheResult() {
+        CompletableFuture<String> work = new CompletableFuture<>();
+        CompletableFuture<String> first = flights.execute("k", "state", state -> true, () -> started(work));
+        CompletableFuture<String> second = flights.execute("k", "state", state -> true, () -> started(new CompletableFuture<>()));
+        CompletableFuture<String> attached = flights.attach("k", state -> true);
+
+        work.complete("page");
+
+        assertEquals("page", first.join());
+        assertEquals("page", second.join());
+        assertEquals("page", attached.join());
+        assertEquals(1, calls.get());
+        assertEquals(2, flights.getCoalesced());
+        assertEquals(0, flights.getInFlight());
+    }
+
+    @Test
+    void declinedJoinerRunsItsOwnCall() {
+        CompletableFuture<String> work = new CompletableFuture<>();
+        flights.execute("k", "narrow", state -> true, () -> started(work));
+
+        CompletableFuture<String> own = flights.execute("k", "wide", "wide"::equals,
+            () -> started(CompletableFuture.completedFuture("own page")));
+
+        assertEquals("own page", own.join());
+        assertEquals(2, calls.get());
+        assertNull(flights.attach("k", "wide"::equals));
+        // The declined call is not registered: the first flight is still the one in flight
+        assertEquals(1, flights.getInFlight());
+    }
+
+    @Test
+    void cancellingOneCopyLeavesTheSharedWorkRunning() {
+        CompletableFuture<String> work = new CompletableFuture<>();
+        CompletableFuture<String> first = flights.execute("k", "state", state -> true, () -> started(work));
+        CompletableFuture<String> second = flights.execute("k", "state", state -> true, () -> started(new CompletableFuture<>()));
+        assertNotSame(first, second);
+
+        first.cancel(true);
+        work.complete("page");
+
+        assertFalse(work.isCancelled());
+        assertTrue(first.isCancelled());
+        assertEquals("page", second.join());
+    }
+
+    @Test
+    void finishedFlightIsForgotten() {
+        flights.execute("k", "state", state -> true, () -> started(CompletableFuture.completedFuture("page"))).join();
+
+        assertNull(flights.attach("k", state -> true));
+        flights.execute("k", "state", state -> true, () -> started(CompletableFuture.completedFuture("again"))).join();
+        assertEquals(2, calls.get());
+    }
+
+    private CompletableFuture<String> started(CompletableFuture<String> work) {
+        calls.incrementAndGet();
+        return work;
+    }
+}
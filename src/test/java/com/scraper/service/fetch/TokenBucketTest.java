@@ -0,0 +1,52 @@
+package com.scraper.service.fetch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void permitsAreSpacedByTheInterval() {
+        TokenBucket bucket = new TokenBucket(SECOND, 1);
+        long now = System.nanoTime();
+
+        assertEquals(now, bucket.reserve(now));
+        assertEquals(now + SECOND, bucket.reserve(now));
+        assertEquals(now + 2 * SECOND, bucket.reserve(now));
+    }
+
+    @Test
+    void burstGoesOutAtOnceThenSpaces() {
+        TokenBucket bucket = new TokenBucket(SECOND, 3);
+        long now = System.nanoTime();
+
+        assertEquals(now, bucket.reserve(now));
+        assertEquals(now, bucket.reserve(now));
+        assertEquals(now, bucket.reserve(now));
+        assertEquals(now + SECOND, bucket.reserve(now));
+    }
+
+    @Test
+    void idleBucketRefills() {
+        TokenBucket bucket = new TokenBucket(SECOND, 1);
+        long now = System.nanoTime();
+        bucket.reserve(now);
+
+        long later = now + 5 * SECOND;
+        assertEquals(later, bucket.reserve(later));
+    }
+
+    @Test
+    void peekingReservesNothing() {
+        TokenBucket bucket = new TokenBucket(SECOND, 1);
+        long now = System.nanoTime();
+        bucket.reserve(now);
+
+        assertEquals(now + SECOND, bucket.nextAvailable(now));
+        assertEquals(now + SECOND, bucket.nextAvailable(now));
+        assertEquals(now + SECOND, bucket.reserve(now));
+    }
+}
@@ -0,0 +1,37 @@
+package com.scraper.service.job;
+
+import com.scraper.config.ExecutionMode;
+import com.scraper.model.ScrapeRequest;
+import com.scraper.model.ScrapeResponse;
+import com.scraper.service.ScrapeListener;
+import com.scraper.service.WebScrapingService;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScrapeJobServiceTest {
+
+    @Test
+    void jobThatThrowsAnErrorFailsAndMakesRoom() throws Exception {
+        ScrapeJobService jobs = new ScrapeJobService(new ThrowsError(), ExecutionMode.VIRTUAL, 1, 1, 60);
+
+        ScrapeJob job = jobs.submit(new ScrapeRequest());
+        for (int i = 0; i < 100 && !job.isFinished(); i++) {
+            Thread.sleep(20);
+        }
+        assertTrue(job.isFinished());
+        assertEquals(ScrapeJob.State.ERROR, job.getState());
+        // With room for one job only, the failed one is dropped for the next
+        assertNotNull(jobs.submit(new ScrapeRequest()));
+    }
+
+    /** Fails the way a page too large for the heap would. */
+    private static final class ThrowsError extends WebScrapingService {
+        @Override
+        public ScrapeResponse scrapeWebData(ScrapeRequest request, ScrapeListener listener) {
+            throw new OutOfMemoryError("Java heap space");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.scraper.service.job;
+
+import com.scraper.model.ScrapeJobStatus;
+import com.scraper.model.ScrapeRequest;
+import com.scraper.model.ScrapeResponse;
+import com.scraper.model.ScrapedData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScrapeJobTest {
+
+    @Test
+    void tracksProgressAndPagesResultsInCompletionOrder() {
+        ScrapeRequest request = new ScrapeRequest();
+        request.setSearchTopic("dental clinics");
+        ScrapeJob job = new ScrapeJob("job-1", request);
+        assertNull(job.toStatus().getStartedAt());
+
+        job.start();
+        job.onPlanned(4);
+        job.onResult(result("https://a.example", "success"));
+        job.onResult(result("https://b.example", "error"));
+        job.onResult(result("https://c.example", "disallowed"));
+
+        ScrapeJobStatus running = job.toStatus();
+        assertEquals("running", running.getStatus());
+        assertEquals(4, running.getTotalUrls());
+        assertEquals(3, running.getCompletedUrls());
+        assertEquals(1, running.getSuccessfulScrapes());
+        assertEquals(1, running.getFailedScrapes());
+
+        List<ScrapedData> page = job.getResults(1, 5);
+        assertEquals(2, page.size());
+        assertEquals("https://b.example", page.get(0).getUrl());
+        assertTrue(job.getResults(10, 5).isEmpty());
+
+        job.finish(ScrapeResponse.builder().status("completed").message("Scraping completed successfully").build());
+        ScrapeJobStatus done = job.toStatus();
+        assertEquals("completed", done.getStatus());
+        assertEquals(3, done.getTotalUrls());
+        assertTrue(job.isFinished());
+    }
+
+    private static ScrapedData result(String url, String status) {
+        return ScrapedData.builder().url(url).status(status).build();
+    }
+}
@@ -0,0 +1,158 @@
+package com.scraper.service.stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scraper.config.ExecutionMode;
+import com.scraper.model.ScrapeRequest;
+import com.scraper.model.ScrapeResponse;
+import com.scraper.model.ScrapedData;
+import com.scraper.service.ScrapeListener;
+import com.scraper.service.WebScrapingService;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScrapeStreamerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ScrapeStreamer streamer = new ScrapeStreamer(new TwoPages(), null, mapper, ExecutionMode.VIRTUAL, 2);
+
+    @Test
+    void writesOneLinePerResultThenTheSummary() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamer.streamWeb(new ScrapeRequest(), ScrapeStreamer.Format.NDJSON, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, lines.size());
+        JsonNode first = mapper.readTree(lines.get(0));
+        assertEquals("result", first.get("type").asText());
+        assertEquals("https://a.example", first.get("data").get("url").asText());
+        JsonNode summary = mapper.readTree(lines.get(2));
+        assertEquals("summary", summary.get("type").asText());
+        assertEquals(1, summary.get("data").get("failedScrapes").asInt());
+        assertFalse(summary.get("data").has("results"));
+    }
+
+    @Test
+    void framesServerSentEvents() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamer.streamWeb(new ScrapeRequest(), ScrapeStreamer.Format.SSE, out);
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.startsWith("event: result\ndata: {"), body);
+        assertTrue(body.endsWith("}\n\n"), body);
+        assertEquals(3, body.split("\n\n").length);
+        assertTrue(body.contains("event: summary\ndata: {\"searchTopic\":\"dental clinics\""), body);
+        assertEquals(ScrapeStreamer.Format.SSE, ScrapeStreamer.Format.fromAccept("text/event-stream"));
+        assertEquals(ScrapeStreamer.Format.NDJSON, ScrapeStreamer.Format.fromAccept(null));
+    }
+
+    @Test
+    void endsWithAnErrorSummaryWhenTheScrapeThrowsAnError() throws Exception {
+        ScrapeStreamer failing = new ScrapeStreamer(new OneThenError(), null, mapper, ExecutionMode.VIRTUAL, 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTimeoutPreemptively(Duration.ofSeconds(10),
+            () -> failing.streamWeb(new ScrapeRequest(), ScrapeStreamer.Format.NDJSON, out));
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        JsonNode summary = mapper.readTree(lines.get(1));
+        assertEquals("error", summary.get("data").get("status").asText());
+    }
+
+    @Test
+    void slowClientHoldsBackTheScrape() throws Exception {
+        ManyPages pages = new ManyPages(1_000);
+        ScrapeStreamer streaming = new ScrapeStreamer(pages, null, mapper, ExecutionMode.VIRTUAL, 2);
+        CountDownLatch clientReady = new CountDownLatch(1);
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        OutputStream slowClient = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                try {
+                    clientReady.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                received.write(b);
+            }
+        };
+        Thread response = new Thread(() -> {
+            try {
+                streaming.streamWeb(new ScrapeRequest(), ScrapeStreamer.Format.NDJSON, slowClient);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        response.start();
+
+        Thread.sleep(300);
+        // One record being written, a full queue, and one waiting for room
+        assertTrue(pages.reported.get() <= ScrapeStreamer.BUFFERED_RECORDS + 2, pages.reported + " reported");
+
+        clientReady.countDown();
+        response.join(10_000);
+        assertEquals(1_001, received.toString(StandardCharsets.UTF_8).lines().count());
+    }
+
+    /** Reports results as fast as the stream takes them. */
+    private static final class ManyPages extends WebScrapingService {
+        private final int pages;
+        private final AtomicInteger reported = new AtomicInteger();
+
+        ManyPages(int pages) {
+            this.pages = pages;
+        }
+
+        @Override
+        public ScrapeResponse scrapeWebData(ScrapeRequest request, ScrapeListener listener) {
+            for (int i = 0; i < pages; i++) {
+                listener.onResult(ScrapedData.builder().url("https://" + i + ".example").status("success").build());
+                reported.incrementAndGet();
+            }
+            return ScrapeResponse.builder().searchTopic("many").totalResults(pages).results(List.of()).status("completed").build();
+        }
+    }
+
+    /** Reports one result, then fails the way a page too large for the heap would. */
+    private static final class OneThenError extends WebScrapingService {
+        @Override
+        public ScrapeResponse scrapeWebData(ScrapeRequest request, ScrapeListener listener) {
+            listener.onResult(ScrapedData.builder().url("https://a.example").status("success").build());
+            throw new OutOfMemoryError("Java heap space");
+        }
+    }
+
+    /** Reports two results, then a response that, as asked, does not list them. */
+    private static final class TwoPages extends WebScrapingService {
+        @Override
+        public ScrapeResponse scrapeWebData(ScrapeRequest request, ScrapeListener listener) {
+            assertFalse(listener.keepsResults());
+            listener.onPlanned(2);
+            listener.onResult(ScrapedData.builder().url("https://a.example").status("success").build());
+            listener.onResult(ScrapedData.builder().url("https://b.example").status("error").build());
+            return ScrapeResponse.builder()
+                .searchTopic("dental clinics")
+                .totalResults(2)
+                .successfulScrapes(1)
+                .failedScrapes(1)
+                .results(List.of())
+                .status("completed")
+                .message("Scraping completed successfully")
+                .build();
+        }
+    }
+}